@@ -62,12 +62,20 @@ public class Product {
     @Column(name = "external_category_name")
     private String externalCategoryName;
 
+    // Element collection tables: the engine's default table storage. Its jsonb storage stops writing them,
+    // so the engine refuses that mode while this admin reads the database (product.collections.storage.engine-only)
     @ElementCollection
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "image_url")
     @OrderColumn(name = "image_order")
     private List<String> imageUrls = new ArrayList<>();
 
+    /**
+     * First image, kept in sync with imageUrls by the engine; loaded with the row, unlike the image collection
+     */
+    @Column(name = "main_image_url", length = 500)
+    private String mainImageUrl;
+
     @ElementCollection
     @CollectionTable(name = "product_attributes", joinColumns = @JoinColumn(name = "product_id"))
     @MapKeyColumn(name = "attr_key")
@@ -0,0 +1,47 @@
+package com.dropiq.admin.entity;
+
+import io.jmix.core.metamodel.annotation.JmixEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user dashboard counters maintained by iq-engine (table user_statistics)
+ */
+@JmixEntity
+@Entity
+@Table(name = "user_statistics")
+@Getter
+@Setter
+public class UserStatistics {
+
+    @Id
+    @Column(name = "user_id", length = 100)
+    private String userId;
+
+    @Column(name = "total_datasets")
+    private Integer totalDatasets = 0;
+
+    @Column(name = "active_datasets")
+    private Integer activeDatasets = 0;
+
+    @Column(name = "total_products")
+    private Integer totalProducts = 0;
+
+    @Column(name = "active_products")
+    private Integer activeProducts = 0;
+
+    @Column(name = "sync_base_total_products")
+    private Integer syncBaseTotalProducts;
+
+    @Column(name = "sync_base_active_products")
+    private Integer syncBaseActiveProducts;
+
+    @Column(name = "last_sync_at")
+    private LocalDateTime lastSyncAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
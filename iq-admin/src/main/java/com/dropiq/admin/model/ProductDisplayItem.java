@@ -18,10 +18,13 @@ public class ProductDisplayItem {
     private String displayName;
     private ProductDisplayType type;
     private Product product; // For individual products
-    private List<Product> variants; // For grouped products
+    private List<Product> variants; // For expanded groups
     private String groupId;
     private Integer variantCount;
     private BigDecimal totalValue;
+    private Integer totalStock;
+    private Integer activeCount;
+    private Integer availableCount;
     // Add this method to your ProductDisplayItem class if it's missing
     private Boolean expanded = false;
 
@@ -42,26 +45,22 @@ public class ProductDisplayItem {
         return item;
     }
 
-    // Constructor for product group
-    public static ProductDisplayItem createProductGroup(String groupId, List<Product> variants) {
+    // Constructor for product group; totals come from the grouped query, variants are loaded on expand
+    public static ProductDisplayItem createProductGroup(String groupId, Product firstProduct, int variantCount,
+                                                        BigDecimal totalValue, int totalStock,
+                                                        int activeCount, int availableCount) {
         ProductDisplayItem item = new ProductDisplayItem();
         item.type = ProductDisplayType.PRODUCT_GROUP;
-        item.variants = new ArrayList<>(variants);
+        item.product = firstProduct;
         item.groupId = groupId;
-        item.variantCount = variants.size();
+        item.variantCount = variantCount;
+        item.totalValue = totalValue;
+        item.totalStock = totalStock;
+        item.activeCount = activeCount;
+        item.availableCount = availableCount;
         item.id = "group_" + groupId;
-
-        // Calculate total value
-        item.totalValue = variants.stream()
-                .filter(p -> p.getOriginalPrice() != null)
-                .map(Product::getOriginalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Use first product's name as base name
-        Product firstProduct = variants.get(0);
         item.displayName = String.format("📦 %s (%d variants, %.2f UAH)",
-                firstProduct.getName(), variants.size(), item.totalValue);
-
+                firstProduct.getName(), variantCount, totalValue);
         return item;
     }
 
@@ -94,8 +93,8 @@ public class ProductDisplayItem {
 
     // Get the actual product for operations
     public Product getActualProduct() {
-        if (type == ProductDisplayType.PRODUCT_GROUP) {
-            return variants != null && !variants.isEmpty() ? variants.get(0) : null;
+        if (type == ProductDisplayType.PRODUCT_GROUP && variants != null && !variants.isEmpty()) {
+            return variants.get(0);
         }
         return product;
     }
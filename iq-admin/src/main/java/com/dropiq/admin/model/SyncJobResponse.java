@@ -0,0 +1,25 @@
+package com.dropiq.admin.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-dataset result of the engine's batched POST /api/datasets/sync
+ */
+@Getter
+@Setter
+public class SyncJobResponse {
+
+    private Long datasetId;
+    private Long jobId;
+    private String status;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public boolean isScheduled() {
+        return jobId != null;
+    }
+}
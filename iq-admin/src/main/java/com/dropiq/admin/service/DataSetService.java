@@ -2,18 +2,29 @@ package com.dropiq.admin.service;
 
 import com.dropiq.admin.entity.DataSet;
 import com.dropiq.admin.entity.Product;
+import com.dropiq.admin.entity.SyncJob;
 import com.dropiq.admin.model.DataSetStatus;
 import com.dropiq.admin.model.ProductStatus;
+import com.dropiq.admin.model.SyncJobResponse;
 import io.jmix.core.DataManager;
+import io.jmix.core.SaveContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,64 +36,73 @@ public class DataSetService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserStatisticsService userStatisticsService;
+
     @Value("${iq.engine.base-url:http://localhost:8081}")
     private String engineBaseUrl;
 
     /**
-     * Trigger synchronization via HTTP request to iq-engine
+     * Schedule sync for several datasets with a single engine call; returns as soon as jobs are queued
      */
-    public void synchronizeDataSet(DataSet dataSet, String userId) {
-        try {
-            log.info("Triggering sync for dataset: {} by user: {}", dataSet.getName(), userId);
+    public List<SyncJobResponse> bulkSynchronize(List<DataSet> dataSets, String userId) {
+        log.info("Triggering bulk sync for {} datasets by user: {}", dataSets.size(), userId);
 
-            String url = engineBaseUrl + "/api/datasets/" + dataSet.getId() + "/sync";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-User-ID", userId);
+        headers.setContentType(MediaType.APPLICATION_JSON);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("X-User-ID", userId);
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<String, Object> body = Map.of("datasetIds", dataSets.stream().map(DataSet::getId).toList());
 
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+        ResponseEntity<List<SyncJobResponse>> response = restTemplate.exchange(
+                engineBaseUrl + "/api/datasets/sync",
+                HttpMethod.POST,
+                new HttpEntity<>(body, headers),
+                new ParameterizedTypeReference<>() {}
+        );
 
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            log.error("Failed to trigger bulk sync. Status: {}", response.getStatusCode());
+            throw new RuntimeException("Bulk sync request failed");
+        }
+
+        Map<Long, SyncJobResponse> results = response.getBody().stream()
+                .collect(Collectors.toMap(SyncJobResponse::getDatasetId, Function.identity(), (a, b) -> a));
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                // Update local dataset status
+        SaveContext saveContext = new SaveContext();
+        for (DataSet dataSet : dataSets) {
+            SyncJobResponse result = results.get(dataSet.getId());
+            if (result == null) {
+                continue;
+            }
+            if (result.isScheduled()) {
                 dataSet.setStatus(DataSetStatus.PROCESSING);
-                dataSet.setUpdatedAt(LocalDateTime.now());
-                dataManager.save(dataSet);
-                log.info("Sync triggered successfully for dataset: {}", dataSet.getName());
             } else {
-                log.error("Failed to trigger sync. Status: {}", response.getStatusCode());
-                throw new RuntimeException("Sync request failed");
+                log.error("Sync rejected for dataset {}: {}", dataSet.getName(), result.getErrorMessage());
+                dataSet.setStatus(DataSetStatus.ERROR);
+                dataSet.setLastErrorMessage(result.getErrorMessage());
             }
-
-        } catch (Exception e) {
-            log.error("Error triggering sync for dataset {}: {}", dataSet.getName(), e.getMessage());
-            dataSet.setStatus(DataSetStatus.ERROR);
-            dataSet.setLastErrorMessage(e.getMessage());
             dataSet.setUpdatedAt(LocalDateTime.now());
-            dataManager.save(dataSet);
-            throw new RuntimeException("Failed to trigger synchronization: " + e.getMessage());
+            saveContext.saving(dataSet);
         }
+        dataManager.save(saveContext);
+
+        return response.getBody();
     }
 
     /**
-     * Bulk synchronization for multiple datasets
+     * Current state of sync jobs, read directly from sync_job
      */
-    public void bulkSynchronize(List<DataSet> dataSets, String userId) {
-        for (DataSet dataSet : dataSets) {
-            try {
-                synchronizeDataSet(dataSet, userId);
-            } catch (Exception e) {
-                log.error("Failed to sync dataset {}: {}", dataSet.getName(), e.getMessage());
-                // Continue with next dataset
-            }
+    public List<SyncJob> getSyncJobs(Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return List.of();
         }
+        return dataManager.load(SyncJob.class)
+                .ids(jobIds)
+                .list();
     }
 
     /**
@@ -91,18 +111,26 @@ public class DataSetService {
     public DataSet updateStatus(DataSet dataSet, DataSetStatus status) {
         dataSet.setStatus(status);
         dataSet.setUpdatedAt(LocalDateTime.now());
-        return dataManager.save(dataSet);
+        DataSet saved = dataManager.save(dataSet);
+        userStatisticsService.refresh(saved.getCreatedBy());
+        return saved;
     }
 
     /**
-     * Archive multiple products
+     * Archive multiple products with a single UPDATE statement
      */
-    public void archiveProducts(List<Product> products) {
-        for (Product product : products) {
-            product.setStatus(ProductStatus.INACTIVE);
-            product.setUpdatedAt(LocalDateTime.now());
-            dataManager.save(product);
+    @Transactional
+    public int archiveProducts(List<Product> products) {
+        if (products.isEmpty()) {
+            return 0;
         }
+
+        List<Long> ids = products.stream().map(Product::getId).toList();
+        return entityManager.createQuery("update Product p set p.status = :status, p.updatedAt = :now where p.id in :ids")
+                .setParameter("status", ProductStatus.INACTIVE.name())
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", ids)
+                .executeUpdate();
     }
 
     /**
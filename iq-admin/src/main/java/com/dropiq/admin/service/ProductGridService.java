@@ -0,0 +1,227 @@
+package com.dropiq.admin.service;
+
+import com.dropiq.admin.entity.Product;
+import com.dropiq.admin.model.ProductDisplayItem;
+import com.dropiq.admin.model.ProductFilterCriteria;
+import com.dropiq.admin.model.ProductStatus;
+import com.dropiq.admin.model.SourceType;
+import io.jmix.core.DataManager;
+import io.jmix.core.entity.KeyValueEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Paged rows for the dataset product grid.
+ * Filtering, grouping by groupId and group totals are done in JPQL, so a page only loads the products it shows.
+ * A row is either a group header (groupId shared by more than one filtered product) or a single product;
+ * groups come first, then singles, both ordered by name.
+ */
+@Slf4j
+@Service
+public class ProductGridService {
+
+    private static final String FROM = " from Product p join p.datasets d where d.id = :datasetId";
+
+    @Autowired
+    private DataManager dataManager;
+
+    /**
+     * Number of dataset products matching the criteria
+     */
+    public long countProducts(Long datasetId, ProductFilterCriteria criteria) {
+        Where where = Where.of(criteria, "p", datasetId);
+        return dataManager.loadValue("select count(p)" + FROM + where.clause, Long.class)
+                .parameters(where.params)
+                .one();
+    }
+
+    /**
+     * Row layout for the criteria: group ids in display order and the product counts.
+     * Products outside the listed groups are the singles, so they are not counted separately.
+     */
+    public GridLayout loadLayout(Long datasetId, ProductFilterCriteria criteria) {
+        Where where = Where.of(criteria, "p", datasetId);
+        List<KeyValueEntity> groups = dataManager.loadValues("select p.groupId, min(p.name), count(p)" + FROM + where.clause +
+                        " and p.groupId is not null and p.groupId <> ''" +
+                        " group by p.groupId having count(p) > 1 order by min(p.name)")
+                .properties("groupId", "name", "productCount")
+                .parameters(where.params)
+                .list();
+
+        List<String> groupIds = new ArrayList<>(groups.size());
+        long groupedCount = 0;
+        for (KeyValueEntity group : groups) {
+            groupIds.add(group.getValue("groupId"));
+            groupedCount += toInt(group.getValue("productCount"));
+        }
+        long productCount = countProducts(datasetId, criteria);
+        return new GridLayout(groupIds, productCount, productCount - groupedCount);
+    }
+
+    /**
+     * Group header rows for the given group ids, in the same order
+     */
+    public List<ProductDisplayItem> loadGroupHeaders(Long datasetId, ProductFilterCriteria criteria, List<String> groupIds) {
+        if (groupIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Where where = Where.of(criteria, "p", datasetId);
+        List<KeyValueEntity> rows = dataManager.loadValues("select p.groupId, count(p), sum(p.originalPrice), sum(p.stock), " +
+                        "sum(case when p.status = '" + ProductStatus.ACTIVE.name() + "' then 1 else 0 end), " +
+                        "sum(case when p.available = true then 1 else 0 end), min(p.id)" +
+                        FROM + where.clause + " and p.groupId in :groupIds group by p.groupId")
+                .properties("groupId", "variantCount", "totalValue", "totalStock", "activeCount", "availableCount", "firstProductId")
+                .parameters(where.params)
+                .parameter("groupIds", groupIds)
+                .list();
+
+        List<Long> firstIds = rows.stream()
+                .map(row -> row.<Long>getValue("firstProductId"))
+                .collect(Collectors.toList());
+        Map<Long, Product> firstProducts = dataManager.load(Product.class)
+                .query("select p from Product p where p.id in :ids")
+                .parameter("ids", firstIds)
+                .fetchPlan("_base")
+                .list()
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<String, ProductDisplayItem> headers = new HashMap<>();
+        for (KeyValueEntity row : rows) {
+            Product firstProduct = firstProducts.get(row.<Long>getValue("firstProductId"));
+            if (firstProduct == null) {
+                continue;
+            }
+            String groupId = row.getValue("groupId");
+            BigDecimal totalValue = row.getValue("totalValue");
+            headers.put(groupId, ProductDisplayItem.createProductGroup(groupId, firstProduct,
+                    toInt(row.getValue("variantCount")),
+                    totalValue != null ? totalValue : BigDecimal.ZERO,
+                    toInt(row.getValue("totalStock")),
+                    toInt(row.getValue("activeCount")),
+                    toInt(row.getValue("availableCount"))));
+        }
+
+        return groupIds.stream()
+                .map(headers::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    public List<Product> loadSingles(Long datasetId, ProductFilterCriteria criteria, int firstResult, int maxResults) {
+        Where where = Where.of(criteria, "p", datasetId);
+        return dataManager.load(Product.class)
+                .query("select p" + FROM + where.clause + singlesCondition(criteria, datasetId) + " order by p.name")
+                .parameters(where.params)
+                .firstResult(firstResult)
+                .maxResults(maxResults)
+                .fetchPlan("_base")
+                .list();
+    }
+
+    /**
+     * Matching products of one group, loaded when the group is expanded
+     */
+    public List<Product> loadVariants(Long datasetId, ProductFilterCriteria criteria, String groupId) {
+        Where where = Where.of(criteria, "p", datasetId);
+        return dataManager.load(Product.class)
+                .query("select p" + FROM + where.clause + " and p.groupId = :variantGroupId order by p.name")
+                .parameters(where.params)
+                .parameter("variantGroupId", groupId)
+                .fetchPlan("_base")
+                .list();
+    }
+
+    private String singlesCondition(ProductFilterCriteria criteria, Long datasetId) {
+        Where inner = Where.of(criteria, "p2", datasetId);
+        return " and (p.groupId is null or p.groupId = '' or p.groupId in (" +
+                "select p2.groupId from Product p2 join p2.datasets d2 where d2.id = :datasetId" + inner.clause +
+                " group by p2.groupId having count(p2) = 1))";
+    }
+
+    /**
+     * Group header rows come first, then singleCount single rows
+     */
+    public record GridLayout(List<String> groupIds, long productCount, long singleCount) {
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    /**
+     * ProductFilterCriteria as a JPQL condition on the given alias; the same parameter names are used for every alias
+     */
+    private static class Where {
+        private final StringBuilder clause = new StringBuilder();
+        private final Map<String, Object> params = new HashMap<>();
+
+        static Where of(ProductFilterCriteria criteria, String a, Long datasetId) {
+            Where where = new Where();
+            where.params.put("datasetId", datasetId);
+            if (criteria == null) {
+                return where;
+            }
+
+            where.like(a + ".name", "nameFilter", criteria.getNameFilter());
+            where.like(a + ".externalCategoryName", "categoryFilter", criteria.getCategoryFilter());
+            where.like(a + ".description", "descriptionFilter", criteria.getDescriptionFilter());
+
+            if (criteria.getSourceTypes() != null && !criteria.getSourceTypes().isEmpty()) {
+                where.add(a + ".sourceType in :sourceTypes", "sourceTypes",
+                        criteria.getSourceTypes().stream().map(SourceType::name).collect(Collectors.toList()));
+            }
+            if (criteria.getGroupIds() != null && !criteria.getGroupIds().isEmpty()) {
+                where.add(a + ".groupId in :groupIdFilter", "groupIdFilter", new ArrayList<>(criteria.getGroupIds()));
+            }
+            if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
+                where.add(a + ".status in :statuses", "statuses",
+                        criteria.getStatuses().stream().map(ProductStatus::name).collect(Collectors.toList()));
+            }
+
+            where.add(a + ".originalPrice >= :minPrice", "minPrice", criteria.getMinPrice());
+            where.add(a + ".originalPrice <= :maxPrice", "maxPrice", criteria.getMaxPrice());
+            where.add(a + ".stock >= :minStock", "minStock", criteria.getMinStock());
+            where.add(a + ".stock <= :maxStock", "maxStock", criteria.getMaxStock());
+            where.add(a + ".createdAt >= :createdAfter", "createdAfter", criteria.getCreatedAfter());
+            where.add(a + ".createdAt <= :createdBefore", "createdBefore", criteria.getCreatedBefore());
+            where.add(a + ".updatedAt >= :updatedAfter", "updatedAfter", criteria.getUpdatedAfter());
+            where.add(a + ".updatedAt <= :updatedBefore", "updatedBefore", criteria.getUpdatedBefore());
+
+            where.flag(criteria.getAvailableOnly(), a + ".available = true");
+            where.flag(criteria.getAiOptimizedOnly(), a + ".aiOptimized = true");
+            where.flag(criteria.getHasSeoTitle(), a + ".seoTitle is not null");
+            where.flag(criteria.getHasSeoDescription(), a + ".seoDescription is not null");
+            where.flag(criteria.getHasImages(), a + ".mainImageUrl is not null");
+            where.flag(criteria.getHasGroupId(), a + ".groupId is not null and " + a + ".groupId <> ''");
+
+            return where;
+        }
+
+        private void like(String path, String param, String value) {
+            if (value != null && !value.trim().isEmpty()) {
+                add("lower(" + path + ") like :" + param, param, "%" + value.trim().toLowerCase() + "%");
+            }
+        }
+
+        private void add(String condition, String param, Object value) {
+            if (value != null) {
+                clause.append(" and ").append(condition);
+                params.put(param, value);
+            }
+        }
+
+        private void flag(Boolean enabled, String condition) {
+            if (Boolean.TRUE.equals(enabled)) {
+                clause.append(" and (").append(condition).append(")");
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.dropiq.admin.service;
+
+import com.dropiq.admin.entity.UserStatistics;
+import com.dropiq.admin.model.DataSetStatus;
+import com.dropiq.admin.model.ProductStatus;
+import io.jmix.core.DataManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reads the per-user counters for the dashboard and recalculates them after changes made from the admin UI
+ */
+@Slf4j
+@Service
+public class UserStatisticsService {
+
+    @Autowired
+    private DataManager dataManager;
+
+    /**
+     * Stored counters; calculated once if iq-engine has not written them yet
+     */
+    public UserStatistics getStatistics(String userId) {
+        return dataManager.load(UserStatistics.class)
+                .id(userId)
+                .optional()
+                .orElseGet(() -> refresh(userId));
+    }
+
+    /**
+     * Recalculate counters for the user; sync baseline is left untouched
+     */
+    public UserStatistics refresh(String userId) {
+        UserStatistics statistics = dataManager.load(UserStatistics.class)
+                .id(userId)
+                .optional()
+                .orElseGet(() -> {
+                    UserStatistics created = dataManager.create(UserStatistics.class);
+                    created.setUserId(userId);
+                    return created;
+                });
+
+        statistics.setTotalDatasets(count("select count(d) from DataSet d where d.createdBy = :user", userId, null));
+        statistics.setActiveDatasets(count("select count(d) from DataSet d where d.createdBy = :user and d.status = :status",
+                userId, DataSetStatus.ACTIVE));
+        statistics.setTotalProducts(count("select count(p) from Product p join p.datasets d where d.createdBy = :user",
+                userId, null));
+        statistics.setActiveProducts(count("select count(p) from Product p join p.datasets d where d.createdBy = :user and p.status = :status",
+                userId, ProductStatus.ACTIVE.name()));
+        statistics.setUpdatedAt(LocalDateTime.now());
+
+        try {
+            return dataManager.save(statistics);
+        } catch (Exception e) {
+            log.warn("Failed to store statistics for user {}: {}", userId, e.getMessage());
+            return statistics;
+        }
+    }
+
+    private int count(String query, String userId, Object status) {
+        var loader = dataManager.loadValue(query, Long.class).parameter("user", userId);
+        if (status != null) {
+            loader = loader.parameter("status", status);
+        }
+        return loader.one().intValue();
+    }
+}
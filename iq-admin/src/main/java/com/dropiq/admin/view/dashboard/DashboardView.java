@@ -1,14 +1,13 @@
 package com.dropiq.admin.view.dashboard;
 
-import com.dropiq.admin.model.DataSetStatus;
-import com.dropiq.admin.model.ProductStatus;
+import com.dropiq.admin.entity.UserStatistics;
+import com.dropiq.admin.service.UserStatisticsService;
 import com.dropiq.admin.view.main.MainView;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.Route;
-import io.jmix.core.DataManager;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.flowui.view.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,7 +21,7 @@ public class DashboardView extends StandardView {
     private VerticalLayout contentLayout;
 
     @Autowired
-    private DataManager dataManager;
+    private UserStatisticsService userStatisticsService;
 
     @Autowired
     private CurrentAuthentication currentAuthentication;
@@ -35,27 +34,8 @@ public class DashboardView extends StandardView {
     private void loadDashboardData() {
         String currentUser = currentAuthentication.getUser().getUsername();
 
-        Long totalDatasets = dataManager.loadValue(
-                        "select count(d) from DataSet d where d.createdBy = :user", Long.class)
-                .parameter("user", currentUser)
-                .one();
-
-        Long activeDatasets = dataManager.loadValue(
-                        "select count(d) from DataSet d where d.createdBy = :user and d.status = :status", Long.class)
-                .parameter("user", currentUser)
-                .parameter("status", DataSetStatus.ACTIVE)
-                .one();
-
-        Long totalProducts = dataManager.loadValue(
-                        "select count(p) from Product p join p.datasets d where d.createdBy = :user", Long.class)
-                .parameter("user", currentUser)
-                .one();
-
-        Long activeProducts = dataManager.loadValue(
-                        "select count(p) from Product p join p.datasets d where d.createdBy = :user and p.status = :status", Long.class)
-                .parameter("user", currentUser)
-                .parameter("status", ProductStatus.ACTIVE)
-                .one();
+        // One lookup by primary key; counters are maintained on sync and status changes
+        UserStatistics statistics = userStatisticsService.getStatistics(currentUser);
 
         // Create statistics cards
         HorizontalLayout statsLayout = new HorizontalLayout();
@@ -63,16 +43,30 @@ public class DashboardView extends StandardView {
         statsLayout.setSpacing(true);
 
         statsLayout.add(
-                createStatCard("📊", "Total Datasets", totalDatasets.toString()),
-                createStatCard("✅", "Active Datasets", activeDatasets.toString()),
-                createStatCard("📦", "Total Products", totalProducts.toString()),
-                createStatCard("🟢", "Active Products", activeProducts.toString())
+                createStatCard("📊", "Total Datasets", valueOf(statistics.getTotalDatasets()), null),
+                createStatCard("✅", "Active Datasets", valueOf(statistics.getActiveDatasets()), null),
+                createStatCard("📦", "Total Products", valueOf(statistics.getTotalProducts()),
+                        syncDelta(statistics.getTotalProducts(), statistics.getSyncBaseTotalProducts())),
+                createStatCard("🟢", "Active Products", valueOf(statistics.getActiveProducts()),
+                        syncDelta(statistics.getActiveProducts(), statistics.getSyncBaseActiveProducts()))
         );
 
         contentLayout.add(new H2("Dashboard"), statsLayout);
     }
 
-    private VerticalLayout createStatCard(String icon, String title, String value) {
+    private String valueOf(Integer value) {
+        return String.valueOf(value != null ? value : 0);
+    }
+
+    private String syncDelta(Integer current, Integer beforeSync) {
+        if (current == null || beforeSync == null) {
+            return null;
+        }
+        int delta = current - beforeSync;
+        return (delta >= 0 ? "+" : "") + delta + " since last sync";
+    }
+
+    private VerticalLayout createStatCard(String icon, String title, String value, String subValue) {
         VerticalLayout card = new VerticalLayout();
         card.addClassName("stats-card");
         card.setSpacing(false);
@@ -89,6 +83,12 @@ public class DashboardView extends StandardView {
         valueSpan.addClassName("stats-card-value");
 
         card.add(iconSpan, valueSpan, titleSpan);
+
+        if (subValue != null) {
+            Span subValueSpan = new Span(subValue);
+            subValueSpan.addClassName("stats-card-sub-value");
+            card.add(subValueSpan);
+        }
         return card;
     }
 }
@@ -2,11 +2,16 @@ package com.dropiq.admin.view.dataset;
 
 import com.dropiq.admin.entity.DataSet;
 import com.dropiq.admin.entity.Product;
+import com.dropiq.admin.entity.SyncJob;
 import com.dropiq.admin.model.ProductDisplayItem;
 import com.dropiq.admin.model.ProductFilterCriteria;
 import com.dropiq.admin.model.ProductStatus;
 import com.dropiq.admin.model.SourceType;
+import com.dropiq.admin.model.SyncJobResponse;
+import com.dropiq.admin.model.SyncJobStatus;
 import com.dropiq.admin.service.DataSetService;
+import com.dropiq.admin.service.ProductGridService;
+import com.dropiq.admin.service.UserStatisticsService;
 import com.dropiq.admin.view.main.MainView;
 import com.dropiq.admin.view.product.ProductDetailView;
 import com.vaadin.flow.component.ClickEvent;
@@ -20,20 +25,25 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.Route;
 import io.jmix.core.DataManager;
+import io.jmix.core.LoadContext;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.flowui.DialogWindows;
 import io.jmix.flowui.Notifications;
+import io.jmix.flowui.asynctask.UiAsyncTasks;
 import io.jmix.flowui.component.checkbox.JmixCheckbox;
 import io.jmix.flowui.component.grid.DataGrid;
+import io.jmix.flowui.component.pagination.SimplePagination;
 import io.jmix.flowui.component.select.JmixSelect;
 import io.jmix.flowui.component.textfield.TypedTextField;
+import io.jmix.flowui.facet.Timer;
 import io.jmix.flowui.kit.component.button.JmixButton;
-import io.jmix.flowui.model.CollectionContainer;
 import io.jmix.flowui.model.CollectionLoader;
+import io.jmix.flowui.model.DataLoadContext;
 import io.jmix.flowui.view.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -47,13 +57,10 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
     private DataGrid<ProductDisplayItem> productsDataGrid;
 
     @ViewComponent
-    private CollectionContainer<ProductDisplayItem> productDisplayDc;
+    private CollectionLoader<ProductDisplayItem> productDisplayDl;
 
     @ViewComponent
-    private CollectionContainer<Product> productsDc;
-
-    @ViewComponent
-    private CollectionLoader<Product> productsDl;
+    private SimplePagination productsPagination;
 
     @ViewComponent
     private JmixButton archiveSelectedButton;
@@ -125,6 +132,9 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
     @ViewComponent
     private JmixButton clearFiltersButton;
 
+    @ViewComponent
+    private Timer syncJobTimer;
+
     @Autowired
     private DataSetService dataSetService;
 
@@ -137,11 +147,24 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
     @Autowired
     private DataManager dataManager;
 
+    @Autowired
+    private UiAsyncTasks uiAsyncTasks;
+
+    private Long syncJobId;
+
     @Autowired
     private DialogWindows dialogWindows;
 
-    private List<Product> allProducts = new ArrayList<>();
-    private List<ProductDisplayItem> displayItems = new ArrayList<>();
+    @Autowired
+    private ProductGridService productGridService;
+
+    @Autowired
+    private UserStatisticsService userStatisticsService;
+
+    // Row layout for the current filter: group ids in display order, product and single row counts
+    private ProductFilterCriteria currentCriteria = new ProductFilterCriteria();
+    private ProductGridService.GridLayout layout;
+    private final Set<String> expandedGroups = new HashSet<>();
     private boolean filtersVisible = false;
 
     @Subscribe
@@ -236,9 +259,9 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
     private Component createImageComponent(ProductDisplayItem item) {
         if (item.isGroup()) {
             // Show first variant's image for group
-            Product firstProduct = item.getVariants().get(0);
-            if (firstProduct.getImageUrls() != null && !firstProduct.getImageUrls().isEmpty()) {
-                Image image = new Image(firstProduct.getImageUrls().get(0), "Product Group");
+            Product firstProduct = item.getProduct();
+            if (firstProduct != null && firstProduct.getMainImageUrl() != null) {
+                Image image = new Image(firstProduct.getMainImageUrl(), "Product Group");
                 image.setWidth("50px");
                 image.setHeight("50px");
                 image.addClassName("product-image");
@@ -249,8 +272,8 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
             }
         } else {
             Product product = item.getActualProduct();
-            if (product != null && product.getImageUrls() != null && !product.getImageUrls().isEmpty()) {
-                Image image = new Image(product.getImageUrls().get(0), "Product");
+            if (product != null && product.getMainImageUrl() != null) {
+                Image image = new Image(product.getMainImageUrl(), "Product");
                 image.setWidth("50px");
                 image.setHeight("50px");
                 image.addClassName("product-image");
@@ -264,7 +287,7 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
 
     private Component createPriceComponent(ProductDisplayItem item) {
         if (item.isGroup()) {
-            BigDecimal avgPrice = item.getTotalValue().divide(BigDecimal.valueOf(item.getVariantCount()), 2, BigDecimal.ROUND_HALF_UP);
+            BigDecimal avgPrice = item.getTotalValue().divide(BigDecimal.valueOf(item.getVariantCount()), 2, RoundingMode.HALF_UP);
             Span priceSpan = new Span(String.format("%.2f UAH avg", avgPrice));
             priceSpan.getStyle().set("font-weight", "bold");
             return priceSpan;
@@ -279,10 +302,7 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
 
     private Component createStockComponent(ProductDisplayItem item) {
         if (item.isGroup()) {
-            int totalStock = item.getVariants().stream()
-                    .mapToInt(p -> p.getStock() != null ? p.getStock() : 0)
-                    .sum();
-            Span stockSpan = new Span(String.valueOf(totalStock));
+            Span stockSpan = new Span(String.valueOf(item.getTotalStock()));
             stockSpan.getStyle().set("font-weight", "bold");
             return stockSpan;
         } else {
@@ -305,10 +325,7 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
 
     private Component createStatusComponent(ProductDisplayItem item) {
         if (item.isGroup()) {
-            long activeCount = item.getVariants().stream()
-                    .filter(p -> p.getStatus() == ProductStatus.ACTIVE)
-                    .count();
-            Span statusSpan = new Span(activeCount + "/" + item.getVariantCount() + " active");
+            Span statusSpan = new Span(item.getActiveCount() + "/" + item.getVariantCount() + " active");
             statusSpan.addClassName("status-badge");
             return statusSpan;
         } else {
@@ -339,10 +356,7 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
 
     private Component createAvailableComponent(ProductDisplayItem item) {
         if (item.isGroup()) {
-            long availableCount = item.getVariants().stream()
-                    .filter(p -> Boolean.TRUE.equals(p.getAvailable()))
-                    .count();
-            return new Span(availableCount + "/" + item.getVariantCount());
+            return new Span(item.getAvailableCount() + "/" + item.getVariantCount());
         } else {
             Product product = item.getActualProduct();
             if (product != null) {
@@ -357,122 +371,78 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
 
     private void toggleGroupExpansion(ProductDisplayItem groupItem) {
         if (!groupItem.isGroup()) {
-            System.err.println("Cannot toggle expansion on non-group item");
             return;
         }
 
-        // Toggle the expansion state
-        boolean newExpansionState = !groupItem.isExpanded();
-        groupItem.setExpanded(newExpansionState);
-
-        System.out.println("Toggling group " + groupItem.getGroupId() + " to " + (newExpansionState ? "expanded" : "collapsed"));
-
-        // Rebuild the display items with current filter
-        if (hasActiveFilters()) {
-            // If filters are active, apply them
-            ProductFilterCriteria criteria = buildFilterCriteria();
-            List<Product> filteredProducts = filterProducts(allProducts, criteria);
-            buildDisplayItems(filteredProducts);
-        } else {
-            // No filters, show all products
-            buildDisplayItems(allProducts);
+        if (!expandedGroups.remove(groupItem.getGroupId())) {
+            expandedGroups.add(groupItem.getGroupId());
         }
 
-        System.out.println("Group expansion toggled successfully. New state: " + newExpansionState);
-    }
-
-    // Helper method to check if filters are active
-    private boolean hasActiveFilters() {
-        return !buildFilterCriteria().isEmpty();
+        // Reload the current page only; row layout does not change
+        productDisplayDl.load();
     }
 
+    /**
+     * Recalculate row layout for the current filter and reload the visible page
+     */
     private void loadProducts() {
         DataSet dataSet = getEditedEntity();
-        if (dataSet != null && dataSet.getId() != null) {
-            productsDl.setParameter("datasetId", dataSet.getId());
-            productsDl.load();
-
-            allProducts = new ArrayList<>(productsDc.getItems());
-
-            // ADD THIS GROUPING LOGIC
-            if (productDisplayDc != null) {
-                buildDisplayItems(allProducts);
-                System.out.println("Using grouped display with " + allProducts.size() + " products");
-            } else {
-                // Fallback to old approach
-                updateProductCount(allProducts.size());
-                System.out.println("Using simple display with " + allProducts.size() + " products");
-            }
-        }
-    }
-
-    private void buildDisplayItems(List<Product> products) {
-        if (productDisplayDc == null) {
-            System.err.println("productDisplayDc is null - grouping not available");
+        if (dataSet == null || dataSet.getId() == null) {
             return;
         }
 
-        // Store current expansion state before rebuilding
-        Set<String> expandedGroups = displayItems.stream()
-                .filter(ProductDisplayItem::isGroup)
-                .filter(ProductDisplayItem::isExpanded)
-                .map(ProductDisplayItem::getGroupId)
-                .collect(Collectors.toSet());
-
-        System.out.println("Preserving expanded state for groups: " + expandedGroups);
-
-        // Clear and rebuild display items
-        displayItems.clear();
-
-        // Group products by groupId
-        Map<String, List<Product>> groupedProducts = products.stream()
-                .collect(Collectors.groupingBy(p ->
-                        p.getGroupId() != null && !p.getGroupId().trim().isEmpty()
-                                ? p.getGroupId()
-                                : "single_" + p.getId()));
-
-        System.out.println("Found " + groupedProducts.size() + " groups from " + products.size() + " products");
+        layout = productGridService.loadLayout(dataSet.getId(), currentCriteria);
+        expandedGroups.retainAll(layout.groupIds());
 
-        for (Map.Entry<String, List<Product>> entry : groupedProducts.entrySet()) {
-            String groupId = entry.getKey();
-            List<Product> groupProducts = entry.getValue();
+        productDisplayDl.setFirstResult(0);
+        productDisplayDl.load();
+        updateProductCount(layout.productCount());
+    }
 
-            if (groupProducts.size() == 1 || groupId.startsWith("single_")) {
-                // Single product - no grouping needed
-                displayItems.add(ProductDisplayItem.createSingleProduct(groupProducts.get(0)));
-                System.out.println("Added single product: " + groupProducts.get(0).getName());
-            } else {
-                // Multiple products with same groupId - create group
-                ProductDisplayItem groupItem = ProductDisplayItem.createProductGroup(groupId, groupProducts);
-
-                // Restore expansion state
-                boolean wasExpanded = expandedGroups.contains(groupId);
-                groupItem.setExpanded(wasExpanded);
-
-                displayItems.add(groupItem);
-                System.out.println("Added product group: " + groupId + " with " + groupProducts.size() + " variants (expanded: " + wasExpanded + ")");
-
-                // Add variants if group is expanded
-                if (groupItem.isExpanded()) {
-                    // Sort variants by name for consistent display
-                    groupProducts.stream()
-                            .sorted(Comparator.comparing(Product::getName))
-                            .forEach(variant -> {
-                                displayItems.add(ProductDisplayItem.createVariantProduct(variant));
-                            });
-                    System.out.println("Added " + groupProducts.size() + " variants for expanded group: " + groupId);
+    @Install(to = "productDisplayDl", target = Target.DATA_LOADER)
+    private List<ProductDisplayItem> productDisplayDlLoadDelegate(LoadContext<ProductDisplayItem> loadContext) {
+        DataSet dataSet = getEditedEntity();
+        if (layout == null || dataSet == null || dataSet.getId() == null) {
+            return new ArrayList<>();
+        }
+
+        LoadContext.Query query = loadContext.getQuery();
+        int firstResult = query != null ? query.getFirstResult() : 0;
+        int maxResults = query != null && query.getMaxResults() > 0 ? query.getMaxResults() : Integer.MAX_VALUE;
+
+        List<ProductDisplayItem> items = new ArrayList<>();
+        Long datasetId = dataSet.getId();
+
+        // Group headers first, then single products
+        List<String> groupIds = layout.groupIds();
+        int groupCount = groupIds.size();
+        if (firstResult < groupCount) {
+            List<String> pageGroupIds = groupIds.subList(firstResult, (int) Math.min(groupCount, (long) firstResult + maxResults));
+            for (ProductDisplayItem group : productGridService.loadGroupHeaders(datasetId, currentCriteria, pageGroupIds)) {
+                items.add(group);
+                if (expandedGroups.contains(group.getGroupId())) {
+                    group.setExpanded(true);
+                    List<Product> variants = productGridService.loadVariants(datasetId, currentCriteria, group.getGroupId());
+                    group.setVariants(variants);
+                    variants.forEach(variant -> items.add(ProductDisplayItem.createVariantProduct(variant)));
                 }
             }
         }
 
-        // Sort by display name
-        displayItems.sort(Comparator.comparing(ProductDisplayItem::getDisplayName));
+        int shownGroups = Math.max(0, Math.min(groupCount - firstResult, maxResults));
+        int remaining = maxResults - shownGroups;
+        if (remaining > 0) {
+            int singlesFirst = Math.max(0, firstResult - groupCount);
+            productGridService.loadSingles(datasetId, currentCriteria, singlesFirst, remaining)
+                    .forEach(product -> items.add(ProductDisplayItem.createSingleProduct(product)));
+        }
 
-        // Update the grid
-        productDisplayDc.setItems(displayItems);
-        updateProductCount(products.size());
+        return items;
+    }
 
-        System.out.println("Built " + displayItems.size() + " display items from " + products.size() + " products");
+    @Install(to = "productsPagination", subject = "totalCountDelegate")
+    private Integer productsPaginationTotalCountDelegate(DataLoadContext dataLoadContext) {
+        return layout == null ? 0 : (int) (layout.groupIds().size() + layout.singleCount());
     }
 
     @Subscribe("toggleFiltersButton")
@@ -499,26 +469,68 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
         clearAllFilters();
     }
 
+    /**
+     * Queues the sync on the engine in a background task; the job is then polled by syncJobTimer
+     */
     @Subscribe("syncDatasetButton")
     public void onSyncDatasetButtonClick(ClickEvent<JmixButton> event) {
         DataSet dataSet = getEditedEntity();
-        if (dataSet != null) {
-            try {
-                String userId = currentAuthentication.getUser().getUsername();
-                dataSetService.synchronizeDataSet(dataSet, userId);
+        if (dataSet == null) {
+            return;
+        }
 
-                notifications.create("Dataset synchronization started")
-                        .withType(Notifications.Type.SUCCESS)
-                        .show();
+        String userId = currentAuthentication.getUser().getUsername();
+        syncDatasetButton.setEnabled(false);
 
-                reloadEntity();
+        uiAsyncTasks.supplierConfigurer(() -> dataSetService.bulkSynchronize(List.of(dataSet), userId))
+                .withResultHandler(this::onSyncScheduled)
+                .withExceptionHandler(e -> {
+                    syncDatasetButton.setEnabled(true);
+                    notifications.create("Failed to start synchronization: " + e.getMessage())
+                            .withType(Notifications.Type.ERROR)
+                            .show();
+                })
+                .supplyAsync();
+    }
 
-            } catch (Exception e) {
-                notifications.create("Failed to start synchronization: " + e.getMessage())
-                        .withType(Notifications.Type.ERROR)
-                        .show();
-            }
+    private void onSyncScheduled(List<SyncJobResponse> results) {
+        SyncJobResponse result = results.isEmpty() ? null : results.get(0);
+        if (result == null || !result.isScheduled()) {
+            syncDatasetButton.setEnabled(true);
+            notifications.create("Failed to start synchronization: "
+                            + (result != null ? result.getErrorMessage() : "no response"))
+                    .withType(Notifications.Type.ERROR)
+                    .show();
+            reloadEntity();
+            return;
         }
+
+        syncJobId = result.getJobId();
+        notifications.create("Dataset synchronization started")
+                .withType(Notifications.Type.SUCCESS)
+                .show();
+        reloadEntity();
+        syncJobTimer.start();
+    }
+
+    @Subscribe("syncJobTimer")
+    public void onSyncJobTimerTimerAction(Timer.TimerActionEvent event) {
+        List<SyncJob> jobs = syncJobId != null ? dataSetService.getSyncJobs(List.of(syncJobId)) : List.of();
+        if (!jobs.isEmpty() && (jobs.get(0).getStatus() == SyncJobStatus.PENDING
+                || jobs.get(0).getStatus() == SyncJobStatus.RUNNING)) {
+            return;
+        }
+
+        syncJobTimer.stop();
+        syncJobId = null;
+        syncDatasetButton.setEnabled(true);
+        reloadEntity();
+
+        boolean completed = !jobs.isEmpty() && jobs.get(0).getStatus() == SyncJobStatus.COMPLETED;
+        notifications.create(completed ? "Dataset synchronization finished"
+                        : "Dataset synchronization failed" + (jobs.isEmpty() ? "" : ": " + jobs.get(0).getErrorMessage()))
+                .withType(completed ? Notifications.Type.SUCCESS : Notifications.Type.ERROR)
+                .show();
     }
 
     @Subscribe("editProductButton")
@@ -544,6 +556,7 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
         if (!productsToArchive.isEmpty()) {
             try {
                 dataSetService.archiveProducts(productsToArchive);
+                userStatisticsService.refresh(getEditedEntity().getCreatedBy());
 
                 notifications.create("Archived " + productsToArchive.size() + " products")
                         .withType(Notifications.Type.SUCCESS)
@@ -573,29 +586,22 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
 
     private void applyFilters() {
         try {
-            ProductFilterCriteria criteria = buildFilterCriteria();
+            currentCriteria = buildFilterCriteria();
+            loadProducts();
 
-            if (criteria.isEmpty()) {
-                buildDisplayItems(allProducts);
-                notifications.create("No filters applied - showing all " + allProducts.size() + " products")
+            long filtered = layout != null ? layout.productCount() : 0;
+            if (currentCriteria.isEmpty()) {
+                notifications.create("No filters applied - showing all " + filtered + " products")
                         .withType(Notifications.Type.DEFAULT)
                         .show();
                 return;
             }
 
-            System.out.println("Applying filters to " + allProducts.size() + " products");
-            System.out.println("Filter criteria: " + criteriaToString(criteria));
-
-            List<Product> filteredProducts = filterProducts(allProducts, criteria);
-            buildDisplayItems(filteredProducts);
-
-            String message = "Applied filters: showing " + filteredProducts.size() + " of " + allProducts.size() + " products";
-            notifications.create(message)
-                    .withType(filteredProducts.isEmpty() ? Notifications.Type.WARNING : Notifications.Type.SUCCESS)
+            long total = productGridService.countProducts(getEditedEntity().getId(), new ProductFilterCriteria());
+            notifications.create("Applied filters: showing " + filtered + " of " + total + " products")
+                    .withType(filtered == 0 ? Notifications.Type.WARNING : Notifications.Type.SUCCESS)
                     .show();
 
-            System.out.println("Filtered down to " + filteredProducts.size() + " products");
-
         } catch (Exception e) {
             System.err.println("Error applying filters: " + e.getMessage());
             e.printStackTrace();
@@ -606,7 +612,6 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
         }
     }
 
-    // All the existing filter methods remain exactly the same
     private ProductFilterCriteria buildFilterCriteria() {
         ProductFilterCriteria criteria = new ProductFilterCriteria();
 
@@ -711,144 +716,6 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
         return criteria;
     }
 
-    private boolean matchesCriteria(Product product, ProductFilterCriteria criteria) {
-        // Safety check
-        if (product == null) {
-            return false;
-        }
-
-        // Name filter
-        if (criteria.getNameFilter() != null) {
-            String productName = product.getName();
-            if (productName == null || !productName.toLowerCase().contains(criteria.getNameFilter().toLowerCase())) {
-                return false;
-            }
-        }
-
-        // Category filter
-        if (criteria.getCategoryFilter() != null) {
-            String categoryName = product.getExternalCategoryName();
-            if (categoryName == null || !categoryName.toLowerCase().contains(criteria.getCategoryFilter().toLowerCase())) {
-                return false;
-            }
-        }
-
-        // Description filter
-        if (criteria.getDescriptionFilter() != null) {
-            String description = product.getDescription();
-            if (description == null || !description.toLowerCase().contains(criteria.getDescriptionFilter().toLowerCase())) {
-                return false;
-            }
-        }
-
-        // Source type filter
-        if (criteria.getSourceTypes() != null && !criteria.getSourceTypes().isEmpty()) {
-            SourceType productSourceType = product.getSourceType();
-            if (productSourceType == null || !criteria.getSourceTypes().contains(productSourceType)) {
-                return false;
-            }
-        }
-
-        // Price filters
-        if (criteria.getMinPrice() != null) {
-            BigDecimal productPrice = product.getOriginalPrice();
-            if (productPrice == null || productPrice.compareTo(criteria.getMinPrice()) < 0) {
-                return false;
-            }
-        }
-
-        if (criteria.getMaxPrice() != null) {
-            BigDecimal productPrice = product.getOriginalPrice();
-            if (productPrice == null || productPrice.compareTo(criteria.getMaxPrice()) > 0) {
-                return false;
-            }
-        }
-
-        // Stock filters
-        if (criteria.getMinStock() != null) {
-            Integer stock = product.getStock();
-            if (stock == null || stock < criteria.getMinStock()) {
-                return false;
-            }
-        }
-
-        if (criteria.getMaxStock() != null) {
-            Integer stock = product.getStock();
-            if (stock == null || stock > criteria.getMaxStock()) {
-                return false;
-            }
-        }
-
-        // Available filter
-        if (criteria.getAvailableOnly() != null && criteria.getAvailableOnly()) {
-            Boolean available = product.getAvailable();
-            if (!Boolean.TRUE.equals(available)) {
-                return false;
-            }
-        }
-
-        // Status filter
-        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
-            ProductStatus productStatus = product.getStatus();
-            if (productStatus == null || !criteria.getStatuses().contains(productStatus)) {
-                return false;
-            }
-        }
-
-        // AI optimized filter
-        if (criteria.getAiOptimizedOnly() != null && criteria.getAiOptimizedOnly()) {
-            Boolean aiOptimized = product.getAiOptimized();
-            if (!Boolean.TRUE.equals(aiOptimized)) {
-                return false;
-            }
-        }
-
-        // Has images filter
-        if (criteria.getHasImages() != null && criteria.getHasImages()) {
-            List<String> imageUrls = product.getImageUrls();
-            if (imageUrls == null || imageUrls.isEmpty()) {
-                return false;
-            }
-        }
-
-        // Has group ID filter
-        if (criteria.getHasGroupId() != null && criteria.getHasGroupId()) {
-            String groupId = product.getGroupId();
-            if (groupId == null || groupId.trim().isEmpty()) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
-    private List<Product> filterProducts(List<Product> products, ProductFilterCriteria criteria) {
-        return products.stream()
-                .filter(product -> matchesCriteria(product, criteria))
-                .collect(Collectors.toList());
-    }
-
-    private String criteriaToString(ProductFilterCriteria criteria) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("FilterCriteria{");
-
-        if (criteria.getNameFilter() != null) sb.append("name='").append(criteria.getNameFilter()).append("', ");
-        if (criteria.getCategoryFilter() != null) sb.append("category='").append(criteria.getCategoryFilter()).append("', ");
-        if (criteria.getSourceTypes() != null) sb.append("sources=").append(criteria.getSourceTypes()).append(", ");
-        if (criteria.getMinPrice() != null) sb.append("minPrice=").append(criteria.getMinPrice()).append(", ");
-        if (criteria.getMaxPrice() != null) sb.append("maxPrice=").append(criteria.getMaxPrice()).append(", ");
-        if (criteria.getMinStock() != null) sb.append("minStock=").append(criteria.getMinStock()).append(", ");
-        if (criteria.getMaxStock() != null) sb.append("maxStock=").append(criteria.getMaxStock()).append(", ");
-        if (criteria.getAvailableOnly() != null) sb.append("availableOnly=").append(criteria.getAvailableOnly()).append(", ");
-        if (criteria.getStatuses() != null) sb.append("statuses=").append(criteria.getStatuses()).append(", ");
-        if (criteria.getAiOptimizedOnly() != null) sb.append("aiOnly=").append(criteria.getAiOptimizedOnly()).append(", ");
-        if (criteria.getHasImages() != null) sb.append("hasImages=").append(criteria.getHasImages()).append(", ");
-        if (criteria.getHasGroupId() != null) sb.append("hasGroupId=").append(criteria.getHasGroupId()).append(", ");
-
-        sb.append("}");
-        return sb.toString();
-    }
-
     private void clearAllFilters() {
         try {
             // Clear all filter fields
@@ -867,14 +734,13 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
             hasGroupIdFilter.setValue(false);
 
             // Reset to show all products
-            buildDisplayItems(allProducts);
+            currentCriteria = new ProductFilterCriteria();
+            loadProducts();
 
-            notifications.create("Filters cleared - showing all " + allProducts.size() + " products")
+            notifications.create("Filters cleared - showing all products")
                     .withType(Notifications.Type.DEFAULT)
                     .show();
 
-            System.out.println("Filters cleared, showing " + allProducts.size() + " products");
-
         } catch (Exception e) {
             System.err.println("Error clearing filters: " + e.getMessage());
             e.printStackTrace();
@@ -901,7 +767,7 @@ public class DataSetDetailView extends StandardDetailView<DataSet> {
         exportSelectedButton.setEnabled(hasProductSelected);
     }
 
-    private void updateProductCount(int count) {
+    private void updateProductCount(long count) {
         productCountLabel.setText(count + " products");
     }
 
@@ -1,20 +1,27 @@
 package com.dropiq.admin.view.dataset;
 
 import com.dropiq.admin.entity.DataSet;
+import com.dropiq.admin.entity.SyncJob;
+import com.dropiq.admin.model.SyncJobResponse;
+import com.dropiq.admin.model.SyncJobStatus;
 import com.dropiq.admin.service.DataSetService;
 import com.dropiq.admin.view.main.MainView;
 import com.vaadin.flow.component.ClickEvent;
 import com.vaadin.flow.component.grid.Grid;
-import com.vaadin.flow.component.notification.Notification;
-import com.vaadin.flow.component.notification.NotificationVariant;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.router.Route;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.flowui.Notifications;
+import io.jmix.flowui.asynctask.UiAsyncTasks;
 import io.jmix.flowui.component.grid.DataGrid;
+import io.jmix.flowui.facet.Timer;
 import io.jmix.flowui.kit.component.button.JmixButton;
+import io.jmix.flowui.model.CollectionLoader;
 import io.jmix.flowui.view.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Route(value = "datasets", layout = MainView.class)
@@ -33,15 +40,30 @@ public class DataSetListView extends StandardListView<DataSet> {
     @ViewComponent
     private JmixButton bulkSyncButton;
 
+    @ViewComponent
+    private Span syncProgressLabel;
+
+    @ViewComponent
+    private Timer syncProgressTimer;
+
+    @ViewComponent
+    private CollectionLoader<DataSet> dataSetsDl;
+
     @Autowired
     private DataSetService dataSetService;
 
+    @Autowired
+    private UiAsyncTasks uiAsyncTasks;
+
     @Autowired
     private CurrentAuthentication currentAuthentication;
 
     @Autowired
     private Notifications notifications;
 
+    private final Set<Long> trackedJobIds = new HashSet<>();
+    private long finishedJobs;
+
     @Subscribe
     public void onReady(ReadyEvent event) {
         // Configure grid selection
@@ -72,41 +94,79 @@ public class DataSetListView extends StandardListView<DataSet> {
     }
 
     private void performSync(DataSet dataSet) {
-        try {
-            String userId = currentAuthentication.getUser().getUsername();
-            dataSetService.synchronizeDataSet(dataSet, userId);
+        performBulkSync(Set.of(dataSet));
+    }
+
+    /**
+     * Queues the sync on the engine in a background task; progress is then polled by syncProgressTimer
+     */
+    private void performBulkSync(Set<DataSet> dataSets) {
+        String userId = currentAuthentication.getUser().getUsername();
+        List<DataSet> toSync = List.copyOf(dataSets);
+
+        syncButton.setEnabled(false);
+        bulkSyncButton.setEnabled(false);
+
+        uiAsyncTasks.supplierConfigurer(() -> dataSetService.bulkSynchronize(toSync, userId))
+                .withResultHandler(this::onSyncScheduled)
+                .withExceptionHandler(e -> {
+                    updateButtonStates();
+                    notifications.create("Failed to start synchronization: " + e.getMessage())
+                            .withType(Notifications.Type.ERROR)
+                            .show();
+                })
+                .supplyAsync();
+    }
+
+    private void onSyncScheduled(List<SyncJobResponse> results) {
+        results.stream()
+                .filter(SyncJobResponse::isScheduled)
+                .forEach(result -> trackedJobIds.add(result.getJobId()));
 
-            notifications.create("Synchronization started for: " + dataSet.getName())
-                    .withType(Notifications.Type.SUCCESS)
-                    .show();
+        long rejected = results.stream().filter(result -> !result.isScheduled()).count();
+        notifications.create("Synchronization queued for " + (results.size() - rejected) + " datasets" +
+                        (rejected > 0 ? ", " + rejected + " rejected" : ""))
+                .withType(rejected > 0 ? Notifications.Type.WARNING : Notifications.Type.SUCCESS)
+                .show();
 
-            // Refresh the grid
-            getViewData().loadAll();
+        updateButtonStates();
+        dataSetsDl.load();
 
-        } catch (Exception e) {
-            notifications.create("Failed to start synchronization: " + e.getMessage())
-                    .withType(Notifications.Type.ERROR)
-                    .show();
+        if (!trackedJobIds.isEmpty()) {
+            finishedJobs = -1;
+            syncProgressTimer.start();
         }
     }
 
-    private void performBulkSync(Set<DataSet> dataSets) {
-        try {
-            String userId = currentAuthentication.getUser().getUsername();
-            dataSetService.bulkSynchronize(dataSets.stream().toList(), userId);
-
-            notifications.create("Bulk synchronization started for " + dataSets.size() + " datasets")
-                    .withType(Notifications.Type.SUCCESS)
-                    .show();
+    @Subscribe("syncProgressTimer")
+    public void onSyncProgressTimerTimerAction(Timer.TimerActionEvent event) {
+        List<SyncJob> jobs = dataSetService.getSyncJobs(trackedJobIds);
+        long finished = jobs.stream().filter(job -> !isActive(job.getStatus())).count();
 
-            // Refresh the grid
-            getViewData().loadAll();
+        if (finished != finishedJobs) {
+            finishedJobs = finished;
+            dataSetsDl.load();
+        }
 
-        } catch (Exception e) {
-            notifications.create("Failed to start bulk synchronization: " + e.getMessage())
-                    .withType(Notifications.Type.ERROR)
-                    .show();
+        if (finished < jobs.size()) {
+            syncProgressLabel.setText("Syncing: " + finished + "/" + jobs.size() + " done");
+            syncProgressLabel.setVisible(true);
+            return;
         }
+
+        syncProgressTimer.stop();
+        syncProgressLabel.setVisible(false);
+        trackedJobIds.clear();
+
+        long failed = jobs.stream().filter(job -> job.getStatus() != SyncJobStatus.COMPLETED).count();
+        notifications.create("Synchronization finished: " + (jobs.size() - failed) + " completed" +
+                        (failed > 0 ? ", " + failed + " failed" : ""))
+                .withType(failed > 0 ? Notifications.Type.WARNING : Notifications.Type.SUCCESS)
+                .show();
+    }
+
+    private static boolean isActive(SyncJobStatus status) {
+        return status == SyncJobStatus.PENDING || status == SyncJobStatus.RUNNING;
     }
 
     private void updateButtonStates() {
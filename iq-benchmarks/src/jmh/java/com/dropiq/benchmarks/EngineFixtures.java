@@ -0,0 +1,59 @@
+package com.dropiq.benchmarks;
+
+import com.dropiq.engine.integration.exp.PlatformHandler;
+import com.dropiq.engine.integration.exp.easydrop.EasyDropHandler;
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import com.dropiq.engine.integration.exp.mydrop.MyDropHandler;
+import com.dropiq.engine.integration.exp.service.ProductAttributeExtractor;
+import com.dropiq.engine.integration.exp.service.SizeNormalizerService;
+import com.dropiq.engine.monitoring.SyncMetrics;
+import com.dropiq.engine.support.feed.SyntheticFeed;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Engine components wired by hand, without an application context, plus the feeds the benchmarks run on
+ */
+public final class EngineFixtures {
+
+    private static final String DICTIONARY = "dictionaries/product-attributes.json";
+
+    private EngineFixtures() {
+    }
+
+    /**
+     * Feed handler as Spring builds it; the RestTemplate is never used because benchmarks parse fetched content
+     */
+    public static PlatformHandler handler(SourceType platform) {
+        SizeNormalizerService sizeNormalizer = new SizeNormalizerService();
+        ProductAttributeExtractor attributeExtractor = new ProductAttributeExtractor(new ClassPathResource(DICTIONARY));
+        return switch (platform) {
+            case EASYDROP -> new EasyDropHandler(new RestTemplate(), sizeNormalizer, attributeExtractor, SyncMetrics.NOOP);
+            case MYDROP -> new MyDropHandler(new RestTemplate(), sizeNormalizer, attributeExtractor, SyncMetrics.NOOP);
+            default -> throw new IllegalArgumentException("No feed handler for " + platform);
+        };
+    }
+
+    public static String feedXml(SourceType platform, int offers) {
+        return SyntheticFeed.of(platform, offers).toXml();
+    }
+
+    public static String sourceUrl(SourceType platform) {
+        return "https://feeds.example.com/" + platform.name().toLowerCase(Locale.ROOT) + ".xml";
+    }
+
+    /**
+     * Products of a parsed synthetic feed, the input a sync hands to mapping and grouping
+     */
+    public static List<UnifiedProduct> products(SourceType platform, int offers) {
+        List<UnifiedProduct> products = handler(platform).parseProducts(feedXml(platform, offers), sourceUrl(platform));
+        if (products.size() != offers) {
+            throw new IllegalStateException("Parsed " + products.size() + " of " + offers + " " + platform + " offers");
+        }
+        return products;
+    }
+}
@@ -0,0 +1,47 @@
+package com.dropiq.benchmarks.feed;
+
+import com.dropiq.benchmarks.EngineFixtures;
+import com.dropiq.engine.integration.exp.PlatformHandler;
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EasyDropHandler and MyDropHandler parsing a fetched feed into products, reported per offer.
+ * Covers the DOM parse, category lookup, size normalization and attribute extraction a sync runs for every offer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FeedParsingBenchmark {
+
+    private static final int OFFERS = 10_000;
+
+    @Param({"EASYDROP", "MYDROP"})
+    private SourceType platform;
+
+    private PlatformHandler handler;
+    private String xml;
+    private String sourceUrl;
+
+    @Setup
+    public void setUp() {
+        handler = EngineFixtures.handler(platform);
+        xml = EngineFixtures.feedXml(platform, OFFERS);
+        sourceUrl = EngineFixtures.sourceUrl(platform);
+
+        int parsed = handler.parseProducts(xml, sourceUrl).size();
+        if (parsed != OFFERS) {
+            throw new IllegalStateException("Parsed " + parsed + " of " + OFFERS + " " + platform + " offers");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OFFERS)
+    public List<UnifiedProduct> parseProducts() {
+        return handler.parseProducts(xml, sourceUrl);
+    }
+}
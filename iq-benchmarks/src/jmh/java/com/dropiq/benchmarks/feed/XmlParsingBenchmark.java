@@ -0,0 +1,133 @@
+package com.dropiq.benchmarks.feed;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.support.feed.SyntheticFeed;
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the offer fields a sync needs (id, group, name, price, size) out of a feed: the DOM tree
+ * PlatformHandler builds today vs a single forward StAX pass. Both start from the feed bytes as they arrive;
+ * setup fails if the two readers disagree on any offer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class XmlParsingBenchmark {
+
+    private static final XMLInputFactory STAX = XMLInputFactory.newFactory();
+
+    public record Offer(String id, String groupId, String name, String price, String size) {
+    }
+
+    @Param({"EASYDROP", "MYDROP"})
+    private SourceType platform;
+
+    @Param({"10000"})
+    private int offers;
+
+    private byte[] feed;
+    private String offerTag;
+    private String priceTag;
+
+    @Setup
+    public void setUp() throws Exception {
+        feed = SyntheticFeed.of(platform, offers).toBytes();
+        offerTag = platform == SourceType.EASYDROP ? "item" : "offer";
+        priceTag = platform == SourceType.EASYDROP ? "priceuah" : "price";
+
+        List<Offer> dom = dom();
+        List<Offer> streaming = streaming();
+        if (dom.size() != offers || !dom.equals(streaming)) {
+            throw new IllegalStateException("DOM read " + dom.size() + " offers, StAX read " + streaming.size() +
+                    (dom.size() == streaming.size() ? " with different values" : ""));
+        }
+    }
+
+    /**
+     * Whole document in memory, then per-offer getElementsByTagName lookups, as the handlers do
+     */
+    @Benchmark
+    public List<Offer> dom() throws Exception {
+        // A new factory per parse, like PlatformHandler.parseXml
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(feed));
+        NodeList nodes = doc.getElementsByTagName(offerTag);
+        List<Offer> result = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Element element = (Element) nodes.item(i);
+            String size = null;
+            NodeList params = element.getElementsByTagName("param");
+            for (int p = 0; p < params.getLength() && size == null; p++) {
+                Element param = (Element) params.item(p);
+                if (isSizeParam(param.getAttribute("name"))) {
+                    size = param.getTextContent();
+                }
+            }
+            result.add(new Offer(element.getAttribute("id"), element.getAttribute("group_id"),
+                    text(element, "name"), text(element, priceTag), size));
+        }
+        return result;
+    }
+
+    /**
+     * One pass over the events; only the current offer is held in memory
+     */
+    @Benchmark
+    public List<Offer> streaming() throws Exception {
+        XMLStreamReader reader = STAX.createXMLStreamReader(new ByteArrayInputStream(feed));
+        List<Offer> result = new ArrayList<>();
+        String id = null;
+        String groupId = null;
+        String name = null;
+        String price = null;
+        String size = null;
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String tag = reader.getLocalName();
+                    if (tag.equals(offerTag)) {
+                        id = reader.getAttributeValue(null, "id");
+                        groupId = reader.getAttributeValue(null, "group_id");
+                        name = null;
+                        price = null;
+                        size = null;
+                    } else if (id != null && tag.equals("name")) {
+                        name = reader.getElementText();
+                    } else if (id != null && tag.equals(priceTag)) {
+                        price = reader.getElementText();
+                    } else if (id != null && tag.equals("param") && size == null
+                            && isSizeParam(reader.getAttributeValue(null, "name"))) {
+                        size = reader.getElementText();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals(offerTag)) {
+                    result.add(new Offer(id, groupId, name, price, size));
+                    id = null;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return result;
+    }
+
+    private static boolean isSizeParam(String name) {
+        return "Розмір".equals(name) || "Размер".equals(name);
+    }
+
+    private static String text(Element element, String tag) {
+        NodeList nodes = element.getElementsByTagName(tag);
+        return nodes.getLength() > 0 ? nodes.item(0).getTextContent() : null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dropiq.benchmarks.grouping;
+
+import com.dropiq.benchmarks.EngineFixtures;
+import com.dropiq.engine.integration.exp.model.ProductVariantGroup;
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import com.dropiq.engine.integration.exp.service.UnifiedProductService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UnifiedProductService.groupProductsByVariant over the products of both feeds, reported per product.
+ * Setup fails if the feeds produce no multi-variant groups, so the benchmark always exercises real grouping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariantGroupingBenchmark {
+
+    private static final int PRODUCTS = 20_000;
+
+    private UnifiedProductService service;
+    private List<UnifiedProduct> products;
+
+    @Setup
+    public void setUp() {
+        service = new UnifiedProductService(List.of());
+        products = new ArrayList<>(EngineFixtures.products(SourceType.EASYDROP, PRODUCTS / 2));
+        products.addAll(EngineFixtures.products(SourceType.MYDROP, PRODUCTS / 2));
+
+        int groups = service.groupProductsByVariant(products).size();
+        if (groups == 0 || groups == PRODUCTS) {
+            throw new IllegalStateException("Expected variant groups, got " + groups + " for " + PRODUCTS + " products");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRODUCTS)
+    public List<ProductVariantGroup> groupProductsByVariant() {
+        return service.groupProductsByVariant(products);
+    }
+}
@@ -0,0 +1,66 @@
+package com.dropiq.benchmarks.mapping;
+
+import com.dropiq.benchmarks.EngineFixtures;
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import com.dropiq.engine.product.entity.DataSet;
+import com.dropiq.engine.product.entity.Product;
+import com.dropiq.engine.product.support.HoroshopProductMapper;
+import com.dropiq.engine.product.support.ProductMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-product mapping costs of an import and an export: ProductMapper.toProduct on parsed feed products and
+ * HoroshopProductMapper.toHoroshopProduct on the priced entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductMappingBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private final HoroshopProductMapper horoshopMapper = new HoroshopProductMapper();
+
+    private List<UnifiedProduct> unifiedProducts;
+    private List<Product> products;
+    private DataSet dataset;
+
+    @Setup
+    public void setUp() {
+        unifiedProducts = new ArrayList<>(EngineFixtures.products(SourceType.EASYDROP, PRODUCTS / 2));
+        unifiedProducts.addAll(EngineFixtures.products(SourceType.MYDROP, PRODUCTS / 2));
+
+        products = new ArrayList<>(PRODUCTS);
+        for (UnifiedProduct unifiedProduct : unifiedProducts) {
+            Product product = productMapper.toProduct(unifiedProduct);
+            product.calculateSellingPrice();
+            products.add(product);
+        }
+
+        dataset = new DataSet();
+        dataset.setName("Benchmark");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRODUCTS)
+    public void toProduct(Blackhole blackhole) {
+        for (UnifiedProduct unifiedProduct : unifiedProducts) {
+            blackhole.consume(productMapper.toProduct(unifiedProduct));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRODUCTS)
+    public void toHoroshopProduct(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(horoshopMapper.toHoroshopProduct(product, dataset));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.dropiq.benchmarks.pricing;
+
+import com.dropiq.engine.product.pricing.PriceRule;
+import com.dropiq.engine.product.pricing.PricingEngine;
+import com.dropiq.engine.support.pricing.LegacyPriceUtil;
+import com.dropiq.engine.user.service.PriceUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repricing a dataset-sized batch: legacy BigDecimal code vs PricingEngine (BigDecimal API and long[] bulk API),
+ * and marketing rounding alone through PriceUtil.roundToMarketingPriceUp.
+ * That both give the legacy results is checked by PricingEngineTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PricingBenchmark {
+
+    @Param({"30000"})
+    private int products;
+
+    @Param({"25"})
+    private String markup;
+
+    private BigDecimal markupPercentage;
+    private PriceRule rule;
+    private BigDecimal[] originalPrices;
+    private long[] costCents;
+    private long[] sellingCents;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        markupPercentage = new BigDecimal(markup);
+        rule = PriceRule.markup(markupPercentage);
+        originalPrices = new BigDecimal[products];
+        costCents = new long[products];
+        sellingCents = new long[products];
+
+        for (int i = 0; i < products; i++) {
+            // Skewed towards cheap goods, with a tail up to ~20 000 UAH
+            double price = 20 + Math.pow(random.nextDouble(), 3) * 20_000;
+            originalPrices[i] = BigDecimal.valueOf(price).setScale(2, java.math.RoundingMode.HALF_UP);
+            costCents[i] = PricingEngine.toCents(originalPrices[i]);
+        }
+    }
+
+    @Benchmark
+    public void legacyBigDecimal(Blackhole blackhole) {
+        for (BigDecimal price : originalPrices) {
+            blackhole.consume(LegacyPriceUtil.sellingPrice(price, markupPercentage));
+        }
+    }
+
+    @Benchmark
+    public void engineBigDecimal(Blackhole blackhole) {
+        for (BigDecimal price : originalPrices) {
+            blackhole.consume(PricingEngine.sellingPrice(price, rule));
+        }
+    }
+
+    @Benchmark
+    public long[] engineBulkCents() {
+        PricingEngine.sellingPrices(costCents, rule, sellingCents);
+        return sellingCents;
+    }
+
+    @Benchmark
+    public void legacyMarketingRoundUp(Blackhole blackhole) {
+        for (BigDecimal price : originalPrices) {
+            blackhole.consume(LegacyPriceUtil.roundToMarketingPriceUp(price));
+        }
+    }
+
+    @Benchmark
+    public void priceUtilMarketingRoundUp(Blackhole blackhole) {
+        for (BigDecimal price : originalPrices) {
+            blackhole.consume(PriceUtil.roundToMarketingPriceUp(price));
+        }
+    }
+}
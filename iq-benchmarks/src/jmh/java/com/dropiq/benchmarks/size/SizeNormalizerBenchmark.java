@@ -0,0 +1,78 @@
+package com.dropiq.benchmarks.size;
+
+import com.dropiq.benchmarks.EngineFixtures;
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import com.dropiq.engine.integration.exp.service.SizeNormalizerService;
+import com.dropiq.engine.support.size.LegacySizeNormalizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalizing the sizes of a parsed synthetic feed: legacy per-call regex and keyword loop vs the memoized service.
+ * memoizedCold starts every batch with an empty memo, as the first sync after a restart does;
+ * memoizedWarm reuses a memo that has already seen the feed, as later syncs of the same supplier do.
+ * Equality with the legacy results is checked by SizeNormalizerServiceTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SizeNormalizerBenchmark {
+
+    @Param({"EASYDROP", "MYDROP"})
+    private SourceType platform;
+
+    @Param({"30000"})
+    private int offers;
+
+    private String[] sizes;
+    private String[] names;
+    private String[] categories;
+    private SizeNormalizerService warmService;
+
+    @Setup
+    public void setUp() {
+        List<UnifiedProduct> products = EngineFixtures.products(platform, offers);
+        sizes = new String[products.size()];
+        names = new String[products.size()];
+        categories = new String[products.size()];
+        for (int i = 0; i < products.size(); i++) {
+            UnifiedProduct product = products.get(i);
+            sizes[i] = product.getSize() != null ? product.getSize().getOriginalValue() : null;
+            names[i] = product.getName();
+            categories[i] = product.getCategoryName();
+        }
+
+        warmService = new SizeNormalizerService();
+        for (int i = 0; i < sizes.length; i++) {
+            warmService.normalizeSize(sizes[i], names[i], categories[i]);
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        LegacySizeNormalizer legacy = new LegacySizeNormalizer();
+        for (int i = 0; i < sizes.length; i++) {
+            blackhole.consume(legacy.normalizeSize(sizes[i], names[i], categories[i]));
+        }
+    }
+
+    @Benchmark
+    public void memoizedCold(Blackhole blackhole) {
+        normalize(new SizeNormalizerService(), blackhole);
+    }
+
+    @Benchmark
+    public void memoizedWarm(Blackhole blackhole) {
+        normalize(warmService, blackhole);
+    }
+
+    private void normalize(SizeNormalizerService service, Blackhole blackhole) {
+        for (int i = 0; i < sizes.length; i++) {
+            blackhole.consume(service.normalizeSize(sizes[i], names[i], categories[i]));
+        }
+    }
+}
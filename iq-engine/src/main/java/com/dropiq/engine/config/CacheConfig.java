@@ -0,0 +1,78 @@
+package com.dropiq.engine.config;
+
+import com.dropiq.engine.integration.ai.model.FeatureProductAnalysisResult;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Caffeine caches behind @Cacheable, each built from its own spec.
+ * All caches record stats, so Boot binds them as cache.* meters; specs with maximumWeight get the size weigher below.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(CacheSpecProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(caffeine(properties.getDefaultSpec()));
+
+        properties.getSpecs().forEach((name, spec) -> {
+            cacheManager.registerCustomCache(name, caffeine(spec).build());
+            log.info("Cache {} configured: {}", name, spec);
+        });
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> caffeine(String spec) {
+        Caffeine<Object, Object> caffeine = Caffeine.from(spec).recordStats();
+        if (spec.contains("maximumWeight")) {
+            caffeine.weigher((key, value) -> weigh(value));
+        }
+        return caffeine;
+    }
+
+    /**
+     * Rough entry size: one unit per collection element, per KB of analysis text, or 1 otherwise
+     */
+    private static int weigh(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        if (value instanceof FeatureProductAnalysisResult analysis) {
+            return 1 + textLength(analysis) / 1024;
+        }
+        return 1;
+    }
+
+    private static int textLength(FeatureProductAnalysisResult analysis) {
+        int length = Stream.of(analysis.getDescriptionUa(), analysis.getDescriptionRu(), analysis.getDescriptionEn(),
+                        analysis.getShortDescriptionUa(), analysis.getShortDescriptionRu(), analysis.getShortDescriptionEn(),
+                        analysis.getMetaDescriptionUa(), analysis.getMetaDescriptionRu(), analysis.getMetaDescriptionEn())
+                .filter(Objects::nonNull)
+                .mapToInt(String::length)
+                .sum();
+        for (List<String> words : List.of(analysis.getPrimaryKeywordsUa(), analysis.getLongTailKeywordsUa(),
+                analysis.getTagsUa(), analysis.getSellingPoints())) {
+            if (words != null) {
+                length += words.stream().filter(Objects::nonNull).mapToInt(String::length).sum();
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,22 @@
+package com.dropiq.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine spec per cache name, e.g. {@code dropiq.cache.specs.users=maximumSize=5000,expireAfterWrite=10m}
+ */
+@Data
+@ConfigurationProperties(prefix = "dropiq.cache")
+public class CacheSpecProperties {
+
+    /**
+     * Spec for caches that are used but not listed in specs
+     */
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=1h";
+
+    private Map<String, String> specs = new LinkedHashMap<>();
+}
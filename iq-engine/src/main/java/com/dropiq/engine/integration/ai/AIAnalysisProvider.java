@@ -0,0 +1,32 @@
+package com.dropiq.engine.integration.ai;
+
+import com.dropiq.engine.integration.ai.model.AIAnalysisRequest;
+import com.dropiq.engine.integration.ai.model.FeatureProductAnalysisResult;
+
+/**
+ * LLM backend for Horoshop product analysis, chosen per request by {@link AIProviderRouter}.
+ * <p>
+ * Implementations throw on transport errors and unparseable answers instead of returning a fallback,
+ * so the router can fail over to another provider.
+ */
+public interface AIAnalysisProvider {
+
+    /**
+     * Name used in {@code ai.router.providers} and in metric tags
+     */
+    String getProviderName();
+
+    boolean supportsVision();
+
+    /**
+     * Longest description the provider accepts; longer ones are cut before the call
+     */
+    int getMaxTextLength();
+
+    /**
+     * Approximate cost of one analysis in USD
+     */
+    double getCostPerRequest();
+
+    FeatureProductAnalysisResult analyze(AIAnalysisRequest request);
+}
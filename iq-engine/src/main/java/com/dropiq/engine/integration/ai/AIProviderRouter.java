@@ -0,0 +1,324 @@
+package com.dropiq.engine.integration.ai;
+
+import com.dropiq.engine.integration.ai.model.AIAnalysisRequest;
+import com.dropiq.engine.integration.ai.model.FeatureProductAnalysisResult;
+import com.dropiq.engine.monitoring.SyncMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Picks an {@link AIAnalysisProvider} per request and owns retries for AI analysis.
+ * <p>
+ * Candidates are the enabled providers within the cost budget, ordered: not cooling down after repeated
+ * failures, vision-capable for image requests, p95 latency within the latency budget, cheapest, fastest.
+ * A failed or invalid answer moves on to the next candidate (back to the first once all were tried); retries
+ * are sent without the image, as text analysis is cheaper and fails less. With hedging on, a call still
+ * running after the provider's p95 gets a duplicate on the next candidate, the first valid answer wins and the other
+ * call is cancelled.
+ */
+@Slf4j
+@Component
+public class AIProviderRouter {
+
+    private static final int LATENCY_WINDOW = 200;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private final List<AIAnalysisProvider> providers;
+    private final SyncMetrics syncMetrics;
+
+    private final Executor hedgeExecutor;
+
+    private final Map<String, ProviderStats> stats = new ConcurrentHashMap<>();
+
+    @Value("${ai.router.providers:GPT-4-Mini-Horoshop}")
+    private List<String> enabledProviders;
+
+    @Value("${ai.router.max-cost-per-request:0}")
+    private double maxCostPerRequest;
+
+    @Value("${ai.router.latency-budget-ms:30000}")
+    private long latencyBudgetMs;
+
+    @Value("${ai.analysis.max-retries:3}")
+    private int maxAttempts;
+
+    @Value("${ai.router.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${ai.router.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${ai.router.cooldown-ms:30000}")
+    private long cooldownMs;
+
+    @Value("${ai.router.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${ai.router.hedge.min-delay-ms:3000}")
+    private long hedgeMinDelayMs;
+
+    public AIProviderRouter(List<AIAnalysisProvider> providers, SyncMetrics syncMetrics,
+                            @Qualifier("aiHedgeExecutor") Executor hedgeExecutor) {
+        this.providers = providers;
+        this.syncMetrics = syncMetrics;
+        this.hedgeExecutor = hedgeExecutor;
+    }
+
+    /**
+     * Analyze with failover across providers; throws when every attempt failed
+     */
+    public FeatureProductAnalysisResult analyze(AIAnalysisRequest request) {
+        List<AIAnalysisProvider> candidates = route(request);
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No AI provider enabled, check ai.router.providers");
+        }
+
+        RuntimeException lastError = null;
+        AIAnalysisProvider previous = null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            AIAnalysisProvider provider = candidates.get(attempt % candidates.size());
+            AIAnalysisRequest attemptRequest = request;
+            if (attempt > 0) {
+                syncMetrics.aiRetry(provider.getProviderName(), lastError instanceof InvalidAnalysisException ? "invalid" : "error");
+                attemptRequest = request.toBuilder().imageUrl(null).build();
+                if (provider == previous) {
+                    sleep(retryBackoffMs * attempt);
+                }
+            }
+
+            try {
+                AIAnalysisProvider backup = candidates.get((attempt + 1) % candidates.size());
+                return shouldHedge(provider, backup)
+                        ? callHedged(provider, backup, attemptRequest)
+                        : call(provider, attemptRequest);
+            } catch (RuntimeException e) {
+                lastError = e;
+                previous = provider;
+                log.warn("AI provider {} failed (attempt {}/{}) for {}: {}", provider.getProviderName(),
+                        attempt + 1, maxAttempts, request.getProductName(), e.getMessage());
+            }
+        }
+        throw new IllegalStateException("All AI providers failed for " + request.getProductName(), lastError);
+    }
+
+    /**
+     * Enabled providers for this request, best first
+     */
+    public List<AIAnalysisProvider> route(AIAnalysisRequest request) {
+        List<AIAnalysisProvider> enabled = providers.stream()
+                .filter(provider -> enabledProviders.isEmpty() || enabledProviders.contains(provider.getProviderName()))
+                .toList();
+
+        List<AIAnalysisProvider> affordable = enabled.stream()
+                .filter(provider -> maxCostPerRequest <= 0 || provider.getCostPerRequest() <= maxCostPerRequest)
+                .toList();
+        if (affordable.isEmpty()) {
+            // Over budget everywhere: the cheapest provider is still better than no analysis
+            affordable = enabled.stream().min(Comparator.comparingDouble(AIAnalysisProvider::getCostPerRequest)).stream().toList();
+        }
+
+        long now = System.nanoTime();
+        return affordable.stream()
+                .sorted(Comparator.comparing((AIAnalysisProvider provider) -> stats(provider).coolingDown(now))
+                        .thenComparing(provider -> request.isVision() && !provider.supportsVision())
+                        .thenComparing(provider -> stats(provider).p95Millis() > latencyBudgetMs)
+                        .thenComparingDouble(AIAnalysisProvider::getCostPerRequest)
+                        .thenComparingLong(provider -> stats(provider).p95Millis()))
+                .toList();
+    }
+
+    /**
+     * Capabilities and observed latency per provider
+     */
+    public Map<String, Object> getProviderStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        for (AIAnalysisProvider provider : providers) {
+            ProviderStats providerStats = stats(provider);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("enabled", enabledProviders.isEmpty() || enabledProviders.contains(provider.getProviderName()));
+            entry.put("vision", provider.supportsVision());
+            entry.put("maxTextLength", provider.getMaxTextLength());
+            entry.put("costPerRequest", provider.getCostPerRequest());
+            entry.put("latencySamples", providerStats.samples());
+            entry.put("p50Millis", providerStats.percentileMillis(0.5));
+            entry.put("p95Millis", providerStats.p95Millis());
+            entry.put("coolingDown", providerStats.coolingDown(now));
+            result.put(provider.getProviderName(), entry);
+        }
+        return result;
+    }
+
+    private boolean shouldHedge(AIAnalysisProvider primary, AIAnalysisProvider backup) {
+        return hedgeEnabled && backup != primary && (maxCostPerRequest <= 0
+                || primary.getCostPerRequest() + backup.getCostPerRequest() <= maxCostPerRequest);
+    }
+
+    /**
+     * Call the primary and, if it is still running after its p95, a duplicate on the backup; first valid answer wins.
+     * Whichever call is still running then is cancelled with an interrupt.
+     */
+    private FeatureProductAnalysisResult callHedged(AIAnalysisProvider primary, AIAnalysisProvider backup,
+                                                    AIAnalysisRequest request) {
+        CompletionService<FeatureProductAnalysisResult> race = new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<FeatureProductAnalysisResult>> calls = new ArrayList<>(2);
+        try {
+            calls.add(race.submit(() -> call(primary, request)));
+            Future<FeatureProductAnalysisResult> done =
+                    race.poll(Math.max(hedgeMinDelayMs, stats(primary).p95Millis()), TimeUnit.MILLISECONDS);
+            if (done != null) {
+                return result(done);
+            }
+
+            log.debug("Hedging {} with {} for {}", primary.getProviderName(), backup.getProviderName(),
+                    request.getProductName());
+            syncMetrics.aiHedge(backup.getProviderName());
+            calls.add(race.submit(() -> call(backup, request)));
+
+            RuntimeException error = null;
+            for (int i = 0; i < calls.size(); i++) {
+                try {
+                    return result(race.take());
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+            }
+            throw error;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + primary.getProviderName(), e);
+        } finally {
+            calls.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static FeatureProductAnalysisResult result(Future<FeatureProductAnalysisResult> future)
+            throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private FeatureProductAnalysisResult call(AIAnalysisProvider provider, AIAnalysisRequest request) {
+        ProviderStats providerStats = stats(provider);
+        long start = System.nanoTime();
+        try {
+            FeatureProductAnalysisResult result = provider.analyze(fit(provider, request));
+            if (result == null || !result.isValidForHoroshop()) {
+                throw new InvalidAnalysisException(provider.getProviderName());
+            }
+            long nanos = System.nanoTime() - start;
+            providerStats.success(nanos);
+            syncMetrics.aiProviderCall(provider.getProviderName(), "success", nanos);
+            return result;
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Hedge loser cancelled by the router, not a provider failure
+                throw e;
+            }
+            providerStats.failure();
+            syncMetrics.aiProviderCall(provider.getProviderName(),
+                    e instanceof InvalidAnalysisException ? "invalid" : "error", System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Adapt the request to the provider's capabilities
+     */
+    private AIAnalysisRequest fit(AIAnalysisProvider provider, AIAnalysisRequest request) {
+        boolean dropImage = request.isVision() && !provider.supportsVision();
+        String description = request.getDescription();
+        boolean cutDescription = description != null && description.length() > provider.getMaxTextLength();
+        if (!dropImage && !cutDescription) {
+            return request;
+        }
+        return request.toBuilder()
+                .imageUrl(dropImage ? null : request.getImageUrl())
+                .description(cutDescription ? description.substring(0, provider.getMaxTextLength()) : description)
+                .build();
+    }
+
+    private ProviderStats stats(AIAnalysisProvider provider) {
+        return stats.computeIfAbsent(provider.getProviderName(), name -> new ProviderStats());
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        return error instanceof RuntimeException runtime ? runtime : new IllegalStateException(error);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during AI retry backoff", e);
+        }
+    }
+
+    private static final class InvalidAnalysisException extends RuntimeException {
+        InvalidAnalysisException(String provider) {
+            super(provider + " returned an analysis that is not valid for Horoshop");
+        }
+    }
+
+    /**
+     * Latencies of the last successful calls and the failure streak of one provider
+     */
+    private final class ProviderStats {
+
+        private final long[] latencies = new long[LATENCY_WINDOW];
+        private int samples;
+        private int next;
+        private int consecutiveFailures;
+        private long coolingUntil;
+        private boolean cooling;
+
+        synchronized void success(long nanos) {
+            latencies[next] = TimeUnit.NANOSECONDS.toMillis(nanos);
+            next = (next + 1) % latencies.length;
+            samples = Math.min(samples + 1, latencies.length);
+            consecutiveFailures = 0;
+            cooling = false;
+        }
+
+        synchronized void failure() {
+            if (++consecutiveFailures >= failureThreshold) {
+                consecutiveFailures = 0;
+                cooling = true;
+                coolingUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(cooldownMs);
+            }
+        }
+
+        synchronized boolean coolingDown(long now) {
+            return cooling && now - coolingUntil < 0;
+        }
+
+        synchronized int samples() {
+            return samples;
+        }
+
+        /**
+         * 0 until there are enough samples, so a new provider is assumed to be within budget
+         */
+        long p95Millis() {
+            return percentileMillis(0.95);
+        }
+
+        synchronized long percentileMillis(double percentile) {
+            if (samples < MIN_LATENCY_SAMPLES) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(samples * percentile) - 1];
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.dropiq.engine.integration.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AIRouterConfig {
+
+    /**
+     * Threads for hedged AI calls. Bounded and without a queue: when every thread is busy the caller runs the call
+     * itself, which throttles hedging instead of piling up requests. Not a default candidate, so it neither replaces
+     * the application task executor nor gets injected anywhere by type.
+     */
+    @Bean(name = "aiHedgeExecutor", defaultCandidate = false)
+    public ThreadPoolTaskExecutor aiHedgeExecutor(@Value("${ai.router.hedge.pool-size:8}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("ai-hedge-");
+        return executor;
+    }
+}
@@ -1,6 +1,8 @@
 package com.dropiq.engine.integration.ai;
 
+import com.dropiq.engine.integration.ai.model.AIAnalysisRequest;
 import com.dropiq.engine.integration.ai.model.FeatureProductAnalysisResult;
+import com.dropiq.engine.monitoring.SyncMetrics;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -13,10 +15,12 @@ import java.util.*;
 
 @Slf4j
 @Component
-public class GPT4MiniClient {
+public class GPT4MiniClient implements AIAnalysisProvider {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final SyncMetrics syncMetrics;
+    private final HoroshopPromptBuilder promptBuilder;
 
     @Value("${openai.api.key}")
     private String apiKey;
@@ -30,323 +34,56 @@ public class GPT4MiniClient {
     @Value("${openai.max-tokens:3000}")
     private int maxTokens;
 
-    public GPT4MiniClient(RestTemplate restTemplate) {
+    public GPT4MiniClient(RestTemplate restTemplate, SyncMetrics syncMetrics, HoroshopPromptBuilder promptBuilder) {
         this.restTemplate = restTemplate;
+        this.syncMetrics = syncMetrics;
+        this.promptBuilder = promptBuilder;
         this.objectMapper = new ObjectMapper();
     }
 
+    @Override
     public String getProviderName() {
         return "GPT-4-Mini-Horoshop";
     }
 
+    @Override
     public boolean supportsVision() {
         return true;
     }
 
+    @Override
     public int getMaxTextLength() {
         return 10000;
     }
 
+    @Override
     public double getCostPerRequest() {
         return 0.002;
     }
 
     /**
-     * Comprehensive product analysis for Horoshop integration
+     * Comprehensive product analysis for Horoshop integration, image-based when the request has an image
      */
-    public FeatureProductAnalysisResult analyzeProductForHoroshop(String productName, String description,
-                                                                   String categoryName, Double price, String sourceType) {
-        try {
-            log.info("GPT-4 Mini: Comprehensive Horoshop analysis for: {}", productName);
-
-            String prompt = buildHoroshopAnalysisPrompt(productName, description, categoryName, price, sourceType);
-            String response = callGPTAPI(prompt, getHoroshopSystemPrompt());
-
-            return parseHoroshopAnalysisResponse(response, productName, price);
-
-        } catch (Exception e) {
-            log.error("GPT-4 Mini Horoshop analysis failed: {}", e.getMessage());
-            return createFallbackHoroshopResult(productName, categoryName, price);
-        }
-    }
-
-    /**
-     * Vision-based analysis with image for complete product understanding
-     */
-    public FeatureProductAnalysisResult analyzeProductWithImageForHoroshop(String productName, String description,
-                                                                           String imageUrl, Double price, String sourceType) {
-        try {
-            log.info("GPT-4 Mini Vision: Analyzing product image for Horoshop: {}", productName);
-
-            String prompt = buildHoroshopVisionPrompt(productName, description, price, sourceType);
-            String response = callGPTVisionAPI(prompt, imageUrl);
-
-            return parseHoroshopAnalysisResponse(response, productName, price);
-
-        } catch (Exception e) {
-            log.error("GPT-4 Mini vision analysis failed: {}", e.getMessage());
-            return analyzeProductForHoroshop(productName, description, "Товари", price, sourceType);
+    @Override
+    public FeatureProductAnalysisResult analyze(AIAnalysisRequest request) {
+        String response;
+        if (request.isVision()) {
+            log.info("GPT-4 Mini Vision: Analyzing product image for Horoshop: {}", request.getProductName());
+            response = callGPTVisionAPI(promptBuilder.visionPrompt(request), request.getImageUrl());
+        } else {
+            log.info("GPT-4 Mini: Comprehensive Horoshop analysis for: {}", request.getProductName());
+            response = callGPTAPI(promptBuilder.textPrompt(request));
         }
+        return parseHoroshopAnalysisResponse(response);
     }
 
-    /**
-     * Expert prompt for comprehensive Horoshop product analysis
-     */
-    private String buildHoroshopAnalysisPrompt(String name, String description, String category, Double price, String sourceType) {
-        return String.format("""
-            Ти експерт e-commerce копірайтер та маркетолог для української платформи Horoshop. Твоя задача - створити повний комерційний аналіз товару.
-            
-            ВАЖЛИВО: Назва товару може бути технічною (наприклад "3124", "SKU-456") - НЕ використовуй такі назви в комерційному контенті. Створи НОВУ привабливу назву на основі опису та категорії.
-            
-            ВХІДНІ ДАНІ:
-            Початкова назва: %s
-            Опис: %s
-            Категорія: %s
-            Ціна: %.0f ₴
-            Джерело: %s
-            
-            СТВОРИ ПОВНИЙ JSON ДЛЯ HOROSHOP:
-            {
-              "commercialTitle": "Привабливий комерційний заголовок 30-60 символів (ІГНОРУЙ технічні назви як 3124)",
-              "seoTitle": "SEO заголовок з ключовими словами 50-70 символів",
-              "h1Title": "H1 заголовок для сторінки товару",
-              
-              "descriptionUa": "Детальний український опис 250-400 слів з емоційними тригерами",
-              "descriptionRu": "Детальний російський опис 250-400 слів",
-              "descriptionEn": "English description 200-300 words",
-              
-              "shortDescriptionUa": "Короткий український опис 60-100 слів",
-              "shortDescriptionRu": "Короткий російський опис 60-100 слів", 
-              "shortDescriptionEn": "Short English description 50-80 words",
-              
-              "metaDescriptionUa": "Meta опис українською 140-160 символів з CTA",
-              "metaDescriptionRu": "Meta описание на русском 140-160 символов",
-              "metaDescriptionEn": "Meta description in English 140-160 characters",
-              
-              "primaryKeywordsUa": ["українські", "ключові", "слова"],
-              "primaryKeywordsRu": ["русские", "ключевые", "слова"],
-              "primaryKeywordsEn": ["english", "keywords"],
-              
-              "longTailKeywordsUa": ["довгий хвіст українською"],
-              "longTailKeywordsRu": ["длинный хвост на русском"],
-              "longTailKeywordsEn": ["long tail english"],
-              
-              "tagsUa": ["теги", "українською"],
-              "tagsRu": ["теги", "на", "русском"],
-              "tagsEn": ["english", "tags"],
-              
-              "mainCategory": "Головна категорія для Horoshop",
-              "subCategory": "Підкатегорія",
-              "microCategory": "Мікрокатегорія",
-              "categoryPathUa": "Повний шлях категорії українською",
-              "categoryPathRu": "Полный путь категории на русском",
-              
-              "brandName": "Назва бренду або null",
-              "modelName": "Назва моделі або null",
-              "detectedGender": "чоловічий/жіночий/унісекс/null",
-              "color": "основний колір або null",
-              "material": "матеріал або null",
-              "style": "стиль або null",
-              "season": "сезон або null",
-              "occasion": "випадок використання або null",
-              
-              "attributes": {
-                "розмір": "якщо відомо",
-                "країна_виробника": "якщо відомо",
-                "гарантія": "якщо відомо",
-                "додаткові_властивості": "value"
-              },
-              
-              "sellingPoints": ["топ-5", "переваг", "товару", "для", "продажів"],
-              "targetAudience": "Детальний опис цільової аудиторії",
-              "uniqueSellingPoint": "Унікальна торгова пропозиція",
-              "emotionalTrigger": "Емоційний тригер для покупки",
-              "urgencyMessage": "Повідомлення про терміновість",
-              
-              "careInstructions": "Інструкції по догляду якщо актуально",
-              "usageInstructions": "Інструкції по використанню",
-              "sizeGuide": "Поради щодо вибору розміру",
-              "stylingTips": "Поради зі стилізації",
-              
-              "trendScore": 7.5,
-              "conversionPotential": 8.0,
-              "seasonalRelevance": true,
-              "priceCategory": "бюджетний/середній/преміум",
-              "competitiveAdvantage": "Головна конкурентна перевага",
-              
-              "crossSellCategories": ["супутні", "категорії"],
-              "relatedKeywords": ["пов'язані", "ключові", "слова"],
-              
-              "horoshopPresence": "В наличии/Под заказ/Нет в наличии",
-              "horoshopIcons": ["іконки", "для", "товару"],
-              "marketplaceExport": ["facebook", "google", "rozetka"],
-              
-              "qualityScore": 8.5,
-              "analysisConfidence": 0.92
-            }
-            
-            ВИМОГИ:
-            1. ЗАВЖДИ створюй НОВУ привабливу назву товару, ігноруючи технічні коди
-            2. Усі тексти мають бути унікальними та продаючими
-            3. Використовуй емоційні тригери та FOMO
-            4. Адаптуй контент під українську аудиторію Horoshop
-            5. Враховуй психологію онлайн покупок
-            6. Оптимізуй під SEO без переспаму
-            7. Поверни ТІЛЬКИ ВАЛІДНИЙ JSON без коментарів
-            """,
-                name != null ? name : "Товар",
-                description != null ? description : "Якісний товар",
-                category != null ? category : "Загальні товари",
-                price != null ? price : 0,
-                sourceType != null ? sourceType : "Unknown"
-        );
-    }
-
-    /**
-     * Vision analysis prompt for image-based product understanding
-     */
-    private String buildHoroshopVisionPrompt(String name, String description, Double price, String sourceType) {
-        return String.format("""
-            Ти експерт-аналітик товарів для Horoshop з 10+ років досвіду. Проаналізуй це зображення товару як професіонал.
-            
-            КОНТЕКСТ:
-            Початкова назва: %s (може бути технічною - створи НОВУ назву!)
-            Опис: %s
-            Ціна: %.0f ₴
-            Джерело: %s
-            
-            ЗАВДАННЯ: Детальний аналіз зображення товару для створення повного профілю в Horoshop.
-            
-            ВАЖЛИВО: Якщо початкова назва виглядає як код (3124, SKU-456) - ігноруй її та створи привабливу комерційну назву на основі того, що бачиш на фото.
-            
-            ПРОАНАЛІЗУЙ ТА ПОВЕРНИ ПОВНИЙ JSON:
-            {
-              "visualAnalysis": {
-                "productType": "що це за товар на основі фото",
-                "detectedBrand": "бренд якщо видно або null",
-                "primaryColor": "основний колір",
-                "secondaryColors": ["додаткові", "кольори"],
-                "material": "матеріал якщо можна визначити",
-                "style": "стиль товару",
-                "condition": "новий/вживаний",
-                "packaging": "тип упаковки",
-                "visualQuality": 8.5
-              },
-              
-              "commercialContent": {
-                "commercialTitle": "НОВА приваблива назва на основі фото (НЕ 3124!)",
-                "seoTitle": "SEO заголовок з ключовими словами",
-                "h1Title": "H1 заголовок",
-                
-                "descriptionUa": "Український опис на основі візуального аналізу",
-                "descriptionRu": "Русский описания на основе фото",
-                "descriptionEn": "English description based on image",
-                
-                "shortDescriptionUa": "Короткий опис українською",
-                "shortDescriptionRu": "Краткое описание",
-                "shortDescriptionEn": "Short description",
-                
-                "metaDescriptionUa": "Meta українською",
-                "metaDescriptionRu": "Meta на русском", 
-                "metaDescriptionEn": "English meta"
-              },
-              
-              "categorization": {
-                "mainCategory": "Головна категорія",
-                "subCategory": "Підкатегорія", 
-                "microCategory": "Мікрокатегорія",
-                "categoryPathUa": "Шлях українською",
-                "categoryPathRu": "Путь на русском"
-              },
-              
-              "seoOptimization": {
-                "primaryKeywordsUa": ["ключові", "слова", "українською"],
-                "primaryKeywordsRu": ["ключевые", "слова", "русские"],
-                "primaryKeywordsEn": ["english", "keywords"],
-                "longTailKeywordsUa": ["довгий хвіст"],
-                "longTailKeywordsRu": ["длинный хвост"], 
-                "longTailKeywordsEn": ["long tail"],
-                "altText": "ALT текст для зображення"
-              },
-              
-              "productAttributes": {
-                "detectedGender": "стать або null",
-                "season": "сезон або null",
-                "occasion": "випадок використання",
-                "ageGroup": "вікова група",
-                "sizeInfo": "інформація про розмір",
-                "additionalFeatures": ["особливості", "товару"]
-              },
-              
-              "marketingData": {
-                "sellingPoints": ["переваги", "на", "основі", "фото"],
-                "targetAudience": "цільова аудиторія",
-                "emotionalTrigger": "емоційний тригер",
-                "uniqueSellingPoint": "УТП",
-                "trendScore": 8.0,
-                "conversionPotential": 7.5
-              },
-              
-              "horoshopIntegration": {
-                "horoshopPresence": "В наличии",
-                "horoshopIcons": ["іконки", "товару"],
-                "recommendedCategories": ["рекомендовані", "категорії"],
-                "crossSellItems": ["супутні", "товари"],
-                "priceCategory": "категорія ціни"
-              },
-              
-              "qualityAssessment": {
-                "imageQuality": 9.0,
-                "analysisConfidence": 0.95,
-                "recommendationsForImprovement": ["рекомендації"]
-              }
-            }
-            
-            КРИТЕРІЇ:
-            - Створи НОВУ комерційну назву, ігноруючи коди
-            - Базуйся на тому, що БАЧИШ на фото
-            - Не використовуй Розміри, Ціни, інші назви в описах
-            - Не викорситовуй дивні назви та слова. Все повинно бути Human like
-            - Використовуй професійну термінологію  
-            - Адаптуй під українську аудиторію
-            - Поверни ТІЛЬКИ JSON без пояснень
-            """,
-                name != null ? name : "Товар",
-                description != null ? description : "Товар з фото",
-                price != null ? price : 0,
-                sourceType != null ? sourceType : "Unknown"
-        );
-    }
-
-    private String getHoroshopSystemPrompt() {
-        return """
-            Ти провідний експерт e-commerce та копірайтер для української платформи Horoshop з 15+ років досвіду.
-            
-            ТВОЯ ЕКСПЕРТИЗА:
-            - Глибоке розуміння українського ринку e-commerce
-            - Експерт з психології онлайн покупок
-            - Спеціаліст з SEO для українських сайтів
-            - Досвід роботи з Horoshop API та вимогами
-            - Знання трендів та поведінки покупців в Україні
-            
-            КЛЮЧОВІ ПРИНЦИПИ:
-            1. ЗАВЖДИ створюй нові привабливі назви замість технічних кодів
-            2. Фокусуйся на емоціях та продажах
-            3. Використовуй українські SEO практики
-            4. Створюй контент що конвертує
-            5. Враховуй специфіку Horoshop платформи
-            6. Адаптуй під українську ментальність покупців
-            
-            ЗАВЖДИ ПОВЕРТАЙ ТІЛЬКИ ВАЛІДНИЙ JSON БЕЗ ДОДАТКОВОГО ТЕКСТУ.
-            """;
-    }
-
-    private String callGPTAPI(String prompt, String systemPrompt) {
+    private String callGPTAPI(HoroshopPromptBuilder.Prompt prompt) {
         HttpHeaders headers = createHeaders();
 
+        // System message first: it is the same for every product, so it stays a cacheable prefix
         List<Map<String, Object>> messages = new ArrayList<>();
-        messages.add(Map.of("role", "system", "content", systemPrompt));
-        messages.add(Map.of("role", "user", "content", prompt));
+        messages.add(Map.of("role", "system", "content", prompt.system()));
+        messages.add(Map.of("role", "user", "content", prompt.user()));
 
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", model);
@@ -355,31 +92,17 @@ public class GPT4MiniClient {
         requestBody.put("temperature", 0.3); // Balanced creativity
         requestBody.put("top_p", 0.9);
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-        try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                    baseUrl + "/chat/completions",
-                    HttpMethod.POST,
-                    request,
-                    String.class
-            );
-
-            return extractContentFromResponse(response.getBody());
-        } catch (Exception e) {
-            log.error("GPT API call failed: {}", e.getMessage());
-            throw new RuntimeException("GPT API call failed", e);
-        }
+        return complete(new HttpEntity<>(requestBody, headers), "text", prompt);
     }
 
-    private String callGPTVisionAPI(String prompt, String imageUrl) {
+    private String callGPTVisionAPI(HoroshopPromptBuilder.Prompt prompt, String imageUrl) {
         HttpHeaders headers = createHeaders();
 
         List<Map<String, Object>> messages = new ArrayList<>();
-        messages.add(Map.of("role", "system", "content", getHoroshopSystemPrompt()));
+        messages.add(Map.of("role", "system", "content", prompt.system()));
 
         List<Map<String, Object>> content = new ArrayList<>();
-        content.add(Map.of("type", "text", "text", prompt));
+        content.add(Map.of("type", "text", "text", prompt.user()));
         content.add(Map.of("type", "image_url", "image_url", Map.of("url", imageUrl, "detail", "high")));
 
         messages.add(Map.of("role", "user", "content", content));
@@ -391,8 +114,15 @@ public class GPT4MiniClient {
         requestBody.put("temperature", 0.2); // Lower for vision accuracy
         requestBody.put("top_p", 0.95);
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+        return complete(new HttpEntity<>(requestBody, headers), "vision", prompt);
+    }
 
+    /**
+     * POST a chat completion and return the message content, recording latency and token usage
+     */
+    private String complete(HttpEntity<Map<String, Object>> request, String mode, HoroshopPromptBuilder.Prompt prompt) {
+        log.debug("GPT {} prompt: ~{} tokens", mode, prompt.estimatedTokens());
+        long start = System.nanoTime();
         try {
             ResponseEntity<String> response = restTemplate.exchange(
                     baseUrl + "/chat/completions",
@@ -401,14 +131,21 @@ public class GPT4MiniClient {
                     String.class
             );
 
-            return extractContentFromResponse(response.getBody());
+            JsonNode body = objectMapper.readTree(response.getBody());
+            JsonNode usage = body.path("usage");
+            syncMetrics.aiRequest(getProviderName(), mode, "success", System.nanoTime() - start,
+                    usage.path("prompt_tokens").asLong(),
+                    usage.path("prompt_tokens_details").path("cached_tokens").asLong(),
+                    usage.path("completion_tokens").asLong());
+            return extractContentFromResponse(body);
         } catch (Exception e) {
-            log.error("GPT Vision API call failed: {}", e.getMessage());
-            throw new RuntimeException("GPT Vision API call failed", e);
+            syncMetrics.aiRequest(getProviderName(), mode, "error", System.nanoTime() - start, 0, 0, 0);
+            log.error("GPT {} API call failed: {}", mode, e.getMessage());
+            throw new RuntimeException("GPT API call failed", e);
         }
     }
 
-    private FeatureProductAnalysisResult parseHoroshopAnalysisResponse(String response, String originalName, Double price) {
+    private FeatureProductAnalysisResult parseHoroshopAnalysisResponse(String response) {
         try {
             String jsonStr = extractJsonFromResponse(response);
             JsonNode rootNode = objectMapper.readTree(jsonStr);
@@ -524,71 +261,8 @@ public class GPT4MiniClient {
 
         } catch (Exception e) {
             log.error("Error parsing Horoshop analysis response: {}", e.getMessage());
-            return createFallbackHoroshopResult(originalName, null, price);
-        }
-    }
-
-    private FeatureProductAnalysisResult createFallbackHoroshopResult(String originalName, String category, Double price) {
-        FeatureProductAnalysisResult result = new FeatureProductAnalysisResult();
-
-        // Generate commercial name if original is technical
-        String commercialName = generateCommercialName(originalName, category);
-
-        result.setCommercialTitle(commercialName);
-        result.setSeoTitle("Купити " + commercialName + " | Інтернет-магазин");
-        result.setH1Title(commercialName + " - якість за доступною ціною");
-
-        result.setDescriptionUa("Якісний " + commercialName.toLowerCase() + " за найкращою ціною. " +
-                "Швидка доставка по Україні, гарантія якості, найкращий сервіс.");
-        result.setDescriptionRu("Качественный " + commercialName.toLowerCase() + " по лучшей цене. " +
-                "Быстрая доставка по Украине, гарантия качества.");
-
-        result.setShortDescriptionUa("Якісний " + commercialName.toLowerCase() + " за доступною ціною");
-        result.setShortDescriptionRu("Качественный " + commercialName.toLowerCase() + " по доступной цене");
-
-        result.setMetaDescriptionUa("Купити " + commercialName.toLowerCase() + " недорого ✓ Швидка доставка ✓ Гарантія якості");
-        result.setMetaDescriptionRu("Купить " + commercialName.toLowerCase() + " недорого ✓ Быстрая доставка ✓ Гарантия качества");
-
-        result.setMainCategory(category != null ? category : "Товари");
-        result.setSubCategory("Загальні");
-
-        result.setPrimaryKeywordsUa(Arrays.asList("купити " + commercialName.toLowerCase(), commercialName.toLowerCase() + " україна"));
-        result.setPrimaryKeywordsRu(Arrays.asList("купить " + commercialName.toLowerCase(), commercialName.toLowerCase() + " украина"));
-
-        result.setSellingPoints(Arrays.asList("Якісні матеріали", "Доступна ціна", "Швидка доставка", "Гарантія якості"));
-        result.setTargetAudience("Люди, які шукають якісні товари за доступними цінами");
-        result.setTrendScore(5.0);
-        result.setConversionPotential(6.0);
-        result.setPriceCategory(determinePriceCategory(price));
-        result.setHoroshopPresence("В наличии");
-        result.setAnalysisConfidence(0.6);
-
-        return result;
-    }
-
-    private String generateCommercialName(String originalName, String category) {
-        if (originalName == null || originalName.trim().isEmpty()) {
-            return "Якісний товар";
-        }
-
-        // Check if name looks technical (numbers, codes, etc.)
-        if (originalName.matches("^[0-9A-Z\\-_]+$") || originalName.length() < 5) {
-            if (category != null && !category.trim().isEmpty()) {
-                return "Якісний " + category.toLowerCase();
-            }
-            return "Стильний товар";
+            throw new IllegalStateException("Malformed GPT analysis response", e);
         }
-
-        return originalName;
-    }
-
-    private String determinePriceCategory(Double price) {
-        if (price == null) return "середній";
-
-        double priceValue = price.doubleValue();
-        if (priceValue < 300) return "бюджетний";
-        if (priceValue > 1500) return "преміум";
-        return "середній";
     }
 
     // Helper methods
@@ -599,9 +273,8 @@ public class GPT4MiniClient {
         return headers;
     }
 
-    private String extractContentFromResponse(String response) {
+    private String extractContentFromResponse(JsonNode jsonNode) {
         try {
-            JsonNode jsonNode = objectMapper.readTree(response);
             return jsonNode.get("choices").get(0).get("message").get("content").asText();
         } catch (Exception e) {
             throw new RuntimeException("Failed to extract content from GPT response", e);
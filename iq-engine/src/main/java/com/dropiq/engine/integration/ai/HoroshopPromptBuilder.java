@@ -0,0 +1,461 @@
+package com.dropiq.engine.integration.ai;
+
+import com.dropiq.engine.integration.ai.model.AIAnalysisRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Chat prompts for Horoshop product analysis and compaction of product descriptions to a token budget.
+ * <p>
+ * Instructions and the answer schema form a constant system message, so every request of a kind starts with
+ * the same bytes and the provider can serve that prefix from its prompt cache (OpenAI caches prefixes of
+ * 1024+ tokens); only the user message with the product data varies. Descriptions over
+ * {@code ai.prompt.description-token-budget} keep the sentences that add the most not-yet-said information
+ * per token, in their original order; delivery, payment and contact boilerplate is dropped first.
+ */
+@Component
+public class HoroshopPromptBuilder {
+
+    public record Prompt(String system, String user) {
+
+        public int estimatedTokens() {
+            return estimateTokens(system) + estimateTokens(user);
+        }
+    }
+
+    private static final String EXPERT_PROMPT = """
+            Ти провідний експерт e-commerce та копірайтер для української платформи Horoshop з 15+ років досвіду.
+
+            ТВОЯ ЕКСПЕРТИЗА:
+            - Глибоке розуміння українського ринку e-commerce
+            - Експерт з психології онлайн покупок
+            - Спеціаліст з SEO для українських сайтів
+            - Досвід роботи з Horoshop API та вимогами
+            - Знання трендів та поведінки покупців в Україні
+
+            КЛЮЧОВІ ПРИНЦИПИ:
+            1. ЗАВЖДИ створюй нові привабливі назви замість технічних кодів
+            2. Фокусуйся на емоціях та продажах
+            3. Використовуй українські SEO практики
+            4. Створюй контент що конвертує
+            5. Враховуй специфіку Horoshop платформи
+            6. Адаптуй під українську ментальність покупців
+
+            ЗАВЖДИ ПОВЕРТАЙ ТІЛЬКИ ВАЛІДНИЙ JSON БЕЗ ДОДАТКОВОГО ТЕКСТУ.
+
+            """;
+
+    static final String TEXT_SYSTEM_PROMPT = EXPERT_PROMPT + """
+            ЗАВДАННЯ: створити повний комерційний аналіз товару. Дані товару (початкова назва, опис, категорія, ціна, \
+            джерело) надходять у повідомленні користувача.
+
+            ВАЖЛИВО: Назва товару може бути технічною (наприклад "3124", "SKU-456") - НЕ використовуй такі назви в комерційному контенті. Створи НОВУ привабливу назву на основі опису та категорії.
+
+            СТВОРИ ПОВНИЙ JSON ДЛЯ HOROSHOP:
+            {
+              "commercialTitle": "Привабливий комерційний заголовок 30-60 символів (ІГНОРУЙ технічні назви як 3124)",
+              "seoTitle": "SEO заголовок з ключовими словами 50-70 символів",
+              "h1Title": "H1 заголовок для сторінки товару",
+
+              "descriptionUa": "Детальний український опис 250-400 слів з емоційними тригерами",
+              "descriptionRu": "Детальний російський опис 250-400 слів",
+              "descriptionEn": "English description 200-300 words",
+
+              "shortDescriptionUa": "Короткий український опис 60-100 слів",
+              "shortDescriptionRu": "Короткий російський опис 60-100 слів",
+              "shortDescriptionEn": "Short English description 50-80 words",
+
+              "metaDescriptionUa": "Meta опис українською 140-160 символів з CTA",
+              "metaDescriptionRu": "Meta описание на русском 140-160 символов",
+              "metaDescriptionEn": "Meta description in English 140-160 characters",
+
+              "primaryKeywordsUa": ["українські", "ключові", "слова"],
+              "primaryKeywordsRu": ["русские", "ключевые", "слова"],
+              "primaryKeywordsEn": ["english", "keywords"],
+
+              "longTailKeywordsUa": ["довгий хвіст українською"],
+              "longTailKeywordsRu": ["длинный хвост на русском"],
+              "longTailKeywordsEn": ["long tail english"],
+
+              "tagsUa": ["теги", "українською"],
+              "tagsRu": ["теги", "на", "русском"],
+              "tagsEn": ["english", "tags"],
+
+              "mainCategory": "Головна категорія для Horoshop",
+              "subCategory": "Підкатегорія",
+              "microCategory": "Мікрокатегорія",
+              "categoryPathUa": "Повний шлях категорії українською",
+              "categoryPathRu": "Полный путь категории на русском",
+
+              "brandName": "Назва бренду або null",
+              "modelName": "Назва моделі або null",
+              "detectedGender": "чоловічий/жіночий/унісекс/null",
+              "color": "основний колір або null",
+              "material": "матеріал або null",
+              "style": "стиль або null",
+              "season": "сезон або null",
+              "occasion": "випадок використання або null",
+
+              "attributes": {
+                "розмір": "якщо відомо",
+                "країна_виробника": "якщо відомо",
+                "гарантія": "якщо відомо",
+                "додаткові_властивості": "value"
+              },
+
+              "sellingPoints": ["топ-5", "переваг", "товару", "для", "продажів"],
+              "targetAudience": "Детальний опис цільової аудиторії",
+              "uniqueSellingPoint": "Унікальна торгова пропозиція",
+              "emotionalTrigger": "Емоційний тригер для покупки",
+              "urgencyMessage": "Повідомлення про терміновість",
+
+              "careInstructions": "Інструкції по догляду якщо актуально",
+              "usageInstructions": "Інструкції по використанню",
+              "sizeGuide": "Поради щодо вибору розміру",
+              "stylingTips": "Поради зі стилізації",
+
+              "trendScore": 7.5,
+              "conversionPotential": 8.0,
+              "seasonalRelevance": true,
+              "priceCategory": "бюджетний/середній/преміум",
+              "competitiveAdvantage": "Головна конкурентна перевага",
+
+              "crossSellCategories": ["супутні", "категорії"],
+              "relatedKeywords": ["пов'язані", "ключові", "слова"],
+
+              "horoshopPresence": "В наличии/Под заказ/Нет в наличии",
+              "horoshopIcons": ["іконки", "для", "товару"],
+              "marketplaceExport": ["facebook", "google", "rozetka"],
+
+              "qualityScore": 8.5,
+              "analysisConfidence": 0.92
+            }
+
+            ВИМОГИ:
+            1. ЗАВЖДИ створюй НОВУ привабливу назву товару, ігноруючи технічні коди
+            2. Усі тексти мають бути унікальними та продаючими
+            3. Використовуй емоційні тригери та FOMO
+            4. Адаптуй контент під українську аудиторію Horoshop
+            5. Враховуй психологію онлайн покупок
+            6. Оптимізуй під SEO без переспаму
+            7. Поверни ТІЛЬКИ ВАЛІДНИЙ JSON без коментарів
+            """;
+
+    static final String VISION_SYSTEM_PROMPT = EXPERT_PROMPT + """
+            ЗАВДАННЯ: Детальний аналіз зображення товару для створення повного профілю в Horoshop. Проаналізуй \
+            зображення як професіонал-аналітик з 10+ років досвіду. Контекст товару (початкова назва, опис, ціна, \
+            джерело) надходить у повідомленні користувача разом із фото.
+
+            ВАЖЛИВО: Якщо початкова назва виглядає як код (3124, SKU-456) - ігноруй її та створи привабливу комерційну назву на основі того, що бачиш на фото.
+
+            ПРОАНАЛІЗУЙ ТА ПОВЕРНИ ПОВНИЙ JSON:
+            {
+              "visualAnalysis": {
+                "productType": "що це за товар на основі фото",
+                "detectedBrand": "бренд якщо видно або null",
+                "primaryColor": "основний колір",
+                "secondaryColors": ["додаткові", "кольори"],
+                "material": "матеріал якщо можна визначити",
+                "style": "стиль товару",
+                "condition": "новий/вживаний",
+                "packaging": "тип упаковки",
+                "visualQuality": 8.5
+              },
+
+              "commercialContent": {
+                "commercialTitle": "НОВА приваблива назва на основі фото (НЕ 3124!)",
+                "seoTitle": "SEO заголовок з ключовими словами",
+                "h1Title": "H1 заголовок",
+
+                "descriptionUa": "Український опис на основі візуального аналізу",
+                "descriptionRu": "Русский описания на основе фото",
+                "descriptionEn": "English description based on image",
+
+                "shortDescriptionUa": "Короткий опис українською",
+                "shortDescriptionRu": "Краткое описание",
+                "shortDescriptionEn": "Short description",
+
+                "metaDescriptionUa": "Meta українською",
+                "metaDescriptionRu": "Meta на русском",
+                "metaDescriptionEn": "English meta"
+              },
+
+              "categorization": {
+                "mainCategory": "Головна категорія",
+                "subCategory": "Підкатегорія",
+                "microCategory": "Мікрокатегорія",
+                "categoryPathUa": "Шлях українською",
+                "categoryPathRu": "Путь на русском"
+              },
+
+              "seoOptimization": {
+                "primaryKeywordsUa": ["ключові", "слова", "українською"],
+                "primaryKeywordsRu": ["ключевые", "слова", "русские"],
+                "primaryKeywordsEn": ["english", "keywords"],
+                "longTailKeywordsUa": ["довгий хвіст"],
+                "longTailKeywordsRu": ["длинный хвост"],
+                "longTailKeywordsEn": ["long tail"],
+                "altText": "ALT текст для зображення"
+              },
+
+              "productAttributes": {
+                "detectedGender": "стать або null",
+                "season": "сезон або null",
+                "occasion": "випадок використання",
+                "ageGroup": "вікова група",
+                "sizeInfo": "інформація про розмір",
+                "additionalFeatures": ["особливості", "товару"]
+              },
+
+              "marketingData": {
+                "sellingPoints": ["переваги", "на", "основі", "фото"],
+                "targetAudience": "цільова аудиторія",
+                "emotionalTrigger": "емоційний тригер",
+                "uniqueSellingPoint": "УТП",
+                "trendScore": 8.0,
+                "conversionPotential": 7.5
+              },
+
+              "horoshopIntegration": {
+                "horoshopPresence": "В наличии",
+                "horoshopIcons": ["іконки", "товару"],
+                "recommendedCategories": ["рекомендовані", "категорії"],
+                "crossSellItems": ["супутні", "товари"],
+                "priceCategory": "категорія ціни"
+              },
+
+              "qualityAssessment": {
+                "imageQuality": 9.0,
+                "analysisConfidence": 0.95,
+                "recommendationsForImprovement": ["рекомендації"]
+              }
+            }
+
+            КРИТЕРІЇ:
+            - Створи НОВУ комерційну назву, ігноруючи коди
+            - Базуйся на тому, що БАЧИШ на фото
+            - Не використовуй Розміри, Ціни, інші назви в описах
+            - Не викорситовуй дивні назви та слова. Все повинно бути Human like
+            - Використовуй професійну термінологію
+            - Адаптуй під українську аудиторію
+            - Поверни ТІЛЬКИ JSON без пояснень
+            """;
+
+    private static final Pattern BLOCK_TAG = Pattern.compile("(?i)<(?:br|/p|/li|/div|/h\\d|/tr)[^>]*>");
+    private static final Pattern TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern HORIZONTAL_SPACE = Pattern.compile("[\\h\\x0B\\f\\r]+");
+    private static final Pattern LINE_BREAKS = Pattern.compile(" ?\\n[\\s]*");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?;])\\s+|\\n");
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern BOILERPLATE = Pattern.compile(
+            "(?iU)\\b(?:доставк|оплат|передоплат|накладн|нова пошта|новою поштою|самовивіз|самовывоз|наявн|наличи|"
+                    + "дзвоніть|звоните|viber|telegram|instagram|знижк|скидк|акці|розпродаж|shipping|delivery|payment)"
+                    + "|https?://|www\\.");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "для", "або", "але", "про", "при", "цей", "які", "яка", "який", "що", "щоб", "від", "так", "вже", "всі",
+            "його", "вас", "ваш", "ваша", "дуже", "також", "тому", "буде", "може", "можна",
+            "это", "как", "что", "или", "под", "все", "его", "она", "они", "очень", "также", "будет", "можно",
+            "который", "которая",
+            "the", "and", "for", "with", "this", "that", "from", "your", "are", "you", "can");
+
+    @Value("${ai.prompt.description-token-budget:300}")
+    private int descriptionTokenBudget;
+
+    /**
+     * Chat prompt for text analysis; the system message is the same for every product
+     */
+    public Prompt textPrompt(AIAnalysisRequest request) {
+        return new Prompt(TEXT_SYSTEM_PROMPT, String.format("""
+                        ВХІДНІ ДАНІ:
+                        Початкова назва: %s
+                        Опис: %s
+                        Категорія: %s
+                        Ціна: %.0f ₴
+                        Джерело: %s
+                        """,
+                orDefault(request.getProductName(), "Товар"),
+                orDefault(request.getDescription(), "Якісний товар"),
+                orDefault(request.getCategoryName(), "Загальні товари"),
+                request.getPrice() != null ? request.getPrice() : 0,
+                orDefault(request.getSourceType(), "Unknown")));
+    }
+
+    /**
+     * Text part of the user message of a vision prompt; the image goes after it
+     */
+    public Prompt visionPrompt(AIAnalysisRequest request) {
+        return new Prompt(VISION_SYSTEM_PROMPT, String.format("""
+                        КОНТЕКСТ:
+                        Початкова назва: %s (може бути технічною - створи НОВУ назву!)
+                        Опис: %s
+                        Ціна: %.0f ₴
+                        Джерело: %s
+                        """,
+                orDefault(request.getProductName(), "Товар"),
+                orDefault(request.getDescription(), "Товар з фото"),
+                request.getPrice() != null ? request.getPrice() : 0,
+                orDefault(request.getSourceType(), "Unknown")));
+    }
+
+    /**
+     * Clean a feed description and cut it to the description token budget by information content
+     */
+    public String compactDescription(String description) {
+        String clean = cleanDescription(description);
+        if (estimateTokens(clean) <= descriptionTokenBudget) {
+            return clean;
+        }
+
+        List<Sentence> sentences = SENTENCE_END.splitAsStream(clean)
+                .map(String::strip)
+                .filter(text -> !text.isEmpty())
+                .map(Sentence::new)
+                .toList();
+        Map<String, Integer> sentenceFrequency = new HashMap<>();
+        sentences.forEach(sentence -> sentence.terms.forEach(term -> sentenceFrequency.merge(term, 1, Integer::sum)));
+
+        // Greedy: most new information per token first; repeated, boilerplate or empty sentences add nothing
+        Set<String> covered = new HashSet<>();
+        boolean[] kept = new boolean[sentences.size()];
+        int remaining = descriptionTokenBudget;
+        while (true) {
+            int best = -1;
+            double bestGain = 0;
+            for (int i = 0; i < sentences.size(); i++) {
+                Sentence sentence = sentences.get(i);
+                if (kept[i] || sentence.boilerplate || sentence.tokens > remaining) {
+                    continue;
+                }
+                double gain = 0;
+                for (String term : sentence.terms) {
+                    if (!covered.contains(term)) {
+                        gain += information(term, sentenceFrequency.get(term), sentences.size());
+                    }
+                }
+                // The opening sentence usually says what the product is
+                gain = (i == 0 ? 2 * gain : gain) / sentence.tokens;
+                if (gain > bestGain) {
+                    best = i;
+                    bestGain = gain;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            kept[best] = true;
+            covered.addAll(sentences.get(best).terms);
+            remaining -= sentences.get(best).tokens;
+        }
+
+        StringJoiner result = new StringJoiner("\n");
+        for (int i = 0; i < sentences.size(); i++) {
+            if (kept[i]) {
+                result.add(sentences.get(i).text);
+            }
+        }
+        // Nothing fits, e.g. one long run-on sentence: keep its beginning
+        return result.length() > 0 ? result.toString() : truncate(clean, descriptionTokenBudget);
+    }
+
+    /**
+     * Feed HTML to plain text, one line per paragraph or list item
+     */
+    public static String cleanDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        String text = BLOCK_TAG.matcher(description).replaceAll("\n");
+        text = TAG.matcher(text).replaceAll("")
+                .replace("&nbsp;", " ")
+                .replace("&quot;", "\"")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+        text = HORIZONTAL_SPACE.matcher(text).replaceAll(" ");
+        return LINE_BREAKS.matcher(text).replaceAll("\n").strip();
+    }
+
+    /**
+     * Approximate BPE token count: a Latin word is about 4 characters per token, Cyrillic about 3, and most
+     * punctuation is a token of its own. Close enough to size a budget; billed usage comes from the provider.
+     */
+    public static int estimateTokens(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                boolean ascii = true;
+                while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                    ascii &= text.charAt(i) < 128;
+                    i++;
+                }
+                int length = i - start;
+                tokens += ascii ? (length + 3) / 4 : (length + 2) / 3;
+            } else {
+                if (!Character.isWhitespace(c)) {
+                    tokens++;
+                }
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Self-information of a term, weighted up for numbers, which carry sizes, capacities and dimensions
+     */
+    private static double information(String term, int sentenceFrequency, int sentences) {
+        double bits = Math.log((sentences + 1.0) / sentenceFrequency) / Math.log(2);
+        return term.chars().anyMatch(Character::isDigit) ? 2 * bits : bits;
+    }
+
+    private static String truncate(String text, int tokenBudget) {
+        StringBuilder result = new StringBuilder();
+        int tokens = 0;
+        for (String word : text.split("\\s+")) {
+            tokens += estimateTokens(word);
+            if (tokens > tokenBudget) {
+                break;
+            }
+            if (!result.isEmpty()) {
+                result.append(' ');
+            }
+            result.append(word);
+        }
+        return result.toString();
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+
+    private static final class Sentence {
+
+        private final String text;
+        private final int tokens;
+        private final boolean boilerplate;
+        private final Set<String> terms = new LinkedHashSet<>();
+
+        Sentence(String text) {
+            this.text = text;
+            this.tokens = Math.max(1, estimateTokens(text));
+            this.boilerplate = BOILERPLATE.matcher(text).find();
+            Matcher matcher = TERM.matcher(text.toLowerCase());
+            while (matcher.find()) {
+                String term = matcher.group();
+                if ((term.length() >= 3 || term.chars().anyMatch(Character::isDigit)) && !STOP_WORDS.contains(term)) {
+                    terms.add(term);
+                }
+            }
+        }
+    }
+}
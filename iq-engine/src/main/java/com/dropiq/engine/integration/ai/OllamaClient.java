@@ -1,6 +1,9 @@
 package com.dropiq.engine.integration.ai;
 
+import com.dropiq.engine.integration.ai.model.AIAnalysisRequest;
+import com.dropiq.engine.integration.ai.model.FeatureProductAnalysisResult;
 import com.dropiq.engine.integration.ai.model.ProductAnalysisResult;
+import com.dropiq.engine.integration.exp.service.ProductAttributeExtractor;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -16,11 +19,12 @@ import java.util.regex.Pattern;
 
 @Slf4j
 @Component
-public class OllamaClient {
+public class OllamaClient implements AIAnalysisProvider {
 
     private final WebClient webClient;
     private final WebClient podWebClient;
     private final ObjectMapper objectMapper;
+    private final ProductAttributeExtractor attributeExtractor;
 
     @Value("${ollama.vision.model:llava:13b}")
     private String visionModel;
@@ -31,68 +35,62 @@ public class OllamaClient {
     @Value("${ollama.timeout:3000}")
     private int timeoutSeconds;
 
-    // Product name patterns for real e-commerce
-    private static final List<String> BRAND_PATTERNS = Arrays.asList(
-            // Sportswear
-            "Nike", "Adidas", "Puma", "Reebok", "New Balance", "Vans", "Converse",
-            "Under Armour", "Asics", "Fila", "Champion", "Skechers", "Columbia", "The North Face",
-            "Oakley", "Speedo", "Saucony", "Brooks", "Jordan", "Umbro", "Kappa", "Diadora",
-
-            // Fast Fashion / High Street
-            "Zara", "H&M", "Mango", "Reserved", "Bershka", "Pull&Bear", "Stradivarius", "Massimo Dutti",
-            "Uniqlo", "Topshop", "Forever 21", "American Eagle", "Express", "Hollister", "Abercrombie & Fitch",
-            "Pacsun", "New Look", "Primark", "Monki", "SHEIN", "Romwe", "Boohoo", "PrettyLittleThing", "ASOS",
-
-            // Luxury and Designer Brands
-            "Gucci", "Louis Vuitton", "Chanel", "Prada", "Versace", "Burberry", "Fendi", "Balenciaga",
-            "Saint Laurent", "Dior", "Hermès", "Givenchy", "Bvlgari", "Tom Ford", "Valentino",
-            "Alexander McQueen", "Marc Jacobs", "Celine", "Miu Miu", "Chloé", "Salvatore Ferragamo",
-            "Viktor & Rolf", "Lanvin", "Acne Studios", "Off-White", "Ralph Lauren",
-
-            // Streetwear
-            "Supreme", "Stüssy", "A Bathing Ape (BAPE)", "Palace", "Fear of God", "Yeezy", "Off-White",
-            "Kith", "Huf", "Vans", "The Hundreds", "Champion", "Carhartt WIP", "Thrasher",
-            "Anti Social Social Club", "Billionaire Boys Club", "Stone Island", "Supreme", "T-Shirts Society",
-
-            // Workwear and Utility
-            "Carhartt", "Dickies", "Wrangler", "Levi's", "Wrangler", "Timberland", "Filson", "Patagonia",
-            "Duluth Trading Co.", "Cabela's", "Hanes", "Wrangler", "Red Kap",
-
-            // High-end Casuals
-            "Tommy Hilfiger", "Calvin Klein", "Gant", "Lacoste", "Polo Ralph Lauren", "Ted Baker", "Ben Sherman",
-            "Fred Perry", "Lyle & Scott", "Hackett London", "J.Crew", "Lands' End", "Brooks Brothers", "Barbour",
-            "Vince", "Theory", "Z Zegna",
-
-            // Activewear
-            "Lululemon", "Athleta", "Sweaty Betty", "Outdoor Voices", "Tory Sport", "Puma", "Nike Training",
-            "Adidas Performance", "Reebok Fitness", "Fabletics", "Gymshark", "ALO Yoga", "Beyond Yoga",
-            "Girlfriend Collective", "Athleta", "Under Armour",
-
-            // Footwear
-            "Dr. Martens", "Timberland", "UGG", "Vans", "Nike SB", "Converse", "Allbirds", "Skechers",
-            "Crocs", "Clarks", "Steve Madden", "Hush Puppies", "Reef", "Puma", "Adidas Originals", "New Balance",
-
-            // Outerwear / Jackets
-            "Patagonia", "Arc'teryx", "Columbia Sportswear", "The North Face", "Canada Goose", "Moncler",
-            "Helly Hansen", "Jack Wolfskin", "Marmot", "Mountain Hardwear", "Ralph Lauren Outerwear", "Woolrich",
-            "Fjällräven", "Barbour", "Eddie Bauer", "L.L. Bean", "Timberland Pro",
-
-            // Denim & Casual Wear
-            "Levi's", "Wrangler", "Lee", "Calvin Klein Jeans", "Diesel", "True Religion", "7 For All Mankind",
-            "AG Jeans", "Paige", "Citizens of Humanity", "Lucky Brand", "Gap", "Old Navy", "Uniqlo", "Tommy Jeans"
-    );
-
-    public OllamaClient(@Value("${ollama.base-url:http://localhost:11434}") String baseUrl) {
+    public OllamaClient(@Value("${ollama.base-url:http://localhost:11434}") String baseUrl,
+                        @Value("${ollama.text.base-url:${ollama.base-url:http://localhost:11434}}") String textBaseUrl,
+                        ProductAttributeExtractor attributeExtractor) {
         this.webClient = WebClient.builder()
                 .baseUrl(baseUrl)
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
                 .build();
 
         this.podWebClient = WebClient.builder()
-                .baseUrl("https://rqfxvsqekuuh8i-11434.proxy.runpod.net")
+                .baseUrl(textBaseUrl)
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
                 .build();
         this.objectMapper = new ObjectMapper();
+        this.attributeExtractor = attributeExtractor;
+    }
+
+    @Override
+    public String getProviderName() {
+        return "Ollama";
+    }
+
+    @Override
+    public boolean supportsVision() {
+        return true;
+    }
+
+    @Override
+    public int getMaxTextLength() {
+        return 4000;
+    }
+
+    /**
+     * Self-hosted models: no per-request charge
+     */
+    @Override
+    public double getCostPerRequest() {
+        return 0.0;
+    }
+
+    /**
+     * Vision (when the request has an image) and text generation, mapped onto the Horoshop analysis.
+     * A failed image step only loses the visual details; a failed or unparseable text step throws.
+     */
+    @Override
+    public FeatureProductAnalysisResult analyze(AIAnalysisRequest request) {
+        ProductAnalysisResult visionResult = request.isVision()
+                ? analyzeProductImage(request.getImageUrl(), request.getProductName())
+                : null;
+
+        String response = callOllamaText(createProductionTextPrompt(describe(request), visionResult));
+        ProductAnalysisResult result = parseTextResponse(response);
+        if (visionResult != null) {
+            mergeVisionResults(result, visionResult);
+        }
+        validateAndCleanResult(result);
+        return toHoroshopAnalysis(result);
     }
 
     /**
@@ -386,13 +384,7 @@ public class OllamaClient {
         if (productName == null) return;
 
         // Extract brand from product name
-        String detectedBrand = null;
-        for (String brand : BRAND_PATTERNS) {
-            if (productName.toLowerCase().contains(brand.toLowerCase())) {
-                detectedBrand = brand;
-                break;
-            }
-        }
+        String detectedBrand = attributeExtractor.extract(productName, null).getBrand();
 
         if (detectedBrand != null && result.getBrandDetected() == null) {
             result.setBrandDetected(detectedBrand);
@@ -571,8 +563,7 @@ public class OllamaClient {
             int jsonEnd = content.lastIndexOf('}') + 1;
 
             if (jsonStart == -1 || jsonEnd <= jsonStart) {
-                log.warn("No valid JSON found in text response");
-                return createProductionFallbackResult(null);
+                throw new IllegalStateException("No valid JSON found in text response");
             }
 
             String jsonContent = content.substring(jsonStart, jsonEnd);
@@ -628,7 +619,7 @@ public class OllamaClient {
 
         } catch (Exception e) {
             log.error("Error parsing text response: {}", e.getMessage());
-            return createProductionFallbackResult(null);
+            throw new IllegalStateException("Malformed Ollama text response", e);
         }
     }
 
@@ -760,6 +751,65 @@ public class OllamaClient {
         return result;
     }
 
+    private String describe(AIAnalysisRequest request) {
+        StringBuilder info = new StringBuilder();
+        info.append("Name: ").append(request.getProductName()).append("\n");
+        if (request.getDescription() != null && !request.getDescription().isEmpty()) {
+            info.append("Description: ").append(request.getDescription()).append("\n");
+        }
+        if (request.getPrice() != null) {
+            info.append("Price: ").append(request.getPrice()).append(" UAH\n");
+        }
+        if (request.getCategoryName() != null) {
+            info.append("Category: ").append(request.getCategoryName()).append("\n");
+        }
+        return info.toString();
+    }
+
+    private FeatureProductAnalysisResult toHoroshopAnalysis(ProductAnalysisResult source) {
+        FeatureProductAnalysisResult result = new FeatureProductAnalysisResult();
+        Map<String, String> titles = source.getSeoTitles() != null ? source.getSeoTitles() : Map.of();
+        Map<String, String> descriptions = source.getDescriptions() != null ? source.getDescriptions() : Map.of();
+        Map<String, String> metas = source.getMetaDescriptions() != null ? source.getMetaDescriptions() : Map.of();
+        Map<String, List<String>> tags = source.getTags() != null ? source.getTags() : Map.of();
+
+        result.setCommercialTitle(source.getSeoOptimizedName() != null ? source.getSeoOptimizedName() : titles.get("uk"));
+        result.setSeoTitle(titles.get("uk"));
+        result.setH1Title(result.getCommercialTitle());
+
+        result.setDescriptionUa(descriptions.get("uk"));
+        result.setDescriptionRu(descriptions.get("ru"));
+        result.setDescriptionEn(descriptions.get("en"));
+        result.setMetaDescriptionUa(metas.get("uk"));
+        result.setMetaDescriptionRu(metas.get("ru"));
+        result.setMetaDescriptionEn(metas.get("en"));
+
+        result.setTagsUa(tags.getOrDefault("uk", new ArrayList<>()));
+        result.setTagsRu(tags.getOrDefault("ru", new ArrayList<>()));
+        result.setTagsEn(tags.getOrDefault("en", new ArrayList<>()));
+
+        result.setMainCategory(source.getCategoryUk());
+        result.setSubCategory(source.getSubcategoryUk());
+        result.setMicroCategory(source.getMicroCategoryUk());
+
+        result.setBrandName(source.getBrandDetected());
+        result.setModelName(source.getModelName());
+        result.setColor(source.getColors() != null && !source.getColors().isEmpty() ? source.getColors().get(0) : null);
+        result.setMaterial(source.getMaterials() != null && !source.getMaterials().isEmpty() ? source.getMaterials().get(0) : null);
+        result.setStyle(source.getStyle());
+        result.setSeason(source.getSeason());
+        result.setVisualQuality(source.getVisualQuality() != null ? source.getVisualQuality() : 5.0);
+
+        result.setSellingPoints(source.getSellingPoints());
+        result.setTargetAudience(source.getTargetAudience() != null ? source.getTargetAudience().get("uk") : null);
+        result.setTrendScore(source.getTrendScore());
+        result.setConversionPotential(source.getConversionScore());
+        result.setCompetitiveAdvantage(source.getCompetitiveAdvantage());
+        result.setCrossSellCategories(source.getCrossSellCategories());
+        result.setAnalysisConfidence(source.getConfidence() != null ? source.getConfidence() : 0.8);
+        return result;
+    }
+
     private String downloadAndEncodeImage(String imageUrl) {
         try {
             URL url = new URL(imageUrl);
@@ -0,0 +1,26 @@
+package com.dropiq.engine.integration.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product data sent to an {@link com.dropiq.engine.integration.ai.AIAnalysisProvider}; a vision request has an image URL
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AIAnalysisRequest {
+    private String productName;
+    private String description;
+    private String categoryName;
+    private Double price;
+    private String sourceType;
+    private String imageUrl;
+
+    public boolean isVision() {
+        return imageUrl != null && !imageUrl.isBlank();
+    }
+}
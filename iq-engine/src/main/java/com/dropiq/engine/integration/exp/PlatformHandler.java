@@ -3,6 +3,7 @@ package com.dropiq.engine.integration.exp;
 import com.dropiq.engine.integration.exp.model.Category;
 import com.dropiq.engine.integration.exp.model.SourceType;
 import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import com.dropiq.engine.monitoring.SyncMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -10,6 +11,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -23,15 +25,18 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 public abstract class PlatformHandler {
 
     protected final RestTemplate restTemplate;
+    protected final SyncMetrics syncMetrics;
 
-    public PlatformHandler(RestTemplate restTemplate) {
+    public PlatformHandler(RestTemplate restTemplate, SyncMetrics syncMetrics) {
         this.restTemplate = restTemplate;
+        this.syncMetrics = syncMetrics;
     }
 
     /**
@@ -44,6 +49,7 @@ public abstract class PlatformHandler {
         int currentRetry = 0;
 
         while (currentRetry < maxRetries) {
+            long start = System.nanoTime();
             try {
                 HttpHeaders httpHeaders = new HttpHeaders();
                 if (headers != null) {
@@ -52,6 +58,10 @@ public abstract class PlatformHandler {
 
                 HttpEntity<String> entity = new HttpEntity<>(httpHeaders);
                 ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+                long contentLength = response.getHeaders().getContentLength();
+                syncMetrics.feedFetched(getSourceType(), String.valueOf(response.getStatusCode().value()),
+                        contentLength >= 0 ? contentLength : response.getBody() != null ? response.getBody().length() : 0,
+                        System.nanoTime() - start);
 
                 if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                     String content = response.getBody();
@@ -62,6 +72,8 @@ public abstract class PlatformHandler {
                 log.warn("Received non-success status: {} from URL: {}", response.getStatusCode(), url);
 
             } catch (RestClientException e) {
+                syncMetrics.feedFetched(getSourceType(), e instanceof RestClientResponseException responseException
+                        ? String.valueOf(responseException.getStatusCode().value()) : "error", 0, System.nanoTime() - start);
                 currentRetry++;
                 log.warn("Error fetching XML from URL: {}, attempt {}/{}, error: {}",
                         url, currentRetry, maxRetries, e.getMessage());
@@ -84,6 +96,16 @@ public abstract class PlatformHandler {
         throw new RuntimeException("Failed to fetch XML from URL: " + url);
     }
 
+    /**
+     * Run a feed parser, recording its duration and product count
+     */
+    protected List<UnifiedProduct> timedParse(Supplier<List<UnifiedProduct>> parser) {
+        long start = System.nanoTime();
+        List<UnifiedProduct> products = parser.get();
+        syncMetrics.feedParsed(getSourceType(), products.size(), System.nanoTime() - start);
+        return products;
+    }
+
     /**
      * Parse XML content with error handling
      */
@@ -276,6 +298,11 @@ public abstract class PlatformHandler {
      */
     public abstract List<UnifiedProduct> fetchProducts(String url, Map<String, String> headers);
 
+    /**
+     * Parse products from feed content that has already been fetched
+     */
+    public abstract List<UnifiedProduct> parseProducts(String xmlContent, String sourceUrl);
+
     /**
      * Abstract method to fetch categories from a platform
      */
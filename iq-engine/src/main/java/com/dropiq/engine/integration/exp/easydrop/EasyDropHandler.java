@@ -4,7 +4,9 @@ import com.dropiq.engine.integration.exp.PlatformHandler;
 import com.dropiq.engine.integration.exp.model.Category;
 import com.dropiq.engine.integration.exp.model.SourceType;
 import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import com.dropiq.engine.integration.exp.service.ProductAttributeExtractor;
 import com.dropiq.engine.integration.exp.service.SizeNormalizerService;
+import com.dropiq.engine.monitoring.SyncMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -24,18 +26,20 @@ import java.util.stream.Collectors;
 public class EasyDropHandler extends PlatformHandler {
 
     private final SizeNormalizerService sizeNormalizerService;
+    private final ProductAttributeExtractor attributeExtractor;
 
-    public EasyDropHandler(RestTemplate restTemplate, SizeNormalizerService sizeNormalizerService) {
-        super(restTemplate);
+    public EasyDropHandler(RestTemplate restTemplate, SizeNormalizerService sizeNormalizerService,
+                           ProductAttributeExtractor attributeExtractor, SyncMetrics syncMetrics) {
+        super(restTemplate, syncMetrics);
         this.sizeNormalizerService = sizeNormalizerService;
+        this.attributeExtractor = attributeExtractor;
     }
 
     @Override
     public List<UnifiedProduct> fetchProducts(String url, Map<String, String> headers) {
         try {
             String xmlContent = fetchXmlFromUrl(url, headers);
-            List<Category> categories = fetchCategories(xmlContent);
-            return parseProductsFromXml(xmlContent, url, categories);
+            return timedParse(() -> parseProducts(xmlContent, url));
         } catch (Exception e) {
             log.error("Error in fetchProducts: {}", e.getMessage(), e);
             return new ArrayList<>();
@@ -58,6 +62,11 @@ public class EasyDropHandler extends PlatformHandler {
         return parseCategoriesFromXml(xmlContent);
     }
 
+    @Override
+    public List<UnifiedProduct> parseProducts(String xmlContent, String sourceUrl) {
+        return parseProductsFromXml(xmlContent, sourceUrl, fetchCategories(xmlContent));
+    }
+
     /**
      * Parse products from XML with enhanced error handling and grouping
      */
@@ -131,6 +140,8 @@ public class EasyDropHandler extends PlatformHandler {
             parseBasicAttributes(product, element);
             parseCategory(product, element, categories);
             parseDescription(product, element);
+            // Бренд, колір, матеріал і країна — одним проходом по назві та опису
+            attributeExtractor.applyTo(product);
             parsePriceAndAvailability(product, element);
             parseImages(product, element);
             parseAttributes(product, element);
@@ -179,37 +190,12 @@ public class EasyDropHandler extends PlatformHandler {
             String name = getElementTextContent(element, "name");
             if (name != null && !name.isEmpty()) {
                 product.setName(name.trim());
-
-                // Витягуємо бренд з назви
-                extractBrandFromName(product, name);
             }
         } catch (Exception e) {
             log.debug("Error parsing basic attributes: {}", e.getMessage());
         }
     }
 
-    /**
-     * Витягує бренд з назви товару
-     */
-    private void extractBrandFromName(UnifiedProduct product, String name) {
-        try {
-            String nameLower = name.toLowerCase();
-
-            // Список популярних брендів
-            String[] brands = {"yeezy", "nike", "adidas", "jordan", "without", "prada", "balenciaga",
-                    "dr.martens", "new balance", "under armour", "reebok", "salomon", "osiris"};
-
-            for (String brand : brands) {
-                if (nameLower.contains(brand)) {
-                    product.setBrand(brand.substring(0, 1).toUpperCase() + brand.substring(1).toLowerCase());
-                    break;
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Error extracting brand: {}", e.getMessage());
-        }
-    }
-
     /**
      * Парсить категорію
      */
@@ -239,9 +225,6 @@ public class EasyDropHandler extends PlatformHandler {
                 // Очищаємо HTML теги та форматуємо опис
                 String cleanDescription = cleanHtmlDescription(description);
                 product.setDescription(cleanDescription);
-
-                // Витягуємо додаткову інформацію з опису
-                extractInfoFromDescription(product, cleanDescription);
             }
         } catch (Exception e) {
             log.debug("Error parsing description: {}", e.getMessage());
@@ -264,54 +247,6 @@ public class EasyDropHandler extends PlatformHandler {
                 .trim();
     }
 
-    /**
-     * Витягує додаткову інформацію з опису
-     */
-    private void extractInfoFromDescription(UnifiedProduct product, String description) {
-        try {
-            String descLower = description.toLowerCase();
-
-            // Витягуємо матеріал - тільки коротку частину
-            if (descLower.contains("матеріал:") || descLower.contains("материал:")) {
-                String[] parts = description.split("(?i)(матеріал:|материал:)");
-                if (parts.length > 1) {
-                    String materialPart = parts[1].split("[\\n\\r]")[0].trim();
-                    // Обрізаємо якщо занадто довгий
-                    if (materialPart.length() > 100) {
-                        materialPart = materialPart.substring(0, 97) + "...";
-                    }
-                    if (!materialPart.isEmpty()) {
-                        product.setMaterial(materialPart);
-                    }
-                }
-            }
-
-            // Витягуємо країну виробника - тільки коротку частину
-            if (descLower.contains("виробник:") || descLower.contains("производитель:")) {
-                String[] parts = description.split("(?i)(виробник:|производитель:)");
-                if (parts.length > 1) {
-                    String countryPart = parts[1].split("[\\n\\r]")[0].trim();
-                    // Обрізаємо якщо занадто довгий
-                    if (countryPart.length() > 50) {
-                        countryPart = countryPart.substring(0, 47) + "...";
-                    }
-                }
-            }
-
-            // Витягуємо колір (якщо згадується)
-            String[] colors = {"black", "white", "red", "blue", "green", "yellow", "чорний", "білий", "червоний"};
-            for (String color : colors) {
-                if (descLower.contains(color)) {
-                    product.setColor(color);
-                    break;
-                }
-            }
-
-        } catch (Exception e) {
-            log.debug("Error extracting info from description: {}", e.getMessage());
-        }
-    }
-
     /**
      * Парсить ціну та наявність
      */
@@ -4,7 +4,9 @@ import com.dropiq.engine.integration.exp.PlatformHandler;
 import com.dropiq.engine.integration.exp.model.Category;
 import com.dropiq.engine.integration.exp.model.SourceType;
 import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import com.dropiq.engine.integration.exp.service.ProductAttributeExtractor;
 import com.dropiq.engine.integration.exp.service.SizeNormalizerService;
+import com.dropiq.engine.monitoring.SyncMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -24,18 +26,20 @@ import java.util.stream.Collectors;
 public class MyDropHandler extends PlatformHandler {
 
     private final SizeNormalizerService sizeNormalizerService;
+    private final ProductAttributeExtractor attributeExtractor;
 
-    public MyDropHandler(RestTemplate restTemplate, SizeNormalizerService sizeNormalizerService) {
-        super(restTemplate);
+    public MyDropHandler(RestTemplate restTemplate, SizeNormalizerService sizeNormalizerService,
+                         ProductAttributeExtractor attributeExtractor, SyncMetrics syncMetrics) {
+        super(restTemplate, syncMetrics);
         this.sizeNormalizerService = sizeNormalizerService;
+        this.attributeExtractor = attributeExtractor;
     }
 
     @Override
     public List<UnifiedProduct> fetchProducts(String url, Map<String, String> headers) {
         try {
             String xmlContent = fetchXmlFromUrl(url, headers);
-            List<Category> categories = fetchCategories(xmlContent);
-            return parseProductsFromXml(xmlContent, url, categories);
+            return timedParse(() -> parseProducts(xmlContent, url));
         } catch (Exception e) {
             log.error("Error in fetchProducts: {}", e.getMessage(), e);
             return new ArrayList<>();
@@ -58,6 +62,11 @@ public class MyDropHandler extends PlatformHandler {
         return parseCategoriesFromXml(xmlContent);
     }
 
+    @Override
+    public List<UnifiedProduct> parseProducts(String xmlContent, String sourceUrl) {
+        return parseProductsFromXml(xmlContent, sourceUrl, fetchCategories(xmlContent));
+    }
+
     /**
      * Parse products from XML with enhanced error handling and grouping
      */
@@ -107,6 +116,8 @@ public class MyDropHandler extends PlatformHandler {
             parseBasicAttributes(product, element);
             parseCategory(product, element, categories);
             parseDescription(product, element);
+            // Бренд, колір, матеріал і країна — одним проходом по назві та опису
+            attributeExtractor.applyTo(product);
             parsePriceAndAvailability(product, element);
             parseImages(product, element);
             parseAttributes(product, element);
@@ -155,51 +166,12 @@ public class MyDropHandler extends PlatformHandler {
             String name = getElementTextContent(element, "name");
             if (name != null && !name.isEmpty()) {
                 product.setName(name.trim());
-
-                // Витягуємо бренд з назви
-                extractBrandFromName(product, name);
             }
         } catch (Exception e) {
             log.debug("Error parsing basic attributes: {}", e.getMessage());
         }
     }
 
-    /**
-     * Витягує бренд з назви товару
-     */
-    private void extractBrandFromName(UnifiedProduct product, String name) {
-        try {
-            String nameLower = name.toLowerCase();
-
-            // Список популярних брендів (розширений для MyDrop)
-            String[] brands = {"without", "nike", "adidas", "puma", "under armour", "reebok",
-                    "new balance", "converse", "vans", "champion", "calvin klein",
-                    "tommy hilfiger", "lacoste", "polo ralph lauren", "guess"};
-
-            for (String brand : brands) {
-                if (nameLower.contains(brand)) {
-                    product.setBrand(capitalizeWords(brand));
-                    break;
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Error extracting brand: {}", e.getMessage());
-        }
-    }
-
-    /**
-     * Капіталізує слова
-     */
-    private String capitalizeWords(String text) {
-        String[] words = text.split(" ");
-        StringBuilder sb = new StringBuilder();
-        for (String word : words) {
-            if (!sb.isEmpty()) sb.append(" ");
-            sb.append(word.substring(0, 1).toUpperCase()).append(word.substring(1).toLowerCase());
-        }
-        return sb.toString();
-    }
-
     /**
      * Парсить категорію
      */
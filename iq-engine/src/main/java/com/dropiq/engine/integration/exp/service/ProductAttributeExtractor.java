@@ -0,0 +1,106 @@
+package com.dropiq.engine.integration.exp.service;
+
+import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import com.dropiq.engine.integration.exp.text.AttributeDictionary;
+import com.dropiq.engine.integration.exp.text.ExtractedAttributes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Extracts brand, color, material and country of origin from product texts using {@link AttributeDictionary}.
+ * The dictionary location is configurable ({@code dropiq.attributes.dictionary}); when it points to a file,
+ * edits are picked up on the next refresh without a redeploy.
+ */
+@Slf4j
+@Service
+public class ProductAttributeExtractor {
+
+    public static final String DEFAULT_DICTIONARY = "classpath:dictionaries/product-attributes.json";
+    public static final String ORIGIN_ATTRIBUTE = "country_of_origin";
+
+    private final Resource dictionaryResource;
+    private volatile AttributeDictionary dictionary;
+    private volatile long loadedModified;
+
+    @Autowired
+    public ProductAttributeExtractor(ResourceLoader resourceLoader,
+                                     @Value("${dropiq.attributes.dictionary:" + DEFAULT_DICTIONARY + "}") String location) {
+        this(resourceLoader.getResource(location));
+    }
+
+    public ProductAttributeExtractor(Resource dictionaryResource) {
+        this.dictionaryResource = dictionaryResource;
+        this.loadedModified = lastModified();
+        try {
+            this.dictionary = load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load attribute dictionary " + dictionaryResource, e);
+        }
+    }
+
+    public ExtractedAttributes extract(String name, String description) {
+        return dictionary.extract(name, description);
+    }
+
+    /**
+     * Fill brand, color, material and origin the product does not have yet
+     */
+    public void applyTo(UnifiedProduct product) {
+        ExtractedAttributes attributes = extract(product.getName(), product.getDescription());
+        if (product.getBrand() == null) {
+            product.setBrand(attributes.getBrand());
+        }
+        if (product.getColor() == null) {
+            product.setColor(attributes.getColor());
+        }
+        if (product.getMaterial() == null) {
+            product.setMaterial(attributes.getMaterial());
+        }
+        if (attributes.getOrigin() != null) {
+            product.getAttributes().putIfAbsent(ORIGIN_ATTRIBUTE, attributes.getOrigin());
+        }
+    }
+
+    /**
+     * Reload the dictionary when its file changed; a broken file keeps the previous dictionary
+     */
+    @Scheduled(fixedDelayString = "${dropiq.attributes.refresh-interval:PT1M}")
+    public void refresh() {
+        long modified = lastModified();
+        if (modified <= 0 || modified == loadedModified) {
+            return;
+        }
+
+        loadedModified = modified;
+        try {
+            dictionary = load();
+        } catch (Exception e) {
+            log.warn("Keeping previous attribute dictionary, cannot reload {}: {}", dictionaryResource, e.getMessage());
+        }
+    }
+
+    private AttributeDictionary load() throws IOException {
+        try (InputStream in = dictionaryResource.getInputStream()) {
+            AttributeDictionary loaded = AttributeDictionary.read(in);
+            log.info("Loaded attribute dictionary {} with {} keywords", dictionaryResource, loaded.size());
+            return loaded;
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return dictionaryResource.lastModified();
+        } catch (IOException e) {
+            // Resources inside a jar have no modification time; they only change with a redeploy
+            return 0;
+        }
+    }
+}
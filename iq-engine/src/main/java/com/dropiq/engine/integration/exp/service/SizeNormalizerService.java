@@ -1,10 +1,14 @@
 package com.dropiq.engine.integration.exp.service;
 
 import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import com.dropiq.engine.integration.exp.text.KeywordMatcher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -20,6 +24,10 @@ public class SizeNormalizerService {
     private static final Pattern SHOES_PATTERN = Pattern.compile("^(\\d{2}(?:\\.5)?)$");
     private static final Pattern COMBINED_PATTERN = Pattern.compile("^(\\w+)/(\\w+)$");
     private static final Pattern PANTS_PATTERN = Pattern.compile("^(\\d{2,3})$");
+    private static final Pattern NON_SIZE_CHARS = Pattern.compile("[^A-Z0-9/.-]");
+
+    // Різних значень розміру у фіді небагато: кешуємо результат за (значення, очікуваний тип)
+    private static final int MEMO_SIZE_PER_TYPE = 2_000;
 
     // Мапінг синонімів розмірів
     private static final Map<String, String> SIZE_SYNONYMS = new HashMap<>();
@@ -84,21 +92,42 @@ public class SizeNormalizerService {
         CATEGORY_SIZE_MAPPING.put("панамк", UnifiedProduct.ProductSize.SizeType.ACCESSORIES);
     }
 
+    // Усі ключові слова категорій за один прохід; порядок = порядок обходу мапи, як у попередньому циклі з contains
+    private static final KeywordMatcher<UnifiedProduct.ProductSize.SizeType> SIZE_TYPE_MATCHER;
+    static {
+        KeywordMatcher.Builder<UnifiedProduct.ProductSize.SizeType> builder = KeywordMatcher.builder();
+        CATEGORY_SIZE_MAPPING.forEach(builder::add);
+        SIZE_TYPE_MATCHER = builder.build();
+    }
+
+    private final Map<UnifiedProduct.ProductSize.SizeType, Cache<String, UnifiedProduct.ProductSize>> memo =
+            new EnumMap<>(UnifiedProduct.ProductSize.SizeType.class);
+
+    public SizeNormalizerService() {
+        for (UnifiedProduct.ProductSize.SizeType type : UnifiedProduct.ProductSize.SizeType.values()) {
+            memo.put(type, Caffeine.newBuilder().maximumSize(MEMO_SIZE_PER_TYPE).build());
+        }
+    }
+
     /**
      * Нормалізує розмір товару
      */
     public UnifiedProduct.ProductSize normalizeSize(String originalSize, String productName, String categoryName) {
-        if (originalSize == null) {
-            originalSize = "";
-        }
+        String size = originalSize != null ? originalSize : "";
+
+        // Визначаємо тип розміру на основі категорії та назви товару
+        UnifiedProduct.ProductSize.SizeType expectedType = determineSizeType(productName, categoryName);
 
+        // Результат залежить лише від значення та типу; віддаємо копію, бо ProductSize змінюваний
+        return copyOf(memo.get(expectedType).get(size, key -> computeSize(key, expectedType)));
+    }
+
+    private UnifiedProduct.ProductSize computeSize(String originalSize,
+                                                   UnifiedProduct.ProductSize.SizeType expectedType) {
         UnifiedProduct.ProductSize productSize = new UnifiedProduct.ProductSize();
         productSize.setOriginalValue(originalSize.trim());
 
         try {
-            // Визначаємо тип розміру на основі категорії та назви товару
-            UnifiedProduct.ProductSize.SizeType expectedType = determineSizeType(productName, categoryName);
-
             // Нормалізуємо значення
             String normalized = normalizeSizeValue(originalSize);
 
@@ -117,21 +146,23 @@ public class SizeNormalizerService {
         return productSize;
     }
 
+    private static UnifiedProduct.ProductSize copyOf(UnifiedProduct.ProductSize source) {
+        UnifiedProduct.ProductSize copy = new UnifiedProduct.ProductSize();
+        copy.setOriginalValue(source.getOriginalValue());
+        copy.setType(source.getType());
+        copy.setNormalizedValue(source.getNormalizedValue());
+        copy.setUnit(source.getUnit());
+        copy.setAdditionalSizes(new HashMap<>(source.getAdditionalSizes()));
+        return copy;
+    }
+
     /**
      * Визначає тип розміру на основі назви товару та категорії
      */
     private UnifiedProduct.ProductSize.SizeType determineSizeType(String productName, String categoryName) {
-        String searchText = ((productName != null ? productName : "") + " " +
-                (categoryName != null ? categoryName : "")).toLowerCase();
-
-        // Шукаємо збіги в мапінгу категорій
-        for (Map.Entry<String, UnifiedProduct.ProductSize.SizeType> entry : CATEGORY_SIZE_MAPPING.entrySet()) {
-            if (searchText.contains(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-
-        return UnifiedProduct.ProductSize.SizeType.UNKNOWN;
+        // Ключові слова не містять пробілів, тож назву й категорію можна сканувати окремо, без конкатенації
+        UnifiedProduct.ProductSize.SizeType type = SIZE_TYPE_MATCHER.findFirst(productName, categoryName);
+        return type != null ? type : UnifiedProduct.ProductSize.SizeType.UNKNOWN;
     }
 
     /**
@@ -150,7 +181,7 @@ public class SizeNormalizerService {
         }
 
         // Очищаємо від зайвих символів
-        normalized = normalized.replaceAll("[^A-Z0-9/.-]", "");
+        normalized = NON_SIZE_CHARS.matcher(normalized).replaceAll("");
 
         return normalized;
     }
@@ -191,7 +222,7 @@ public class SizeNormalizerService {
         }
 
         // Перевіряємо числові розміри
-        if (normalized.matches("\\d+")) {
+        if (isDigits(normalized)) {
             int sizeNum = Integer.parseInt(normalized);
 
             if (expectedType == UnifiedProduct.ProductSize.SizeType.SHOES_EU && sizeNum >= 35 && sizeNum <= 50) {
@@ -213,6 +244,19 @@ public class SizeNormalizerService {
         productSize.setNormalizedValue(normalized.isEmpty() ? "UNKNOWN" : normalized);
     }
 
+    private static boolean isDigits(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Перевіряє, чи є розмір валідним для заданого типу
      */
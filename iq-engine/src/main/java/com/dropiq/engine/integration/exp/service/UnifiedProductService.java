@@ -60,10 +60,9 @@ public class UnifiedProductService {
                 }
 
                 List<UnifiedProduct> products = handler.fetchProducts(config.getUrl(), config.getHeaders());
-               if (!config.getExportUnavailable()) {
-                   products.stream().filter(x -> x != null && x.getStock() == 0)
-                           .forEach(products::remove);
-               }
+                if (!Boolean.TRUE.equals(config.getExportUnavailable())) {
+                    products.removeIf(x -> x != null && x.getStock() == 0);
+                }
                 allProducts.addAll(products);
 
             } catch (Exception e) {
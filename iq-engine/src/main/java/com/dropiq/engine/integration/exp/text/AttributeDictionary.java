@@ -0,0 +1,235 @@
+package com.dropiq.engine.integration.exp.text;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brand, color, material and country-of-origin vocabulary compiled into a single {@link KeywordMatcher},
+ * so a product's name and description are each scanned once for all of them.
+ * <p>
+ * Canonical names map to their spellings (English, Ukrainian, Russian). Keywords match whole words;
+ * a trailing {@code *} makes a keyword a stem ({@code бавовн*} matches {@code бавовняний}).
+ * When several terms of a kind match, the one listed first in the dictionary wins.
+ * Material and origin labels ({@code Матеріал:}, {@code Made in}) capture the text that follows them.
+ */
+public final class AttributeDictionary {
+
+    private enum Kind {
+        BRAND, COLOR, MATERIAL, ORIGIN, MATERIAL_LABEL, ORIGIN_LABEL
+    }
+
+    private record Term(Kind kind, String canonical, boolean stem) {
+    }
+
+    private record Hit(int start, int end, int order, Term term) {
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_MATERIAL_LENGTH = 100;
+    private static final int MAX_ORIGIN_LENGTH = 50;
+
+    private final KeywordMatcher<Term> matcher;
+
+    private AttributeDictionary(KeywordMatcher<Term> matcher) {
+        this.matcher = matcher;
+    }
+
+    public static AttributeDictionary read(InputStream json) throws IOException {
+        Source source = MAPPER.readValue(json, Source.class);
+
+        KeywordMatcher.Builder<Term> builder = KeywordMatcher.builder();
+        addTerms(builder, Kind.BRAND, source.getBrands());
+        addTerms(builder, Kind.COLOR, source.getColors());
+        addTerms(builder, Kind.MATERIAL, source.getMaterials());
+        addTerms(builder, Kind.ORIGIN, source.getOrigins());
+        for (String label : source.getMaterialLabels()) {
+            add(builder, label, new Term(Kind.MATERIAL_LABEL, null, false));
+        }
+        for (String label : source.getOriginLabels()) {
+            add(builder, label, new Term(Kind.ORIGIN_LABEL, null, false));
+        }
+        return new AttributeDictionary(builder.build());
+    }
+
+    public int size() {
+        return matcher.size();
+    }
+
+    /**
+     * Brand comes from the name only (descriptions mention other brands); color and material prefer the name,
+     * a labelled material wins over a mentioned one, and origin is taken from an origin label
+     */
+    public ExtractedAttributes extract(String name, String description) {
+        Hits inName = scan(name);
+        Hits inDescription = scan(description);
+
+        ExtractedAttributes result = new ExtractedAttributes();
+        result.setBrand(inName.best(Kind.BRAND));
+        result.setColor(firstNonNull(inName.best(Kind.COLOR), inDescription.best(Kind.COLOR)));
+
+        String labelledMaterial = labelValue(description, inDescription, Kind.MATERIAL_LABEL, MAX_MATERIAL_LENGTH, false);
+        result.setMaterial(firstNonNull(labelledMaterial,
+                firstNonNull(inName.best(Kind.MATERIAL), inDescription.best(Kind.MATERIAL))));
+        result.setOrigin(labelValue(description, inDescription, Kind.ORIGIN_LABEL, MAX_ORIGIN_LENGTH, true));
+        return result;
+    }
+
+    private Hits scan(String text) {
+        Hits hits = new Hits();
+        if (text != null) {
+            matcher.scan(text, (start, end, order, term) -> {
+                if (isWholeWord(text, start, end, term)) {
+                    hits.add(new Hit(start, end, order, term));
+                }
+                return true;
+            });
+        }
+        return hits;
+    }
+
+    /**
+     * Text after the first label of the kind, up to the next label or line/list break.
+     * For origins a known country inside that text is returned by its canonical name.
+     */
+    private String labelValue(String text, Hits hits, Kind labelKind, int maxLength, boolean canonicalOrigin) {
+        Hit label = null;
+        for (Hit hit : hits.labels) {
+            if (hit.term().kind() == labelKind && (label == null || hit.start() < label.start())) {
+                label = hit;
+            }
+        }
+        if (label == null) {
+            return null;
+        }
+
+        int end = text.length();
+        for (Hit hit : hits.labels) {
+            if (hit.start() >= label.end() && hit.start() < end) {
+                end = hit.start();
+            }
+        }
+        for (int i = label.end(); i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || c == ';' || c == '|') {
+                end = i;
+                break;
+            }
+        }
+
+        if (canonicalOrigin) {
+            Hit country = null;
+            for (Hit hit : hits.origins) {
+                if (hit.start() >= label.end() && hit.end() <= end && (country == null || hit.order() < country.order())) {
+                    country = hit;
+                }
+            }
+            if (country != null) {
+                return country.term().canonical();
+            }
+        }
+
+        String value = strip(text.substring(label.end(), end));
+        if (value.isEmpty()) {
+            return null;
+        }
+        return value.length() > maxLength ? value.substring(0, maxLength - 3) + "..." : value;
+    }
+
+    private static String strip(String value) {
+        int from = 0;
+        int to = value.length();
+        while (from < to && (Character.isWhitespace(value.charAt(from)) || ":-–—".indexOf(value.charAt(from)) >= 0)) {
+            from++;
+        }
+        while (to > from && (Character.isWhitespace(value.charAt(to - 1)) || ".,".indexOf(value.charAt(to - 1)) >= 0)) {
+            to--;
+        }
+        return value.substring(from, to);
+    }
+
+    private static boolean isWholeWord(String text, int start, int end, Term term) {
+        boolean startsWord = Character.isLetterOrDigit(text.charAt(start));
+        boolean endsWord = Character.isLetterOrDigit(text.charAt(end - 1));
+        if (startsWord && start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return false;
+        }
+        return term.stem() || !endsWord || end == text.length() || !Character.isLetterOrDigit(text.charAt(end));
+    }
+
+    private static void addTerms(KeywordMatcher.Builder<Term> builder, Kind kind, Map<String, List<String>> terms) {
+        terms.forEach((canonical, spellings) -> {
+            add(builder, canonical, new Term(kind, canonical, false));
+            for (String spelling : spellings) {
+                add(builder, spelling, new Term(kind, canonical, false));
+            }
+        });
+    }
+
+    private static void add(KeywordMatcher.Builder<Term> builder, String keyword, Term term) {
+        if (keyword == null) {
+            return;
+        }
+        String trimmed = keyword.trim();
+        boolean stem = trimmed.endsWith("*");
+        if (stem) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        builder.add(trimmed, new Term(term.kind(), term.canonical(), stem));
+    }
+
+    private static String firstNonNull(String first, String second) {
+        return first != null ? first : second;
+    }
+
+    private static final class Hits {
+        private final int[] bestOrder = new int[Kind.values().length];
+        private final String[] best = new String[Kind.values().length];
+        private final List<Hit> labels = new ArrayList<>();
+        private final List<Hit> origins = new ArrayList<>();
+
+        private Hits() {
+            Arrays.fill(bestOrder, Integer.MAX_VALUE);
+        }
+
+        private void add(Hit hit) {
+            Kind kind = hit.term().kind();
+            switch (kind) {
+                case MATERIAL_LABEL, ORIGIN_LABEL -> labels.add(hit);
+                case ORIGIN -> origins.add(hit);
+                default -> {
+                    if (hit.order() < bestOrder[kind.ordinal()]) {
+                        bestOrder[kind.ordinal()] = hit.order();
+                        best[kind.ordinal()] = hit.term().canonical();
+                    }
+                }
+            }
+        }
+
+        private String best(Kind kind) {
+            return best[kind.ordinal()];
+        }
+    }
+
+    /**
+     * JSON layout of the dictionary file
+     */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Source {
+        private Map<String, List<String>> brands = new LinkedHashMap<>();
+        private Map<String, List<String>> colors = new LinkedHashMap<>();
+        private Map<String, List<String>> materials = new LinkedHashMap<>();
+        private Map<String, List<String>> origins = new LinkedHashMap<>();
+        private List<String> materialLabels = new ArrayList<>();
+        private List<String> originLabels = new ArrayList<>();
+    }
+}
@@ -0,0 +1,15 @@
+package com.dropiq.engine.integration.exp.text;
+
+import lombok.Data;
+
+/**
+ * Attributes recognised in a product's name and description; null when not found
+ */
+@Data
+public class ExtractedAttributes {
+
+    private String brand;
+    private String color;
+    private String material;
+    private String origin;
+}
@@ -0,0 +1,213 @@
+package com.dropiq.engine.integration.exp.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Case-insensitive multi-keyword matcher (Aho-Corasick): one pass over the text finds every keyword occurrence,
+ * whatever the number of keywords. Immutable and thread-safe once built.
+ * Each keyword carries a value and its insertion order, which callers use as priority.
+ *
+ * @param <T> value attached to a keyword
+ */
+public final class KeywordMatcher<T> {
+
+    /**
+     * Receives matches in text order (by end position); return false to stop scanning
+     */
+    @FunctionalInterface
+    public interface Listener<T> {
+        boolean onMatch(int start, int end, int order, T value);
+    }
+
+    private static final int[] NONE = new int[0];
+
+    // Trie nodes: sorted transition chars and targets, failure link, keywords ending here (incl. via failure links)
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    private final int[][] outputs;
+
+    private final String[] keywords;
+    private final List<T> values;
+
+    private KeywordMatcher(Builder<T> builder) {
+        this.keywords = builder.keywords.toArray(new String[0]);
+        this.values = List.copyOf(builder.values);
+
+        // Trie with growable per-node edge lists
+        List<StringBuilder> chars = new ArrayList<>();
+        List<List<Integer>> targets = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        chars.add(new StringBuilder());
+        targets.add(new ArrayList<>());
+        ends.add(new ArrayList<>());
+
+        for (int k = 0; k < keywords.length; k++) {
+            int node = 0;
+            for (char c : keywords[k].toCharArray()) {
+                int i = chars.get(node).indexOf(String.valueOf(c));
+                if (i >= 0) {
+                    node = targets.get(node).get(i);
+                } else {
+                    chars.get(node).append(c);
+                    targets.get(node).add(chars.size());
+                    node = chars.size();
+                    chars.add(new StringBuilder());
+                    targets.add(new ArrayList<>());
+                    ends.add(new ArrayList<>());
+                }
+            }
+            ends.get(node).add(k);
+        }
+
+        int size = chars.size();
+        edgeChars = new char[size][];
+        edgeTargets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            String c = chars.get(node).toString();
+            Integer[] order = new Integer[c.length()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Character.compare(c.charAt(a), c.charAt(b)));
+            edgeChars[node] = new char[order.length];
+            edgeTargets[node] = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                edgeChars[node][i] = c.charAt(order[i]);
+                edgeTargets[node][i] = targets.get(node).get(order[i]);
+            }
+        }
+
+        // Failure links breadth-first; outputs merge the failure node's outputs
+        failure = new int[size];
+        outputs = new int[size][];
+        outputs[0] = NONE;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            failure[child] = 0;
+            outputs[child] = toArray(ends.get(child), NONE);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeChars[node].length; i++) {
+                char c = edgeChars[node][i];
+                int child = edgeTargets[node][i];
+                int f = failure[node];
+                while (f != 0 && next(f, c) < 0) {
+                    f = failure[f];
+                }
+                int target = next(f, c);
+                failure[child] = target >= 0 && target != child ? target : 0;
+                outputs[child] = toArray(ends.get(child), outputs[failure[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Report every keyword occurrence in the text
+     */
+    public void scan(CharSequence text, Listener<T> listener) {
+        if (text == null) {
+            return;
+        }
+        int node = 0;
+        for (int pos = 0; pos < text.length(); pos++) {
+            char c = Character.toLowerCase(text.charAt(pos));
+            int target = next(node, c);
+            while (target < 0 && node != 0) {
+                node = failure[node];
+                target = next(node, c);
+            }
+            node = Math.max(target, 0);
+
+            for (int k : outputs[node]) {
+                if (!listener.onMatch(pos + 1 - keywords[k].length(), pos + 1, k, values.get(k))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Value of the earliest-added keyword found in any of the texts, or null
+     */
+    public T findFirst(CharSequence... texts) {
+        int[] best = {Integer.MAX_VALUE};
+        for (CharSequence text : texts) {
+            scan(text, (start, end, order, value) -> {
+                best[0] = Math.min(best[0], order);
+                return order > 0;
+            });
+            if (best[0] == 0) {
+                break;
+            }
+        }
+        return best[0] == Integer.MAX_VALUE ? null : values.get(best[0]);
+    }
+
+    /**
+     * True if any keyword occurs in the text
+     */
+    public boolean containsAny(CharSequence text) {
+        boolean[] found = {false};
+        scan(text, (start, end, order, value) -> {
+            found[0] = true;
+            return false;
+        });
+        return found[0];
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    private int next(int node, char c) {
+        int i = Arrays.binarySearch(edgeChars[node], c);
+        return i >= 0 ? edgeTargets[node][i] : -1;
+    }
+
+    private static int[] toArray(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] result = Arrays.copyOf(own.stream().mapToInt(Integer::intValue).toArray(), own.size() + inherited.length);
+        System.arraycopy(inherited, 0, result, own.size(), inherited.length);
+        return result;
+    }
+
+    public static final class Builder<T> {
+        private final List<String> keywords = new ArrayList<>();
+        private final List<T> values = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a keyword; blank keywords are ignored, earlier keywords have lower order (higher priority)
+         */
+        public Builder<T> add(String keyword, T value) {
+            Objects.requireNonNull(value, "value");
+            if (keyword != null && !keyword.isBlank()) {
+                keywords.add(keyword.toLowerCase(Locale.ROOT));
+                values.add(value);
+            }
+            return this;
+        }
+
+        public KeywordMatcher<T> build() {
+            return new KeywordMatcher<>(this);
+        }
+    }
+}
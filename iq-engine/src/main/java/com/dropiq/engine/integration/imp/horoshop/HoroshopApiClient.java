@@ -1,7 +1,10 @@
 package com.dropiq.engine.integration.imp.horoshop;
 
 import com.dropiq.engine.integration.imp.horoshop.model.*;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
@@ -10,6 +13,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -99,8 +103,8 @@ public class HoroshopApiClient {
                     processBatchResult(batchResult, result);
 
                     // Rate limiting - wait between batches
-                    if (i < batches.size() - 1) {
-                        Thread.sleep(2000); // 2 second delay between batches
+                    if (i < batches.size() - 1 && config.getBatchDelayMs() != null && config.getBatchDelayMs() > 0) {
+                        Thread.sleep(config.getBatchDelayMs());
                     }
 
                 } catch (Exception e) {
@@ -502,38 +506,45 @@ public class HoroshopApiClient {
         }
     }
 
+    /**
+     * Categories from a pages/export response: {"status": "OK", "response": {"pages": [...]}}
+     */
     private List<HoroshopCategory> parseCategoriesFromResponse(String response) {
         try {
-            // This would need to be implemented based on the actual response format
-            // Placeholder implementation
-            List<HoroshopCategory> categories = new ArrayList<>();
-
-            // Parse JSON or XML response to extract categories
-            // Implementation depends on Horoshop's actual response format
-
-            return categories;
+            return readResponseList(response, "pages", HoroshopCategory.class);
         } catch (Exception e) {
             log.error("Failed to parse categories response: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Products from a catalog/export response: {"status": "OK", "response": {"products": [...]}}
+     */
     private List<HoroshopProduct> parseProductsFromResponse(String response) {
         try {
-            // This would need to be implemented based on the actual response format
-            // Placeholder implementation
-            List<HoroshopProduct> products = new ArrayList<>();
-
-            // Parse JSON or XML response to extract products
-            // Implementation depends on Horoshop's actual response format
-
-            return products;
+            return readResponseList(response, "products", HoroshopProduct.class);
         } catch (Exception e) {
             log.error("Failed to parse products response: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    private <T> List<T> readResponseList(String response, String field, Class<T> type) throws IOException {
+        List<T> items = new ArrayList<>();
+        if (response == null || response.isBlank()) {
+            return items;
+        }
+
+        JsonNode nodes = objectMapper.readTree(response).path("response").path(field);
+        ObjectReader reader = objectMapper.readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        for (JsonNode node : nodes) {
+            items.add(reader.readValue(node));
+        }
+        return items;
+    }
+
     private String buildExportQueryParams(HoroshopExportSettings settings) {
         List<String> params = new ArrayList<>();
 
@@ -12,4 +12,5 @@ public class HoroshopConfig {
     private Integer timeout = 120; // seconds
     private Integer retryAttempts = 3;
     private Integer batchSize = 50; // products per batch
+    private Integer batchDelayMs = 2000; // pause between import batches (API rate limit)
 }
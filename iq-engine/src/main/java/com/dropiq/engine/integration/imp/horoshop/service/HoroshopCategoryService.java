@@ -2,6 +2,7 @@ package com.dropiq.engine.integration.imp.horoshop.service;
 
 import com.dropiq.engine.integration.imp.horoshop.model.HoroshopCategory;
 import com.dropiq.engine.product.entity.DatasetCategory;
+import com.dropiq.engine.product.model.CategoryTreeSnapshot;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -61,6 +62,41 @@ public class HoroshopCategoryService {
         return horoshopCategory;
     }
 
+    /**
+     * Convert cached category tree node to Horoshop format (no lazy loading of parents)
+     */
+    public HoroshopCategory convertToHoroshopCategory(CategoryTreeSnapshot.Node node) {
+        HoroshopCategory horoshopCategory = new HoroshopCategory();
+
+        horoshopCategory.setName(node.getNameEn());
+        horoshopCategory.setSlug(node.getSlug());
+        horoshopCategory.setPath(node.getPathEn());
+        horoshopCategory.setParentId(node.getParentId());
+
+        Map<String, String> titles = new HashMap<>();
+        titles.put("ua", node.getNameUk());
+        titles.put("ru", node.getNameRu());
+        titles.put("en", node.getNameEn());
+        horoshopCategory.setTitle(titles);
+
+        Map<String, String> descriptions = new HashMap<>();
+        if (node.getDescriptionUk() != null) {
+            descriptions.put("ua", node.getDescriptionUk());
+        }
+        if (node.getDescriptionRu() != null) {
+            descriptions.put("ru", node.getDescriptionRu());
+        }
+        if (node.getDescriptionEn() != null) {
+            descriptions.put("en", node.getDescriptionEn());
+        }
+        horoshopCategory.setDescription(descriptions);
+
+        horoshopCategory.setActive(node.isActive());
+        horoshopCategory.setSortOrder(node.getLevel());
+
+        return horoshopCategory;
+    }
+
     /**
      * Convert Horoshop category to internal format
      */
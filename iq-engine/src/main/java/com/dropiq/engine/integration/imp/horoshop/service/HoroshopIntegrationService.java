@@ -3,9 +3,10 @@ package com.dropiq.engine.integration.imp.horoshop.service;
 import com.dropiq.engine.integration.imp.horoshop.HoroshopApiClient;
 import com.dropiq.engine.integration.imp.horoshop.model.*;
 import com.dropiq.engine.product.entity.DataSet;
-import com.dropiq.engine.product.entity.DatasetCategory;
 import com.dropiq.engine.product.entity.Product;
+import com.dropiq.engine.product.model.CategoryTreeSnapshot;
 import com.dropiq.engine.product.repository.DataSetRepository;
+import com.dropiq.engine.product.service.CategoryTreeCache;
 import com.dropiq.engine.product.service.DataSetService;
 import com.dropiq.engine.product.support.HoroshopProductMapper;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +37,7 @@ public class HoroshopIntegrationService {
     private final DataSetService dataSetService;
     private final DataSetRepository dataSetRepository;
     private final HoroshopCategoryService categoryService;
+    private final CategoryTreeCache categoryTreeCache;
 
     @Value("${horoshop.default.batch-size:50}")
     private int defaultBatchSize;
@@ -57,17 +59,16 @@ public class HoroshopIntegrationService {
                 DataSet dataset = dataSetService.getDataset(datasetId, userId)
                         .orElseThrow(() -> new IllegalArgumentException("Dataset not found: " + datasetId));
 
-                // Test connection first
-                if (!horoshopClient.testConnection(config)) {
-                    throw new RuntimeException("Cannot connect to Horoshop API");
-                }
-
-                // Authenticate if token is not provided
+                // Authenticate if token is not provided; the connection test already needs the token
                 if (config.getToken() == null && config.getUsername() != null) {
                     String token = horoshopClient.authenticate(config);
                     config.setToken(token);
                 }
 
+                if (!horoshopClient.testConnection(config)) {
+                    throw new RuntimeException("Cannot connect to Horoshop API");
+                }
+
                 // Export categories first
                 exportCategoriesToHoroshop(dataset, config);
 
@@ -120,10 +121,12 @@ public class HoroshopIntegrationService {
             Map<String, HoroshopCategory> existingCategoryMap = existingCategories.stream()
                     .collect(Collectors.toMap(cat -> cat.getName().toLowerCase(), cat -> cat));
 
-            // Get dataset categories
-            Set<DatasetCategory> datasetCategories = getDatasetCategories(dataset);
+            // Categories holding products (plus their parents), read from the cached tree snapshot
+            CategoryTreeSnapshot tree = categoryTreeCache.getSnapshot(dataset.getId());
+            List<CategoryTreeSnapshot.Node> datasetCategories =
+                    tree.selectWithAncestors(node -> node.getProductCount() > 0);
 
-            for (DatasetCategory category : datasetCategories) {
+            for (CategoryTreeSnapshot.Node category : datasetCategories) {
                 if (!existingCategoryMap.containsKey(category.getNameEn().toLowerCase())) {
                     HoroshopCategory horoshopCategory = categoryService.convertToHoroshopCategory(category);
                     horoshopClient.createCategory(config, horoshopCategory);
@@ -408,13 +411,6 @@ public class HoroshopIntegrationService {
 
     // Helper methods
 
-    private Set<DatasetCategory> getDatasetCategories(DataSet dataset) {
-        return dataset.getProducts().stream()
-                .map(Product::getCategory)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-    }
-
     private Product getProductWithDataset(Long productId, String userId) {
         // This would need to be implemented to get product with proper dataset context
         // For now, simplified implementation
@@ -2,12 +2,16 @@ package com.dropiq.engine.integration.imp.horoshop.service;
 
 import com.dropiq.engine.integration.imp.horoshop.HoroshopApiClient;
 import com.dropiq.engine.integration.imp.horoshop.model.*;
+import com.dropiq.engine.monitoring.SyncMetrics;
 import com.dropiq.engine.product.entity.DataSet;
 import com.dropiq.engine.product.entity.Product;
 import com.dropiq.engine.product.model.ProductStatus;
+import com.dropiq.engine.product.model.SyncProgress;
 import com.dropiq.engine.product.repository.DataSetRepository;
 import com.dropiq.engine.product.repository.ProductRepository;
+import com.dropiq.engine.product.service.SyncProgressService;
 import com.dropiq.engine.product.support.HoroshopProductMapper;
+import com.dropiq.engine.product.support.SyncProgressTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -35,6 +39,8 @@ public class HoroshopRobustSyncService {
     private final HoroshopProductMapper productMapper;
     private final ProductRepository productRepository;
     private final DataSetRepository dataSetRepository;
+    private final SyncProgressService syncProgressService;
+    private final SyncMetrics syncMetrics;
 
     @Value("${horoshop.sync.batch-size:20}")
     private int syncBatchSize;
@@ -48,6 +54,12 @@ public class HoroshopRobustSyncService {
     @Value("${horoshop.sync.stock-threshold:5}")
     private int lowStockThreshold;
 
+    @Value("${horoshop.sync.delay-between-batches-ms:1000}")
+    private long batchDelayMs;
+
+    @Value("${horoshop.sync.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
     /**
      * Main robust sync method - handles stock and price synchronization
      */
@@ -56,6 +68,9 @@ public class HoroshopRobustSyncService {
                                                                    HoroshopConfig config,
                                                                    HoroshopSyncOptions options) {
 
+        // Captured here: the export below runs on another thread
+        SyncProgressTracker progress = syncProgressService.current();
+
         return CompletableFuture.supplyAsync(() -> {
             log.info("Starting robust sync for dataset {} with focus on stock and price", datasetId);
 
@@ -82,7 +97,7 @@ public class HoroshopRobustSyncService {
 
                 // Step 1: Export local changes to Horoshop (stock & price updates)
                 if (options.isExportToHoroshop()) {
-                    HoroshopBulkResult exportResult = exportStockAndPriceUpdates(productsToSync, config, options);
+                    HoroshopBulkResult exportResult = exportStockAndPriceUpdates(datasetId, productsToSync, config, options, progress);
                     result.setExportResult(exportResult);
                     log.info("Export completed: {} success, {} errors",
                             exportResult.getTotalSuccess(), exportResult.getTotalErrors());
@@ -128,9 +143,11 @@ public class HoroshopRobustSyncService {
     /**
      * Export stock and price updates to Horoshop
      */
-    private HoroshopBulkResult exportStockAndPriceUpdates(List<Product> products,
+    private HoroshopBulkResult exportStockAndPriceUpdates(Long datasetId,
+                                                          List<Product> products,
                                                           HoroshopConfig config,
-                                                          HoroshopSyncOptions options) {
+                                                          HoroshopSyncOptions options,
+                                                          SyncProgressTracker progress) {
         log.info("Exporting stock and price updates for {} products", products.size());
 
         HoroshopBulkResult result = new HoroshopBulkResult();
@@ -139,10 +156,13 @@ public class HoroshopRobustSyncService {
         try {
             // Split into batches for processing
             List<List<Product>> batches = splitIntoBatches(products, syncBatchSize);
+            progress.expect(SyncProgress.Phase.EXPORTING, batches.size());
 
             for (int i = 0; i < batches.size(); i++) {
                 List<Product> batch = batches.get(i);
                 log.info("Processing export batch {}/{} with {} products", i + 1, batches.size(), batch.size());
+                long batchStart = System.nanoTime();
+                int errorsBefore = result.getTotalErrors();
 
                 try {
                     // Convert to Horoshop format with focus on stock and price
@@ -153,20 +173,26 @@ public class HoroshopRobustSyncService {
 
                     if (!horoshopProducts.isEmpty()) {
                         // Import with update mode
-                        HoroshopBatchResponse batchResult = importBatchWithRetry(config, horoshopProducts);
+                        HoroshopBatchResponse batchResult = importBatchWithRetry(datasetId, config, horoshopProducts);
                         processBatchResult(batchResult, result);
                     }
+                    syncMetrics.exportBatch("success", result.getTotalErrors() - errorsBefore,
+                            System.nanoTime() - batchStart);
+                    progress.batchExported();
 
                     // Rate limiting between batches
-                    if (i < batches.size() - 1) {
-                        Thread.sleep(1000); // 1 second delay
+                    if (i < batches.size() - 1 && batchDelayMs > 0) {
+                        Thread.sleep(batchDelayMs);
                     }
 
                 } catch (Exception e) {
-                    log.error("Export batch {} failed: {}", i + 1, e.getMessage());
+                    log.error("Dataset {}: export batch {} failed: {}", datasetId, i + 1, e.getMessage());
+                    progress.error();
                     // Mark batch products as failed
                     batch.forEach(product -> addFailedResult(result, product.getExternalId(),
                             "Export failed: " + e.getMessage()));
+                    syncMetrics.exportBatch("failed", result.getTotalErrors() - errorsBefore,
+                            System.nanoTime() - batchStart);
                 }
             }
 
@@ -482,11 +508,15 @@ public class HoroshopRobustSyncService {
         return batches;
     }
 
-    private HoroshopBatchResponse importBatchWithRetry(HoroshopConfig config,
+    private HoroshopBatchResponse importBatchWithRetry(Long datasetId,
+                                                       HoroshopConfig config,
                                                        List<HoroshopProduct> products) throws Exception {
         Exception lastException = null;
 
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            if (attempt > 1) {
+                syncMetrics.exportRetry();
+            }
             try {
                 HoroshopBatchImportRequest request = new HoroshopBatchImportRequest();
                 request.setProducts(products);
@@ -496,10 +526,10 @@ public class HoroshopRobustSyncService {
 
             } catch (Exception e) {
                 lastException = e;
-                log.warn("Import attempt {} failed: {}", attempt, e.getMessage());
+                log.warn("Dataset {}: import attempt {} failed: {}", datasetId, attempt, e.getMessage());
 
                 if (attempt < maxRetries) {
-                    Thread.sleep(2000 * attempt); // Exponential backoff
+                    Thread.sleep(retryBackoffMs * attempt); // Linear backoff
                 }
             }
         }
@@ -584,18 +614,6 @@ enum ConflictResolution {
     DETECT_ONLY
 }
 
-@lombok.Data
-class HoroshopSyncOptions {
-    private boolean syncStock = true;
-    private boolean syncPrices = true;
-    private boolean exportToHoroshop = true;
-    private boolean importFromHoroshop = true;
-    private ConflictResolution conflictResolution = ConflictResolution.REMOTE_WINS;
-    private int syncIntervalHours = 6;
-    private boolean urgentSync = false; // For low stock items
-    private List<String> productFilter = new ArrayList<>(); // Filter by external IDs
-}
-
 @lombok.Data
 class HoroshopSyncConflict {
     private String productArticle;
@@ -0,0 +1,16 @@
+package com.dropiq.engine.integration.imp.horoshop.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@lombok.Data
+public class HoroshopSyncOptions {
+    private boolean syncStock = true;
+    private boolean syncPrices = true;
+    private boolean exportToHoroshop = true;
+    private boolean importFromHoroshop = true;
+    private ConflictResolution conflictResolution = ConflictResolution.REMOTE_WINS;
+    private int syncIntervalHours = 6;
+    private boolean urgentSync = false; // For low stock items
+    private List<String> productFilter = new ArrayList<>(); // Filter by external IDs
+}
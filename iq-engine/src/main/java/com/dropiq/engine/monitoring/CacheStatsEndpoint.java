@@ -0,0 +1,68 @@
+package com.dropiq.engine.monitoring;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator view of Caffeine cache stats: /actuator/cachestats and /actuator/cachestats/{name}
+ */
+@Component
+@Endpoint(id = "cachestats")
+@RequiredArgsConstructor
+public class CacheStatsEndpoint {
+
+    private final CacheManager cacheManager;
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> caches() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Map<String, Object> stats = cache(name);
+            if (stats != null) {
+                result.put(name, stats);
+            }
+        }
+        return result;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String name) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (cache == null || !(cache.getNativeCache() instanceof Cache<?, ?> caffeine)) {
+            return null;
+        }
+
+        CacheStats stats = caffeine.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", caffeine.estimatedSize());
+        result.put("requests", stats.requestCount());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+
+        caffeine.policy().eviction().ifPresent(eviction -> {
+            result.put("maximum", eviction.getMaximum());
+            eviction.weightedSize().ifPresent(weight -> result.put("weightedSize", weight));
+        });
+        caffeine.policy().expireAfterWrite()
+                .map(Policy.FixedExpiration::getExpiresAfter)
+                .ifPresent(ttl -> result.put("expireAfterWrite", ttl.toString()));
+        caffeine.policy().expireAfterAccess()
+                .map(Policy.FixedExpiration::getExpiresAfter)
+                .ifPresent(ttl -> result.put("expireAfterAccess", ttl.toString()));
+        return result;
+    }
+}
@@ -0,0 +1,224 @@
+package com.dropiq.engine.monitoring;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.model.SyncJobType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters for the sync pipeline: feed fetch and parse, upsert, AI analysis, Horoshop export and the job queue.
+ * Tags are shared across meters: source (SourceType, or "mixed" for a dataset fed by several), jobType (SyncJobType).
+ * Nothing is tagged per dataset, which would add a series (and a histogram) for every dataset ever synced;
+ * per-dataset timings and counts go to the logs and the sync history.
+ */
+@Component
+public class SyncMetrics {
+
+    /**
+     * Records nothing; for code built outside the Spring context
+     */
+    public static final SyncMetrics NOOP = new SyncMetrics(new CompositeMeterRegistry());
+
+    private static final String NONE = "none";
+    private static final String MIXED = "mixed";
+
+    private final MeterRegistry registry;
+    private final AtomicInteger pendingJobs = new AtomicInteger();
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    public SyncMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("dropiq.sync.queue", pendingJobs, AtomicInteger::get)
+                .description("Sync jobs due to run but not started")
+                .tag("state", "pending")
+                .register(registry);
+        Gauge.builder("dropiq.sync.queue", runningJobs, AtomicInteger::get)
+                .description("Sync jobs running on this instance")
+                .tag("state", "running")
+                .register(registry);
+    }
+
+    public void feedFetched(SourceType source, String status, long bytes, long nanos) {
+        Timer.builder("dropiq.feed.fetch")
+                .tag("source", tag(source))
+                .tag("status", status)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (bytes > 0) {
+            DistributionSummary.builder("dropiq.feed.fetch.size")
+                    .baseUnit("bytes")
+                    .tag("source", tag(source))
+                    .register(registry)
+                    .record(bytes);
+        }
+    }
+
+    /**
+     * Items per second is dropiq.feed.parse.items divided by the dropiq.feed.parse total time
+     */
+    public void feedParsed(SourceType source, int items, long nanos) {
+        Timer.builder("dropiq.feed.parse")
+                .tag("source", tag(source))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder("dropiq.feed.parse.items")
+                .tag("source", tag(source))
+                .register(registry)
+                .increment(items);
+    }
+
+    public void upserted(Collection<SourceType> sources, int inserted, int updated) {
+        upsertCounter(sources, "inserted").increment(inserted);
+        upsertCounter(sources, "updated").increment(updated);
+    }
+
+    /**
+     * Record one stage of a dataset sync started at startNanos; returns the start of the next stage
+     */
+    public long stage(Collection<SourceType> sources, String stage, long startNanos) {
+        long now = System.nanoTime();
+        Timer.builder("dropiq.sync.stage")
+                .tag("source", sourceTag(sources))
+                .tag("stage", stage)
+                .register(registry)
+                .record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void jobFinished(SyncJobType jobType, String outcome, long millis) {
+        Timer.builder("dropiq.sync.job")
+                .tag("jobType", tag(jobType))
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void queueDepth(int pending, int running) {
+        pendingJobs.set(pending);
+        runningJobs.set(running);
+    }
+
+    /**
+     * One LLM call; cached prompt tokens are the part of the prompt served from the provider's prompt cache
+     */
+    public void aiRequest(String provider, String mode, String outcome, long nanos,
+                          long promptTokens, long cachedPromptTokens, long completionTokens) {
+        Timer.builder("dropiq.ai.request")
+                .tag("provider", provider)
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (promptTokens > 0) {
+            tokenCounter(provider, "prompt").increment(promptTokens);
+        }
+        if (cachedPromptTokens > 0) {
+            tokenCounter(provider, "cached").increment(cachedPromptTokens);
+        }
+        if (completionTokens > 0) {
+            tokenCounter(provider, "completion").increment(completionTokens);
+        }
+    }
+
+    public void aiFallback(String provider, String reason) {
+        Counter.builder("dropiq.ai.fallback")
+                .tag("provider", provider)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * One provider call made by the AI router: success, error or invalid (answer failed validation)
+     */
+    public void aiProviderCall(String provider, String outcome, long nanos) {
+        Timer.builder("dropiq.ai.provider")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Duplicate request sent because the primary call ran past the provider's tail latency
+     */
+    public void aiHedge(String provider) {
+        Counter.builder("dropiq.ai.hedges")
+                .tag("provider", provider)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Repeated analysis attempt after an error or a result that failed validation
+     */
+    public void aiRetry(String provider, String reason) {
+        Counter.builder("dropiq.ai.retries")
+                .tag("provider", provider)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Products analyzed per result: analyzed (AI call), cached, group (copied from a group member) or fallback
+     */
+    public void aiAnalysis(String result, int products) {
+        Counter.builder("dropiq.ai.analysis")
+                .tag("result", result)
+                .register(registry)
+                .increment(products);
+    }
+
+    public void exportBatch(String outcome, int productErrors, long nanos) {
+        Timer.builder("dropiq.export.batch")
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (productErrors > 0) {
+            Counter.builder("dropiq.export.product.errors")
+                    .register(registry)
+                    .increment(productErrors);
+        }
+    }
+
+    public void exportRetry() {
+        Counter.builder("dropiq.export.retries")
+                .register(registry)
+                .increment();
+    }
+
+    private Counter upsertCounter(Collection<SourceType> sources, String operation) {
+        return Counter.builder("dropiq.sync.upsert")
+                .tag("source", sourceTag(sources))
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private Counter tokenCounter(String provider, String type) {
+        return Counter.builder("dropiq.ai.tokens")
+                .tag("provider", provider)
+                .tag("type", type)
+                .register(registry);
+    }
+
+    private static String sourceTag(Collection<SourceType> sources) {
+        if (sources == null || sources.isEmpty()) {
+            return NONE;
+        }
+        return sources.size() == 1 ? tag(sources.iterator().next()) : MIXED;
+    }
+
+    private static String tag(Object value) {
+        return value != null ? value.toString() : NONE;
+    }
+}
@@ -1,21 +1,41 @@
 package com.dropiq.engine.product.controller;
 
+import com.dropiq.engine.product.dto.BulkSyncRequest;
 import com.dropiq.engine.product.dto.CreateDataSetRequest;
+import com.dropiq.engine.product.dto.DataSetDetail;
+import com.dropiq.engine.product.dto.DataSetSummary;
 import com.dropiq.engine.product.dto.MergeDataSetRequest;
+import com.dropiq.engine.product.dto.ProductSummary;
+import com.dropiq.engine.product.dto.SyncJobResponse;
 import com.dropiq.engine.product.dto.UpdateDataSetRequest;
 import com.dropiq.engine.product.entity.DataSet;
 import com.dropiq.engine.product.entity.Product;
+import com.dropiq.engine.product.entity.SyncJob;
+import com.dropiq.engine.product.model.CategoryTreeSnapshot;
 import com.dropiq.engine.product.model.DataSetFilter;
 import com.dropiq.engine.product.model.DataSetStatistics;
+import com.dropiq.engine.product.model.SyncJobStatus;
 import com.dropiq.engine.product.model.SyncJobType;
+import com.dropiq.engine.product.model.SyncProgress;
+import com.dropiq.engine.product.service.CategoryTreeCache;
 import com.dropiq.engine.product.service.DataSetService;
+import com.dropiq.engine.product.service.ProductExportService;
+import com.dropiq.engine.product.service.SyncProgressService;
 import com.dropiq.engine.product.service.SyncSchedulingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,13 +47,16 @@ public class DataSetController {
 
     private final DataSetService dataSetService;
     private final SyncSchedulingService syncSchedulingService;
+    private final CategoryTreeCache categoryTreeCache;
+    private final SyncProgressService syncProgressService;
+    private final ProductExportService productExportService;
 
     /**
      * Create dataset from data sources
      */
     @PostMapping
-    public ResponseEntity<DataSet> createDataset(@RequestBody CreateDataSetRequest request,
-                                                 @RequestHeader("X-User-ID") String userId) {
+    public ResponseEntity<DataSetDetail> createDataset(@RequestBody CreateDataSetRequest request,
+                                                       @RequestHeader("X-User-ID") String userId) {
         try {
             DataSet dataset = dataSetService.createDatasetFromSources(
                     request.getName(),
@@ -41,7 +64,7 @@ public class DataSetController {
                     userId,
                     request.getDataSources()
             );
-            return ResponseEntity.ok(dataset);
+            return detail(dataset, userId);
         } catch (Exception e) {
             log.error("Error creating dataset: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -52,52 +75,75 @@ public class DataSetController {
      * Create empty dataset
      */
     @PostMapping("/empty")
-    public ResponseEntity<DataSet> createEmptyDataset(@RequestBody UpdateDataSetRequest request,
-                                                      @RequestHeader("X-User-ID") String userId) {
+    public ResponseEntity<DataSetDetail> createEmptyDataset(@RequestBody UpdateDataSetRequest request,
+                                                            @RequestHeader("X-User-ID") String userId) {
         DataSet dataset = dataSetService.createEmptyDataset(
                 request.getName(),
                 request.getDescription(),
                 userId
         );
-        return ResponseEntity.ok(dataset);
+        return detail(dataset, userId);
     }
 
     /**
-     * Get all user datasets
+     * Get all user datasets as summary rows
      */
     @GetMapping
-    public ResponseEntity<List<DataSet>> getUserDatasets(@RequestHeader("X-User-ID") String userId,
-                                                         @RequestParam(required = false) String search) {
-        List<DataSet> datasets;
-        if (search != null && !search.trim().isEmpty()) {
-            datasets = dataSetService.searchDatasets(userId, search);
-        } else {
-            datasets = dataSetService.getUserDatasets(userId);
-        }
-        return ResponseEntity.ok(datasets);
+    public ResponseEntity<List<DataSetSummary>> getUserDatasets(@RequestHeader("X-User-ID") String userId,
+                                                                @RequestParam(required = false) String search) {
+        return ResponseEntity.ok(dataSetService.getDatasetSummaries(userId, search));
     }
 
     /**
-     * Get specific dataset
+     * Get specific dataset, without its products
      */
     @GetMapping("/{id}")
-    public ResponseEntity<DataSet> getDataset(@PathVariable Long id,
-                                              @RequestHeader("X-User-ID") String userId) {
-        return dataSetService.getDataset(id, userId)
+    public ResponseEntity<DataSetDetail> getDataset(@PathVariable Long id,
+                                                    @RequestHeader("X-User-ID") String userId) {
+        return dataSetService.getDatasetDetail(id, userId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Get one page of dataset products, e.g. ?page=0&size=50&sort=externalName
+     */
+    @GetMapping("/{id}/products")
+    public ResponseEntity<PagedModel<ProductSummary>> getDatasetProducts(@PathVariable Long id,
+                                                                         @RequestHeader("X-User-ID") String userId,
+                                                                         @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        try {
+            return ResponseEntity.ok(new PagedModel<>(dataSetService.getDatasetProductPage(id, userId, pageable)));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Stream all dataset products as NDJSON, one product summary per line, written as rows are read
+     */
+    @GetMapping(value = "/{id}/products:stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDatasetProducts(@PathVariable Long id,
+                                                                       @RequestHeader("X-User-ID") String userId) {
+        if (!dataSetService.isOwner(id, userId)) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> productExportService.writeNdjson(id, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Update dataset
      */
     @PutMapping("/{id}")
-    public ResponseEntity<DataSet> updateDataset(@PathVariable Long id,
-                                                 @RequestBody UpdateDataSetRequest request,
-                                                 @RequestHeader("X-User-ID") String userId) {
+    public ResponseEntity<DataSetDetail> updateDataset(@PathVariable Long id,
+                                                       @RequestBody UpdateDataSetRequest request,
+                                                       @RequestHeader("X-User-ID") String userId) {
         try {
             DataSet dataset = dataSetService.updateDataset(id, userId, request.getName(), request.getDescription());
-            return ResponseEntity.ok(dataset);
+            return detail(dataset, userId);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -121,8 +167,8 @@ public class DataSetController {
      * Merge datasets
      */
     @PostMapping("/merge")
-    public ResponseEntity<DataSet> mergeDatasets(@RequestBody MergeDataSetRequest request,
-                                                 @RequestHeader("X-User-ID") String userId) {
+    public ResponseEntity<DataSetDetail> mergeDatasets(@RequestBody MergeDataSetRequest request,
+                                                       @RequestHeader("X-User-ID") String userId) {
         try {
             DataSet mergedDataset = dataSetService.mergeDatasets(
                     request.getDataset1Id(),
@@ -130,7 +176,7 @@ public class DataSetController {
                     request.getNewName(),
                     userId
             );
-            return ResponseEntity.ok(mergedDataset);
+            return detail(mergedDataset, userId);
         } catch (Exception e) {
             log.error("Error merging datasets: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -151,6 +197,18 @@ public class DataSetController {
         }
     }
 
+    /**
+     * Get dataset category tree (served from the versioned snapshot cache)
+     */
+    @GetMapping("/{id}/categories")
+    public ResponseEntity<CategoryTreeSnapshot> getCategoryTree(@PathVariable Long id,
+                                                                @RequestHeader("X-User-ID") String userId) {
+        if (!dataSetService.isOwner(id, userId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(categoryTreeCache.getSnapshot(id));
+    }
+
     /**
      * Filter products in dataset
      */
@@ -170,12 +228,12 @@ public class DataSetController {
      * Remove products from dataset
      */
     @DeleteMapping("/{id}/products")
-    public ResponseEntity<DataSet> removeProductsFromDataset(@PathVariable Long id,
-                                                             @RequestBody List<Long> productIds,
-                                                             @RequestHeader("X-User-ID") String userId) {
+    public ResponseEntity<DataSetDetail> removeProductsFromDataset(@PathVariable Long id,
+                                                                   @RequestBody List<Long> productIds,
+                                                                   @RequestHeader("X-User-ID") String userId) {
         try {
             DataSet dataset = dataSetService.removeProductsFromDataset(id, userId, productIds);
-            return ResponseEntity.ok(dataset);
+            return detail(dataset, userId);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -216,6 +274,77 @@ public class DataSetController {
         }
     }
 
+    /**
+     * Schedule sync for several datasets in one call; returns a job (or rejection) per dataset without waiting
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<List<SyncJobResponse>> syncDatasets(@RequestBody BulkSyncRequest request,
+                                                              @RequestHeader("X-User-ID") String userId) {
+        if (request.getDatasetIds() == null || request.getDatasetIds().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.info("Bulk sync request received for {} datasets by user {}", request.getDatasetIds().size(), userId);
+
+        Long userIdLong = getUserIdFromUsername(userId);
+        int priority = request.getPriority() != null ? request.getPriority() : 5;
+        List<SyncJobResponse> responses = new ArrayList<>();
+
+        for (Long datasetId : request.getDatasetIds()) {
+            try {
+                if (!dataSetService.isOwner(datasetId, userId)) {
+                    responses.add(SyncJobResponse.rejected(datasetId, "Dataset not found"));
+                    continue;
+                }
+
+                SyncJob job = syncSchedulingService.scheduleSync(userIdLong, "DATASET", datasetId,
+                        SyncJobType.DATASET_SYNC, LocalDateTime.now(), priority);
+                responses.add(SyncJobResponse.of(job));
+
+            } catch (Exception e) {
+                log.error("Error scheduling sync for dataset {}: {}", datasetId, e.getMessage());
+                responses.add(SyncJobResponse.rejected(datasetId, e.getMessage()));
+            }
+        }
+
+        return ResponseEntity.accepted().body(responses);
+    }
+
+    /**
+     * Current state of sync jobs returned by POST /sync
+     */
+    @GetMapping("/sync/jobs")
+    public ResponseEntity<List<SyncJobResponse>> getSyncJobs(@RequestParam List<Long> ids,
+                                                             @RequestHeader("X-User-ID") String userId) {
+        List<SyncJobResponse> jobs = syncSchedulingService.getDatasetJobs(userId, ids).stream()
+                .map(SyncJobResponse::of)
+                .toList();
+        return ResponseEntity.ok(jobs);
+    }
+
+    /**
+     * Live progress of a sync job as Server-Sent Events; ends when the job finishes
+     */
+    @GetMapping(value = "/sync/jobs/{jobId}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<SyncProgress>>> streamSyncProgress(@PathVariable Long jobId,
+                                                                                @RequestHeader("X-User-ID") String userId) {
+        // Ownership of the job's dataset is checked before anything about the job is streamed
+        List<SyncJob> jobs = syncSchedulingService.getDatasetJobs(userId, List.of(jobId));
+        if (jobs.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        SyncJob job = jobs.get(0);
+        Flux<SyncProgress> progress = syncProgressService.snapshot(jobId).isPresent() || isActive(job.getStatus())
+                ? syncProgressService.stream(jobId, job.getEntityId())
+                : Flux.just(finishedProgress(job));
+
+        return ResponseEntity.ok(progress.map(update -> ServerSentEvent.builder(update)
+                .id(String.valueOf(update.getVersion()))
+                .event("progress")
+                .build()));
+    }
+
     /**
      * Get dataset sync status
      */
@@ -237,6 +366,38 @@ public class DataSetController {
         }
     }
 
+    /**
+     * Respond with the detail projection of a dataset just created or changed
+     */
+    private ResponseEntity<DataSetDetail> detail(DataSet dataset, String userId) {
+        return dataSetService.getDatasetDetail(dataset.getId(), userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Job is still queued or running
+     */
+    private boolean isActive(SyncJobStatus status) {
+        return status == SyncJobStatus.PENDING || status == SyncJobStatus.RUNNING;
+    }
+
+    /**
+     * Final state of a job whose in-memory progress is no longer kept
+     */
+    private SyncProgress finishedProgress(SyncJob job) {
+        return SyncProgress.builder()
+                .jobId(job.getId())
+                .datasetId(job.getEntityId())
+                .phase(switch (job.getStatus()) {
+                    case COMPLETED -> SyncProgress.Phase.COMPLETED;
+                    case CANCELLED -> SyncProgress.Phase.CANCELLED;
+                    default -> SyncProgress.Phase.FAILED;
+                })
+                .etaSeconds(0L)
+                .build();
+    }
+
     /**
      * Convert username to user ID (simplified)
      */
@@ -0,0 +1,100 @@
+package com.dropiq.engine.product.controller;
+
+import com.dropiq.engine.product.dto.PriceRuleRequest;
+import com.dropiq.engine.product.entity.DatasetPriceRule;
+import com.dropiq.engine.product.service.PriceRuleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/datasets/{datasetId}/price-rules")
+@RequiredArgsConstructor
+public class PriceRuleController {
+
+    private final PriceRuleService priceRuleService;
+
+    @GetMapping
+    public ResponseEntity<List<DatasetPriceRule>> getRules(@PathVariable Long datasetId,
+                                                           @RequestHeader("X-User-ID") String userId) {
+        try {
+            return ResponseEntity.ok(priceRuleService.getRules(datasetId, userId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Error getting price rules of dataset {}: {}", datasetId, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<DatasetPriceRule> createRule(@PathVariable Long datasetId,
+                                                       @RequestBody PriceRuleRequest request,
+                                                       @RequestHeader("X-User-ID") String userId) {
+        try {
+            return ResponseEntity.ok(priceRuleService.createRule(datasetId, userId, request));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error creating price rule for dataset {}: {}", datasetId, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PutMapping("/{ruleId}")
+    public ResponseEntity<DatasetPriceRule> updateRule(@PathVariable Long datasetId,
+                                                       @PathVariable Long ruleId,
+                                                       @RequestBody PriceRuleRequest request,
+                                                       @RequestHeader("X-User-ID") String userId) {
+        try {
+            return ResponseEntity.ok(priceRuleService.updateRule(datasetId, userId, ruleId, request));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error updating price rule {}: {}", ruleId, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long datasetId,
+                                           @PathVariable Long ruleId,
+                                           @RequestHeader("X-User-ID") String userId) {
+        try {
+            priceRuleService.deleteRule(datasetId, userId, ruleId);
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Error deleting price rule {}: {}", ruleId, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Reprice all dataset products by the current rules
+     */
+    @PostMapping("/apply")
+    public ResponseEntity<Map<String, Integer>> applyRules(@PathVariable Long datasetId,
+                                                           @RequestHeader("X-User-ID") String userId) {
+        try {
+            int updated = priceRuleService.repriceDataset(datasetId, userId);
+            return ResponseEntity.ok(Map.of("updatedProducts", updated));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Error applying price rules to dataset {}: {}", datasetId, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.dropiq.engine.product.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkSyncRequest {
+    private List<Long> datasetIds;
+    private Integer priority;
+}
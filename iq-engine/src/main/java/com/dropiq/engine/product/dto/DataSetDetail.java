@@ -0,0 +1,79 @@
+package com.dropiq.engine.product.dto;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.model.DataSetStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single dataset with its settings, sources and metadata; products are served by the paged products endpoint
+ */
+@Data
+@NoArgsConstructor
+public class DataSetDetail {
+    private Long id;
+    private String name;
+    private String description;
+    private DataSetStatus status;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime lastSync;
+    private Boolean autoSync;
+    private Integer syncIntervalHours;
+    private BigDecimal defaultMarkup;
+    private BigDecimal minProfitMargin;
+    private Boolean autoPriceUpdate;
+    private Boolean autoStockUpdate;
+    private Boolean aiOptimizationEnabled;
+    private Boolean seoOptimizationEnabled;
+    private Boolean trendAnalysisEnabled;
+    private Integer totalProducts;
+    private Integer activeProducts;
+    private Integer syncCount;
+    private Integer errorCount;
+    private String lastErrorMessage;
+    private Set<SourceType> sourcePlatforms = new HashSet<>();
+    private Map<String, String> metadata = new HashMap<>();
+
+    /**
+     * Scalar columns, in the order selected by DataSetRepository.findDetail
+     */
+    public DataSetDetail(Long id, String name, String description, DataSetStatus status, String createdBy,
+                         LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime lastSync,
+                         Boolean autoSync, Integer syncIntervalHours, BigDecimal defaultMarkup,
+                         BigDecimal minProfitMargin, Boolean autoPriceUpdate, Boolean autoStockUpdate,
+                         Boolean aiOptimizationEnabled, Boolean seoOptimizationEnabled,
+                         Boolean trendAnalysisEnabled, Integer totalProducts, Integer activeProducts,
+                         Integer syncCount, Integer errorCount, String lastErrorMessage) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.createdBy = createdBy;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.lastSync = lastSync;
+        this.autoSync = autoSync;
+        this.syncIntervalHours = syncIntervalHours;
+        this.defaultMarkup = defaultMarkup;
+        this.minProfitMargin = minProfitMargin;
+        this.autoPriceUpdate = autoPriceUpdate;
+        this.autoStockUpdate = autoStockUpdate;
+        this.aiOptimizationEnabled = aiOptimizationEnabled;
+        this.seoOptimizationEnabled = seoOptimizationEnabled;
+        this.trendAnalysisEnabled = trendAnalysisEnabled;
+        this.totalProducts = totalProducts;
+        this.activeProducts = activeProducts;
+        this.syncCount = syncCount;
+        this.errorCount = errorCount;
+        this.lastErrorMessage = lastErrorMessage;
+    }
+}
@@ -0,0 +1,14 @@
+package com.dropiq.engine.product.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Owner and markup settings of a dataset: what price rules need, without the products
+ */
+public interface DataSetPricing {
+    String getCreatedBy();
+
+    BigDecimal getDefaultMarkup();
+
+    BigDecimal getMinProfitMargin();
+}
@@ -0,0 +1,34 @@
+package com.dropiq.engine.product.dto;
+
+import com.dropiq.engine.product.model.DataSetStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dataset list row: scalar columns only, so its size does not depend on the number of products
+ */
+public interface DataSetSummary {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    DataSetStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getLastSync();
+
+    Boolean getAutoSync();
+
+    Integer getTotalProducts();
+
+    Integer getActiveProducts();
+
+    Integer getSyncCount();
+
+    Integer getErrorCount();
+}
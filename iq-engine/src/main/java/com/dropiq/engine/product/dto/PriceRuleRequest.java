@@ -0,0 +1,19 @@
+package com.dropiq.engine.product.dto;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PriceRuleRequest {
+    private String name;
+    private Long categoryId;
+    private SourceType sourceType;
+    private String brand;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private BigDecimal markupPercentage;
+    private Integer priority;
+    private Boolean active;
+}
@@ -0,0 +1,40 @@
+package com.dropiq.engine.product.dto;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.model.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Product row of the paged dataset products endpoint, without images, keywords or attributes
+ */
+public interface ProductSummary {
+    Long getId();
+
+    String getExternalId();
+
+    String getExternalGroupId();
+
+    String getExternalName();
+
+    SourceType getSourceType();
+
+    ProductStatus getStatus();
+
+    BigDecimal getOriginalPrice();
+
+    BigDecimal getSellingPrice();
+
+    Integer getStock();
+
+    Boolean getAvailable();
+
+    String getMainImageUrl();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,35 @@
+package com.dropiq.engine.product.dto;
+
+import com.dropiq.engine.product.entity.SyncJob;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SyncJobResponse {
+    private Long datasetId;
+    private Long jobId;
+    private String status;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public static SyncJobResponse of(SyncJob job) {
+        SyncJobResponse response = new SyncJobResponse();
+        response.setDatasetId(job.getEntityId());
+        response.setJobId(job.getId());
+        response.setStatus(job.getStatus().name());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setStartedAt(job.getStartedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        return response;
+    }
+
+    public static SyncJobResponse rejected(Long datasetId, String errorMessage) {
+        SyncJobResponse response = new SyncJobResponse();
+        response.setDatasetId(datasetId);
+        response.setStatus("REJECTED");
+        response.setErrorMessage(errorMessage);
+        return response;
+    }
+}
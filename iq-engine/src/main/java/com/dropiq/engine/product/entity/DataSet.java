@@ -6,18 +6,17 @@ import com.dropiq.engine.product.model.DataSetType;
 import com.dropiq.engine.product.model.ProductStatus;
 import jakarta.persistence.*;
 import lombok.Data;
-import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.Hibernate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "dataset")
+@Table(name = "dataset", indexes = @Index(name = "idx_dataset_created_by", columnList = "created_by"))
 @Data
 @ToString(exclude = {"products"})
-@EqualsAndHashCode(exclude = {"products"})
 public class DataSet {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -146,8 +145,11 @@ public class DataSet {
 
     public void addProducts(List<Product> productList) {
         for (Product product : productList) {
-            addProduct(product);
+            products.add(product);
+            product.getDatasets().add(this);
+            sourcePlatforms.add(product.getSourceType());
         }
+        updateStatistics();
     }
 
     public int getProductCount() {
@@ -159,4 +161,24 @@ public class DataSet {
                 .anyMatch(p -> p.getExternalId().equals(externalId) &&
                         p.getSourceType().equals(sourceType));
     }
+
+    /**
+     * Equality by database id; hash is per class so it stays stable when the id is assigned on persist
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        Long id = getId();
+        return id != null && id.equals(((DataSet) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
 }
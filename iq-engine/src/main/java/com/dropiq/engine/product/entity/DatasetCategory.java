@@ -2,15 +2,8 @@ package com.dropiq.engine.product.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
-import lombok.EqualsAndHashCode;
-
-import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
-
-import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -20,7 +13,7 @@ import java.util.Set;
 @Table(name = "dataset_category",
         uniqueConstraints = @UniqueConstraint(columnNames = {"dataset_id", "slug"}))
 @Data
-@EqualsAndHashCode(exclude = {"children", "products", "dataset", "parent"})
+@ToString(exclude = {"children", "products", "dataset", "parent"})
 public class DatasetCategory {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -102,14 +95,21 @@ public class DatasetCategory {
 
     private void generateSlug() {
         if (nameEn != null) {
-            this.slug = nameEn.toLowerCase()
-                    .replaceAll("[^a-z0-9\\s-]", "")
-                    .replaceAll("\\s+", "-")
-                    .replaceAll("-+", "-")
-                    .replaceAll("^-|-$", "");
+            this.slug = toSlug(nameEn);
         }
     }
 
+    /**
+     * Slug as generated on persist; unique per dataset
+     */
+    public static String toSlug(String nameEn) {
+        return nameEn.toLowerCase()
+                .replaceAll("[^a-z0-9\\s-]", "")
+                .replaceAll("\\s+", "-")
+                .replaceAll("-+", "-")
+                .replaceAll("^-|-$", "");
+    }
+
     public void addProduct(Product product) {
         products.add(product);
         product.setCategory(this);
@@ -132,4 +132,24 @@ public class DatasetCategory {
         }
         return parent.getFullPath() + " > " + nameEn;
     }
+
+    /**
+     * Same row - same category; unsaved categories are only equal to themselves
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        Long id = getId();
+        return id != null && id.equals(((DatasetCategory) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
 }
@@ -0,0 +1,73 @@
+package com.dropiq.engine.product.entity;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Markup rule of a dataset. Empty conditions match any product;
+ * among matching rules the lowest priority wins.
+ */
+@Data
+@Entity
+@Table(name = "dataset_price_rule", indexes = @Index(name = "idx_price_rule_dataset", columnList = "dataset_id"))
+public class DatasetPriceRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dataset_id", nullable = false)
+    private Long datasetId;
+
+    @Column(name = "name")
+    private String name;
+
+    // DatasetCategory id; subcategories are included
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type")
+    private SourceType sourceType;
+
+    // Compared ignoring case with the AI-detected brand, else the brand extracted from the feed
+    @Column(name = "brand", length = 100)
+    private String brand;
+
+    // Band on the original (supplier) price, inclusive
+    @Column(name = "min_price", precision = 19, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price", precision = 19, scale = 2)
+    private BigDecimal maxPrice;
+
+    @Column(name = "markup_percentage", precision = 5, scale = 2, nullable = false)
+    private BigDecimal markupPercentage;
+
+    @Column(name = "priority", nullable = false)
+    private Integer priority = 100;
+
+    @Column(name = "active")
+    private Boolean active = true;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
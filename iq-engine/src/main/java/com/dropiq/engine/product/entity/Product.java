@@ -2,20 +2,27 @@ package com.dropiq.engine.product.entity;
 
 import com.dropiq.engine.integration.exp.model.SourceType;
 import com.dropiq.engine.product.model.ProductStatus;
-import com.dropiq.engine.user.service.PriceUtil;
+import com.dropiq.engine.product.pricing.PriceRule;
+import com.dropiq.engine.product.pricing.PricingEngine;
+import com.dropiq.engine.product.support.ProductCollectionStorage;
+import com.dropiq.engine.product.support.StringListToJsonConverter;
+import com.dropiq.engine.product.support.StringMapToJsonConverter;
+import com.dropiq.engine.product.support.StringSetToJsonConverter;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.ColumnTransformer;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
 @Table(name = "product")
 @Data
-@EqualsAndHashCode(exclude = {"datasets", "category"})
 public class Product {
 
     @Id
@@ -40,6 +47,10 @@ public class Product {
     @Column(name = "external_category_name", length = 200)
     private String externalCategoryName;
 
+    // Brand extracted from the feed on sync; detectedBrandName comes from AI analysis
+    @Column(name = "external_brand", length = 100)
+    private String externalBrand;
+
     @Column(name = "brand_detected")
     private Boolean brandDetected = false;
 
@@ -153,6 +164,13 @@ public class Product {
     @OrderColumn(name = "image_order")
     private List<String> imageUrls = new ArrayList<>();
 
+    @Column(name = "image_urls_json", columnDefinition = "jsonb")
+    @Convert(converter = StringListToJsonConverter.class)
+    @ColumnTransformer(write = "?::jsonb")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<String> imageUrlsJson = new ArrayList<>();
+
     @Column(name = "main_image_url", length = 500)
     private String mainImageUrl;
 
@@ -179,21 +197,49 @@ public class Product {
     @Column(name = "keyword", length = 100)
     private Set<String> keywordsUa = new HashSet<>();
 
+    @Column(name = "keywords_ua_json", columnDefinition = "jsonb")
+    @Convert(converter = StringSetToJsonConverter.class)
+    @ColumnTransformer(write = "?::jsonb")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<String> keywordsUaJson = new HashSet<>();
+
     @ElementCollection
     @CollectionTable(name = "product_keywords_ru", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "keyword", length = 100)
     private Set<String> keywordsRu = new HashSet<>();
 
+    @Column(name = "keywords_ru_json", columnDefinition = "jsonb")
+    @Convert(converter = StringSetToJsonConverter.class)
+    @ColumnTransformer(write = "?::jsonb")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<String> keywordsRuJson = new HashSet<>();
+
     @ElementCollection
     @CollectionTable(name = "product_keywords_en", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "keyword", length = 100)
     private Set<String> keywordsEn = new HashSet<>();
 
+    @Column(name = "keywords_en_json", columnDefinition = "jsonb")
+    @Convert(converter = StringSetToJsonConverter.class)
+    @ColumnTransformer(write = "?::jsonb")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<String> keywordsEnJson = new HashSet<>();
+
     @ElementCollection
     @CollectionTable(name = "product_tags", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "tag", length = 50)
     private Set<String> tags = new HashSet<>();
 
+    @Column(name = "tags_json", columnDefinition = "jsonb")
+    @Convert(converter = StringSetToJsonConverter.class)
+    @ColumnTransformer(write = "?::jsonb")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<String> tagsJson = new HashSet<>();
+
     @Column(name = "color", length = 50)
     private String color;
 
@@ -218,6 +264,13 @@ public class Product {
     @Column(name = "attr_value", length = 500)
     private Map<String, String> attributes = new HashMap<>();
 
+    @Column(name = "attributes_json", columnDefinition = "jsonb")
+    @Convert(converter = StringMapToJsonConverter.class)
+    @ColumnTransformer(write = "?::jsonb")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, String> attributesJson = new HashMap<>();
+
     @Enumerated(EnumType.STRING)
     @Column(name = "source_type")
     private SourceType sourceType;
@@ -256,6 +309,148 @@ public class Product {
         updatePresenceStatus();
     }
 
+    // ==============================================
+    // ІДЕНТИЧНІСТЬ
+    // ==============================================
+
+    /**
+     * Товар - це рядок у БД, тому рівність за id: копії товару в об'єднаних датасетах мають ту саму пару
+     * (sourceType, externalId), але є окремими рядками. Поки id не призначений, товар дорівнює лише самому собі.
+     * Хеш береться з пари (sourceType, externalId) - вона не змінюється після створення, тому хеш стабільний
+     * у HashSet до і після persist, а рівні за id товари завжди мають однаковий хеш.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        Long id = getId();
+        return id != null && id.equals(((Product) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSourceType(), getExternalId());
+    }
+
+    // ==============================================
+    // КОЛЕКЦІЇ (TABLE / JSONB)
+    // ==============================================
+
+    // Hibernate відображає лише одне з полів кожної пари (META-INF/product-collections-<режим>.xml),
+    // тож аксесори звертаються до поля поточного режиму
+
+    public List<String> getImageUrls() {
+        if (!ProductCollectionStorage.isJsonb()) {
+            return imageUrls;
+        }
+        if (imageUrlsJson == null) {
+            imageUrlsJson = new ArrayList<>();
+        }
+        return imageUrlsJson;
+    }
+
+    public void setImageUrls(List<String> imageUrls) {
+        if (ProductCollectionStorage.isJsonb()) {
+            this.imageUrlsJson = imageUrls;
+        } else {
+            this.imageUrls = imageUrls;
+        }
+    }
+
+    public Set<String> getKeywordsUa() {
+        if (!ProductCollectionStorage.isJsonb()) {
+            return keywordsUa;
+        }
+        if (keywordsUaJson == null) {
+            keywordsUaJson = new HashSet<>();
+        }
+        return keywordsUaJson;
+    }
+
+    public void setKeywordsUa(Set<String> keywordsUa) {
+        if (ProductCollectionStorage.isJsonb()) {
+            this.keywordsUaJson = keywordsUa;
+        } else {
+            this.keywordsUa = keywordsUa;
+        }
+    }
+
+    public Set<String> getKeywordsRu() {
+        if (!ProductCollectionStorage.isJsonb()) {
+            return keywordsRu;
+        }
+        if (keywordsRuJson == null) {
+            keywordsRuJson = new HashSet<>();
+        }
+        return keywordsRuJson;
+    }
+
+    public void setKeywordsRu(Set<String> keywordsRu) {
+        if (ProductCollectionStorage.isJsonb()) {
+            this.keywordsRuJson = keywordsRu;
+        } else {
+            this.keywordsRu = keywordsRu;
+        }
+    }
+
+    public Set<String> getKeywordsEn() {
+        if (!ProductCollectionStorage.isJsonb()) {
+            return keywordsEn;
+        }
+        if (keywordsEnJson == null) {
+            keywordsEnJson = new HashSet<>();
+        }
+        return keywordsEnJson;
+    }
+
+    public void setKeywordsEn(Set<String> keywordsEn) {
+        if (ProductCollectionStorage.isJsonb()) {
+            this.keywordsEnJson = keywordsEn;
+        } else {
+            this.keywordsEn = keywordsEn;
+        }
+    }
+
+    public Set<String> getTags() {
+        if (!ProductCollectionStorage.isJsonb()) {
+            return tags;
+        }
+        if (tagsJson == null) {
+            tagsJson = new HashSet<>();
+        }
+        return tagsJson;
+    }
+
+    public void setTags(Set<String> tags) {
+        if (ProductCollectionStorage.isJsonb()) {
+            this.tagsJson = tags;
+        } else {
+            this.tags = tags;
+        }
+    }
+
+    public Map<String, String> getAttributes() {
+        if (!ProductCollectionStorage.isJsonb()) {
+            return attributes;
+        }
+        if (attributesJson == null) {
+            attributesJson = new HashMap<>();
+        }
+        return attributesJson;
+    }
+
+    public void setAttributes(Map<String, String> attributes) {
+        if (ProductCollectionStorage.isJsonb()) {
+            this.attributesJson = attributes;
+        } else {
+            this.attributes = attributes;
+        }
+    }
+
     // ==============================================
     // БІЗНЕС ЛОГІКА
     // ==============================================
@@ -265,11 +460,7 @@ public class Product {
      */
     public void calculateSellingPrice() {
         if (originalPrice != null && markupPercentage != null) {
-            BigDecimal markup = originalPrice.multiply(markupPercentage)
-                    .divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-            BigDecimal calculatedPrice = originalPrice.add(markup);
-
-            sellingPrice = PriceUtil.roundToMarketingPriceUp(calculatedPrice);
+            sellingPrice = PricingEngine.sellingPrice(originalPrice, PriceRule.markup(markupPercentage));
         }
     }
 
@@ -354,10 +545,10 @@ public class Product {
      */
     public Set<String> getKeywordsForLang(String lang) {
         return switch (lang.toLowerCase()) {
-            case "ua", "uk" -> keywordsUa;
-            case "ru" -> keywordsRu;
-            case "en" -> keywordsEn;
-            default -> keywordsUa;
+            case "ua", "uk" -> getKeywordsUa();
+            case "ru" -> getKeywordsRu();
+            case "en" -> getKeywordsEn();
+            default -> getKeywordsUa();
         };
     }
 
@@ -373,8 +564,9 @@ public class Product {
      * Оновлення головного зображення
      */
     public void updateMainImageUrl() {
-        if (imageUrls != null && !imageUrls.isEmpty()) {
-            mainImageUrl = imageUrls.get(0);
+        List<String> images = getImageUrls();
+        if (images != null && !images.isEmpty()) {
+            mainImageUrl = images.get(0);
         }
     }
 
@@ -466,9 +658,9 @@ public class Product {
      * Встановлення ключових слів для всіх мов
      */
     public void setMultilingualKeywords(Set<String> keywordsUa, Set<String> keywordsRu, Set<String> keywordsEn) {
-        this.keywordsUa = keywordsUa != null ? keywordsUa : new HashSet<>();
-        this.keywordsRu = keywordsRu != null ? keywordsRu : new HashSet<>();
-        this.keywordsEn = keywordsEn != null ? keywordsEn : new HashSet<>();
+        setKeywordsUa(keywordsUa != null ? keywordsUa : new HashSet<>());
+        setKeywordsRu(keywordsRu != null ? keywordsRu : new HashSet<>());
+        setKeywordsEn(keywordsEn != null ? keywordsEn : new HashSet<>());
     }
 
     /**
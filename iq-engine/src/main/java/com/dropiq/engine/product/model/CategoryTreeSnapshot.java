@@ -0,0 +1,105 @@
+package com.dropiq.engine.product.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, flattened category tree of a dataset.
+ * Nodes are stored in pre-order (roots and siblings by product count desc).
+ */
+@Getter
+public final class CategoryTreeSnapshot {
+
+    private final Long datasetId;
+    private final long version;
+    private final List<Node> nodes;
+
+    @JsonIgnore
+    private final String owner;
+
+    @JsonIgnore
+    private final Map<Long, Node> nodesById;
+
+    @JsonIgnore
+    private final Map<Long, List<Node>> childrenById;
+
+    public CategoryTreeSnapshot(Long datasetId, String owner, long version, List<Node> nodes) {
+        this.datasetId = datasetId;
+        this.owner = owner;
+        this.version = version;
+        this.nodes = List.copyOf(nodes);
+
+        Map<Long, Node> byId = new HashMap<>();
+        Map<Long, List<Node>> children = new HashMap<>();
+        for (Node node : this.nodes) {
+            byId.put(node.getId(), node);
+            if (node.getParentId() != null) {
+                children.computeIfAbsent(node.getParentId(), k -> new ArrayList<>()).add(node);
+            }
+        }
+        children.replaceAll((k, v) -> List.copyOf(v));
+
+        this.nodesById = Collections.unmodifiableMap(byId);
+        this.childrenById = Collections.unmodifiableMap(children);
+    }
+
+    public static CategoryTreeSnapshot empty(Long datasetId, String owner, long version) {
+        return new CategoryTreeSnapshot(datasetId, owner, version, List.of());
+    }
+
+    public Optional<Node> getNode(Long id) {
+        return Optional.ofNullable(nodesById.get(id));
+    }
+
+    @JsonIgnore
+    public List<Node> getRoots() {
+        return nodes.stream().filter(n -> n.getParentId() == null).toList();
+    }
+
+    public List<Node> getChildren(Long id) {
+        return childrenById.getOrDefault(id, List.of());
+    }
+
+    /**
+     * Nodes matching the filter plus all of their ancestors, in tree order
+     */
+    public List<Node> selectWithAncestors(Predicate<Node> filter) {
+        Set<Long> selected = new HashSet<>();
+        for (Node node : nodes) {
+            if (!filter.test(node)) continue;
+
+            Node current = node;
+            while (current != null && selected.add(current.getId())) {
+                current = current.getParentId() != null ? nodesById.get(current.getParentId()) : null;
+            }
+        }
+        return nodes.stream().filter(n -> selected.contains(n.getId())).toList();
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    @Value
+    public static class Node {
+        Long id;
+        Long parentId;
+        int level;
+        String nameUk;
+        String nameRu;
+        String nameEn;
+        String slug;
+        String descriptionUk;
+        String descriptionRu;
+        String descriptionEn;
+        String pathEn;
+        String pathUk;
+        int productCount;
+        boolean active;
+    }
+}
@@ -0,0 +1,43 @@
+package com.dropiq.engine.product.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point-in-time view of a running sync job, as pushed to progress subscribers
+ */
+@Value
+@Builder
+public class SyncProgress {
+
+    public enum Phase {
+        QUEUED, FETCHING, PROCESSING, SAVING, CATEGORIZING, EXPORTING, ANALYZING,
+        RETRYING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isTerminal() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    Long jobId;
+    Long datasetId;
+    Phase phase;
+    long version;
+
+    long productsExpected;
+    long productsFetched;
+    long productsParsed;
+    long productsUpserted;
+    long batchesExported;
+    long aiGroupsAnalyzed;
+    long errors;
+
+    LocalDateTime startedAt;
+    Long etaSeconds;
+
+    public boolean isFinished() {
+        return phase.isTerminal();
+    }
+}
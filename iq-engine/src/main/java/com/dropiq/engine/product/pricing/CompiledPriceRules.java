@@ -0,0 +1,191 @@
+package com.dropiq.engine.product.pricing;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.entity.DatasetPriceRule;
+import com.dropiq.engine.product.model.CategoryTreeSnapshot;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Price rules of a dataset compiled for evaluation in a tight loop.
+ * Rules are indexed by category (expanded to the whole subtree) and by source, each bucket sorted by priority,
+ * so a product is checked against its own buckets only; prices are compared in cents.
+ * The dataset min margin acts as a floor on the resulting markup.
+ */
+public final class CompiledPriceRules {
+
+    /**
+     * Result of {@link #ruleMarkupBasisPoints} for a product no rule matches
+     */
+    public static final long NO_RULE = Long.MIN_VALUE;
+
+    @Getter
+    private final long rulesVersion;
+    @Getter
+    private final long treeVersion;
+    @Getter
+    private final BigDecimal defaultMarkup;
+    @Getter
+    private final BigDecimal minMargin;
+
+    private final Map<Long, Rule[]> byCategory;
+    private final Map<SourceType, Rule[]> bySource;
+    private final Rule[] generic;
+    private final long defaultMarkupBasisPoints;
+    private final long minMarginBasisPoints;
+
+    private CompiledPriceRules(long rulesVersion, long treeVersion, BigDecimal defaultMarkup, BigDecimal minMargin,
+                               Map<Long, Rule[]> byCategory, Map<SourceType, Rule[]> bySource, Rule[] generic) {
+        this.rulesVersion = rulesVersion;
+        this.treeVersion = treeVersion;
+        this.defaultMarkup = defaultMarkup;
+        this.minMargin = minMargin;
+        this.byCategory = byCategory;
+        this.bySource = bySource;
+        this.generic = generic;
+        this.defaultMarkupBasisPoints = PricingEngine.toBasisPoints(defaultMarkup);
+        this.minMarginBasisPoints = PricingEngine.toBasisPoints(minMargin);
+    }
+
+    public static CompiledPriceRules compile(List<DatasetPriceRule> rules, CategoryTreeSnapshot tree, long rulesVersion,
+                                             BigDecimal defaultMarkup, BigDecimal minMargin) {
+        Map<Long, List<Rule>> byCategory = new HashMap<>();
+        Map<SourceType, List<Rule>> bySource = new EnumMap<>(SourceType.class);
+        List<Rule> generic = new ArrayList<>();
+
+        int order = 0;
+        for (DatasetPriceRule source : rules) {
+            if (Boolean.FALSE.equals(source.getActive()) || source.getMarkupPercentage() == null) {
+                continue;
+            }
+            Rule rule = new Rule(source, order++);
+
+            if (source.getCategoryId() != null) {
+                for (Long categoryId : subtree(tree, source.getCategoryId())) {
+                    byCategory.computeIfAbsent(categoryId, id -> new ArrayList<>()).add(rule);
+                }
+            } else if (source.getSourceType() != null) {
+                bySource.computeIfAbsent(source.getSourceType(), type -> new ArrayList<>()).add(rule);
+            } else {
+                generic.add(rule);
+            }
+        }
+
+        Map<Long, Rule[]> categoryIndex = new HashMap<>();
+        byCategory.forEach((id, list) -> categoryIndex.put(id, sorted(list)));
+        Map<SourceType, Rule[]> sourceIndex = new EnumMap<>(SourceType.class);
+        bySource.forEach((type, list) -> sourceIndex.put(type, sorted(list)));
+
+        return new CompiledPriceRules(rulesVersion, tree.getVersion(), defaultMarkup, minMargin,
+                categoryIndex, sourceIndex, sorted(generic));
+    }
+
+    /**
+     * True when an explicit repricing has nothing to apply: no active rules and neither a dataset default markup
+     * nor a min margin. Prices are then left to the per-product markup
+     */
+    public boolean isEmpty() {
+        return !hasRules() && defaultMarkup == null && minMargin == null;
+    }
+
+    /**
+     * True when the dataset has at least one active rule
+     */
+    public boolean hasRules() {
+        return !byCategory.isEmpty() || !bySource.isEmpty() || generic.length > 0;
+    }
+
+    /**
+     * Markup for a product in basis points: best matching rule, else the dataset default, never below min margin
+     */
+    public long markupBasisPoints(Long categoryId, SourceType sourceType, String brand, long costCents) {
+        Rule best = bestMatch(categoryId, sourceType, brand, costCents);
+        long markup = best != null ? best.markupBasisPoints : defaultMarkupBasisPoints;
+        return Math.max(markup, minMarginBasisPoints);
+    }
+
+    /**
+     * Markup of the best matching rule in basis points, never below min margin; NO_RULE when no rule matches
+     */
+    public long ruleMarkupBasisPoints(Long categoryId, SourceType sourceType, String brand, long costCents) {
+        Rule best = bestMatch(categoryId, sourceType, brand, costCents);
+        return best != null ? Math.max(best.markupBasisPoints, minMarginBasisPoints) : NO_RULE;
+    }
+
+    private Rule bestMatch(Long categoryId, SourceType sourceType, String brand, long costCents) {
+        Rule best = categoryId != null ? firstMatch(byCategory.get(categoryId), sourceType, brand, costCents) : null;
+        best = better(best, sourceType != null ? firstMatch(bySource.get(sourceType), sourceType, brand, costCents) : null);
+        return better(best, firstMatch(generic, sourceType, brand, costCents));
+    }
+
+    private static Rule firstMatch(Rule[] rules, SourceType sourceType, String brand, long costCents) {
+        if (rules == null) {
+            return null;
+        }
+        for (Rule rule : rules) {
+            if (rule.matches(sourceType, brand, costCents)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static Rule better(Rule current, Rule candidate) {
+        if (candidate == null) return current;
+        if (current == null) return candidate;
+        return candidate.compareTo(current) < 0 ? candidate : current;
+    }
+
+    private static Rule[] sorted(List<Rule> rules) {
+        Rule[] array = rules.toArray(new Rule[0]);
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static Set<Long> subtree(CategoryTreeSnapshot tree, Long rootId) {
+        Set<Long> ids = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        pending.push(rootId);
+        while (!pending.isEmpty()) {
+            Long id = pending.pop();
+            if (ids.add(id)) {
+                tree.getChildren(id).forEach(child -> pending.push(child.getId()));
+            }
+        }
+        return ids;
+    }
+
+    private static final class Rule implements Comparable<Rule> {
+        private final int priority;
+        private final int order;
+        private final SourceType sourceType;
+        private final String brand;
+        private final long minCents;
+        private final long maxCents;
+        private final long markupBasisPoints;
+
+        private Rule(DatasetPriceRule source, int order) {
+            this.priority = source.getPriority() != null ? source.getPriority() : Integer.MAX_VALUE;
+            this.order = order;
+            this.sourceType = source.getSourceType();
+            this.brand = source.getBrand() != null && !source.getBrand().isBlank() ? source.getBrand().trim() : null;
+            this.minCents = source.getMinPrice() != null ? PricingEngine.toCents(source.getMinPrice()) : Long.MIN_VALUE;
+            this.maxCents = source.getMaxPrice() != null ? PricingEngine.toCents(source.getMaxPrice()) : Long.MAX_VALUE;
+            this.markupBasisPoints = PricingEngine.toBasisPoints(source.getMarkupPercentage());
+        }
+
+        private boolean matches(SourceType productSource, String productBrand, long costCents) {
+            return (sourceType == null || sourceType == productSource)
+                    && (brand == null || brand.equalsIgnoreCase(productBrand))
+                    && costCents >= minCents && costCents <= maxCents;
+        }
+
+        @Override
+        public int compareTo(Rule other) {
+            int byPriority = Integer.compare(priority, other.priority);
+            return byPriority != 0 ? byPriority : Integer.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.dropiq.engine.product.pricing;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Markup and minimum margin applied to a cost price, in basis points (1% = 100)
+ */
+@Value
+public class PriceRule {
+
+    public static final PriceRule NONE = new PriceRule(0, 0);
+
+    long markupBasisPoints;
+    long minMarginBasisPoints;
+
+    public static PriceRule of(BigDecimal markupPercentage, BigDecimal minMarginPercentage) {
+        return new PriceRule(PricingEngine.toBasisPoints(markupPercentage),
+                PricingEngine.toBasisPoints(minMarginPercentage));
+    }
+
+    public static PriceRule markup(BigDecimal markupPercentage) {
+        return of(markupPercentage, null);
+    }
+}
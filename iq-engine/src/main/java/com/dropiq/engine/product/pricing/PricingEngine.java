@@ -0,0 +1,110 @@
+package com.dropiq.engine.product.pricing;
+
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Selling price calculation on long cents.
+ * Markup, min margin and marketing rounding give the same result as the former BigDecimal code
+ * (PriceUtil + Product.calculateSellingPrice) for prices with whole cents, without allocating per call.
+ * The array variant is meant for bulk repricing.
+ */
+@UtilityClass
+public final class PricingEngine {
+
+    /** Marks a missing price in cent arrays */
+    public static final long NO_PRICE = Long.MIN_VALUE;
+
+    // Marketing price points in cents, ascending
+    private static final long[] STEPS = {
+            4_900, 9_900, 14_900, 19_900, 24_900, 29_900, 39_900, 49_900, 59_900, 69_900, 79_900,
+            89_900, 99_900, 149_900, 199_900, 249_900, 299_900, 399_900, 499_900, 599_900,
+            799_900, 999_900
+    };
+
+    private static final long LAST_STEP = STEPS[STEPS.length - 1];
+
+    /**
+     * Nearest marketing price >= the given price, in cents (always whole hryvnias)
+     */
+    public static long roundToMarketingCents(long cents) {
+        if (cents <= LAST_STEP) {
+            int low = 0;
+            int high = STEPS.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (STEPS[mid] < cents) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return STEPS[low];
+        }
+
+        // Above 10 000: next thousand + 998, e.g. 10 500 -> 11 998
+        if (cents > 1_000_000) {
+            return (Math.ceilDiv(cents, 100_000) * 1_000 + 998) * 100;
+        }
+
+        // 9 999 .. 10 000: hundreds - 1
+        return (Math.ceilDiv(cents, 10_000) * 100 - 1) * 100;
+    }
+
+    /**
+     * Cost plus markup (but at least cost plus min margin), rounded to a marketing price
+     */
+    public static long sellingPriceCents(long costCents, PriceRule rule) {
+        if (costCents == NO_PRICE) {
+            return NO_PRICE;
+        }
+        return roundToMarketingCents(markedUp(costCents, rule.getMarkupBasisPoints(), rule.getMinMarginBasisPoints()));
+    }
+
+    /**
+     * Reprice a batch: out[i] = sellingPriceCents(costCents[i], rule), NO_PRICE stays NO_PRICE
+     */
+    public static void sellingPrices(long[] costCents, PriceRule rule, long[] out) {
+        long markup = rule.getMarkupBasisPoints();
+        long minMargin = rule.getMinMarginBasisPoints();
+        for (int i = 0; i < costCents.length; i++) {
+            long cost = costCents[i];
+            out[i] = cost == NO_PRICE ? NO_PRICE : roundToMarketingCents(markedUp(cost, markup, minMargin));
+        }
+    }
+
+    public static BigDecimal sellingPrice(BigDecimal originalPrice, PriceRule rule) {
+        return originalPrice == null ? null : toPrice(sellingPriceCents(toCents(originalPrice), rule));
+    }
+
+    public static long toCents(BigDecimal price) {
+        return price == null ? NO_PRICE : price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toPrice(long cents) {
+        if (cents == NO_PRICE) {
+            return null;
+        }
+        return cents % 100 == 0 ? BigDecimal.valueOf(cents / 100) : BigDecimal.valueOf(cents, 2);
+    }
+
+    static long toBasisPoints(BigDecimal percentage) {
+        return percentage == null ? 0 : percentage.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static long markedUp(long costCents, long markupBasisPoints, long minMarginBasisPoints) {
+        long price = withPercentage(costCents, markupBasisPoints);
+        return minMarginBasisPoints > 0 ? Math.max(price, withPercentage(costCents, minMarginBasisPoints)) : price;
+    }
+
+    /**
+     * cost * (1 + bp / 10 000) rounded up to a cent; the increment is first rounded half-up
+     * to 1/100 cent, as the BigDecimal code did with scale 4
+     */
+    private static long withPercentage(long costCents, long basisPoints) {
+        long increment = Math.floorDiv(costCents * basisPoints + 50, 100);
+        return Math.ceilDiv(costCents * 100 + increment, 100);
+    }
+}
@@ -1,16 +1,22 @@
 package com.dropiq.engine.product.repository;
 
 import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.dto.DataSetDetail;
+import com.dropiq.engine.product.dto.DataSetPricing;
+import com.dropiq.engine.product.dto.DataSetSummary;
 import com.dropiq.engine.product.entity.DataSet;
 import com.dropiq.engine.product.model.DataSetStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface DataSetRepository extends JpaRepository<DataSet, Long> {
@@ -34,4 +40,55 @@ public interface DataSetRepository extends JpaRepository<DataSet, Long> {
     List<DataSet> findBySourcePlatformsContaining(@Param("sourceType") SourceType sourceType);
 
     Optional<DataSet> findByIdAndCreatedBy(Long id, String createdBy);
-}
\ No newline at end of file
+
+    @Query("SELECT d.createdBy FROM DataSet d WHERE d.id = :id")
+    Optional<String> findOwnerById(@Param("id") Long id);
+
+    @Query("SELECT d.createdBy AS createdBy, d.defaultMarkup AS defaultMarkup, " +
+            "d.minProfitMargin AS minProfitMargin FROM DataSet d WHERE d.id = :id")
+    Optional<DataSetPricing> findPricingById(@Param("id") Long id);
+
+    /**
+     * Recount active products after a bulk status change, without loading the product collection
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DataSet d SET d.activeProducts = CAST((SELECT COUNT(p) FROM DataSet d2 JOIN d2.products p " +
+            "WHERE d2.id = :id AND p.status = com.dropiq.engine.product.model.ProductStatus.ACTIVE) AS Integer), " +
+            "d.updatedAt = LOCAL DATETIME WHERE d.id = :id")
+    int refreshActiveProducts(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DataSet d SET d.defaultMarkup = :markup, d.updatedAt = LOCAL DATETIME WHERE d.id = :id")
+    int updateDefaultMarkup(@Param("id") Long id, @Param("markup") BigDecimal markup);
+
+    String SUMMARY_COLUMNS = "d.id AS id, d.name AS name, d.description AS description, d.status AS status, " +
+            "d.createdAt AS createdAt, d.updatedAt AS updatedAt, d.lastSync AS lastSync, d.autoSync AS autoSync, " +
+            "d.totalProducts AS totalProducts, d.activeProducts AS activeProducts, " +
+            "d.syncCount AS syncCount, d.errorCount AS errorCount";
+
+    /**
+     * User's datasets as summary rows; unlike findByCreatedBy this does not load the EAGER products
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM DataSet d WHERE d.createdBy = :createdBy ORDER BY d.updatedAt DESC")
+    List<DataSetSummary> findSummariesByCreatedBy(@Param("createdBy") String createdBy);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM DataSet d WHERE d.createdBy = :createdBy " +
+            "AND LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY d.updatedAt DESC")
+    List<DataSetSummary> searchSummaries(@Param("createdBy") String createdBy, @Param("name") String name);
+
+    /**
+     * Scalar part of DataSetDetail; sources and metadata come from findSourcePlatforms and findMetadata
+     */
+    @Query("SELECT new com.dropiq.engine.product.dto.DataSetDetail(d.id, d.name, d.description, d.status, " +
+            "d.createdBy, d.createdAt, d.updatedAt, d.lastSync, d.autoSync, d.syncIntervalHours, d.defaultMarkup, " +
+            "d.minProfitMargin, d.autoPriceUpdate, d.autoStockUpdate, d.aiOptimizationEnabled, " +
+            "d.seoOptimizationEnabled, d.trendAnalysisEnabled, d.totalProducts, d.activeProducts, " +
+            "d.syncCount, d.errorCount, d.lastErrorMessage) FROM DataSet d WHERE d.id = :id AND d.createdBy = :createdBy")
+    Optional<DataSetDetail> findDetail(@Param("id") Long id, @Param("createdBy") String createdBy);
+
+    @Query("SELECT sp FROM DataSet d JOIN d.sourcePlatforms sp WHERE d.id = :id")
+    Set<SourceType> findSourcePlatforms(@Param("id") Long id);
+
+    @Query("SELECT KEY(m), VALUE(m) FROM DataSet d JOIN d.metadata m WHERE d.id = :id")
+    List<Object[]> findMetadata(@Param("id") Long id);
+}
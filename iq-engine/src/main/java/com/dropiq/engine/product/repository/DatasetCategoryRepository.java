@@ -3,6 +3,7 @@ package com.dropiq.engine.product.repository;
 import com.dropiq.engine.product.entity.DataSet;
 import com.dropiq.engine.product.entity.DatasetCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +16,8 @@ public interface DatasetCategoryRepository extends JpaRepository<DatasetCategory
 
     List<DatasetCategory> findByDataset(DataSet dataset);
 
+    List<DatasetCategory> findByDatasetId(Long datasetId);
+
     List<DatasetCategory> findByDatasetAndParentIsNullOrderByProductCountDesc(DataSet dataset);
 
     List<DatasetCategory> findByDatasetOrderByProductCountDesc(DataSet dataset);
@@ -45,4 +48,17 @@ public interface DatasetCategoryRepository extends JpaRepository<DatasetCategory
 
     @Query("SELECT c FROM DatasetCategory c WHERE c.dataset = :dataset AND c.productCount = 0")
     List<DatasetCategory> findEmptyCategories(@Param("dataset") DataSet dataset);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DatasetCategory c SET c.productCount = " +
+            "(SELECT COUNT(p) FROM Product p WHERE p.category = c) WHERE c.dataset = :dataset")
+    int recalculateProductCounts(@Param("dataset") DataSet dataset);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE dataset_category c SET product_count = GREATEST(COALESCE(c.product_count, 0) + d.delta, 0) " +
+            "FROM unnest(CAST(:categoryIds AS bigint[]), CAST(:deltas AS int[])) AS d(id, delta) " +
+            "WHERE c.id = d.id AND c.dataset_id = :#{#dataset.id}", nativeQuery = true)
+    int applyProductCountDeltas(@Param("dataset") DataSet dataset,
+                                @Param("categoryIds") Long[] categoryIds,
+                                @Param("deltas") Integer[] deltas);
 }
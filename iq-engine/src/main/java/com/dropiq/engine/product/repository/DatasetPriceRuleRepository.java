@@ -0,0 +1,16 @@
+package com.dropiq.engine.product.repository;
+
+import com.dropiq.engine.product.entity.DatasetPriceRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DatasetPriceRuleRepository extends JpaRepository<DatasetPriceRule, Long> {
+
+    List<DatasetPriceRule> findByDatasetIdOrderByPriorityAscIdAsc(Long datasetId);
+
+    Optional<DatasetPriceRule> findByIdAndDatasetId(Long id, Long datasetId);
+}
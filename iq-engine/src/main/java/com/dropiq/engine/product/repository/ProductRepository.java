@@ -1,19 +1,26 @@
 package com.dropiq.engine.product.repository;
 
 import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.dto.ProductSummary;
 import com.dropiq.engine.product.entity.Product;
 import com.dropiq.engine.product.model.ProductStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -98,17 +105,139 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findRecentProducts(@Param("since") LocalDateTime since);
 
     /**
-     * Update product prices in bulk
+     * Update product markup in bulk (selling price is left as is, see {@link #updatePricing})
      */
-    @Query("UPDATE Product p SET p.markupPercentage = :markupPercentage WHERE p.id IN :productIds")
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.markupPercentage = :markupPercentage, p.updatedAt = LOCAL DATETIME " +
+            "WHERE p.id IN :productIds")
     int updateMarkupForProducts(@Param("productIds") List<Long> productIds,
                                 @Param("markupPercentage") BigDecimal markupPercentage);
 
     /**
      * Update product status in bulk
      */
-    @Query("UPDATE Product p SET p.status = :status WHERE p.id IN :productIds")
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.status = :status, p.updatedAt = LOCAL DATETIME WHERE p.id IN :productIds")
     int updateStatusForProducts(@Param("productIds") List<Long> productIds,
                                 @Param("status") ProductStatus status);
 
+    /**
+     * Recalculate horoshopReady in SQL, same rules as Product.isReadyForHoroshop()
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.horoshopReady = CASE WHEN " +
+            "p.externalName IS NOT NULL AND TRIM(p.externalName) <> '' AND p.sellingPrice > 0 " +
+            "AND (p.seoTitleUa IS NOT NULL OR p.seoTitleRu IS NOT NULL) " +
+            "AND (p.descriptionUa IS NOT NULL OR p.descriptionRu IS NOT NULL) " +
+            "AND p.status = com.dropiq.engine.product.model.ProductStatus.ACTIVE AND p.category IS NOT NULL " +
+            "THEN true ELSE false END WHERE p.id IN :productIds")
+    int refreshHoroshopReady(@Param("productIds") List<Long> productIds);
+
+    /**
+     * horoshop_ready for a row whose selling price becomes a.selling_price (or stays, when that is null),
+     * same rules as Product.isReadyForHoroshop()
+     */
+    String READY_AFTER_REPRICE = "horoshop_ready = COALESCE(p.external_name IS NOT NULL AND TRIM(p.external_name) <> '' " +
+            "AND COALESCE(a.selling_price, p.selling_price) > 0 " +
+            "AND (p.seo_title_ua IS NOT NULL OR p.seo_title_ru IS NOT NULL) " +
+            "AND (p.description_ua IS NOT NULL OR p.description_ru IS NOT NULL) " +
+            "AND p.status = 'ACTIVE' AND p.category_id IS NOT NULL, false)";
+
+    /**
+     * Brand price rules match on: AI-detected brand, else the brand extracted from the feed
+     */
+    String PRICING_BRAND = "COALESCE(p.detectedBrandName, p.externalBrand)";
+
+    /**
+     * Set markup and precomputed selling prices in one statement (productIds[i] -> sellingPrices[i]);
+     * a null price keeps the current selling price. horoshop_ready is recalculated in the same statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE product p SET markup_percentage = :markupPercentage, " +
+            "selling_price = COALESCE(a.selling_price, p.selling_price), " + READY_AFTER_REPRICE + ", updated_at = now() " +
+            "FROM unnest(CAST(:productIds AS bigint[]), CAST(:sellingPrices AS numeric[])) AS a(product_id, selling_price) " +
+            "WHERE p.id = a.product_id", nativeQuery = true)
+    int updatePricing(@Param("productIds") Long[] productIds,
+                      @Param("sellingPrices") BigDecimal[] sellingPrices,
+                      @Param("markupPercentage") BigDecimal markupPercentage);
+
+    /**
+     * Set per-product markups and selling prices in one statement; a null price keeps the current selling price.
+     * horoshop_ready is recalculated in the same statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE product p SET markup_percentage = a.markup_percentage, " +
+            "selling_price = COALESCE(a.selling_price, p.selling_price), " + READY_AFTER_REPRICE + ", updated_at = now() " +
+            "FROM unnest(CAST(:productIds AS bigint[]), CAST(:markups AS numeric[]), CAST(:sellingPrices AS numeric[])) " +
+            "AS a(product_id, markup_percentage, selling_price) WHERE p.id = a.product_id", nativeQuery = true)
+    int updatePricingPerProduct(@Param("productIds") Long[] productIds,
+                                @Param("markups") BigDecimal[] markups,
+                                @Param("sellingPrices") BigDecimal[] sellingPrices);
+
+    /**
+     * Price rule inputs (id, originalPrice, categoryId, sourceType, brand) of dataset products after the given id.
+     * The brand is the one AI analysis detected, else the one extracted from the feed
+     */
+    @Query("SELECT p.id, p.originalPrice, c.id, p.sourceType, " + PRICING_BRAND + " " +
+            "FROM DataSet d JOIN d.products p LEFT JOIN p.category c " +
+            "WHERE d.id = :datasetId AND p.id > :afterId ORDER BY p.id")
+    List<Object[]> findPricingRows(@Param("datasetId") Long datasetId, @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    @Query("SELECT p.id, p.originalPrice, c.id, p.sourceType, " + PRICING_BRAND + " " +
+            "FROM Product p LEFT JOIN p.category c WHERE p.id IN :productIds")
+    List<Object[]> findPricingRowsByIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Ids and original prices of a dataset's products, without loading the entities
+     */
+    @Query("SELECT p.id, p.originalPrice FROM DataSet d JOIN d.products p WHERE d.id = :datasetId")
+    List<Object[]> findIdAndOriginalPriceByDatasetId(@Param("datasetId") Long datasetId);
+
+    /**
+     * Ids and original prices of those of the given products that belong to the dataset
+     */
+    @Query("SELECT p.id, p.originalPrice FROM DataSet d JOIN d.products p WHERE d.id = :datasetId AND p.id IN :productIds")
+    List<Object[]> findIdAndOriginalPriceInDataset(@Param("datasetId") Long datasetId,
+                                                   @Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Those of the given product ids that belong to the dataset
+     */
+    @Query("SELECT p.id FROM DataSet d JOIN d.products p WHERE d.id = :datasetId AND p.id IN :productIds")
+    List<Long> findIdsInDataset(@Param("datasetId") Long datasetId,
+                                @Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Assign categories to products in one statement (productIds[i] -> categoryIds[i])
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE product p SET category_id = a.category_id " +
+            "FROM unnest(CAST(:productIds AS bigint[]), CAST(:categoryIds AS bigint[])) AS a(product_id, category_id) " +
+            "WHERE p.id = a.product_id", nativeQuery = true)
+    int assignCategories(@Param("productIds") Long[] productIds,
+                         @Param("categoryIds") Long[] categoryIds);
+
+
+    String SUMMARY_QUERY = "SELECT p.id AS id, p.externalId AS externalId, p.externalGroupId AS externalGroupId, " +
+            "p.externalName AS externalName, p.sourceType AS sourceType, p.status AS status, " +
+            "p.originalPrice AS originalPrice, p.sellingPrice AS sellingPrice, p.stock AS stock, " +
+            "p.available AS available, p.mainImageUrl AS mainImageUrl, c.id AS categoryId, " +
+            "c.nameUk AS categoryName, p.updatedAt AS updatedAt " +
+            "FROM Product p JOIN p.datasets d LEFT JOIN p.category c WHERE d.id = :datasetId";
+
+    /**
+     * One page of a dataset's products as summary rows, without loading the entities or their collections
+     */
+    @Query(value = SUMMARY_QUERY,
+            countQuery = "SELECT COUNT(p) FROM Product p JOIN p.datasets d WHERE d.id = :datasetId")
+    Page<ProductSummary> findSummariesByDatasetId(@Param("datasetId") Long datasetId, Pageable pageable);
+
+    /**
+     * All summary rows of a dataset, read through a forward-only cursor in fetch-size chunks.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY_QUERY + " ORDER BY p.id")
+    Stream<ProductSummary> streamSummariesByDatasetId(@Param("datasetId") Long datasetId);
 }
@@ -28,6 +28,8 @@ public interface SyncJobRepository extends JpaRepository<SyncJob, Long> {
                                     @Param("now") LocalDateTime now,
                                     Pageable pageable);
 
+    long countByStatusAndScheduledAtLessThanEqual(SyncJobStatus status, LocalDateTime now);
+
     Page<SyncJob> findByUserId(Long userId, Pageable pageable);
 
     Page<SyncJob> findByUserIdAndStatus(Long userId, SyncJobStatus status, Pageable pageable);
@@ -0,0 +1,160 @@
+package com.dropiq.engine.product.service;
+
+import com.dropiq.engine.product.entity.DatasetCategory;
+import com.dropiq.engine.product.model.CategoryTreeSnapshot;
+import com.dropiq.engine.product.repository.DataSetRepository;
+import com.dropiq.engine.product.repository.DatasetCategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-dataset category tree snapshots with version-stamp invalidation.
+ * Services that change a dataset's categories call {@link #invalidate} to bump its version;
+ * a snapshot is served only while its version is current, so reads never hit the DB between writes.
+ * Only the most recently used datasets are kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+
+    private final DatasetCategoryRepository categoryRepository;
+    private final DataSetRepository dataSetRepository;
+
+    private static final int MAX_CACHED_DATASETS = 1000;
+
+    // Version and snapshot are evicted together, so a fresh version never meets a stale snapshot
+    private final Cache<Long, CacheEntry> trees = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_DATASETS)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    /**
+     * Get current category tree of the dataset, loading it only if the cached one is stale
+     */
+    public CategoryTreeSnapshot getSnapshot(Long datasetId) {
+        CacheEntry entry = entry(datasetId);
+        long version = entry.version.get();
+
+        CategoryTreeSnapshot cached = entry.snapshot;
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+
+        CategoryTreeSnapshot loaded = load(datasetId, version);
+        entry.offer(loaded);
+        return loaded;
+    }
+
+    /**
+     * Invalidate the dataset tree now and once more after the surrounding transaction completes,
+     * so a concurrent reader cannot keep a snapshot of uncommitted state
+     */
+    public void invalidate(Long datasetId) {
+        if (datasetId == null) return;
+
+        bump(datasetId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(datasetId);
+                }
+            });
+        }
+    }
+
+    public void evict(Long datasetId) {
+        trees.invalidate(datasetId);
+    }
+
+    private void bump(Long datasetId) {
+        entry(datasetId).version.incrementAndGet();
+    }
+
+    private CacheEntry entry(Long datasetId) {
+        return trees.get(datasetId, id -> new CacheEntry());
+    }
+
+    private CategoryTreeSnapshot load(Long datasetId, long version) {
+        String owner = dataSetRepository.findOwnerById(datasetId).orElse(null);
+        if (owner == null) {
+            return CategoryTreeSnapshot.empty(datasetId, null, version);
+        }
+
+        List<DatasetCategory> categories = categoryRepository.findByDatasetId(datasetId);
+
+        // getParent().getId() on a lazy proxy does not initialize the parent
+        Map<Long, List<DatasetCategory>> children = new HashMap<>();
+        List<DatasetCategory> roots = new ArrayList<>();
+        for (DatasetCategory category : categories) {
+            if (category.getParent() != null) {
+                children.computeIfAbsent(category.getParent().getId(), k -> new ArrayList<>()).add(category);
+            } else {
+                roots.add(category);
+            }
+        }
+
+        List<CategoryTreeSnapshot.Node> nodes = new ArrayList<>(categories.size());
+        appendNodes(roots, null, null, null, children, nodes);
+
+        log.debug("Loaded category tree for dataset {} (version {}, {} nodes)", datasetId, version, nodes.size());
+        return new CategoryTreeSnapshot(datasetId, owner, version, nodes);
+    }
+
+    private void appendNodes(List<DatasetCategory> level, Long parentId, String parentPathEn, String parentPathUk,
+                             Map<Long, List<DatasetCategory>> children, List<CategoryTreeSnapshot.Node> nodes) {
+        level.sort(Comparator.comparing((DatasetCategory c) -> c.getProductCount() != null ? c.getProductCount() : 0)
+                .reversed());
+
+        for (DatasetCategory category : level) {
+            String pathEn = parentPathEn != null ? parentPathEn + " / " + category.getNameEn() : category.getNameEn();
+            String pathUk = parentPathUk != null ? parentPathUk + " / " + category.getNameUk() : category.getNameUk();
+
+            nodes.add(new CategoryTreeSnapshot.Node(
+                    category.getId(),
+                    parentId,
+                    category.getLevel() != null ? category.getLevel() : 0,
+                    category.getNameUk(),
+                    category.getNameRu(),
+                    category.getNameEn(),
+                    category.getSlug(),
+                    category.getDescriptionUk(),
+                    category.getDescriptionRu(),
+                    category.getDescriptionEn(),
+                    pathEn,
+                    pathUk,
+                    category.getProductCount() != null ? category.getProductCount() : 0,
+                    !Boolean.FALSE.equals(category.getIsActive())
+            ));
+
+            List<DatasetCategory> childLevel = children.get(category.getId());
+            if (childLevel != null) {
+                appendNodes(childLevel, category.getId(), pathEn, pathUk, children, nodes);
+            }
+        }
+    }
+
+    private static final class CacheEntry {
+        private final AtomicLong version = new AtomicLong();
+        private volatile CategoryTreeSnapshot snapshot;
+
+        /**
+         * Keep the newer of the cached and the loaded snapshot
+         */
+        synchronized void offer(CategoryTreeSnapshot loaded) {
+            if (snapshot == null || loaded.getVersion() >= snapshot.getVersion()) {
+                snapshot = loaded;
+            }
+        }
+    }
+}
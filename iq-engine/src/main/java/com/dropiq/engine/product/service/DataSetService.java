@@ -4,12 +4,20 @@ import com.dropiq.engine.integration.exp.model.DataSourceConfig;
 import com.dropiq.engine.integration.exp.model.SourceType;
 import com.dropiq.engine.integration.exp.model.UnifiedProduct;
 import com.dropiq.engine.integration.exp.service.UnifiedProductService;
+import com.dropiq.engine.monitoring.SyncMetrics;
+import com.dropiq.engine.product.dto.DataSetDetail;
+import com.dropiq.engine.product.dto.DataSetSummary;
+import com.dropiq.engine.product.dto.ProductSummary;
 import com.dropiq.engine.product.entity.DataSet;
 import com.dropiq.engine.product.entity.Product;
 import com.dropiq.engine.product.model.*;
+import com.dropiq.engine.product.pricing.PriceRule;
+import com.dropiq.engine.product.pricing.PricingEngine;
 import com.dropiq.engine.product.repository.DataSetRepository;
 import com.dropiq.engine.product.repository.ProductRepository;
 import com.dropiq.engine.product.support.ProductMapper;
+import com.dropiq.engine.product.support.SyncProgressTracker;
+import com.dropiq.engine.user.service.UserStatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -33,6 +41,15 @@ public class DataSetService {
     private final UnifiedProductService productService;
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final SmartCategoryService categoryService;
+    private final CategoryTreeCache categoryTreeCache;
+    private final UserStatisticsService userStatisticsService;
+    private final SyncProgressService syncProgressService;
+    private final PriceRuleService priceRuleService;
+    private final SyncMetrics syncMetrics;
+
+    // Rows per bulk UPDATE statement
+    private static final int BULK_UPDATE_CHUNK = 5000;
 
     /**
      * Create a new dataset from data sources
@@ -65,6 +82,7 @@ public class DataSetService {
             dataSet.setStatus(DataSetStatus.ACTIVE);
 
             dataSet = datasetRepository.save(dataSet);
+            userStatisticsService.refresh(createdBy);
             log.info("Dataset '{}' created successfully with {} products", name, allProducts.size());
 
             return dataSet;
@@ -87,7 +105,9 @@ public class DataSetService {
         dataset.setCreatedBy(createdBy);
         dataset.setStatus(DataSetStatus.DRAFT);
 
-        return datasetRepository.save(dataset);
+        dataset = datasetRepository.save(dataset);
+        userStatisticsService.refresh(createdBy);
+        return dataset;
     }
 
     /**
@@ -104,6 +124,39 @@ public class DataSetService {
         return datasetRepository.findByIdAndCreatedBy(id, createdBy);
     }
 
+    /**
+     * User's datasets as summary rows, optionally filtered by name
+     */
+    public List<DataSetSummary> getDatasetSummaries(String createdBy, String searchTerm) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return datasetRepository.findSummariesByCreatedBy(createdBy);
+        }
+        return datasetRepository.searchSummaries(createdBy, searchTerm.trim());
+    }
+
+    /**
+     * Dataset settings, sources and metadata without its products (with ownership check)
+     */
+    @Transactional(readOnly = true)
+    public Optional<DataSetDetail> getDatasetDetail(Long id, String createdBy) {
+        return datasetRepository.findDetail(id, createdBy).map(detail -> {
+            detail.setSourcePlatforms(datasetRepository.findSourcePlatforms(id));
+            for (Object[] row : datasetRepository.findMetadata(id)) {
+                detail.getMetadata().put((String) row[0], (String) row[1]);
+            }
+            return detail;
+        });
+    }
+
+    /**
+     * One page of dataset products as summary rows (with ownership check)
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> getDatasetProductPage(Long datasetId, String createdBy, Pageable pageable) {
+        requireOwner(datasetId, createdBy);
+        return productRepository.findSummariesByDatasetId(datasetId, pageable);
+    }
+
     /**
      * Update dataset
      */
@@ -125,6 +178,8 @@ public class DataSetService {
                 .orElseThrow(() -> new RuntimeException("Dataset not found or access denied"));
 
         datasetRepository.delete(dataset);
+        categoryTreeCache.evict(id);
+        userStatisticsService.refresh(createdBy);
         log.info("Dataset '{}' deleted by user '{}'", dataset.getName(), createdBy);
     }
 
@@ -165,7 +220,9 @@ public class DataSetService {
 
         mergedDataset.setStatus(DataSetStatus.ACTIVE);
 
-        return datasetRepository.save(mergedDataset);
+        mergedDataset = datasetRepository.save(mergedDataset);
+        userStatisticsService.refresh(createdBy);
+        return mergedDataset;
     }
 
     /**
@@ -178,7 +235,9 @@ public class DataSetService {
         dataset.addProducts(productMapper.toProductList(products));
         dataset.getMetadata().put("totalProducts", String.valueOf(dataset.getProductCount()));
 
-        return datasetRepository.save(dataset);
+        dataset = datasetRepository.save(dataset);
+        userStatisticsService.refresh(createdBy);
+        return dataset;
     }
 
     /**
@@ -192,10 +251,13 @@ public class DataSetService {
                 .filter(product -> productIds.contains(product.getId()))
                 .collect(Collectors.toSet());
 
+        categoryService.applyProductChanges(dataset, List.of(), productsToRemove, List.of());
         productsToRemove.forEach(dataset::removeProduct);
         dataset.getMetadata().put("totalProducts", String.valueOf(dataset.getProductCount()));
 
-        return datasetRepository.save(dataset);
+        dataset = datasetRepository.save(dataset);
+        userStatisticsService.refresh(createdBy);
+        return dataset;
     }
 
     /**
@@ -278,6 +340,7 @@ public class DataSetService {
     @Transactional
     public DataSet syncDatasetFromSource(DataSet dataset) {
         log.info("Syncing dataset '{}' from sources", dataset.getName());
+        SyncProgressTracker progress = syncProgressService.current();
 
         try {
             dataset.setStatus(DataSetStatus.PROCESSING);
@@ -291,11 +354,20 @@ public class DataSetService {
             }
 
             // Fetch fresh products from sources
+            progress.phase(SyncProgress.Phase.FETCHING);
+            long syncStart = System.nanoTime();
+            long stageStart = syncStart;
             List<UnifiedProduct> freshProducts = productService.fetchProductsFromAllPlatforms(configs);
+            stageStart = syncMetrics.stage(dataset.getSourcePlatforms(), "fetch", stageStart);
+            progress.fetched(freshProducts.size());
+            progress.expect(SyncProgress.Phase.PROCESSING, freshProducts.size());
 
             // Update existing products and add new ones
             int updatedCount = 0;
             int addedCount = 0;
+            Set<String> addedKeys = new HashSet<>();
+            List<Product> recategorized = new ArrayList<>();
+            List<Long> repricedIds = new ArrayList<>();
 
             for (UnifiedProduct unifiedProduct : freshProducts) {
                 Optional<Product> existingProduct = dataset.getProducts().stream()
@@ -306,13 +378,19 @@ public class DataSetService {
                 if (existingProduct.isPresent()) {
                     // Update existing product
                     productMapper.syncStockAndAvailable(existingProduct.get(), unifiedProduct);
+                    if (productMapper.syncCategory(existingProduct.get(), unifiedProduct)) {
+                        recategorized.add(existingProduct.get());
+                    }
+                    repricedIds.add(existingProduct.get().getId());
                     updatedCount++;
                 } else {
                     // Add new product
                     Product newProduct = productMapper.toProduct(unifiedProduct);
                     dataset.addProduct(newProduct);
+                    addedKeys.add(productKey(newProduct));
                     addedCount++;
                 }
+                progress.parsed();
             }
 
             // Update sync metadata
@@ -324,9 +402,34 @@ public class DataSetService {
             dataset.getMetadata().put("lastSyncProductsUpdated", String.valueOf(updatedCount));
             dataset.getMetadata().put("lastSyncTime", LocalDateTime.now().toString());
 
+            stageStart = syncMetrics.stage(dataset.getSourcePlatforms(), "process", stageStart);
+            progress.phase(SyncProgress.Phase.SAVING);
             dataset = datasetRepository.save(dataset);
-            log.info("Dataset '{}' synced successfully. Added: {}, Updated: {}",
-                    dataset.getName(), addedCount, updatedCount);
+            progress.upserted(addedCount + updatedCount);
+            syncMetrics.upserted(dataset.getSourcePlatforms(), addedCount, updatedCount);
+            stageStart = syncMetrics.stage(dataset.getSourcePlatforms(), "save", stageStart);
+
+            List<Product> addedProducts = addedKeys.isEmpty() ? List.of() : dataset.getProducts().stream()
+                    .filter(p -> addedKeys.contains(productKey(p)))
+                    .collect(Collectors.toList());
+            addedProducts.forEach(p -> repricedIds.add(p.getId()));
+
+            // Adjust only the category nodes touched by this sync
+            if (!addedProducts.isEmpty() || !recategorized.isEmpty()) {
+                progress.phase(SyncProgress.Phase.CATEGORIZING);
+                categoryService.applyProductChanges(dataset, addedProducts, List.of(), recategorized);
+            }
+            stageStart = syncMetrics.stage(dataset.getSourcePlatforms(), "categorize", stageStart);
+
+            // Dataset price rules need the final categories, so they run last
+            priceRuleService.repriceProducts(dataset.getId(), repricedIds);
+            syncMetrics.stage(dataset.getSourcePlatforms(), "reprice", stageStart);
+
+            userStatisticsService.recordSync(dataset.getCreatedBy());
+
+            log.info("Dataset '{}' ({}) synced successfully in {} ms. Added: {}, Updated: {}",
+                    dataset.getName(), dataset.getId(), (System.nanoTime() - syncStart) / 1_000_000,
+                    addedCount, updatedCount);
 
             return dataset;
 
@@ -335,6 +438,7 @@ public class DataSetService {
             dataset.setStatus(DataSetStatus.ERROR);
             dataset.setLastErrorMessage(e.getMessage());
             dataset.setErrorCount(dataset.getErrorCount() + 1);
+            progress.error();
             datasetRepository.save(dataset);
             throw new RuntimeException("Failed to sync dataset: " + e.getMessage(), e);
         }
@@ -407,57 +511,94 @@ public class DataSetService {
     }
 
     /**
-     * Apply bulk price markup to dataset products
+     * Apply bulk price markup to dataset products; returns the number of updated products.
+     * Selling prices are computed per chunk of id/price projections by PricingEngine and written set-based.
      */
     @Transactional
-    public DataSet applyBulkPriceMarkup(Long datasetId, String createdBy, BigDecimal markupPercentage,
-                                        List<Long> productIds) {
-        DataSet dataset = datasetRepository.findByIdAndCreatedBy(datasetId, createdBy)
-                .orElseThrow(() -> new RuntimeException("Dataset not found or access denied"));
-
-        Set<Product> productsToUpdate = dataset.getProducts().stream()
-                .filter(product -> productIds == null || productIds.isEmpty() || productIds.contains(product.getId()))
-                .collect(Collectors.toSet());
+    public int applyBulkPriceMarkup(Long datasetId, String createdBy, BigDecimal markupPercentage,
+                                    List<Long> productIds) {
+        requireOwner(datasetId, createdBy);
+
+        List<Object[]> rows;
+        if (productIds == null || productIds.isEmpty()) {
+            rows = productRepository.findIdAndOriginalPriceByDatasetId(datasetId);
+        } else {
+            // A selection reads only its own rows, in chunks that keep the IN list bounded
+            List<Long> selected = new ArrayList<>(new LinkedHashSet<>(productIds));
+            rows = new ArrayList<>(selected.size());
+            for (int from = 0; from < selected.size(); from += BULK_UPDATE_CHUNK) {
+                rows.addAll(productRepository.findIdAndOriginalPriceInDataset(datasetId,
+                        selected.subList(from, Math.min(from + BULK_UPDATE_CHUNK, selected.size()))));
+            }
+        }
 
+        PriceRule rule = PriceRule.markup(markupPercentage);
         int updatedCount = 0;
-        for (Product product : productsToUpdate) {
-            product.setMarkupPercentage(markupPercentage);
-            // The @PreUpdate method will automatically calculate selling price
-            updatedCount++;
-        }
+        for (int from = 0; from < rows.size(); from += BULK_UPDATE_CHUNK) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + BULK_UPDATE_CHUNK, rows.size()));
+            Long[] ids = new Long[chunk.size()];
+            long[] costs = new long[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                ids[i] = (Long) chunk.get(i)[0];
+                costs[i] = PricingEngine.toCents((BigDecimal) chunk.get(i)[1]);
+            }
 
-        dataset.setDefaultMarkup(markupPercentage);
-        dataset = datasetRepository.save(dataset);
+            long[] sellingCents = new long[costs.length];
+            PricingEngine.sellingPrices(costs, rule, sellingCents);
 
-        log.info("Applied {}% markup to {} products in dataset '{}'",
-                markupPercentage, updatedCount, dataset.getName());
+            BigDecimal[] prices = new BigDecimal[costs.length];
+            for (int i = 0; i < costs.length; i++) {
+                prices[i] = PricingEngine.toPrice(sellingCents[i]);
+            }
+            updatedCount += productRepository.updatePricing(ids, prices, markupPercentage);
+        }
 
-        return dataset;
+        datasetRepository.updateDefaultMarkup(datasetId, markupPercentage);
+
+        log.info("Applied {}% markup to {} products in dataset {}", markupPercentage, updatedCount, datasetId);
+        return updatedCount;
     }
 
     /**
-     * Activate/deactivate products in bulk
+     * Activate/deactivate products in bulk; returns the number of updated products
      */
     @Transactional
-    public DataSet bulkUpdateProductStatus(Long datasetId, String createdBy, List<Long> productIds,
-                                           ProductStatus status) {
-        DataSet dataset = datasetRepository.findByIdAndCreatedBy(datasetId, createdBy)
-                .orElseThrow(() -> new RuntimeException("Dataset not found or access denied"));
+    public int bulkUpdateProductStatus(Long datasetId, String createdBy, List<Long> productIds,
+                                       ProductStatus status) {
+        requireOwner(datasetId, createdBy);
 
-        Set<Product> productsToUpdate = dataset.getProducts().stream()
-                .filter(product -> productIds.contains(product.getId()))
-                .collect(Collectors.toSet());
+        List<Long> ids = productIds == null || productIds.isEmpty()
+                ? List.of()
+                : productRepository.findIdsInDataset(datasetId, productIds);
 
-        productsToUpdate.forEach(product -> product.setStatus(status));
+        int updatedCount = 0;
+        for (int from = 0; from < ids.size(); from += BULK_UPDATE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_UPDATE_CHUNK, ids.size()));
+            updatedCount += productRepository.updateStatusForProducts(chunk, status);
+            productRepository.refreshHoroshopReady(chunk);
+        }
 
-        dataset = datasetRepository.save(dataset);
+        datasetRepository.refreshActiveProducts(datasetId);
+        userStatisticsService.refresh(createdBy);
 
-        log.info("Updated status to {} for {} products in dataset '{}'",
-                status, productsToUpdate.size(), dataset.getName());
+        log.info("Updated status to {} for {} products in dataset {}", status, updatedCount, datasetId);
+        return updatedCount;
+    }
 
-        return dataset;
+    /**
+     * Dataset exists and belongs to the user; reads the owner column only
+     */
+    public boolean isOwner(Long datasetId, String createdBy) {
+        return datasetRepository.findOwnerById(datasetId).map(createdBy::equals).orElse(false);
+    }
+
+    private void requireOwner(Long datasetId, String createdBy) {
+        if (!isOwner(datasetId, createdBy)) {
+            throw new RuntimeException("Dataset not found or access denied");
+        }
     }
 
+
     /**
      * Get dataset products with pagination and filtering
      */
@@ -504,6 +645,10 @@ public class DataSetService {
         return configs;
     }
 
+    private String productKey(Product product) {
+        return product.getSourceType() + ":" + product.getExternalId();
+    }
+
     // Helper method to check if product matches filter
     private boolean matchesFilter(Product product, DataSetFilter filter) {
         if (filter.getSourceTypes() != null && !filter.getSourceTypes().isEmpty()) {
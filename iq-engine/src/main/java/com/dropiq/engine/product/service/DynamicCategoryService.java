@@ -6,7 +6,6 @@ import com.dropiq.engine.product.repository.DatasetCategoryRepository;
 import com.dropiq.engine.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +20,7 @@ public class DynamicCategoryService {
 
     private final DatasetCategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final CategoryTreeCache categoryTreeCache;
 
     private static final int MAX_CATEGORIES_PER_DATASET = 50;
     private static final int MAX_CHILDREN_PER_PARENT = 8;
@@ -99,6 +99,7 @@ public class DynamicCategoryService {
         newCategory.setAiConfidence(0.8);
 
         newCategory = categoryRepository.save(newCategory);
+        categoryTreeCache.invalidate(dataset.getId());
         log.info("Created new parent category: {} for dataset: {}", nameEn, dataset.getName());
 
         return newCategory;
@@ -133,6 +134,7 @@ public class DynamicCategoryService {
         childCategory.setAiConfidence(0.7);
 
         childCategory = categoryRepository.save(childCategory);
+        categoryTreeCache.invalidate(parent.getDataset().getId());
         parent.getChildren().add(childCategory);
 
         log.info("Created new child category: {} under parent: {}", nameEn, parent.getNameEn());
@@ -154,10 +156,11 @@ public class DynamicCategoryService {
         fallback.setAiGenerated(true);
         fallback.setAiConfidence(0.5);
 
-        return categoryRepository.save(fallback);
+        fallback = categoryRepository.save(fallback);
+        categoryTreeCache.invalidate(dataset.getId());
+        return fallback;
     }
 
-    @Cacheable(value = "categoryTrees", key = "#dataset.id")
     public List<DatasetCategory> getCategoryTree(DataSet dataset) {
         return categoryRepository.findByDatasetAndParentIsNullOrderByProductCountDesc(dataset);
     }
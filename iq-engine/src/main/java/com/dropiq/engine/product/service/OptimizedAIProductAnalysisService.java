@@ -1,14 +1,21 @@
 package com.dropiq.engine.product.service;
 
-import com.dropiq.engine.integration.ai.GPT4MiniClient;
+import com.dropiq.engine.integration.ai.AIProviderRouter;
+import com.dropiq.engine.integration.ai.HoroshopPromptBuilder;
+import com.dropiq.engine.integration.ai.model.AIAnalysisRequest;
 import com.dropiq.engine.integration.ai.model.FeatureProductAnalysisResult;
+import com.dropiq.engine.monitoring.SyncMetrics;
 import com.dropiq.engine.product.entity.DataSet;
 import com.dropiq.engine.product.entity.Product;
+import com.dropiq.engine.product.model.SyncProgress;
 import com.dropiq.engine.product.repository.DataSetRepository;
 import com.dropiq.engine.product.repository.ProductRepository;
+import com.dropiq.engine.product.support.SyncProgressTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,7 +24,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,10 +31,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OptimizedAIProductAnalysisService {
 
-    private final GPT4MiniClient gptProvider;
+    private final AIProviderRouter aiProviderRouter;
+    private final HoroshopPromptBuilder promptBuilder;
     private final ProductRepository productRepository;
     private final DataSetRepository dataSetRepository;
     private final SmartCategoryService categoryService;
+    private final SyncProgressService syncProgressService;
+    private final CacheManager cacheManager;
+    private final SyncMetrics syncMetrics;
 
     @Value("${ai.analysis.batch-size:5}")
     private int batchSize;
@@ -39,11 +49,8 @@ public class OptimizedAIProductAnalysisService {
     @Value("${ai.analysis.delay-between-requests:1500}")
     private long delayBetweenRequests;
 
-    @Value("${ai.analysis.max-retries:3}")
-    private int maxRetries;
-
-    // Cache for analysis results by product groups
-    private final Map<String, FeatureProductAnalysisResult> analysisCache = new ConcurrentHashMap<>();
+    // Cache for analysis results by product groups, bounded by the productAnalysis cache spec
+    private static final String ANALYSIS_CACHE = "productAnalysis";
 
     /**
      * Main method for comprehensive Horoshop product analysis
@@ -58,9 +65,10 @@ public class OptimizedAIProductAnalysisService {
 
             // Check cache first
             String cacheKey = generateCacheKey(product);
-            FeatureProductAnalysisResult cachedResult = analysisCache.get(cacheKey);
+            FeatureProductAnalysisResult cachedResult = analysisCache().get(cacheKey, FeatureProductAnalysisResult.class);
             if (cachedResult != null) {
                 log.info("Using cached analysis for key: {}", cacheKey);
+                syncMetrics.aiAnalysis("cached", 1);
                 applyAnalysisToProduct(product, cachedResult);
                 return productRepository.save(product);
             }
@@ -70,6 +78,7 @@ public class OptimizedAIProductAnalysisService {
             if (analyzedGroupProduct.isPresent()) {
                 log.info("Copying analysis from group member: {}", analyzedGroupProduct.get().getId());
                 copyAnalysisFromProduct(analyzedGroupProduct.get(), product);
+                syncMetrics.aiAnalysis("group", 1);
                 return productRepository.save(product);
             }
 
@@ -81,10 +90,13 @@ public class OptimizedAIProductAnalysisService {
                 log.warn("Analysis result invalid for Horoshop, using enhanced fallback for: {}",
                         product.getExternalName());
                 analysis = createEnhancedFallbackAnalysis(product);
+                syncMetrics.aiAnalysis("fallback", 1);
+            } else {
+                syncMetrics.aiAnalysis("analyzed", 1);
             }
 
             // Cache and apply results
-            analysisCache.put(cacheKey, analysis);
+            analysisCache().put(cacheKey, analysis);
             applyAnalysisToProduct(product, analysis);
             product = productRepository.save(product);
 
@@ -126,6 +138,8 @@ public class OptimizedAIProductAnalysisService {
 
             int totalAnalyzed = 0;
             int processedGroups = 0;
+            SyncProgressTracker progress = syncProgressService.current();
+            progress.expect(SyncProgress.Phase.ANALYZING, productGroups.size());
 
             log.info("Processing {} product groups for Horoshop analysis", productGroups.size());
 
@@ -138,7 +152,12 @@ public class OptimizedAIProductAnalysisService {
                             ++processedGroups, productGroups.size(),
                             entry.getKey(), groupProducts.size());
 
-                    FeatureProductAnalysisResult analysis = performComprehensiveAnalysis(representative);
+                    // Groups analyzed by an earlier sync are served from cache without an AI call
+                    FeatureProductAnalysisResult analysis = analysisCache().get(entry.getKey(), FeatureProductAnalysisResult.class);
+                    boolean cached = analysis != null;
+                    if (!cached) {
+                        analysis = performComprehensiveAnalysis(representative);
+                    }
 
                     if (analysis.isValidForHoroshop()) {
                         // Apply to all products in group
@@ -149,7 +168,8 @@ public class OptimizedAIProductAnalysisService {
                         }
 
                         // Cache result
-                        analysisCache.put(entry.getKey(), analysis);
+                        analysisCache().put(entry.getKey(), analysis);
+                        syncMetrics.aiAnalysis(cached ? "cached" : "analyzed", groupProducts.size());
 
                         log.info("Successfully analyzed group: {} ({} products)",
                                 entry.getKey(), groupProducts.size());
@@ -163,15 +183,19 @@ public class OptimizedAIProductAnalysisService {
                             productRepository.save(product);
                             totalAnalyzed++;
                         }
+                        syncMetrics.aiAnalysis("fallback", groupProducts.size());
                     }
 
+                    progress.aiGroupAnalyzed();
+
                     // Delay between groups to respect rate limits
-                    if (processedGroups < productGroups.size()) {
+                    if (!cached && processedGroups < productGroups.size()) {
                         Thread.sleep(delayBetweenRequests);
                     }
 
                 } catch (Exception e) {
                     log.error("Failed to analyze group {}: {}", entry.getKey(), e.getMessage());
+                    progress.error();
                     // Continue with next group
                 }
             }
@@ -195,62 +219,29 @@ public class OptimizedAIProductAnalysisService {
     }
 
     /**
-     * Comprehensive analysis with retry logic and fallback
+     * Comprehensive analysis through the provider router, which owns retries and failover; fallback when all fail
      */
     private FeatureProductAnalysisResult performComprehensiveAnalysis(Product product) {
-        log.info("Performing comprehensive GPT-4 analysis for: {}", product.getExternalName());
-
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try {
-                FeatureProductAnalysisResult result;
-
-                if (enableVision && gptProvider.supportsVision() && hasQualityImages(product)) {
-                    String imageUrl = selectBestImage(product);
-                    log.info("Using vision analysis (attempt {}) with image: {}", attempt, imageUrl);
-
-                    result = gptProvider.analyzeProductWithImageForHoroshop(
-                            product.getExternalName(),
-                            cleanAndPrepareDescription(product.getExternalDescription()),
-                            imageUrl,
-                            product.getOriginalPrice() != null ? product.getOriginalPrice().doubleValue() : null,
-                            product.getSourceType() != null ? product.getSourceType().name() : "UNKNOWN"
-                    );
-                } else {
-                    log.info("Using text-based analysis (attempt {})", attempt);
-
-                    result = gptProvider.analyzeProductForHoroshop(
-                            product.getExternalName(),
-                            cleanAndPrepareDescription(product.getExternalDescription()),
-                            product.getExternalCategoryName(),
-                            product.getOriginalPrice() != null ? product.getOriginalPrice().doubleValue() : null,
-                            product.getSourceType() != null ? product.getSourceType().name() : "UNKNOWN"
-                    );
-                }
+        boolean vision = enableVision && hasQualityImages(product);
+        log.info("Performing comprehensive {} analysis for: {}", vision ? "vision" : "text", product.getExternalName());
+
+        AIAnalysisRequest request = AIAnalysisRequest.builder()
+                .productName(product.getExternalName())
+                .description(promptBuilder.compactDescription(product.getExternalDescription()))
+                .categoryName(product.getExternalCategoryName())
+                .price(product.getOriginalPrice() != null ? product.getOriginalPrice().doubleValue() : null)
+                .sourceType(product.getSourceType() != null ? product.getSourceType().name() : "UNKNOWN")
+                .imageUrl(vision ? selectBestImage(product) : null)
+                .build();
 
-                // Validate result
-                if (result != null && result.isValidForHoroshop()) {
-                    log.info("Analysis successful on attempt {} for: {}", attempt, product.getExternalName());
-                    return result;
-                }
-
-                log.warn("Analysis attempt {} failed validation for: {}", attempt, product.getExternalName());
-
-            } catch (Exception e) {
-                log.warn("Analysis attempt {} failed for {}: {}", attempt, product.getExternalName(), e.getMessage());
-
-                if (attempt < maxRetries) {
-                    try {
-                        Thread.sleep(delayBetweenRequests * attempt); // Exponential backoff
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            }
+        try {
+            return aiProviderRouter.analyze(request);
+        } catch (RuntimeException e) {
+            log.warn("All analysis attempts failed for {}, creating enhanced fallback: {}",
+                    product.getExternalName(), e.getMessage());
+            syncMetrics.aiFallback("router", "retries_exhausted");
+            return createEnhancedFallbackAnalysis(product);
         }
-
-        log.warn("All analysis attempts failed for {}, creating enhanced fallback", product.getExternalName());
-        return createEnhancedFallbackAnalysis(product);
     }
 
     /**
@@ -281,7 +272,9 @@ public class OptimizedAIProductAnalysisService {
         assignOptimalCategory(product, analysis);
 
         product.setStyle(analysis.getStyle());
-        product.setImagesQualityScore(BigDecimal.valueOf(analysis.getVisualQuality()));
+        if (analysis.getVisualQuality() != null) {
+            product.setImagesQualityScore(BigDecimal.valueOf(analysis.getVisualQuality()));
+        }
         product.setMaterial(analysis.getMaterial());
         product.setColor(analysis.getColor());
 
@@ -596,7 +589,7 @@ public class OptimizedAIProductAnalysisService {
                 .append(" преміум якості за доступною ціною. ");
 
         if (product.getExternalDescription() != null && !product.getExternalDescription().trim().isEmpty()) {
-            String cleanDesc = cleanAndPrepareDescription(product.getExternalDescription());
+            String cleanDesc = HoroshopPromptBuilder.cleanDescription(product.getExternalDescription()).replace('\n', ' ');
             if (cleanDesc.length() > 50) {
                 desc.append(cleanDesc.length() > 200 ?
                         cleanDesc.substring(0, 200) + "... " : cleanDesc + " ");
@@ -875,25 +868,21 @@ public class OptimizedAIProductAnalysisService {
         return product.getImageUrls().get(0);
     }
 
-    private String cleanAndPrepareDescription(String description) {
-        if (description == null) return "";
-
-        return description
-                .replaceAll("<[^>]+>", "")
-                .replaceAll("&nbsp;", " ")
-                .replaceAll("&amp;", "&")
-                .replaceAll("&lt;", "<")
-                .replaceAll("&gt;", ">")
-                .replaceAll("\\s+", " ")
-                .trim();
-    }
-
     private String truncateText(String text, int maxLength) {
         if (text == null) return null;
         if (text.length() <= maxLength) return text;
         return text.substring(0, maxLength - 3) + "...";
     }
 
+    private Cache analysisCache() {
+        return cacheManager.getCache(ANALYSIS_CACHE);
+    }
+
+    private long analysisCacheSize() {
+        return analysisCache().getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine
+                ? caffeine.estimatedSize() : 0;
+    }
+
     private boolean isAnalysisOutdated(Product product) {
         if (product.getAiAnalysisDate() == null) return true;
         return product.getAiAnalysisDate().isBefore(LocalDateTime.now().minusDays(30));
@@ -903,8 +892,8 @@ public class OptimizedAIProductAnalysisService {
      * Clear analysis cache
      */
     public void clearAnalysisCache() {
-        int size = analysisCache.size();
-        analysisCache.clear();
+        long size = analysisCacheSize();
+        analysisCache().clear();
         log.info("Analysis cache cleared ({} entries removed)", size);
     }
 
@@ -914,15 +903,11 @@ public class OptimizedAIProductAnalysisService {
     public Map<String, Object> getAnalysisStatistics() {
         Map<String, Object> stats = new HashMap<>();
 
-        stats.put("cacheSize", analysisCache.size());
-        stats.put("aiProviderName", gptProvider.getProviderName());
+        stats.put("cacheSize", analysisCacheSize());
         stats.put("visionEnabled", enableVision);
-        stats.put("visionSupported", gptProvider.supportsVision());
         stats.put("batchSize", batchSize);
         stats.put("delayBetweenRequests", delayBetweenRequests);
-        stats.put("maxRetries", maxRetries);
-        stats.put("maxTextLength", gptProvider.getMaxTextLength());
-        stats.put("costPerRequest", gptProvider.getCostPerRequest());
+        stats.put("providers", aiProviderRouter.getProviderStatistics());
 
         return stats;
     }
@@ -950,7 +935,7 @@ public class OptimizedAIProductAnalysisService {
                 try {
                     // Clear cache for re-analysis
                     String cacheKey = generateCacheKey(product);
-                    analysisCache.remove(cacheKey);
+                    analysisCache().evict(cacheKey);
 
                     // Perform new analysis
                     FeatureProductAnalysisResult analysis = performComprehensiveAnalysis(product);
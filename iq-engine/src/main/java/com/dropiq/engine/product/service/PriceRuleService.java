@@ -0,0 +1,262 @@
+package com.dropiq.engine.product.service;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.dto.DataSetPricing;
+import com.dropiq.engine.product.dto.PriceRuleRequest;
+import com.dropiq.engine.product.entity.DatasetPriceRule;
+import com.dropiq.engine.product.model.CategoryTreeSnapshot;
+import com.dropiq.engine.product.pricing.CompiledPriceRules;
+import com.dropiq.engine.product.pricing.PriceRule;
+import com.dropiq.engine.product.pricing.PricingEngine;
+import com.dropiq.engine.product.repository.DataSetRepository;
+import com.dropiq.engine.product.repository.DatasetPriceRuleRepository;
+import com.dropiq.engine.product.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dataset price rules: CRUD, compiled-rule cache and repricing.
+ * Compiled rules are reused until a rule, the category tree or the dataset markup settings change;
+ * the cache keeps the most recently used datasets only.
+ * Repricing walks the dataset in id order, CHUNK rows at a time, and writes each chunk with one statement.
+ * A sync only applies the rules themselves: products no rule matches keep their own markup,
+ * so the dataset default markup and min margin never overwrite a markup set per product or in bulk.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceRuleService {
+
+    private static final int CHUNK = 5000;
+    private static final int MAX_CACHED_DATASETS = 1000;
+
+    private final DatasetPriceRuleRepository ruleRepository;
+    private final DataSetRepository dataSetRepository;
+    private final ProductRepository productRepository;
+    private final CategoryTreeCache categoryTreeCache;
+
+    // Rules version and compiled rules are evicted together, so a fresh version never meets stale rules
+    private final Cache<Long, CacheEntry> compiled = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_DATASETS)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    public List<DatasetPriceRule> getRules(Long datasetId, String createdBy) {
+        requireDataset(datasetId, createdBy);
+        return ruleRepository.findByDatasetIdOrderByPriorityAscIdAsc(datasetId);
+    }
+
+    @Transactional
+    public DatasetPriceRule createRule(Long datasetId, String createdBy, PriceRuleRequest request) {
+        requireDataset(datasetId, createdBy);
+
+        DatasetPriceRule rule = new DatasetPriceRule();
+        rule.setDatasetId(datasetId);
+        apply(rule, request);
+
+        rule = ruleRepository.save(rule);
+        invalidate(datasetId);
+        return rule;
+    }
+
+    @Transactional
+    public DatasetPriceRule updateRule(Long datasetId, String createdBy, Long ruleId, PriceRuleRequest request) {
+        requireDataset(datasetId, createdBy);
+        DatasetPriceRule rule = ruleRepository.findByIdAndDatasetId(ruleId, datasetId)
+                .orElseThrow(() -> new NoSuchElementException("Price rule not found"));
+
+        apply(rule, request);
+
+        rule = ruleRepository.save(rule);
+        invalidate(datasetId);
+        return rule;
+    }
+
+    @Transactional
+    public void deleteRule(Long datasetId, String createdBy, Long ruleId) {
+        requireDataset(datasetId, createdBy);
+        DatasetPriceRule rule = ruleRepository.findByIdAndDatasetId(ruleId, datasetId)
+                .orElseThrow(() -> new NoSuchElementException("Price rule not found"));
+
+        ruleRepository.delete(rule);
+        invalidate(datasetId);
+    }
+
+    /**
+     * Compiled rules of the dataset, recompiled only when something they depend on changed
+     */
+    public CompiledPriceRules getCompiledRules(Long datasetId) {
+        DataSetPricing pricing = dataSetRepository.findPricingById(datasetId)
+                .orElseThrow(() -> new NoSuchElementException("Dataset not found"));
+        CacheEntry entry = entry(datasetId);
+        long version = entry.version.get();
+        CategoryTreeSnapshot tree = categoryTreeCache.getSnapshot(datasetId);
+        long treeVersion = tree.getVersion();
+
+        CompiledPriceRules cached = entry.rules;
+        if (cached != null && cached.getRulesVersion() == version && cached.getTreeVersion() == treeVersion
+                && sameValue(cached.getDefaultMarkup(), pricing.getDefaultMarkup())
+                && sameValue(cached.getMinMargin(), pricing.getMinProfitMargin())) {
+            return cached;
+        }
+
+        CompiledPriceRules rules = CompiledPriceRules.compile(
+                ruleRepository.findByDatasetIdOrderByPriorityAscIdAsc(datasetId), tree, version,
+                pricing.getDefaultMarkup(), pricing.getMinProfitMargin());
+        entry.rules = rules;
+
+        log.debug("Compiled price rules for dataset {} (version {}, tree {})", datasetId, version, treeVersion);
+        return rules;
+    }
+
+    /**
+     * Reprice every product of the dataset by its rules, falling back to the dataset default markup and min margin
+     */
+    @Transactional
+    public int repriceDataset(Long datasetId, String createdBy) {
+        requireDataset(datasetId, createdBy);
+        CompiledPriceRules rules = getCompiledRules(datasetId);
+        if (rules.isEmpty()) {
+            return 0;
+        }
+
+        int updated = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = productRepository.findPricingRows(datasetId, afterId, Pageable.ofSize(CHUNK));
+            if (rows.isEmpty()) {
+                break;
+            }
+            updated += write(rows, rules, false);
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+
+        log.info("Repriced {} products of dataset {} by price rules", updated, datasetId);
+        return updated;
+    }
+
+    /**
+     * Reprice the given products of a dataset (products touched by a sync) by the dataset rules.
+     * Nothing is written for a dataset without active rules or for products no rule matches
+     */
+    @Transactional
+    public int repriceProducts(Long datasetId, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        CompiledPriceRules rules = getCompiledRules(datasetId);
+        if (!rules.hasRules()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(productIds);
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK) {
+            updated += write(productRepository.findPricingRowsByIds(ids.subList(from, Math.min(from + CHUNK, ids.size()))),
+                    rules, true);
+        }
+        return updated;
+    }
+
+    /**
+     * Evaluate rules for projection rows (id, originalPrice, categoryId, sourceType, brand) and write them in one UPDATE.
+     * With rulesOnly, rows no rule matches are skipped instead of getting the dataset default markup
+     */
+    private int write(List<Object[]> rows, CompiledPriceRules rules, boolean rulesOnly) {
+        Long[] ids = new Long[rows.size()];
+        BigDecimal[] markups = new BigDecimal[rows.size()];
+        BigDecimal[] prices = new BigDecimal[rows.size()];
+
+        int count = 0;
+        for (Object[] row : rows) {
+            long cost = PricingEngine.toCents((BigDecimal) row[1]);
+            long markup = rulesOnly
+                    ? rules.ruleMarkupBasisPoints((Long) row[2], (SourceType) row[3], (String) row[4], cost)
+                    : rules.markupBasisPoints((Long) row[2], (SourceType) row[3], (String) row[4], cost);
+            if (markup == CompiledPriceRules.NO_RULE) {
+                continue;
+            }
+
+            ids[count] = (Long) row[0];
+            markups[count] = BigDecimal.valueOf(markup, 2);
+            prices[count] = PricingEngine.toPrice(PricingEngine.sellingPriceCents(cost, new PriceRule(markup, 0)));
+            count++;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        return productRepository.updatePricingPerProduct(Arrays.copyOf(ids, count), Arrays.copyOf(markups, count),
+                Arrays.copyOf(prices, count));
+    }
+
+    private void apply(DatasetPriceRule rule, PriceRuleRequest request) {
+        if (request.getMarkupPercentage() == null) {
+            throw new IllegalArgumentException("Markup percentage is required");
+        }
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Min price is greater than max price");
+        }
+
+        rule.setName(request.getName());
+        rule.setCategoryId(request.getCategoryId());
+        rule.setSourceType(request.getSourceType());
+        rule.setBrand(request.getBrand());
+        rule.setMinPrice(request.getMinPrice());
+        rule.setMaxPrice(request.getMaxPrice());
+        rule.setMarkupPercentage(request.getMarkupPercentage());
+        rule.setPriority(request.getPriority() != null ? request.getPriority() : 100);
+        rule.setActive(request.getActive() == null || request.getActive());
+    }
+
+    private void requireDataset(Long datasetId, String createdBy) {
+        String owner = dataSetRepository.findOwnerById(datasetId).orElse(null);
+        if (owner == null || !owner.equals(createdBy)) {
+            throw new NoSuchElementException("Dataset not found or access denied");
+        }
+    }
+
+    /**
+     * Bump the rules version now and after commit, so a compile racing the write is not kept
+     */
+    private void invalidate(Long datasetId) {
+        bump(datasetId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(datasetId);
+                }
+            });
+        }
+    }
+
+    private void bump(Long datasetId) {
+        entry(datasetId).version.incrementAndGet();
+    }
+
+    private CacheEntry entry(Long datasetId) {
+        return compiled.get(datasetId, id -> new CacheEntry());
+    }
+
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static final class CacheEntry {
+        private final AtomicLong version = new AtomicLong();
+        private volatile CompiledPriceRules rules;
+    }
+}
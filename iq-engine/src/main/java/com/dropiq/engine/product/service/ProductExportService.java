@@ -0,0 +1,75 @@
+package com.dropiq.engine.product.service;
+
+import com.dropiq.engine.product.dto.ProductSummary;
+import com.dropiq.engine.product.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Dataset products as NDJSON (one ProductSummary object per line), written while rows are read from the cursor,
+ * so memory use does not grow with the dataset and the first line is sent right away.
+ * Callers check dataset ownership first (DataSetService.isOwner).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write all products of the dataset to the stream; returns the number of lines written
+     */
+    @Transactional(readOnly = true)
+    public long writeNdjson(Long datasetId, OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<ProductSummary> rows = productRepository.streamSummariesByDatasetId(datasetId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            for (ProductSummary row : (Iterable<ProductSummary>) rows::iterator) {
+                writeRow(generator, row);
+                generator.writeRaw('\n');
+
+                // First line right away, then in chunks
+                if (++written == 1 || written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        log.info("Streamed {} products of dataset {}", written, datasetId);
+        return written;
+    }
+
+    private void writeRow(JsonGenerator generator, ProductSummary row) throws IOException {
+        generator.writeStartObject();
+        generator.writeObjectField("id", row.getId());
+        generator.writeStringField("externalId", row.getExternalId());
+        generator.writeStringField("externalGroupId", row.getExternalGroupId());
+        generator.writeStringField("externalName", row.getExternalName());
+        generator.writeObjectField("sourceType", row.getSourceType());
+        generator.writeObjectField("status", row.getStatus());
+        generator.writeObjectField("originalPrice", row.getOriginalPrice());
+        generator.writeObjectField("sellingPrice", row.getSellingPrice());
+        generator.writeObjectField("stock", row.getStock());
+        generator.writeObjectField("available", row.getAvailable());
+        generator.writeStringField("mainImageUrl", row.getMainImageUrl());
+        generator.writeObjectField("categoryId", row.getCategoryId());
+        generator.writeStringField("categoryName", row.getCategoryName());
+        generator.writeObjectField("updatedAt", row.getUpdatedAt());
+        generator.writeEndObject();
+    }
+}
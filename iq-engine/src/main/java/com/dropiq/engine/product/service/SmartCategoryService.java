@@ -4,13 +4,16 @@ import com.dropiq.engine.product.entity.DataSet;
 import com.dropiq.engine.product.entity.DatasetCategory;
 import com.dropiq.engine.product.entity.Product;
 import com.dropiq.engine.product.repository.DatasetCategoryRepository;
+import com.dropiq.engine.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -19,18 +22,24 @@ import java.util.stream.Collectors;
 public class SmartCategoryService {
 
     private final DatasetCategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final CategoryTreeCache categoryTreeCache;
 
     // Обмеження для побудови дерева
     private static final int MAX_ROOT_CATEGORIES = 15;
     private static final int MAX_CHILDREN_PER_CATEGORY = 8;
+    private static final String OTHER_CATEGORY = "Інше";
     private static final int MAX_DEPTH = 2; // Root -> Sub (2 рівні максимум)
 
     /**
-     * Автоматично будуємо дерево категорій для датасету
+     * Автоматично будуємо дерево категорій для датасету.
+     * Існуючі категорії читаються одним запитом, дерево рахується в пам'яті,
+     * нові категорії та призначення продуктів зберігаються пакетно.
      */
     @Transactional
     public void buildCategoryTreeForDataset(DataSet dataset) {
         log.info("Building smart category tree for dataset: {}", dataset.getName());
+        categoryTreeCache.invalidate(dataset.getId());
 
         // Збираємо всі унікальні категорії з продуктів
         Map<String, List<Product>> categoryGroups = dataset.getProducts().stream()
@@ -42,15 +51,111 @@ public class SmartCategoryService {
         // Аналізуємо та нормалізуємо назви категорій
         Map<String, CategoryInfo> normalizedCategories = analyzeAndNormalizeCategories(categoryGroups);
 
+        // Всі існуючі категорії датасету - один запит
+        CategoryIndex index = new CategoryIndex(categoryRepository.findByDataset(dataset));
+
         // Будуємо дерево на основі аналізу
-        buildOptimalTree(dataset, normalizedCategories);
+        buildOptimalTree(dataset, normalizedCategories, index);
+
+        // Зберігаємо нові категорії (батьки йдуть перед дітьми)
+        if (!index.created.isEmpty()) {
+            categoryRepository.saveAll(index.created);
+            log.debug("Created {} new categories", index.created.size());
+        }
 
         // Призначуємо продукти до категорій
-        assignProductsToCategories(dataset, normalizedCategories);
+        assignProductsToCategories(dataset, normalizedCategories, index);
 
         log.info("Category tree built successfully for dataset: {}", dataset.getName());
     }
 
+    /**
+     * Інкрементально оновлюємо дерево після синхронізації.
+     * Нові вузли (і їх батьки) створюються лише для нових назв категорій,
+     * лічильники зачеплених вузлів змінюються дельтами одним UPDATE.
+     */
+    @Transactional
+    public void applyProductChanges(DataSet dataset, Collection<Product> added,
+                                    Collection<Product> removed, Collection<Product> recategorized) {
+        List<DatasetCategory> existing = categoryRepository.findByDataset(dataset);
+        if (existing.isEmpty()) {
+            // Дерева ще немає - його повністю побудує buildCategoryTreeForDataset
+            return;
+        }
+        categoryTreeCache.invalidate(dataset.getId());
+
+        CategoryIndex index = new CategoryIndex(existing);
+        Map<Product, DatasetCategory> moves = new IdentityHashMap<>();
+
+        for (Product product : removed) {
+            moves.put(product, null);
+        }
+        for (Product product : added) {
+            moves.put(product, resolveCategory(dataset, product.getExternalCategoryName(), index));
+        }
+        for (Product product : recategorized) {
+            moves.put(product, resolveCategory(dataset, product.getExternalCategoryName(), index));
+        }
+
+        if (!index.created.isEmpty()) {
+            categoryRepository.saveAll(index.created);
+            log.debug("Created {} new categories during incremental update", index.created.size());
+        }
+
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (Map.Entry<Product, DatasetCategory> move : moves.entrySet()) {
+            Product product = move.getKey();
+            DatasetCategory target = move.getValue();
+            Long currentId = product.getCategory() != null ? product.getCategory().getId() : null;
+            Long targetId = target != null ? target.getId() : null;
+
+            // Категорія іншого датасету - не чіпаємо
+            if (currentId != null && !index.ids.contains(currentId)) continue;
+            if (Objects.equals(currentId, targetId)) continue;
+
+            if (currentId != null) deltas.merge(currentId, -1, Integer::sum);
+            if (targetId != null) deltas.merge(targetId, 1, Integer::sum);
+            product.setCategory(target);
+        }
+
+        deltas.values().removeIf(delta -> delta == 0);
+        if (!deltas.isEmpty()) {
+            List<Long> ids = new ArrayList<>(deltas.keySet());
+            Integer[] values = ids.stream().map(deltas::get).toArray(Integer[]::new);
+            categoryRepository.applyProductCountDeltas(dataset, ids.toArray(new Long[0]), values);
+        }
+
+        log.info("Category tree updated incrementally for dataset {}: {} products checked, {} nodes touched",
+                dataset.getName(), moves.size(), deltas.size());
+    }
+
+    /**
+     * Знаходимо (або готуємо до створення) категорію для продукту за тими ж правилами, що й повна побудова
+     */
+    private DatasetCategory resolveCategory(DataSet dataset, String externalCategoryName, CategoryIndex index) {
+        if (externalCategoryName == null) return null;
+
+        String normalizedName = normalizeCategoryName(externalCategoryName);
+        DatasetCategory existing = index.findByName(normalizedName);
+        if (existing != null) {
+            return existing;
+        }
+
+        String parentName = extractParentCategory(externalCategoryName);
+        // Як і при повній побудові: понад MAX_ROOT_CATEGORIES нових коренів не додаємо, категорія йде в "Інше"
+        if (parentName == null
+                || (index.findByName(parentName) == null && index.rootCount() >= MAX_ROOT_CATEGORIES)) {
+            DatasetCategory otherCategory = createOrGetCategory(dataset, null, OTHER_CATEGORY, index);
+            return createOrGetCategory(dataset, otherCategory, normalizedName, index);
+        }
+
+        DatasetCategory parent = createOrGetCategory(dataset, null, parentName, index);
+        if (index.childCount(parent) >= MAX_CHILDREN_PER_CATEGORY) {
+            return null;
+        }
+        return createOrGetCategory(dataset, parent, normalizedName, index);
+    }
+
     /**
      * Аналізуємо категорії та нормалізуємо їх
      */
@@ -80,7 +185,7 @@ public class SmartCategoryService {
     /**
      * Будуємо оптимальне дерево категорій
      */
-    private void buildOptimalTree(DataSet dataset, Map<String, CategoryInfo> categories) {
+    private void buildOptimalTree(DataSet dataset, Map<String, CategoryInfo> categories, CategoryIndex index) {
         // Групуємо категорії за потенційними батьківськими категоріями
         Map<String, List<CategoryInfo>> parentGroups = categories.values().stream()
                 .collect(Collectors.groupingBy(info ->
@@ -90,7 +195,7 @@ public class SmartCategoryService {
         List<String> rootCategories = selectRootCategories(parentGroups);
 
         for (String rootName : rootCategories) {
-            DatasetCategory rootCategory = createOrGetCategory(dataset, null, rootName);
+            DatasetCategory rootCategory = createOrGetCategory(dataset, null, rootName, index);
 
             // Додаємо дочірні категорії
             List<CategoryInfo> children = parentGroups.getOrDefault(rootName, new ArrayList<>());
@@ -100,16 +205,16 @@ public class SmartCategoryService {
             for (CategoryInfo child : children) {
                 if (childCount >= MAX_CHILDREN_PER_CATEGORY) break;
 
-                createOrGetCategory(dataset, rootCategory, child.normalizedName);
+                createOrGetCategory(dataset, rootCategory, child.normalizedName, index);
                 childCount++;
             }
         }
 
         // Створюємо категорію "Інше" для решти
         if (parentGroups.containsKey("ROOT")) {
-            DatasetCategory otherCategory = createOrGetCategory(dataset, null, "Інше");
+            DatasetCategory otherCategory = createOrGetCategory(dataset, null, OTHER_CATEGORY, index);
             for (CategoryInfo orphan : parentGroups.get("ROOT")) {
-                createOrGetCategory(dataset, otherCategory, orphan.normalizedName);
+                createOrGetCategory(dataset, otherCategory, orphan.normalizedName, index);
             }
         }
     }
@@ -132,29 +237,43 @@ public class SmartCategoryService {
     }
 
     /**
-     * Призначуємо продукти до створених категорій
+     * Призначуємо продукти до створених категорій одним UPDATE та перераховуємо лічильники
      */
-    private void assignProductsToCategories(DataSet dataset, Map<String, CategoryInfo> categories) {
+    private void assignProductsToCategories(DataSet dataset, Map<String, CategoryInfo> categories,
+                                            CategoryIndex index) {
+        List<Long> productIds = new ArrayList<>();
+        List<Long> categoryIds = new ArrayList<>();
+
         for (CategoryInfo info : categories.values()) {
-            Optional<DatasetCategory> categoryOpt = findCategoryByName(dataset, info.normalizedName);
+            DatasetCategory category = index.findByName(info.normalizedName);
+            if (category == null) continue;
 
-            if (categoryOpt.isPresent()) {
-                DatasetCategory category = categoryOpt.get();
-                for (Product product : info.products) {
-                    product.setCategory(category);
-                    category.addProduct(product);
+            for (Product product : info.products) {
+                if (product.getId() != null) {
+                    productIds.add(product.getId());
+                    categoryIds.add(category.getId());
                 }
             }
         }
+
+        if (!productIds.isEmpty()) {
+            int assigned = productRepository.assignCategories(
+                    productIds.toArray(new Long[0]), categoryIds.toArray(new Long[0]));
+            log.debug("Assigned {} products to categories", assigned);
+        }
+
+        // Лічильники рахуються в БД; контекст очищується, щоб не лишалось застарілих сутностей
+        categoryRepository.recalculateProductCounts(dataset);
     }
 
     /**
-     * Створюємо або отримуємо існуючу категорію
+     * Створюємо або отримуємо існуючу категорію (без запитів до БД, збереження - пакетом)
      */
-    private DatasetCategory createOrGetCategory(DataSet dataset, DatasetCategory parent, String name) {
-        Optional<DatasetCategory> existing = findCategoryByName(dataset, name);
-        if (existing.isPresent()) {
-            return existing.get();
+    private DatasetCategory createOrGetCategory(DataSet dataset, DatasetCategory parent, String name,
+                                                CategoryIndex index) {
+        DatasetCategory existing = index.findByName(name);
+        if (existing != null) {
+            return existing;
         }
 
         DatasetCategory category = new DatasetCategory();
@@ -167,12 +286,20 @@ public class SmartCategoryService {
         category.setAiGenerated(true);
         category.setAiConfidence(0.85);
 
-        if (parent != null) {
+        // Категорія з таким slug вже є - унікальний індекс не дасть створити другу
+        DatasetCategory sameSlug = index.findBySlug(category.getNameEn());
+        if (sameSlug != null) {
+            index.register(name, sameSlug);
+            return sameSlug;
+        }
+
+        // Не тягнемо lazy-колекцію дітей лише заради додавання
+        if (parent != null && Hibernate.isInitialized(parent.getChildren())) {
             parent.getChildren().add(category);
         }
 
-        category = categoryRepository.save(category);
-        log.debug("Created category: {} (parent: {})", name,
+        index.add(category);
+        log.debug("Prepared category: {} (parent: {})", name,
                 parent != null ? parent.getNameRu() : "ROOT");
 
         return category;
@@ -273,17 +400,6 @@ public class SmartCategoryService {
         return priority;
     }
 
-    /**
-     * Знаходимо категорію за назвою
-     */
-    private Optional<DatasetCategory> findCategoryByName(DataSet dataset, String name) {
-        return categoryRepository.findByDataset(dataset).stream()
-                .filter(cat -> name.equals(cat.getNameRu()) ||
-                        name.equals(cat.getNameUk()) ||
-                        name.equals(cat.getNameEn()))
-                .findFirst();
-    }
-
     /**
      * Переклад на українську (спрощений)
      */
@@ -335,6 +451,80 @@ public class SmartCategoryService {
         return categoryRepository.findByDatasetAndParentIsNullOrderByProductCountDesc(dataset);
     }
 
+    /**
+     * Індекс категорій датасету в пам'яті: за назвою (ru/uk/en) та slug
+     */
+    private static class CategoryIndex {
+        final Map<String, DatasetCategory> byName = new HashMap<>();
+        final Map<String, DatasetCategory> bySlug = new HashMap<>();
+        final Map<Long, Integer> childCounts = new HashMap<>();
+        final Set<Long> ids = new HashSet<>();
+        final List<DatasetCategory> created = new ArrayList<>();
+        final List<DatasetCategory> roots = new ArrayList<>();
+
+        CategoryIndex(List<DatasetCategory> existing) {
+            for (DatasetCategory category : existing) {
+                index(category);
+                ids.add(category.getId());
+                if (category.getParent() != null) {
+                    // getId() на lazy-проксі не ініціалізує батька
+                    childCounts.merge(category.getParent().getId(), 1, Integer::sum);
+                } else {
+                    roots.add(category);
+                }
+            }
+        }
+
+        /**
+         * Кореневі категорії без "Інше", яке повна побудова додає понад ліміт
+         */
+        int rootCount() {
+            return (int) roots.stream().filter(root -> !OTHER_CATEGORY.equals(root.getNameRu())).count();
+        }
+
+        int childCount(DatasetCategory parent) {
+            int count = parent.getId() != null ? childCounts.getOrDefault(parent.getId(), 0) : 0;
+            for (DatasetCategory category : created) {
+                if (category.getParent() == parent) count++;
+            }
+            return count;
+        }
+
+        DatasetCategory findByName(String name) {
+            return name != null ? byName.get(name) : null;
+        }
+
+        DatasetCategory findBySlug(String nameEn) {
+            if (nameEn == null) return null;
+            String slug = DatasetCategory.toSlug(nameEn);
+            return slug.isEmpty() ? null : bySlug.get(slug);
+        }
+
+        void add(DatasetCategory category) {
+            created.add(category);
+            if (category.getParent() == null) {
+                roots.add(category);
+            }
+            index(category);
+        }
+
+        void register(String name, DatasetCategory category) {
+            byName.putIfAbsent(name, category);
+        }
+
+        private void index(DatasetCategory category) {
+            Stream.of(category.getNameRu(), category.getNameUk(), category.getNameEn())
+                    .filter(Objects::nonNull)
+                    .forEach(n -> byName.putIfAbsent(n, category));
+            if (category.getNameEn() != null) {
+                String slug = DatasetCategory.toSlug(category.getNameEn());
+                if (!slug.isEmpty()) {
+                    bySlug.putIfAbsent(slug, category);
+                }
+            }
+        }
+    }
+
     /**
      * Допоміжний клас для інформації про категорію
      */
@@ -0,0 +1,101 @@
+package com.dropiq.engine.product.service;
+
+import com.dropiq.engine.product.entity.SyncJob;
+import com.dropiq.engine.product.model.SyncProgress;
+import com.dropiq.engine.product.model.SyncProgress.Phase;
+import com.dropiq.engine.product.support.SyncProgressTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory progress of sync jobs running in this engine instance.
+ * The job thread binds its tracker, so services down the call stack report through {@link #current()}
+ * without extra parameters. Subscribers get a sampled stream: at most one update per interval,
+ * and only when something changed.
+ */
+@Service
+public class SyncProgressService {
+
+    private final Map<Long, SyncProgressTracker> trackers = new ConcurrentHashMap<>();
+    private final ThreadLocal<SyncProgressTracker> current = new ThreadLocal<>();
+
+    @Value("${sync.progress.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${sync.progress.max-stream-minutes:60}")
+    private long maxStreamMinutes;
+
+    @Value("${sync.progress.retention-minutes:10}")
+    private long retentionMinutes;
+
+    /**
+     * Register a fresh tracker for a job that is about to run
+     */
+    public SyncProgressTracker start(SyncJob job) {
+        SyncProgressTracker tracker = new SyncProgressTracker(job.getId(), job.getEntityId());
+        trackers.put(job.getId(), tracker);
+        return tracker;
+    }
+
+    public void bind(SyncProgressTracker tracker) {
+        current.set(tracker);
+    }
+
+    public void unbind() {
+        current.remove();
+    }
+
+    /**
+     * Tracker of the job running on this thread, or a no-op one
+     */
+    public SyncProgressTracker current() {
+        SyncProgressTracker tracker = current.get();
+        return tracker != null ? tracker : SyncProgressTracker.NOOP;
+    }
+
+    public void finish(Long jobId, Phase phase) {
+        SyncProgressTracker tracker = trackers.get(jobId);
+        if (tracker != null) {
+            tracker.phase(phase);
+        }
+    }
+
+    public Optional<SyncProgress> snapshot(Long jobId) {
+        return Optional.ofNullable(trackers.get(jobId)).map(SyncProgressTracker::snapshot);
+    }
+
+    /**
+     * Progress updates of a job until it reaches a terminal phase; a job not started yet shows as QUEUED
+     */
+    public Flux<SyncProgress> stream(Long jobId, Long datasetId) {
+        SyncProgress queued = SyncProgress.builder()
+                .jobId(jobId)
+                .datasetId(datasetId)
+                .phase(Phase.QUEUED)
+                .version(-1)
+                .build();
+
+        return Flux.interval(Duration.ZERO, Duration.ofMillis(intervalMs))
+                .onBackpressureDrop()
+                .map(tick -> snapshot(jobId).orElse(queued))
+                .distinctUntilChanged(SyncProgress::getVersion)
+                .takeUntil(SyncProgress::isFinished)
+                .take(Duration.ofMinutes(maxStreamMinutes));
+    }
+
+    /**
+     * Drop trackers of jobs that finished a while ago
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictFinished() {
+        long cutoff = System.currentTimeMillis() - Duration.ofMinutes(retentionMinutes).toMillis();
+        trackers.values().removeIf(tracker -> tracker.isFinishedBefore(cutoff));
+    }
+}
@@ -1,22 +1,24 @@
 package com.dropiq.engine.product.service;
 
+import com.dropiq.engine.monitoring.SyncMetrics;
 import com.dropiq.engine.product.entity.DataSet;
 
 import com.dropiq.engine.product.entity.SyncHistory;
 import com.dropiq.engine.product.entity.SyncJob;
 import com.dropiq.engine.product.model.DataSetStatus;
+import com.dropiq.engine.product.model.SyncProgress;
 
 
 import com.dropiq.engine.product.model.SyncJobStatus;
 import com.dropiq.engine.product.model.SyncJobType;
 import com.dropiq.engine.product.repository.SyncHistoryRepository;
 import com.dropiq.engine.product.repository.SyncJobRepository;
+import com.dropiq.engine.product.support.SyncProgressTracker;
 import com.dropiq.engine.user.entity.User;
 import com.dropiq.engine.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -37,6 +39,8 @@ public class SyncSchedulingService {
     private final SyncHistoryRepository syncHistoryRepository;
     private final DataSetService dataSetService;
     private final UserService userService;
+    private final SyncProgressService syncProgressService;
+    private final SyncMetrics syncMetrics;
 
     private final ExecutorService executorService = Executors.newSingleThreadExecutor();
 
@@ -54,11 +58,6 @@ public class SyncSchedulingService {
     @Transactional
     public SyncJob scheduleSync(Long userId, String entityType, Long entityId, SyncJobType jobType,
                                 LocalDateTime scheduledAt, Integer priority) {
-        // Check user quota
-        if (userService.checkQuotaLimit(userId, "SYNCS")) {
-            throw new IllegalStateException("User has reached sync quota limit");
-        }
-
         // Check for existing pending jobs
         Optional<SyncJob> existingJob = syncJobRepository.findPendingJobForEntity(entityType, entityId);
         if (existingJob.isPresent()) {
@@ -69,6 +68,11 @@ public class SyncSchedulingService {
             return syncJobRepository.save(job);
         }
 
+        // Take quota for the new job; rolled back with the transaction if the job is not created
+        if (!userService.tryConsumeQuota(userId, "SYNCS", 1)) {
+            throw new IllegalStateException("User has reached sync quota limit");
+        }
+
         // Create new sync job
         SyncJob job = new SyncJob();
         job.setJobType(jobType);
@@ -83,9 +87,6 @@ public class SyncSchedulingService {
         job = syncJobRepository.save(job);
         log.info("Scheduled new sync job {} for {}: {}", job.getId(), entityType, entityId);
 
-        // Update user quota
-        userService.updateQuotaUsage(userId, "SYNCS", 1);
-
         return job;
     }
 
@@ -119,12 +120,15 @@ public class SyncSchedulingService {
      */
     @Scheduled(fixedDelay = 30000) // Run every 30 seconds
     public void processPendingJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        syncMetrics.queueDepth((int) syncJobRepository.countByStatusAndScheduledAtLessThanEqual(SyncJobStatus.PENDING, now),
+                runningJobs.size());
+
         if (runningJobs.size() >= maxConcurrentJobs) {
             log.debug("Max concurrent jobs reached, skipping processing");
             return;
         }
 
-        LocalDateTime now = LocalDateTime.now();
         List<SyncJob> pendingJobs = syncJobRepository.findJobsToProcess(
                 SyncJobStatus.PENDING, now, Pageable.ofSize(maxConcurrentJobs - runningJobs.size())
         );
@@ -147,14 +151,18 @@ public class SyncSchedulingService {
 
         // Create sync history entry
         SyncHistory history = createSyncHistory(job);
+        SyncProgressTracker progress = syncProgressService.start(job);
 
         // Submit job to executor
         Future<?> future = executorService.submit(() -> {
+            syncProgressService.bind(progress);
             try {
                 executeJob(job, history);
             } catch (Exception e) {
                 log.error("Error executing job {}: {}", job.getId(), e.getMessage(), e);
                 handleJobFailure(job, history, e);
+            } finally {
+                syncProgressService.unbind();
             }
         });
 
@@ -168,7 +176,6 @@ public class SyncSchedulingService {
      * Execute the actual sync job
      */
     @Transactional
-    @CacheEvict(value = {"datasets", "products"}, allEntries = true)
     public void executeJob(SyncJob job, SyncHistory history) {
         log.info("Executing job {} of type {}", job.getId(), job.getJobType());
 
@@ -201,6 +208,8 @@ public class SyncSchedulingService {
 
         // Remove from running jobs
         runningJobs.remove(job.getId());
+        syncProgressService.finish(job.getId(), SyncProgress.Phase.COMPLETED);
+        recordJob(job, "completed");
 
         log.info("Job {} completed successfully", job.getId());
     }
@@ -305,6 +314,16 @@ public class SyncSchedulingService {
 
         // Remove from running jobs
         runningJobs.remove(job.getId());
+        syncProgressService.finish(job.getId(), job.getStatus() == SyncJobStatus.PENDING
+                ? SyncProgress.Phase.RETRYING : SyncProgress.Phase.FAILED);
+        recordJob(job, job.getStatus() == SyncJobStatus.PENDING ? "retrying" : "failed");
+    }
+
+    private void recordJob(SyncJob job, String outcome) {
+        if (job.getStartedAt() != null) {
+            syncMetrics.jobFinished(job.getJobType(), outcome,
+                    Duration.between(job.getStartedAt(), LocalDateTime.now()).toMillis());
+        }
     }
 
     /**
@@ -361,6 +380,7 @@ public class SyncSchedulingService {
                 });
 
                 runningJobs.remove(jobId);
+                syncProgressService.finish(jobId, SyncProgress.Phase.FAILED);
             }
         }, timeoutMinutes, TimeUnit.MINUTES);
     }
@@ -374,6 +394,17 @@ public class SyncSchedulingService {
                 .orElse(null);
     }
 
+    /**
+     * Get dataset sync jobs by id, for progress polling; only jobs of datasets the user owns are returned
+     */
+    public List<SyncJob> getDatasetJobs(String createdBy, Collection<Long> jobIds) {
+        Map<Long, Boolean> owned = new HashMap<>();
+        return syncJobRepository.findAllById(jobIds).stream()
+                .filter(job -> "DATASET".equals(job.getEntityType()) && job.getEntityId() != null)
+                .filter(job -> owned.computeIfAbsent(job.getEntityId(), id -> dataSetService.isOwner(id, createdBy)))
+                .toList();
+    }
+
     /**
      * Get sync history for entity
      */
@@ -407,6 +438,7 @@ public class SyncSchedulingService {
         job.setStatus(SyncJobStatus.CANCELLED);
         job.setCompletedAt(LocalDateTime.now());
         syncJobRepository.save(job);
+        syncProgressService.finish(jobId, SyncProgress.Phase.CANCELLED);
 
         return true;
     }
@@ -0,0 +1,125 @@
+package com.dropiq.engine.product.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Selects where Product images, keywords, tags and attributes live.
+ * TABLE keeps them in the element collection tables, JSONB in columns on the product row.
+ * <p>
+ * The mode is fixed at startup, before the entity manager factory is built: the matching
+ * {@code META-INF/product-collections-<mode>.xml} marks the other representation transient, so Hibernate maps
+ * only one of them. When the configured mode differs from the one recorded in {@code product_collection_storage},
+ * the data is copied over in full from the representation that was in use.
+ * <p>
+ * JSONB mode is engine-only: iq-admin still maps the element collection tables, which JSONB mode stops writing.
+ * It is refused at startup unless {@code product.collections.storage.engine-only=true} confirms that no iq-admin
+ * reads this database.
+ */
+@Slf4j
+@Component
+public class ProductCollectionStorage {
+
+    public enum Mode { TABLE, JSONB }
+
+    private static final AtomicReference<Mode> MODE = new AtomicReference<>();
+
+    public ProductCollectionStorage(DataSource dataSource, @Value("${product.collections.storage:table}") String storage,
+                                    @Value("${product.collections.storage.engine-only:false}") boolean engineOnly) {
+        Mode configured = Mode.valueOf(storage.trim().toUpperCase());
+        if (configured == Mode.JSONB && !engineOnly) {
+            throw new IllegalStateException("Product collections storage jsonb is engine-only: iq-admin reads "
+                    + "product_images and product_attributes, which jsonb mode stops writing. Set "
+                    + "product.collections.storage.engine-only=true only when no iq-admin uses this database");
+        }
+        if (!MODE.compareAndSet(null, configured) && MODE.get() != configured) {
+            throw new IllegalStateException("Product collections storage already started as " + MODE.get()
+                    + ", cannot switch to " + configured + " at runtime");
+        }
+        migrate(dataSource, configured);
+        log.info("Product collections storage mode: {}", configured);
+    }
+
+    /**
+     * TABLE until the storage bean has started, matching the default mapping
+     */
+    public static boolean isJsonb() {
+        return MODE.get() == Mode.JSONB;
+    }
+
+    private static void migrate(DataSource dataSource, Mode configured) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            // A fresh database gets its schema from Hibernate in the configured mode, there is nothing to copy
+            boolean existingData = tableExists(connection, "product");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS product_collection_storage (mode varchar(10) NOT NULL)");
+                // Serializes instances starting at the same time
+                statement.execute("LOCK TABLE product_collection_storage IN EXCLUSIVE MODE");
+            }
+
+            Mode previous = recordedMode(connection);
+            if (previous != configured) {
+                if (existingData) {
+                    log.info("Moving product collections from {} to {} storage", previous, configured);
+                    ScriptUtils.executeSqlScript(connection, new ClassPathResource(configured == Mode.JSONB
+                            ? "db/product-collections-to-jsonb.sql"
+                            : "db/product-collections-to-table.sql"));
+                }
+                try (PreparedStatement delete = connection.prepareStatement("DELETE FROM product_collection_storage");
+                     PreparedStatement insert = connection.prepareStatement(
+                             "INSERT INTO product_collection_storage (mode) VALUES (?)")) {
+                    delete.executeUpdate();
+                    insert.setString(1, configured.name());
+                    insert.executeUpdate();
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to prepare product collections storage " + configured, e);
+        }
+    }
+
+    /**
+     * Databases from before the storage record kept their collections in the tables
+     */
+    private static Mode recordedMode(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT mode FROM product_collection_storage")) {
+            return rows.next() ? Mode.valueOf(rows.getString(1)) : Mode.TABLE;
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT EXISTS (SELECT 1 FROM "
+                + "information_schema.tables WHERE table_schema = current_schema() AND table_name = ?)")) {
+            statement.setString(1, table);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() && rows.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Fixes the mode before Hibernate builds its metadata and before any entity is loaded
+     */
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependency() {
+            super(ProductCollectionStorage.class);
+        }
+    }
+}
@@ -49,6 +49,7 @@ public class ProductMapper {
             // Category fields
             product.setExternalCategoryId(truncateString(unifiedProduct.getCategoryId(), 255));
             product.setExternalCategoryName(truncateString(unifiedProduct.getCategoryName(), 255));
+            product.setExternalBrand(truncateString(unifiedProduct.getBrand(), 100));
 
             // Source information
             product.setSourceType(unifiedProduct.getSourceType());
@@ -172,6 +173,7 @@ public class ProductMapper {
             unifiedProduct.setAvailable(Boolean.TRUE.equals(product.getAvailable()));
             unifiedProduct.setCategoryId(product.getExternalCategoryId());
             unifiedProduct.setCategoryName(product.getExternalCategoryName());
+            unifiedProduct.setBrand(product.getExternalBrand());
             unifiedProduct.setSourceType(product.getSourceType());
             unifiedProduct.setSourceUrl(product.getSourceUrl());
             unifiedProduct.setLastUpdated(product.getUpdatedAt() != null ? product.getUpdatedAt() : LocalDateTime.now());
@@ -320,6 +322,7 @@ public class ProductMapper {
             existingProduct.setAvailable(Boolean.TRUE.equals(source.getAvailable()));
             existingProduct.setExternalCategoryId(truncateString(source.getCategoryId(), 255));
             existingProduct.setExternalCategoryName(truncateString(source.getCategoryName(), 255));
+            existingProduct.setExternalBrand(truncateString(source.getBrand(), 100));
             existingProduct.setSourceType(source.getSourceType());
             existingProduct.setSourceUrl(truncateString(source.getSourceUrl(), MAX_URL_LENGTH));
             existingProduct.setUpdatedAt(LocalDateTime.now());
@@ -371,6 +374,7 @@ public class ProductMapper {
             product.setStock(existingUnifiedProduct.getStock() != null ? existingUnifiedProduct.getStock() : 0);
             product.setAvailable(Boolean.TRUE.equals(existingUnifiedProduct.getAvailable()) && product.getStock() > 0);
             product.setLastSync(LocalDateTime.now());
+            product.setExternalBrand(truncateString(existingUnifiedProduct.getBrand(), 100));
 
             // Update price if changed
             if (existingUnifiedProduct.getPrice() != null && existingUnifiedProduct.getPrice() > 0) {
@@ -383,6 +387,24 @@ public class ProductMapper {
         }
     }
 
+    /**
+     * Sync source category; returns true if the product moved to another category
+     */
+    public boolean syncCategory(Product product, UnifiedProduct source) {
+        if (product == null || source == null) {
+            return false;
+        }
+
+        String categoryName = truncateString(source.getCategoryName(), 255);
+        if (Objects.equals(product.getExternalCategoryName(), categoryName)) {
+            return false;
+        }
+
+        product.setExternalCategoryId(truncateString(source.getCategoryId(), 255));
+        product.setExternalCategoryName(categoryName);
+        return true;
+    }
+
     /**
      * Create a partial copy with only essential fields
      */
@@ -0,0 +1,43 @@
+package com.dropiq.engine.product.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+@Converter
+public class StringSetToJsonConverter implements AttributeConverter<Set<String>, String> {
+
+    private static final TypeReference<HashSet<String>> TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(Set<String> attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error converting set to JSON", e);
+        }
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.isEmpty()) {
+            return new HashSet<>();
+        }
+        try {
+            return objectMapper.readValue(dbData, TYPE);
+        } catch (IOException e) {
+            throw new RuntimeException("Error converting JSON to set", e);
+        }
+    }
+}
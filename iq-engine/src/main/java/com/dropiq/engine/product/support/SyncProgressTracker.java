@@ -0,0 +1,163 @@
+package com.dropiq.engine.product.support;
+
+import com.dropiq.engine.product.model.SyncProgress;
+import com.dropiq.engine.product.model.SyncProgress.Phase;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mutable counters of one sync job.
+ * The sync thread only bumps counters; subscribers sample {@link #snapshot()} on their own schedule,
+ * so reporting progress costs the sync a few atomic increments and nothing else.
+ */
+public class SyncProgressTracker {
+
+    /** Tracker for work that runs outside a sync job */
+    public static final SyncProgressTracker NOOP = new SyncProgressTracker(null, null, false);
+
+    private final Long jobId;
+    private final Long datasetId;
+    private final boolean enabled;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder fetched = new LongAdder();
+    private final LongAdder parsed = new LongAdder();
+    private final LongAdder upserted = new LongAdder();
+    private final LongAdder batchesExported = new LongAdder();
+    private final LongAdder aiGroupsAnalyzed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private volatile Phase phase = Phase.QUEUED;
+    private volatile long finishedAtMillis;
+
+    // ETA inputs for the current phase
+    private volatile long productsExpected;
+    private volatile long workTotal;
+    private final LongAdder workDone = new LongAdder();
+    private volatile long workStartedNanos = System.nanoTime();
+
+    public SyncProgressTracker(Long jobId, Long datasetId) {
+        this(jobId, datasetId, true);
+    }
+
+    private SyncProgressTracker(Long jobId, Long datasetId, boolean enabled) {
+        this.jobId = jobId;
+        this.datasetId = datasetId;
+        this.enabled = enabled;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void phase(Phase phase) {
+        if (!enabled) {
+            return;
+        }
+        this.phase = phase;
+        if (phase.isTerminal()) {
+            finishedAtMillis = System.currentTimeMillis();
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Start a measurable step of the given size; parsed products, exported batches
+     * and analyzed AI groups count towards it for the ETA
+     */
+    public void expect(Phase phase, long units) {
+        if (!enabled) {
+            return;
+        }
+        workTotal = units;
+        workDone.reset();
+        workStartedNanos = System.nanoTime();
+        phase(phase);
+    }
+
+    public void fetched(long count) {
+        if (enabled) {
+            fetched.add(count);
+            productsExpected += count;
+            version.incrementAndGet();
+        }
+    }
+
+    public void parsed() {
+        if (enabled) {
+            parsed.increment();
+            advance();
+        }
+    }
+
+    public void upserted(long count) {
+        if (enabled) {
+            upserted.add(count);
+            version.incrementAndGet();
+        }
+    }
+
+    public void batchExported() {
+        if (enabled) {
+            batchesExported.increment();
+            advance();
+        }
+    }
+
+    public void aiGroupAnalyzed() {
+        if (enabled) {
+            aiGroupsAnalyzed.increment();
+            advance();
+        }
+    }
+
+    public void error() {
+        if (enabled) {
+            errors.increment();
+            version.incrementAndGet();
+        }
+    }
+
+    public boolean isFinishedBefore(long epochMillis) {
+        return phase.isTerminal() && finishedAtMillis < epochMillis;
+    }
+
+    public SyncProgress snapshot() {
+        return SyncProgress.builder()
+                .jobId(jobId)
+                .datasetId(datasetId)
+                .phase(phase)
+                .version(version.get())
+                .productsExpected(productsExpected)
+                .productsFetched(fetched.sum())
+                .productsParsed(parsed.sum())
+                .productsUpserted(upserted.sum())
+                .batchesExported(batchesExported.sum())
+                .aiGroupsAnalyzed(aiGroupsAnalyzed.sum())
+                .errors(errors.sum())
+                .startedAt(startedAt)
+                .etaSeconds(estimateRemainingSeconds())
+                .build();
+    }
+
+    private void advance() {
+        workDone.increment();
+        version.incrementAndGet();
+    }
+
+    private Long estimateRemainingSeconds() {
+        long done = workDone.sum();
+        long total = workTotal;
+        if (phase.isTerminal()) {
+            return 0L;
+        }
+        if (done == 0 || total <= done) {
+            return null;
+        }
+        double elapsedSeconds = (System.nanoTime() - workStartedNanos) / 1_000_000_000.0;
+        return Math.round(elapsedSeconds / done * (total - done));
+    }
+}
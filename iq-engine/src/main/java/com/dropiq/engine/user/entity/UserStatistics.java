@@ -0,0 +1,44 @@
+package com.dropiq.engine.user.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user dashboard counters, recalculated when datasets sync or change status.
+ * sync* columns hold the values from before the last sync so the dashboard can show deltas.
+ */
+@Data
+@Entity
+@Table(name = "user_statistics")
+public class UserStatistics {
+
+    @Id
+    @Column(name = "user_id", length = 100)
+    private String userId;
+
+    @Column(name = "total_datasets")
+    private Integer totalDatasets = 0;
+
+    @Column(name = "active_datasets")
+    private Integer activeDatasets = 0;
+
+    @Column(name = "total_products")
+    private Integer totalProducts = 0;
+
+    @Column(name = "active_products")
+    private Integer activeProducts = 0;
+
+    @Column(name = "sync_base_total_products")
+    private Integer syncBaseTotalProducts;
+
+    @Column(name = "sync_base_active_products")
+    private Integer syncBaseActiveProducts;
+
+    @Column(name = "last_sync_at")
+    private LocalDateTime lastSyncAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -2,6 +2,7 @@ package com.dropiq.engine.user.repository;
 
 import com.dropiq.engine.user.entity.UserQuota;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,4 +21,26 @@ public interface UserQuotaRepository extends JpaRepository<UserQuota, Long> {
 
     @Query("SELECT q FROM UserQuota q WHERE q.periodEnd < CURRENT_TIMESTAMP")
     List<UserQuota> findExpiredQuotas();
+
+    @Query("SELECT COUNT(q) > 0 FROM UserQuota q WHERE q.user.id = :userId AND q.quotaType = :quotaType")
+    boolean existsByUserIdAndQuotaType(@Param("userId") Long userId, @Param("quotaType") String quotaType);
+
+    /**
+     * Add usage only if it stays within max_amount (NULL is unlimited), in one statement; an expired period is
+     * restarted first. Returns 0 when the quota is exhausted or does not exist. Needs a surrounding transaction.
+     */
+    @Modifying
+    @Query(value = "UPDATE user_quota SET " +
+            "used_amount = CASE WHEN period_end < LOCALTIMESTAMP THEN :amount ELSE used_amount + :amount END, " +
+            "period_start = CASE WHEN period_end < LOCALTIMESTAMP THEN LOCALTIMESTAMP ELSE period_start END, " +
+            "period_end = CASE WHEN period_end >= LOCALTIMESTAMP THEN period_end " +
+            "WHEN period_type = 'DAILY' THEN LOCALTIMESTAMP + INTERVAL '1 day' " +
+            "WHEN period_type = 'MONTHLY' THEN LOCALTIMESTAMP + INTERVAL '1 month' " +
+            "WHEN period_type = 'YEARLY' THEN LOCALTIMESTAMP + INTERVAL '1 year' ELSE period_end END, " +
+            "last_updated = LOCALTIMESTAMP " +
+            "WHERE user_id = :userId AND quota_type = :quotaType " +
+            "AND (max_amount IS NULL " +
+            "OR (CASE WHEN period_end < LOCALTIMESTAMP THEN 0 ELSE used_amount END) + :amount <= max_amount)",
+            nativeQuery = true)
+    int tryConsume(@Param("userId") Long userId, @Param("quotaType") String quotaType, @Param("amount") int amount);
 }
\ No newline at end of file
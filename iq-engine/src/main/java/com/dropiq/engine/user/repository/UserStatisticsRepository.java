@@ -0,0 +1,47 @@
+package com.dropiq.engine.user.repository;
+
+import com.dropiq.engine.user.entity.UserStatistics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserStatisticsRepository extends JpaRepository<UserStatistics, String> {
+
+    String CURRENT_COUNTS = "SELECT :userId, " +
+            "(SELECT COUNT(*) FROM dataset d WHERE d.created_by = :userId), " +
+            "(SELECT COUNT(*) FROM dataset d WHERE d.created_by = :userId AND d.status = 'ACTIVE'), " +
+            "(SELECT COUNT(*) FROM dataset_products dp JOIN dataset d ON d.id = dp.dataset_id " +
+            "WHERE d.created_by = :userId), " +
+            "(SELECT COUNT(*) FROM dataset_products dp JOIN dataset d ON d.id = dp.dataset_id " +
+            "JOIN product p ON p.id = dp.product_id WHERE d.created_by = :userId AND p.status = 'ACTIVE'), " +
+            "now()";
+
+    String UPDATE_COUNTS = "total_datasets = EXCLUDED.total_datasets, " +
+            "active_datasets = EXCLUDED.active_datasets, " +
+            "total_products = EXCLUDED.total_products, " +
+            "active_products = EXCLUDED.active_products, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO user_statistics " +
+            "(user_id, total_datasets, active_datasets, total_products, active_products, updated_at) " +
+            CURRENT_COUNTS +
+            " ON CONFLICT (user_id) DO UPDATE SET " + UPDATE_COUNTS, nativeQuery = true)
+    int refresh(@Param("userId") String userId);
+
+    /**
+     * Same as refresh, but first keeps the stored product counts as the pre-sync baseline
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO user_statistics " +
+            "(user_id, total_datasets, active_datasets, total_products, active_products, updated_at) " +
+            CURRENT_COUNTS +
+            " ON CONFLICT (user_id) DO UPDATE SET " +
+            "sync_base_total_products = user_statistics.total_products, " +
+            "sync_base_active_products = user_statistics.active_products, " +
+            "last_sync_at = EXCLUDED.updated_at, " + UPDATE_COUNTS, nativeQuery = true)
+    int refreshAfterSync(@Param("userId") String userId);
+}
@@ -90,7 +90,25 @@ public class UserService {
         }
 
         UserQuota userQuota = quota.get();
-        return userQuota.getUsedAmount() >= userQuota.getMaxAmount();
+        // No max amount means unlimited
+        return userQuota.getMaxAmount() != null && userQuota.getUsedAmount() >= userQuota.getMaxAmount();
+    }
+
+    /**
+     * Atomically take quota: a single conditional UPDATE, so concurrent callers cannot overrun max_amount.
+     * Returns false when the quota is exhausted; users without this quota type are not limited.
+     */
+    @Transactional
+    public boolean tryConsumeQuota(Long userId, String quotaType, int amount) {
+        if (quotaRepository.tryConsume(userId, quotaType, amount) == 1) {
+            return true;
+        }
+
+        if (!quotaRepository.existsByUserIdAndQuotaType(userId, quotaType)) {
+            log.warn("No quota found for user {} and type {}", userId, quotaType);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -0,0 +1,71 @@
+package com.dropiq.engine.user.service;
+
+import com.dropiq.engine.user.repository.UserStatisticsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps user_statistics in line with datasets and products.
+ * Counters are recalculated in their own transaction after the caller commits,
+ * so they see committed data and a failure here never rolls back the triggering operation.
+ */
+@Slf4j
+@Service
+public class UserStatisticsService {
+
+    private final UserStatisticsRepository statisticsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserStatisticsService(UserStatisticsRepository statisticsRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.statisticsRepository = statisticsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Recalculate counters after dataset or product status changes
+     */
+    public void refresh(String userId) {
+        afterCommit(userId, statisticsRepository::refresh);
+    }
+
+    /**
+     * Recalculate counters after a completed sync, keeping previous values for deltas
+     */
+    public void recordSync(String userId) {
+        afterCommit(userId, statisticsRepository::refreshAfterSync);
+    }
+
+    private void afterCommit(String userId, ToIntFunction<String> update) {
+        if (userId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    run(userId, update);
+                }
+            });
+        } else {
+            run(userId, update);
+        }
+    }
+
+    private void run(String userId, ToIntFunction<String> update) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> update.applyAsInt(userId));
+        } catch (Exception e) {
+            log.warn("Failed to update statistics for user {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+-- Switch from TABLE to JSONB storage: rebuilds every product's JSONB columns from the element collection tables.
+-- Runs once per switch (see ProductCollectionStorage); the columns are recomputed, not merged, so nothing stale survives.
+
+ALTER TABLE product ADD COLUMN IF NOT EXISTS image_urls_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS keywords_ua_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS keywords_ru_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS keywords_en_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS tags_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS attributes_json jsonb;
+
+UPDATE product p SET
+    image_urls_json = COALESCE(
+        (SELECT jsonb_agg(i.image_url ORDER BY i.image_order) FROM product_images i WHERE i.product_id = p.id),
+        '[]'::jsonb),
+    keywords_ua_json = COALESCE(
+        (SELECT jsonb_agg(k.keyword) FROM product_keywords_ua k WHERE k.product_id = p.id),
+        '[]'::jsonb),
+    keywords_ru_json = COALESCE(
+        (SELECT jsonb_agg(k.keyword) FROM product_keywords_ru k WHERE k.product_id = p.id),
+        '[]'::jsonb),
+    keywords_en_json = COALESCE(
+        (SELECT jsonb_agg(k.keyword) FROM product_keywords_en k WHERE k.product_id = p.id),
+        '[]'::jsonb),
+    tags_json = COALESCE(
+        (SELECT jsonb_agg(t.tag) FROM product_tags t WHERE t.product_id = p.id),
+        '[]'::jsonb),
+    attributes_json = COALESCE(
+        (SELECT jsonb_object_agg(a.attr_key, a.attr_value) FROM product_attributes a WHERE a.product_id = p.id),
+        '{}'::jsonb);
@@ -0,0 +1,73 @@
+-- Switch from JSONB to TABLE storage: rebuilds the element collection tables from every product's JSONB columns.
+-- Runs once per switch (see ProductCollectionStorage); a database created in JSONB mode gets the tables here.
+
+CREATE TABLE IF NOT EXISTS product_images (
+    product_id bigint NOT NULL REFERENCES product (id),
+    image_order integer NOT NULL,
+    image_url varchar(500),
+    PRIMARY KEY (product_id, image_order)
+);
+CREATE TABLE IF NOT EXISTS product_keywords_ua (
+    product_id bigint NOT NULL REFERENCES product (id),
+    keyword varchar(100) NOT NULL,
+    PRIMARY KEY (product_id, keyword)
+);
+CREATE TABLE IF NOT EXISTS product_keywords_ru (
+    product_id bigint NOT NULL REFERENCES product (id),
+    keyword varchar(100) NOT NULL,
+    PRIMARY KEY (product_id, keyword)
+);
+CREATE TABLE IF NOT EXISTS product_keywords_en (
+    product_id bigint NOT NULL REFERENCES product (id),
+    keyword varchar(100) NOT NULL,
+    PRIMARY KEY (product_id, keyword)
+);
+CREATE TABLE IF NOT EXISTS product_tags (
+    product_id bigint NOT NULL REFERENCES product (id),
+    tag varchar(50) NOT NULL,
+    PRIMARY KEY (product_id, tag)
+);
+CREATE TABLE IF NOT EXISTS product_attributes (
+    product_id bigint NOT NULL REFERENCES product (id),
+    attr_key varchar(100) NOT NULL,
+    attr_value varchar(500),
+    PRIMARY KEY (product_id, attr_key)
+);
+
+ALTER TABLE product ADD COLUMN IF NOT EXISTS image_urls_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS keywords_ua_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS keywords_ru_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS keywords_en_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS tags_json jsonb;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS attributes_json jsonb;
+
+DELETE FROM product_images;
+INSERT INTO product_images (product_id, image_order, image_url)
+SELECT p.id, e.ordinality - 1, e.value
+FROM product p CROSS JOIN LATERAL jsonb_array_elements_text(COALESCE(p.image_urls_json, '[]'::jsonb))
+    WITH ORDINALITY AS e(value, ordinality);
+
+DELETE FROM product_keywords_ua;
+INSERT INTO product_keywords_ua (product_id, keyword)
+SELECT DISTINCT p.id, e.value
+FROM product p CROSS JOIN LATERAL jsonb_array_elements_text(COALESCE(p.keywords_ua_json, '[]'::jsonb)) AS e(value);
+
+DELETE FROM product_keywords_ru;
+INSERT INTO product_keywords_ru (product_id, keyword)
+SELECT DISTINCT p.id, e.value
+FROM product p CROSS JOIN LATERAL jsonb_array_elements_text(COALESCE(p.keywords_ru_json, '[]'::jsonb)) AS e(value);
+
+DELETE FROM product_keywords_en;
+INSERT INTO product_keywords_en (product_id, keyword)
+SELECT DISTINCT p.id, e.value
+FROM product p CROSS JOIN LATERAL jsonb_array_elements_text(COALESCE(p.keywords_en_json, '[]'::jsonb)) AS e(value);
+
+DELETE FROM product_tags;
+INSERT INTO product_tags (product_id, tag)
+SELECT DISTINCT p.id, e.value
+FROM product p CROSS JOIN LATERAL jsonb_array_elements_text(COALESCE(p.tags_json, '[]'::jsonb)) AS e(value);
+
+DELETE FROM product_attributes;
+INSERT INTO product_attributes (product_id, attr_key, attr_value)
+SELECT p.id, e.key, e.value
+FROM product p CROSS JOIN LATERAL jsonb_each_text(COALESCE(p.attributes_json, '{}'::jsonb)) AS e(key, value);
@@ -0,0 +1,127 @@
+package com.dropiq.engine;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.entity.DataSet;
+import com.dropiq.engine.product.entity.Product;
+import com.dropiq.engine.product.model.ProductStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductIdentityTest {
+
+    private static final int PRODUCT_COUNT = 50_000;
+
+    @Test
+    @DisplayName("Products keep their identity in a HashSet after being modified and persisted")
+    void productsStayFindableAfterMutation() {
+        List<Product> products = createProducts();
+
+        Set<Product> set = new HashSet<>(products);
+        assertEquals(PRODUCT_COUNT, set.size());
+
+        long id = 1;
+        for (Product product : products) {
+            product.setId(id++);
+            product.setOriginalPrice(product.getOriginalPrice().add(BigDecimal.ONE));
+            product.setStatus(ProductStatus.ACTIVE);
+            product.getImageUrls().add("https://cdn.example.com/" + product.getExternalId() + ".jpg");
+            product.getAttributes().put("color", "black");
+            product.getTags().add("sale");
+        }
+
+        for (Product product : products) {
+            assertTrue(set.contains(product));
+        }
+        for (int i = 0; i < PRODUCT_COUNT; i += 2) {
+            assertTrue(set.remove(products.get(i)));
+        }
+        assertEquals(PRODUCT_COUNT / 2, set.size());
+        assertFalse(set.contains(products.get(0)));
+        assertTrue(set.contains(products.get(1)));
+    }
+
+    @Test
+    @DisplayName("Products are equal only when they are the same row")
+    void equalityFollowsDatabaseId() {
+        Product row = createProduct(SourceType.MYDROP, "42");
+        row.setId(7L);
+        Product sameRow = createProduct(SourceType.MYDROP, "42");
+        sameRow.setId(7L);
+        sameRow.setExternalName("Another name");
+        Product copy = createProduct(SourceType.MYDROP, "42");
+        copy.setId(8L);
+
+        assertEquals(row, sameRow);
+        assertEquals(row.hashCode(), sameRow.hashCode());
+        assertNotEquals(row, copy);
+        assertNotEquals(createProduct(SourceType.MYDROP, "42"), createProduct(SourceType.MYDROP, "42"));
+        assertNotEquals(new Product(), new Product());
+    }
+
+    @Test
+    @DisplayName("Copies of a product in merged datasets stay separate set members")
+    void copiesWithSameSourceKeyAreKept() {
+        DataSet merged = new DataSet();
+        Product original = createProduct(SourceType.MYDROP, "42");
+        original.setId(1L);
+        Product copy = createProduct(SourceType.MYDROP, "42");
+        copy.setId(2L);
+        Product unsaved = createProduct(SourceType.MYDROP, "42");
+
+        merged.addProducts(List.of(original, copy, unsaved));
+
+        assertEquals(3, merged.getProducts().size());
+        assertTrue(merged.getProducts().containsAll(List.of(original, copy, unsaved)));
+
+        merged.removeProduct(copy);
+        assertEquals(2, merged.getProducts().size());
+        assertTrue(merged.getProducts().contains(original));
+        assertFalse(merged.getProducts().contains(copy));
+    }
+
+    @Test
+    @DisplayName("Dataset add and remove stay correct for 50k products")
+    void datasetAddAndRemove() {
+        List<Product> products = createProducts();
+        DataSet dataSet = new DataSet();
+
+        dataSet.addProducts(products);
+        assertEquals(PRODUCT_COUNT, dataSet.getProductCount());
+        assertEquals(PRODUCT_COUNT, dataSet.getTotalProducts());
+
+        Product product = products.get(PRODUCT_COUNT / 2);
+        product.setMarkupPercentage(BigDecimal.valueOf(45));
+        product.getKeywordsUa().add("знижка");
+        dataSet.removeProduct(product);
+
+        assertEquals(PRODUCT_COUNT - 1, dataSet.getProductCount());
+        assertFalse(dataSet.getProducts().contains(product));
+        assertFalse(product.getDatasets().contains(dataSet));
+        assertTrue(dataSet.getProducts().contains(products.get(0)));
+    }
+
+    private static List<Product> createProducts() {
+        List<Product> products = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(createProduct(i % 2 == 0 ? SourceType.MYDROP : SourceType.EASYDROP, "P-" + i));
+        }
+        return products;
+    }
+
+    private static Product createProduct(SourceType sourceType, String externalId) {
+        Product product = new Product();
+        product.setSourceType(sourceType);
+        product.setExternalId(externalId);
+        product.setExternalName("Product " + externalId);
+        product.setOriginalPrice(BigDecimal.valueOf(100));
+        return product;
+    }
+}
@@ -0,0 +1,225 @@
+package com.dropiq.engine.integration.ai;
+
+import com.dropiq.engine.integration.ai.model.AIAnalysisRequest;
+import com.dropiq.engine.integration.ai.model.FeatureProductAnalysisResult;
+import com.dropiq.engine.monitoring.SyncMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AIProviderRouterTest {
+
+    private static final AIAnalysisRequest REQUEST = AIAnalysisRequest.builder()
+            .productName("Кросівки Nike Air Max")
+            .description("Легкі кросівки для бігу")
+            .build();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A provider error fails over to the next candidate")
+    void failsOverOnError() {
+        FakeProvider broken = new FakeProvider("broken", 0.001, () -> {
+            throw new IllegalStateException("HTTP 500");
+        });
+        FakeProvider healthy = new FakeProvider("healthy", 0.002, () -> valid("healthy"));
+        AIProviderRouter router = router(List.of(broken, healthy));
+
+        assertEquals("healthy", router.analyze(REQUEST).getCommercialTitle());
+        assertEquals(1, broken.calls.get());
+        assertEquals(1, healthy.calls.get());
+    }
+
+    @Test
+    @DisplayName("An answer that is not valid for Horoshop fails over like an error")
+    void failsOverOnInvalidAnswer() {
+        FakeProvider invalid = new FakeProvider("invalid", 0.001, FeatureProductAnalysisResult::new);
+        FakeProvider healthy = new FakeProvider("healthy", 0.002, () -> valid("healthy"));
+        AIProviderRouter router = router(List.of(invalid, healthy));
+
+        assertEquals("healthy", router.analyze(REQUEST).getCommercialTitle());
+        assertEquals(1, invalid.calls.get());
+    }
+
+    @Test
+    @DisplayName("Throws once every attempt failed")
+    void throwsWhenAllProvidersFail() {
+        FakeProvider broken = new FakeProvider("broken", 0.001, () -> {
+            throw new IllegalStateException("HTTP 500");
+        });
+        AIProviderRouter router = router(List.of(broken));
+
+        assertThrows(IllegalStateException.class, () -> router.analyze(REQUEST));
+        assertEquals(3, broken.calls.get());
+    }
+
+    @Test
+    @DisplayName("A provider that keeps failing cools down and is tried last")
+    void coolsDownAfterRepeatedFailures() {
+        FakeProvider broken = new FakeProvider("broken", 0.001, () -> {
+            throw new IllegalStateException("HTTP 500");
+        });
+        FakeProvider healthy = new FakeProvider("healthy", 0.002, () -> valid("healthy"));
+        AIProviderRouter router = router(List.of(broken, healthy));
+        ReflectionTestUtils.setField(router, "failureThreshold", 2);
+
+        assertEquals(List.of(broken, healthy), router.route(REQUEST));
+        router.analyze(REQUEST);
+        router.analyze(REQUEST);
+        assertEquals(2, broken.calls.get());
+
+        assertEquals(List.of(healthy, broken), router.route(REQUEST));
+        router.analyze(REQUEST);
+        assertEquals(2, broken.calls.get());
+        assertEquals(3, healthy.calls.get());
+    }
+
+    @Test
+    @DisplayName("A slow call is hedged on the backup and the losing call is cancelled")
+    void hedgesSlowCallAndCancelsLoser() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        FakeProvider slow = new FakeProvider("slow", 0.001, () -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("cancelled");
+        });
+        FakeProvider fast = new FakeProvider("fast", 0.002, () -> valid("fast"));
+        AIProviderRouter router = router(List.of(slow, fast));
+        enableHedging(router);
+        ReflectionTestUtils.setField(router, "failureThreshold", 1);
+
+        assertEquals("fast", router.analyze(REQUEST).getCommercialTitle());
+        assertEquals(1, slow.calls.get());
+        assertEquals(1, fast.calls.get());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "losing call was not cancelled");
+
+        // The cancelled call is not a provider failure, so the slow provider does not cool down
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(slow, router.route(REQUEST).get(0));
+    }
+
+    @Test
+    @DisplayName("A call that answers before the hedge delay is not hedged")
+    void fastCallIsNotHedged() {
+        FakeProvider primary = new FakeProvider("primary", 0.001, () -> valid("primary"));
+        FakeProvider backup = new FakeProvider("backup", 0.002, () -> valid("backup"));
+        AIProviderRouter router = router(List.of(primary, backup));
+        enableHedging(router);
+        ReflectionTestUtils.setField(router, "hedgeMinDelayMs", 5_000L);
+
+        assertEquals("primary", router.analyze(REQUEST).getCommercialTitle());
+        assertEquals(0, backup.calls.get());
+    }
+
+    @Test
+    @DisplayName("A single provider is never hedged with itself")
+    void singleProviderIsNotHedgedWithItself() {
+        FakeProvider only = new FakeProvider("only", 0.001, () -> {
+            sleep(200);
+            return valid("only");
+        });
+        AIProviderRouter router = router(List.of(only));
+        enableHedging(router);
+
+        assertEquals("only", router.analyze(REQUEST).getCommercialTitle());
+        assertEquals(1, only.calls.get());
+    }
+
+    private AIProviderRouter router(List<AIAnalysisProvider> providers) {
+        AIProviderRouter router = new AIProviderRouter(providers, SyncMetrics.NOOP, executor);
+        ReflectionTestUtils.setField(router, "enabledProviders", List.of());
+        ReflectionTestUtils.setField(router, "maxCostPerRequest", 0.0);
+        ReflectionTestUtils.setField(router, "latencyBudgetMs", 30_000L);
+        ReflectionTestUtils.setField(router, "maxAttempts", 3);
+        ReflectionTestUtils.setField(router, "retryBackoffMs", 0L);
+        ReflectionTestUtils.setField(router, "failureThreshold", 3);
+        ReflectionTestUtils.setField(router, "cooldownMs", 60_000L);
+        ReflectionTestUtils.setField(router, "hedgeEnabled", false);
+        ReflectionTestUtils.setField(router, "hedgeMinDelayMs", 50L);
+        return router;
+    }
+
+    private static void enableHedging(AIProviderRouter router) {
+        ReflectionTestUtils.setField(router, "hedgeEnabled", true);
+    }
+
+    private static FeatureProductAnalysisResult valid(String title) {
+        FeatureProductAnalysisResult result = new FeatureProductAnalysisResult();
+        result.setCommercialTitle(title);
+        result.setSeoTitle(title);
+        result.setDescriptionUa("Опис");
+        result.setMetaDescriptionUa("Мета опис");
+        result.setMainCategory("Взуття");
+        result.setTrendScore(7.0);
+        return result;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class FakeProvider implements AIAnalysisProvider {
+
+        private final String name;
+        private final double cost;
+        private final Supplier<FeatureProductAnalysisResult> answer;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private FakeProvider(String name, double cost, Supplier<FeatureProductAnalysisResult> answer) {
+            this.name = name;
+            this.cost = cost;
+            this.answer = answer;
+        }
+
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+
+        @Override
+        public boolean supportsVision() {
+            return false;
+        }
+
+        @Override
+        public int getMaxTextLength() {
+            return 4000;
+        }
+
+        @Override
+        public double getCostPerRequest() {
+            return cost;
+        }
+
+        @Override
+        public FeatureProductAnalysisResult analyze(AIAnalysisRequest request) {
+            calls.incrementAndGet();
+            return answer.get();
+        }
+    }
+}
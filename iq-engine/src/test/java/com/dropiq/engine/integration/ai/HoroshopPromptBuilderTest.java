@@ -0,0 +1,131 @@
+package com.dropiq.engine.integration.ai;
+
+import com.dropiq.engine.integration.ai.model.AIAnalysisRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HoroshopPromptBuilderTest {
+
+    private static final List<String> SENTENCES = List.of(
+            "Кросівки Nike Air Max 90 з сітчастим верхом та амортизуючою підошвою Air.",
+            "Розміри від 36 до 45, устілка 23.5 см для розміру 37.",
+            "Доставка Новою Поштою по всій Україні, оплата при отриманні.",
+            "Верх із дихаючої сітки та вставок з еко-шкіри тримає форму.",
+            "Кросівки Nike Air Max 90 з сітчастим верхом та амортизуючою підошвою Air.",
+            "Підходять для бігу, залу та щоденних прогулянок містом.",
+            "Пишіть у Viber або Telegram, відповідаємо швидко!");
+
+    private static final int BUDGET = 70;
+
+    private final HoroshopPromptBuilder builder = builder(BUDGET);
+
+    @Test
+    @DisplayName("A description over budget keeps whole sentences in their order, within the budget")
+    void cutsAtSentenceBoundaries() {
+        String description = String.join(" ", SENTENCES);
+        assertTrue(HoroshopPromptBuilder.estimateTokens(description) > BUDGET);
+
+        String compact = builder.compactDescription(description);
+        List<String> kept = Arrays.asList(compact.split("\n"));
+
+        assertTrue(HoroshopPromptBuilder.estimateTokens(compact) <= BUDGET, compact);
+        assertEquals(SENTENCES.get(0), kept.get(0), "the opening sentence says what the product is");
+        assertTrue(SENTENCES.containsAll(kept), compact);
+        assertEquals(kept.stream().distinct().toList(), kept, "a repeated sentence adds nothing");
+        assertEquals(kept.stream().sorted(Comparator.comparingInt(SENTENCES::indexOf)).toList(), kept);
+        assertFalse(compact.contains("Доставка"), compact);
+        assertFalse(compact.contains("Viber"), compact);
+    }
+
+    @Test
+    @DisplayName("A description within budget is only cleaned")
+    void keepsShortDescription() {
+        assertEquals(SENTENCES.get(0), builder.compactDescription(" <p>" + SENTENCES.get(0) + "</p> "));
+    }
+
+    @Test
+    @DisplayName("A single sentence longer than the budget keeps its beginning, cut between words")
+    void truncatesSingleLongSentence() {
+        String sentence = String.join(" ", Collections.nCopies(30, "легкі дихаючі кросівки"));
+
+        String compact = builder.compactDescription(sentence);
+
+        assertFalse(compact.isEmpty());
+        assertTrue(HoroshopPromptBuilder.estimateTokens(compact) <= BUDGET, compact);
+        assertTrue(sentence.startsWith(compact + " "), compact);
+    }
+
+    @Test
+    @DisplayName("Empty descriptions stay empty")
+    void handlesEmptyDescription() {
+        assertEquals("", builder.compactDescription(null));
+        assertEquals("", builder.compactDescription(""));
+        assertEquals("", builder.compactDescription("  \n\t "));
+        assertEquals("", builder.compactDescription("<p><br/></p>"));
+        assertEquals(0, HoroshopPromptBuilder.estimateTokens(null));
+        assertEquals(0, HoroshopPromptBuilder.estimateTokens(""));
+    }
+
+    @Test
+    @DisplayName("Feed HTML becomes one line per paragraph or list item, also when compacted")
+    void cleansHtml() {
+        String html = "<p>Кросівки&nbsp;<b>Nike</b></p><ul><li>Розмір 42</li><li>Колір &quot;чорний&quot;</li></ul>";
+        assertEquals("Кросівки Nike\nРозмір 42\nКолір \"чорний\"", HoroshopPromptBuilder.cleanDescription(html));
+
+        StringBuilder heavy = new StringBuilder("<div class=\"product\">");
+        for (String sentence : SENTENCES) {
+            heavy.append("<p style=\"margin:0\"><span>").append(sentence).append("</span></p>");
+        }
+        heavy.append("</div>");
+        String compact = builder.compactDescription(heavy.toString());
+
+        assertFalse(compact.contains("<"), compact);
+        assertFalse(compact.contains("style"), compact);
+        assertTrue(HoroshopPromptBuilder.estimateTokens(compact) <= BUDGET, compact);
+        assertTrue(SENTENCES.containsAll(Arrays.asList(compact.split("\n"))), compact);
+    }
+
+    @Test
+    @DisplayName("The system prompt is the same for every product; product data goes to the user message")
+    void keepsSystemPromptConstant() {
+        AIAnalysisRequest sneakers = AIAnalysisRequest.builder()
+                .productName("Кросівки Nike Air Max 90").description("Легкі кросівки").price(2499.0).build();
+        AIAnalysisRequest bag = AIAnalysisRequest.builder()
+                .productName("SKU-456").categoryName("Сумки").sourceType("MYDROP").build();
+
+        HoroshopPromptBuilder.Prompt first = builder.textPrompt(sneakers);
+        HoroshopPromptBuilder.Prompt second = builder.textPrompt(bag);
+        assertSame(first.system(), second.system());
+        assertFalse(first.system().contains("Nike"));
+        assertTrue(first.user().contains("Кросівки Nike Air Max 90"));
+        assertTrue(second.user().contains("SKU-456"));
+        assertNotEquals(first.user(), second.user());
+
+        assertSame(builder.visionPrompt(sneakers).system(), builder.visionPrompt(bag).system());
+        assertNotEquals(first.system(), builder.visionPrompt(sneakers).system());
+        assertEquals(HoroshopPromptBuilder.estimateTokens(first.system())
+                + HoroshopPromptBuilder.estimateTokens(first.user()), first.estimatedTokens());
+    }
+
+    @Test
+    @DisplayName("Token estimate: about 4 Latin or 3 Cyrillic letters per token, punctuation on its own")
+    void estimatesTokens() {
+        assertEquals(2, HoroshopPromptBuilder.estimateTokens("abcd efgh"));
+        assertEquals(3, HoroshopPromptBuilder.estimateTokens("Кросівки"));
+        assertEquals(2, HoroshopPromptBuilder.estimateTokens("42!"));
+    }
+
+    private static HoroshopPromptBuilder builder(int descriptionTokenBudget) {
+        HoroshopPromptBuilder builder = new HoroshopPromptBuilder();
+        ReflectionTestUtils.setField(builder, "descriptionTokenBudget", descriptionTokenBudget);
+        return builder;
+    }
+}
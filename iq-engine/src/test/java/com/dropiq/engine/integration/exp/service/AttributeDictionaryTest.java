@@ -0,0 +1,94 @@
+package com.dropiq.engine.integration.exp.service;
+
+import com.dropiq.engine.integration.exp.text.AttributeDictionary;
+import com.dropiq.engine.integration.exp.text.ExtractedAttributes;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttributeDictionaryTest {
+
+    private static AttributeDictionary dictionary;
+
+    @BeforeAll
+    static void loadBundledDictionary() throws IOException {
+        try (InputStream in = AttributeDictionaryTest.class.getResourceAsStream("/dictionaries/product-attributes.json")) {
+            assertNotNull(in, "bundled dictionary is missing");
+            dictionary = AttributeDictionary.read(in);
+        }
+    }
+
+    @Test
+    @DisplayName("The bundled dictionary loads, and a small one compiles every spelling and label")
+    void loadsDictionary() throws IOException {
+        assertTrue(dictionary.size() > 500, "keywords: " + dictionary.size());
+
+        AttributeDictionary small = read("""
+                {
+                  "brands": {"Acme": ["акме", "acme co"]},
+                  "colors": {"Чорний": ["black"]},
+                  "materialLabels": ["матеріал:"],
+                  "unknownSection": {"ignored": true}
+                }""");
+        assertEquals(6, small.size());
+        assertEquals("Acme", small.extract("Рюкзак ACME чорний", null).getBrand());
+    }
+
+    @Test
+    @DisplayName("Brands are taken from the name, the first listed brand wins")
+    void findsBrandInName() {
+        assertEquals("Nike", dictionary.extract("Кросівки Nike Air Max 90", null).getBrand());
+        // Jordan is listed before Nike
+        assertEquals("Jordan", dictionary.extract("Nike Air Jordan 1 Retro High", null).getBrand());
+        // Descriptions mention other brands ("як у Adidas"), so they are not used for the brand
+        assertNull(dictionary.extract("Кросівки для бігу", "Підошва як у Adidas Boost").getBrand());
+    }
+
+    @Test
+    @DisplayName("Spellings resolve to the canonical name")
+    void resolvesAliases() {
+        assertEquals("Nike", dictionary.extract("Кросівки найк", null).getBrand());
+        assertEquals("Adidas", dictionary.extract("Костюм АДИДАС", null).getBrand());
+        assertEquals("Чорний", dictionary.extract("Black hoodie oversize", null).getColor());
+        assertEquals("Чорний", dictionary.extract("Футболка", "Колір: чорні вставки").getColor());
+        // Stem "бавовн*" matches the adjective; "вовняний" inside it is not a whole word
+        assertEquals("Бавовна", dictionary.extract("Худі", "100% бавовняний трикотаж").getMaterial());
+    }
+
+    @Test
+    @DisplayName("Labelled material and origin are read from the description")
+    void readsLabels() {
+        ExtractedAttributes attributes = dictionary.extract("Світшот",
+                "Матеріал: поліестер; Країна виробник: Туреччина");
+        assertEquals("поліестер", attributes.getMaterial());
+        assertEquals("Туреччина", attributes.getOrigin());
+
+        assertEquals("Китай", dictionary.extract("Сумка", "Made in China").getOrigin());
+        assertEquals("Narnia", dictionary.extract("Сумка", "Made in Narnia.").getOrigin());
+    }
+
+    @Test
+    @DisplayName("Texts without dictionary terms yield no attributes")
+    void noMatch() {
+        assertEmpty(dictionary.extract("Подарунковий сертифікат", "Номінал 500 грн"));
+        assertEmpty(dictionary.extract(null, null));
+        assertEmpty(dictionary.extract("", ""));
+        // "puma" inside a longer word is not the brand
+        assertEmpty(dictionary.extract("Сумка Pumaxx", null));
+    }
+
+    private static void assertEmpty(ExtractedAttributes attributes) {
+        assertEquals(new ExtractedAttributes(), attributes);
+    }
+
+    private static AttributeDictionary read(String json) throws IOException {
+        return AttributeDictionary.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
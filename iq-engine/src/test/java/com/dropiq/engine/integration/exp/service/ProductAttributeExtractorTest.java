@@ -0,0 +1,81 @@
+package com.dropiq.engine.integration.exp.service;
+
+import com.dropiq.engine.integration.exp.model.UnifiedProduct;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductAttributeExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Fills missing brand, color, material and origin, keeping what the feed provided")
+    void appliesExtractedAttributes() {
+        ProductAttributeExtractor extractor = new ProductAttributeExtractor(
+                new ClassPathResource("dictionaries/product-attributes.json"));
+
+        UnifiedProduct product = new UnifiedProduct();
+        product.setName("Кросівки найк Air Max чорні");
+        product.setDescription("Матеріал: сітка, шкіра\nКраїна виробник: В'єтнам");
+        product.setColor("Білий");
+        extractor.applyTo(product);
+
+        assertEquals("Nike", product.getBrand());
+        assertEquals("Білий", product.getColor());
+        assertEquals("сітка, шкіра", product.getMaterial());
+        assertEquals("В'єтнам", product.getAttributes().get(ProductAttributeExtractor.ORIGIN_ATTRIBUTE));
+
+        UnifiedProduct plain = new UnifiedProduct();
+        plain.setName("Подарунковий сертифікат");
+        extractor.applyTo(plain);
+        assertNull(plain.getBrand());
+        assertNull(plain.getColor());
+        assertNull(plain.getMaterial());
+        assertTrue(plain.getAttributes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A changed dictionary file is reloaded, a broken one keeps the previous dictionary")
+    void reloadsChangedFile() throws IOException {
+        Path file = tempDir.resolve("product-attributes.json");
+        write(file, "{\"brands\": {\"Acme\": [\"акме\"]}}", 1);
+        ProductAttributeExtractor extractor = new ProductAttributeExtractor(new FileSystemResource(file));
+        assertEquals("Acme", extractor.extract("Рюкзак Акме", null).getBrand());
+
+        write(file, "{\"brands\": {\"Zeta\": [\"зета\"]}}", 2);
+        extractor.refresh();
+        assertNull(extractor.extract("Рюкзак Акме", null).getBrand());
+        assertEquals("Zeta", extractor.extract("Рюкзак Зета", null).getBrand());
+
+        write(file, "{\"brands\": ", 3);
+        extractor.refresh();
+        assertEquals("Zeta", extractor.extract("Рюкзак Зета", null).getBrand());
+    }
+
+    @Test
+    @DisplayName("A dictionary that cannot be read fails at startup")
+    void failsOnMissingDictionary() {
+        assertThrows(IllegalStateException.class,
+                () -> new ProductAttributeExtractor(new FileSystemResource(tempDir.resolve("missing.json"))));
+    }
+
+    /**
+     * Writes the file with a distinct modification time, as a refresh only reloads a file whose time changed
+     */
+    private static void write(Path file, String json, int version) throws IOException {
+        Files.writeString(file, json);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(version)));
+    }
+}
@@ -0,0 +1,109 @@
+package com.dropiq.engine.integration.exp.service;
+
+import com.dropiq.engine.integration.exp.model.UnifiedProduct.ProductSize;
+import com.dropiq.engine.integration.exp.model.UnifiedProduct.ProductSize.SizeType;
+import com.dropiq.engine.support.size.LegacySizeNormalizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SizeNormalizerServiceTest {
+
+    private final SizeNormalizerService service = new SizeNormalizerService();
+
+    @Test
+    @DisplayName("Numeric sizes are read as shoe sizes only for footwear")
+    void numericSizeDependsOnCategory() {
+        assertSize(SizeType.SHOES_EU, "42", service.normalizeSize("42", "Кросівки Nike Air Max", "Взуття"));
+        assertSize(SizeType.CLOTHING_NUMERIC, "42", service.normalizeSize("42", "Футболка базова", "Одяг"));
+        assertSize(SizeType.PANTS_WAIST, "31", service.normalizeSize("31", "Джинси прямі", null));
+        assertSize(SizeType.UNKNOWN, "47", service.normalizeSize("47", null, null));
+    }
+
+    @Test
+    @DisplayName("Category keywords match regardless of case")
+    void detectsCategoryCaseInsensitively() {
+        assertSize(SizeType.SHOES_EU, "40", service.normalizeSize("40", "КРОСІВКИ", null));
+        assertSize(SizeType.SHOES_EU, "40", service.normalizeSize("40", null, "Чоловічі ЧЕРЕВИКИ"));
+        assertSize(SizeType.CLOTHING_NUMERIC, "40", service.normalizeSize("40", "Сукня", "Жіноче"));
+    }
+
+    @Test
+    @DisplayName("Alpha, combined and missing sizes are normalized")
+    void normalizesSizeValues() {
+        ProductSize alpha = service.normalizeSize(" xl ", "Худі", null);
+        assertSize(SizeType.CLOTHING_ALPHA, "XL", alpha);
+        assertEquals("xl", alpha.getOriginalValue());
+
+        ProductSize combined = service.normalizeSize("s-m", "Футболка", null);
+        assertSize(SizeType.COMBINED, "S/M", combined);
+        assertEquals(Map.of("size1", "S", "size2", "M"), combined.getAdditionalSizes());
+
+        assertSize(SizeType.ACCESSORIES, "ONE_SIZE", service.normalizeSize("", "Сумка", null));
+        assertSize(SizeType.ACCESSORIES, "ONE_SIZE", service.normalizeSize(null, null, null));
+        assertSize(SizeType.ACCESSORIES, "ONE_SIZE", service.normalizeSize("One Size", "Панамка", null));
+    }
+
+    @Test
+    @DisplayName("A memoized size is handed out as a copy")
+    void memoizedResultIsCopied() {
+        ProductSize first = service.normalizeSize("L/XL", "Куртка", null);
+        first.setNormalizedValue("changed");
+        first.getAdditionalSizes().clear();
+
+        ProductSize second = service.normalizeSize("L/XL", "Куртка", null);
+        assertNotSame(first, second);
+        assertSize(SizeType.COMBINED, "L/XL", second);
+        assertEquals(Map.of("size1", "L", "size2", "XL"), second.getAdditionalSizes());
+    }
+
+    @Test
+    @DisplayName("The same raw size is memoized separately for each detected type")
+    void memoIsKeyedByDetectedType() {
+        for (int i = 0; i < 3; i++) {
+            assertSize(SizeType.SHOES_EU, "40", service.normalizeSize("40", "Кросівки", null));
+            assertSize(SizeType.CLOTHING_NUMERIC, "40", service.normalizeSize("40", null, null));
+        }
+    }
+
+    @Test
+    @DisplayName("Cold and memoized results equal the legacy normalizer for every size, name and category")
+    void matchesLegacyNormalizer() {
+        String[] sizes = {
+                "XS", "S", "M", "L", "XL", "XXL", "3XL", "4XL", "2XL", "s", " m ", "xs/s", "S/M", "L/XL", "S-M",
+                "M-L", "2XL/3XL", "Small", "extra large", "M (46)", "28", "31", "36", "37", "42", "42.5", "44", "47",
+                "52", "104", "116", "ONE SIZE", "one size", "free size", "универсальный", "універсальний", "-", "",
+                "  ", null
+        };
+        String[] names = {
+                "Футболка оверсайз бавовна", "Кросівки жіночі білі", "КРОСІВКИ Nike", "Сукня міді з поясом",
+                "Джинси прямі", "Штани карго", "Шорти спортивні", "Худі з капюшоном", "Куртка демісезонна",
+                "Кепка бейсболка", "Рюкзак міський", "Сумка шопер", "Черевики зимові", "Платье летнее",
+                "Кроссовки мужские", "Yeezy Boost 350", "Комплект постільної білизни", "Подарунок", null
+        };
+        String[] categories = {
+                "Жіночий одяг", "Взуття", "Чоловічий одяг", "Аксесуари", "Дитячий одяг", "Товари для дому", null
+        };
+
+        LegacySizeNormalizer legacy = new LegacySizeNormalizer();
+        for (int round = 0; round < 2; round++) {
+            for (String size : sizes) {
+                for (String name : names) {
+                    for (String category : categories) {
+                        assertEquals(legacy.normalizeSize(size, name, category),
+                                service.normalizeSize(size, name, category),
+                                size + " / " + name + " / " + category + (round == 0 ? "" : " (memoized)"));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertSize(SizeType type, String value, ProductSize size) {
+        assertEquals(type, size.getType(), size.toString());
+        assertEquals(value, size.getNormalizedValue(), size.toString());
+    }
+}
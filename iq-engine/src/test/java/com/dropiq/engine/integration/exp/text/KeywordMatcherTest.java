@@ -0,0 +1,144 @@
+package com.dropiq.engine.integration.exp.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeywordMatcherTest {
+
+    @Test
+    @DisplayName("Overlapping keywords are all reported in text order")
+    void reportsOverlappingMatches() {
+        KeywordMatcher<String> matcher = matcher("he", "she", "his", "hers");
+
+        assertEquals(List.of("she@1", "he@2", "hers@2"), occurrences(matcher, "ushers"));
+    }
+
+    @Test
+    @DisplayName("A keyword that is a prefix of another matches on its own and inside the longer one")
+    void matchesPrefixKeywords() {
+        KeywordMatcher<String> matcher = matcher("шорт", "шорти", "джинс");
+
+        assertEquals(List.of("шорт@0", "шорт@6", "шорти@6"), occurrences(matcher, "шорт, шорти"));
+        assertEquals("шорт", matcher.findFirst("Шорти джинсові"));
+        assertEquals("шорти", matcher("шорти", "шорт").findFirst("Шорти джинсові"));
+    }
+
+    @Test
+    @DisplayName("Matching ignores case in Cyrillic and Latin text")
+    void foldsCyrillicCase() {
+        KeywordMatcher<String> matcher = matcher("КРОСІВК", "худі", "Nike", "їжачок", "єнот");
+
+        assertEquals("КРОСІВК", matcher.findFirst("КРОСІВКИ NIKE AIR"));
+        assertEquals("худі", matcher.findFirst("Худі оверсайз"));
+        assertEquals("Nike", matcher.findFirst("nike air max"));
+        assertTrue(matcher.containsAny("ЇЖАЧОК"));
+        assertTrue(matcher.containsAny("Єнот"));
+        assertFalse(matcher.containsAny("кросовки"));
+    }
+
+    @Test
+    @DisplayName("Empty and missing input, and an empty keyword set, find nothing")
+    void handlesEmptyInput() {
+        KeywordMatcher<String> matcher = matcher("шапк", " ", "");
+
+        assertEquals(1, matcher.size());
+        assertNull(matcher.findFirst(""));
+        assertNull(matcher.findFirst((CharSequence) null));
+        assertNull(matcher.findFirst());
+        assertFalse(matcher.containsAny(""));
+        assertFalse(matcher.containsAny(null));
+        assertEquals(List.of(), occurrences(matcher, ""));
+
+        KeywordMatcher<String> none = KeywordMatcher.<String>builder().build();
+        assertEquals(0, none.size());
+        assertNull(none.findFirst("шапка"));
+        assertFalse(none.containsAny("шапка"));
+    }
+
+    @Test
+    @DisplayName("Finds the same keyword as the contains() loop it replaced")
+    void matchesContainsLoop() {
+        List<String> keywords = List.of("футболк", "куртк", "худі", "штан", "шорт", "шорти", "кросівк", "кросівки",
+                "туфл", "nike", "jordan", "ike", "сумк", "рюкзак", "шапк", "панамк", "ан", "к");
+        KeywordMatcher<String> matcher = matcher(keywords.toArray(new String[0]));
+
+        Random random = new Random(42);
+        String alphabet = "футболкаштанизсумкрюкзапеNIKEjordanі ";
+        for (int i = 0; i < 5_000; i++) {
+            String name = randomText(random, alphabet, keywords);
+            String category = randomText(random, alphabet, keywords);
+
+            assertEquals(containsLoop(keywords, name, category), matcher.findFirst(name, category),
+                    () -> name + " | " + category);
+            assertEquals(indexOfOccurrences(keywords, name), occurrences(matcher, name), name);
+        }
+    }
+
+    private static KeywordMatcher<String> matcher(String... keywords) {
+        KeywordMatcher.Builder<String> builder = KeywordMatcher.builder();
+        for (String keyword : keywords) {
+            builder.add(keyword, keyword);
+        }
+        return builder.build();
+    }
+
+    private static List<String> occurrences(KeywordMatcher<String> matcher, String text) {
+        List<String> found = new ArrayList<>();
+        matcher.scan(text, (start, end, order, value) -> {
+            found.add(value + "@" + start);
+            return true;
+        });
+        return found;
+    }
+
+    /**
+     * The lookup SizeNormalizerService used before: first keyword in table order contained in the lowercased text
+     */
+    private static String containsLoop(List<String> keywords, String name, String category) {
+        String text = (name + " " + category).toLowerCase();
+        for (String keyword : keywords) {
+            if (text.contains(keyword)) {
+                return keyword;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Every occurrence via indexOf, ordered like the matcher reports them: by end, then longest first
+     */
+    private static List<String> indexOfOccurrences(List<String> keywords, String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<int[]> found = new ArrayList<>();
+        for (int k = 0; k < keywords.size(); k++) {
+            for (int at = lower.indexOf(keywords.get(k)); at >= 0; at = lower.indexOf(keywords.get(k), at + 1)) {
+                found.add(new int[]{at, at + keywords.get(k).length(), k});
+            }
+        }
+        found.sort((a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(a[0], b[0]));
+        return found.stream().map(match -> keywords.get(match[2]) + "@" + match[0]).toList();
+    }
+
+    private static String randomText(Random random, String alphabet, List<String> keywords) {
+        StringBuilder text = new StringBuilder();
+        int parts = random.nextInt(6);
+        for (int i = 0; i < parts; i++) {
+            if (random.nextInt(3) == 0) {
+                String keyword = keywords.get(random.nextInt(keywords.size()));
+                text.append(random.nextBoolean() ? keyword.toUpperCase() : keyword);
+            } else {
+                for (int c = random.nextInt(5); c > 0; c--) {
+                    text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,179 @@
+package com.dropiq.engine.load;
+
+import com.dropiq.engine.integration.exp.model.DataSourceConfig;
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.entity.DataSet;
+import com.dropiq.engine.product.entity.Product;
+import com.dropiq.engine.product.service.DataSetService;
+import com.dropiq.engine.product.service.OptimizedAIProductAnalysisService;
+import com.dropiq.engine.support.LoadTestReport;
+import com.dropiq.engine.support.feed.FeedStubServer;
+import com.dropiq.engine.support.llm.LlmStubServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * AI enrichment of a whole dataset ({@link OptimizedAIProductAnalysisService#analyzeDatasetForHoroshop})
+ * against {@link LlmStubServer}, reporting groups per minute, retries and fallbacks.
+ * <p>
+ * Run with {@code ./gradlew :iq-engine:loadTest}; each dataset is first imported from {@link FeedStubServer}.
+ * Options (Gradle {@code -P} or system properties):
+ * <ul>
+ *     <li>{@code dropiq.loadtest.ai.products} — products per dataset, comma separated (default 200,1000)</li>
+ *     <li>{@code dropiq.loadtest.ai.latencyMs} — stub time to first token (default 300)</li>
+ *     <li>{@code dropiq.loadtest.ai.tokensPerSecond} — stub generation speed, 0 for instant (default 0)</li>
+ *     <li>{@code dropiq.loadtest.ai.rateLimitRate} — share of LLM requests answered with 429 (default 0.05)</li>
+ *     <li>{@code dropiq.loadtest.ai.malformedRate} — share of answers with malformed JSON (default 0.02)</li>
+ *     <li>{@code dropiq.loadtest.ai.delayMs} — {@code ai.analysis.delay-between-requests} (default 0)</li>
+ *     <li>{@code dropiq.loadtest.ai.providers} — {@code ai.router.providers}, e.g. {@code GPT-4-Mini-Horoshop,Ollama}
+ *     (default GPT-4-Mini-Horoshop); the stub serves both</li>
+ *     <li>{@code dropiq.loadtest.ai.hedge} — {@code ai.router.hedge.enabled} (default false)</li>
+ * </ul>
+ * A fallback is a group that got the generated template because every provider attempt failed. Prompt tokens
+ * include those the stub reports as served from its prompt cache, which are listed separately.
+ * Results are printed and written to {@code build/reports/loadtest/ai-analysis.csv}.
+ */
+@SpringBootTest(properties = {
+        "openai.api.key=loadtest",
+        "ai.router.retry-backoff-ms=100"
+})
+@Tag("load")
+@EnabledIfSystemProperty(named = "dropiq.loadtest", matches = "true")
+class AIAnalysisLoadTest {
+
+    private static final String USER = "loadtest";
+
+    private static final LoadTestReport report = LoadTestReport.named("ai-analysis")
+            .column("products", "%8d", "products")
+            .column("groups", "%7d", "groups")
+            .column("analyzed", "%9d", "analyzed")
+            .column("ms", "%9d", "millis")
+            .column("groups/min", "%10.1f", "groups_per_minute")
+            .column("requests", "%9d", "requests")
+            .column("429s", "%6d", "throttled")
+            .column("malformed", "%9d", "malformed")
+            .column("retries", "%8d", "retries")
+            .column("fallbacks", "%10d", "fallbacks")
+            .column("fallback%", "%9.1f", null)
+            .column(null, null, "fallback_rate", "%.3f")
+            .column("tokens in", "%10d", "prompt_tokens")
+            .column("cached", "%9d", "cached_prompt_tokens")
+            .column("tokens out", "%10d", "completion_tokens");
+
+    private static FeedStubServer feeds;
+    private static LlmStubServer llm;
+
+    @Autowired
+    private OptimizedAIProductAnalysisService analysisService;
+
+    @Autowired
+    private DataSetService dataSetService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startStubs() throws IOException {
+        feeds = FeedStubServer.start();
+        llm = LlmStubServer.builder()
+                .latency(Integer.getInteger("dropiq.loadtest.ai.latencyMs", 300), 100)
+                .tokensPerSecond(Integer.getInteger("dropiq.loadtest.ai.tokensPerSecond", 0))
+                .rateLimitRate(Double.parseDouble(System.getProperty("dropiq.loadtest.ai.rateLimitRate", "0.05")))
+                .malformedRate(Double.parseDouble(System.getProperty("dropiq.loadtest.ai.malformedRate", "0.02")))
+                .start();
+    }
+
+    @DynamicPropertySource
+    static void llmEndpoints(DynamicPropertyRegistry registry) {
+        registry.add("openai.api.base-url", () -> llm.openAiBaseUrl());
+        registry.add("ollama.base-url", () -> llm.ollamaBaseUrl());
+        registry.add("ollama.text.base-url", () -> llm.ollamaBaseUrl());
+        registry.add("ai.analysis.delay-between-requests", () -> System.getProperty("dropiq.loadtest.ai.delayMs", "0"));
+        registry.add("ai.router.providers", () -> System.getProperty("dropiq.loadtest.ai.providers", "GPT-4-Mini-Horoshop"));
+        registry.add("ai.router.hedge.enabled", () -> System.getProperty("dropiq.loadtest.ai.hedge", "false"));
+    }
+
+    @AfterAll
+    static void report() throws IOException {
+        feeds.close();
+        llm.close();
+        report.write();
+    }
+
+    @Test
+    void analyzeDataset() {
+        for (int size : productCounts()) {
+            DataSet dataset = importDataset(size);
+            try {
+                // Every group goes to the LLM rather than to results of an earlier run
+                analysisService.clearAnalysisCache();
+                int groups = (int) dataset.getProducts().stream().map(AIAnalysisLoadTest::groupKey).distinct().count();
+
+                long requestsBefore = llm.requests();
+                long throttledBefore = llm.throttled();
+                long malformedBefore = llm.malformed();
+                long promptBefore = llm.promptTokens();
+                long cachedBefore = llm.cachedTokens();
+                long completionBefore = llm.completionTokens();
+                double retriesBefore = counterSum("dropiq.ai.retries");
+                double fallbacksBefore = counterSum("dropiq.ai.fallback");
+
+                long start = System.nanoTime();
+                int analyzed = analysisService.analyzeDatasetForHoroshop(dataset.getId());
+                long millis = LoadTestReport.millisSince(start);
+
+                long fallbacks = Math.round(counterSum("dropiq.ai.fallback") - fallbacksBefore);
+                double fallbackRate = groups > 0 ? (double) fallbacks / groups : 0;
+                report.add(size, groups, analyzed, millis, LoadTestReport.perSecond(groups, millis) * 60,
+                        llm.requests() - requestsBefore, llm.throttled() - throttledBefore,
+                        llm.malformed() - malformedBefore, Math.round(counterSum("dropiq.ai.retries") - retriesBefore),
+                        fallbacks, fallbackRate * 100, fallbackRate,
+                        llm.promptTokens() - promptBefore, llm.cachedTokens() - cachedBefore,
+                        llm.completionTokens() - completionBefore);
+                assertEquals(dataset.getProducts().size(), analyzed, "Every product should get an analysis or a fallback");
+            } finally {
+                dataSetService.deleteDataset(dataset.getId(), USER);
+            }
+        }
+    }
+
+    private DataSet importDataset(int size) {
+        DataSourceConfig source = new DataSourceConfig();
+        source.setPlatformType(SourceType.EASYDROP);
+        source.setUrl(feeds.feedUrl(SourceType.EASYDROP, size));
+        source.setHeaders(Map.of());
+        source.setExportUnavailable(true);
+        return dataSetService.createDatasetFromSources("AI load test " + size, null, USER, List.of(source));
+    }
+
+    /**
+     * Same grouping as the analysis service: one LLM call per variant group or standalone product
+     */
+    private static String groupKey(Product product) {
+        String groupId = product.getExternalGroupId();
+        return groupId != null && !groupId.isBlank() ? "group:" + groupId : "single:" + product.getExternalId();
+    }
+
+    private double counterSum(String name) {
+        return meterRegistry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private static int[] productCounts() {
+        return LoadTestReport.counts("dropiq.loadtest.ai.products", "200,1000");
+    }
+}
@@ -0,0 +1,202 @@
+package com.dropiq.engine.load;
+
+import com.dropiq.engine.integration.exp.model.DataSourceConfig;
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.integration.exp.service.UnifiedProductService;
+import com.dropiq.engine.product.entity.DataSet;
+import com.dropiq.engine.product.repository.DataSetRepository;
+import com.dropiq.engine.product.service.DataSetService;
+import com.dropiq.engine.support.LoadTestReport;
+import com.dropiq.engine.support.feed.FeedStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Feed import and re-sync end-to-end against {@link FeedStubServer}, reporting throughput and peak heap.
+ * <p>
+ * Run with {@code ./gradlew :iq-engine:loadTest}; it uses the application's PostgreSQL unless
+ * {@code -Pspring.datasource.url=...} is given. Options (Gradle {@code -P} or system properties):
+ * <ul>
+ *     <li>{@code dropiq.loadtest.offers} — offers per feed, comma separated (default 1000,10000,50000)</li>
+ *     <li>{@code dropiq.loadtest.variants} — max variants per group (default 5)</li>
+ *     <li>{@code dropiq.loadtest.faults} — stub fault parameters, e.g. {@code latencyMs=500&kbps=2048}</li>
+ *     <li>{@code dropiq.loadtest.recorded} — directory of recorded feeds named {@code easydrop*.xml}/{@code mydrop*.xml},
+ *     fetched in addition to the generated ones</li>
+ * </ul>
+ * Results are printed and written to {@code build/reports/loadtest/feed-sync.csv}.
+ */
+@SpringBootTest
+@Tag("load")
+@EnabledIfSystemProperty(named = "dropiq.loadtest", matches = "true")
+class FeedSyncLoadTest {
+
+    private static final String USER = "loadtest";
+    private static final List<SourceType> PLATFORMS = List.of(SourceType.EASYDROP, SourceType.MYDROP);
+
+    private static final LoadTestReport report = LoadTestReport.named("feed-sync")
+            .column("scenario", "%-10s", "scenario")
+            .column("source", "%-22s", "source")
+            .column("offers", "%8d", "offers")
+            .column("products", "%9d", "products")
+            .column("ms", "%9d", "millis")
+            .column("products/s", "%11.0f", "products_per_second")
+            .column("peak heap MB", "%13.1f", null)
+            .csvColumn("baseline_heap_bytes")
+            .csvColumn("peak_heap_bytes");
+
+    private static FeedStubServer stub;
+
+    @Autowired
+    private UnifiedProductService productService;
+
+    @Autowired
+    private DataSetService dataSetService;
+
+    @Autowired
+    private DataSetRepository dataSetRepository;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        String recorded = System.getProperty("dropiq.loadtest.recorded");
+        stub = recorded != null ? FeedStubServer.start(Path.of(recorded)) : FeedStubServer.start();
+    }
+
+    @AfterAll
+    static void report() throws IOException {
+        stub.close();
+        report.write();
+    }
+
+    @Test
+    void fetchAndParseFeeds() throws IOException {
+        for (int offers : offerCounts()) {
+            for (SourceType platform : PLATFORMS) {
+                int parsed = measure("fetch", platform.name(), offers,
+                        () -> productService.fetchProductsFromPlatform(platform, url(platform, offers), Map.of()).size());
+                if (faults().isEmpty()) {
+                    assertEquals(offers, parsed, "Every generated offer should be parsed");
+                }
+            }
+        }
+
+        String recorded = System.getProperty("dropiq.loadtest.recorded");
+        if (recorded != null) {
+            try (Stream<Path> files = Files.list(Path.of(recorded))) {
+                for (Path file : files.filter(f -> f.toString().endsWith(".xml")).sorted().toList()) {
+                    String name = file.getFileName().toString();
+                    SourceType platform = name.startsWith("mydrop") ? SourceType.MYDROP : SourceType.EASYDROP;
+                    measure("fetch", name, 0, () -> productService.fetchProductsFromPlatform(
+                            platform, stub.recordedUrl(name, faultArray()), Map.of()).size());
+                }
+            }
+        }
+    }
+
+    @Test
+    void importAndResyncDataset() {
+        for (int offers : offerCounts()) {
+            List<DataSourceConfig> configs = PLATFORMS.stream().map(platform -> config(platform, offers)).toList();
+
+            DataSet[] created = new DataSet[1];
+            measure("import", "easydrop+mydrop", offers * PLATFORMS.size(), () -> {
+                created[0] = dataSetService.createDatasetFromSources("Load test " + offers, null, USER, configs);
+                return created[0].getProducts().size();
+            });
+
+            DataSet dataset = created[0];
+            try {
+                for (DataSourceConfig config : configs) {
+                    dataset.getMetadata().put(config.getPlatformType().name().toLowerCase() + "_url", config.getUrl());
+                }
+                DataSet saved = dataSetRepository.save(dataset);
+
+                // Same feed again: every offer is an update, which is the steady state of scheduled syncs
+                DataSet[] synced = new DataSet[1];
+                measure("resync", "easydrop+mydrop", offers * PLATFORMS.size(), () -> {
+                    synced[0] = dataSetService.syncDatasetFromSource(saved);
+                    return synced[0].getProducts().size();
+                });
+                assertTrue(synced[0].getProducts().size() >= created[0].getProducts().size());
+            } finally {
+                dataSetService.deleteDataset(dataset.getId(), USER);
+            }
+        }
+    }
+
+    @Test
+    void faultyFeedsDoNotFailTheSync() {
+        int unavailable = measure("fault-503", "easydrop", 1000, () ->
+                productService.fetchProductsFromPlatform(SourceType.EASYDROP,
+                        stub.feedUrl(SourceType.EASYDROP, 1000, "failureRate=1"), Map.of()).size());
+        assertEquals(0, unavailable);
+
+        int truncated = measure("fault-cut", "mydrop", 1000, () ->
+                productService.fetchProductsFromPlatform(SourceType.MYDROP,
+                        stub.feedUrl(SourceType.MYDROP, 1000, "truncateRate=1"), Map.of()).size());
+        assertEquals(0, truncated);
+
+        int slow = measure("fault-slow", "easydrop", 1000, () ->
+                productService.fetchProductsFromPlatform(SourceType.EASYDROP,
+                        stub.feedUrl(SourceType.EASYDROP, 1000, "latencyMs=2000", "kbps=512"), Map.of()).size());
+        assertEquals(1000, slow);
+    }
+
+    /**
+     * Run one phase, recording its duration and heap; the phase returns the number of products it produced
+     */
+    private int measure(String scenario, String source, int offers, IntSupplier run) {
+        try (HeapSampler heap = HeapSampler.start()) {
+            long start = System.nanoTime();
+            int products = run.getAsInt();
+            long millis = LoadTestReport.millisSince(start);
+            report.add(scenario, source, offers, products, millis, LoadTestReport.perSecond(products, millis),
+                    (heap.peak() - heap.baseline()) / 1048576.0, heap.baseline(), heap.peak());
+            return products;
+        }
+    }
+
+    private DataSourceConfig config(SourceType platform, int offers) {
+        DataSourceConfig config = new DataSourceConfig();
+        config.setPlatformType(platform);
+        config.setUrl(url(platform, offers));
+        config.setHeaders(Map.of());
+        // Keep out-of-stock offers so the product count equals the feed size
+        config.setExportUnavailable(true);
+        return config;
+    }
+
+    private String url(SourceType platform, int offers) {
+        String[] params = Stream.concat(Stream.of("variants=" + System.getProperty("dropiq.loadtest.variants", "5")),
+                Arrays.stream(faultArray())).toArray(String[]::new);
+        return stub.feedUrl(platform, offers, params);
+    }
+
+    private static int[] offerCounts() {
+        return LoadTestReport.counts("dropiq.loadtest.offers", "1000,10000,50000");
+    }
+
+    private static String faults() {
+        return System.getProperty("dropiq.loadtest.faults", "");
+    }
+
+    private static String[] faultArray() {
+        return faults().isEmpty() ? new String[0] : faults().split("&");
+    }
+}
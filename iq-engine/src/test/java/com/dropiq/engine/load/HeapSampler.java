@@ -0,0 +1,62 @@
+package com.dropiq.engine.load;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples used heap on a daemon thread while a load-test phase runs and keeps the maximum
+ */
+final class HeapSampler implements AutoCloseable {
+
+    private static final long INTERVAL_MS = 10;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong peak = new AtomicLong();
+    private final long baseline;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private HeapSampler() {
+        System.gc();
+        baseline = used();
+        peak.set(baseline);
+        thread = new Thread(this::sample, "heap-sampler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    static HeapSampler start() {
+        return new HeapSampler();
+    }
+
+    long baseline() {
+        return baseline;
+    }
+
+    long peak() {
+        peak.accumulateAndGet(used(), Math::max);
+        return peak.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+
+    private void sample() {
+        while (running) {
+            peak.accumulateAndGet(used(), Math::max);
+            try {
+                Thread.sleep(INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private long used() {
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,178 @@
+package com.dropiq.engine.load;
+
+import com.dropiq.engine.integration.exp.model.DataSourceConfig;
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.integration.imp.horoshop.model.HoroshopBulkResult;
+import com.dropiq.engine.integration.imp.horoshop.model.HoroshopConfig;
+import com.dropiq.engine.integration.imp.horoshop.service.HoroshopIntegrationService;
+import com.dropiq.engine.integration.imp.horoshop.service.HoroshopRobustSyncService;
+import com.dropiq.engine.integration.imp.horoshop.service.HoroshopSyncOptions;
+import com.dropiq.engine.integration.imp.horoshop.service.HoroshopSyncResult;
+import com.dropiq.engine.product.entity.DataSet;
+import com.dropiq.engine.product.entity.Product;
+import com.dropiq.engine.product.model.ProductStatus;
+import com.dropiq.engine.product.repository.ProductRepository;
+import com.dropiq.engine.product.service.DataSetService;
+import com.dropiq.engine.support.LoadTestReport;
+import com.dropiq.engine.support.feed.FeedStubServer;
+import com.dropiq.engine.support.horoshop.HoroshopSimulator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Horoshop export and robust sync end-to-end against {@link HoroshopSimulator}, reporting throughput.
+ * <p>
+ * Run with {@code ./gradlew :iq-engine:loadTest}; each dataset is first imported from {@link FeedStubServer}
+ * into the configured database. Options (Gradle {@code -P} or system properties):
+ * <ul>
+ *     <li>{@code dropiq.loadtest.products} — products per dataset, comma separated (default 10000,100000)</li>
+ *     <li>{@code dropiq.loadtest.horoshop.batchSize} — products per import request (default 50)</li>
+ *     <li>{@code dropiq.loadtest.horoshop.rps} — simulator requests per second, 0 for no limit (default 0)</li>
+ *     <li>{@code dropiq.loadtest.horoshop.latencyMs} — simulator latency per request (default 20)</li>
+ *     <li>{@code dropiq.loadtest.horoshop.failureRate} — share of requests answered with 503 (default 0)</li>
+ *     <li>{@code dropiq.loadtest.horoshop.itemFailureRate} — share of products rejected in a batch (default 0.01)</li>
+ * </ul>
+ * Both paths pause {@code horoshop.sync.delay-between-batches-ms} between batches, 2 s in the {@code loadtest}
+ * profile the task runs with; pass {@code -Phoroshop.sync.delay-between-batches-ms=0} to measure the client and the
+ * engine without the sleeps.
+ * Results are printed and written to {@code build/reports/loadtest/horoshop-export.csv}.
+ */
+@SpringBootTest(properties = {
+        "horoshop.sync.enabled=false",
+        "horoshop.sync.retry-backoff-ms=100"
+})
+@Tag("load")
+@EnabledIfSystemProperty(named = "dropiq.loadtest", matches = "true")
+class HoroshopExportLoadTest {
+
+    private static final String USER = "loadtest";
+
+    private static final LoadTestReport report = LoadTestReport.named("horoshop-export")
+            .column("scenario", "%-12s", "scenario")
+            .column("products", "%8d", "products")
+            .column("processed", "%9d", "processed")
+            .column("succeeded", "%9d", "succeeded")
+            .column("ms", "%9d", "millis")
+            .column("products/s", "%11.0f", "products_per_second")
+            .column("requests", "%9d", "requests")
+            .column("429s", "%9d", "throttled")
+            .column("503s", "%9d", "failures");
+
+    private static FeedStubServer feeds;
+    private static HoroshopSimulator horoshop;
+
+    @Autowired
+    private HoroshopIntegrationService integrationService;
+
+    @Autowired
+    private HoroshopRobustSyncService robustSyncService;
+
+    @Autowired
+    private DataSetService dataSetService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${horoshop.sync.delay-between-batches-ms}")
+    private int batchDelayMs;
+
+    @BeforeAll
+    static void startStubs() throws IOException {
+        feeds = FeedStubServer.start();
+        horoshop = HoroshopSimulator.builder()
+                .requestsPerSecond(Integer.getInteger("dropiq.loadtest.horoshop.rps", 0))
+                .latency(Integer.getInteger("dropiq.loadtest.horoshop.latencyMs", 20), 0)
+                .failureRate(Double.parseDouble(System.getProperty("dropiq.loadtest.horoshop.failureRate", "0")))
+                .itemFailureRate(Double.parseDouble(System.getProperty("dropiq.loadtest.horoshop.itemFailureRate", "0.01")))
+                .start();
+    }
+
+    @AfterAll
+    static void report() throws IOException {
+        feeds.close();
+        horoshop.close();
+        report.write();
+    }
+
+    @Test
+    void exportAndSyncDataset() throws Exception {
+        for (int size : productCounts()) {
+            DataSet dataset = importDataset(size);
+            try {
+                HoroshopConfig config = horoshop.config();
+                config.setBatchSize(Integer.getInteger("dropiq.loadtest.horoshop.batchSize", 50));
+                config.setBatchDelayMs(batchDelayMs);
+
+                // New products only (DRAFT), in the full Horoshop format
+                HoroshopBulkResult exported = measure("export", size,
+                        () -> integrationService.exportDatasetToHoroshop(dataset.getId(), USER, config).get());
+                assertEquals(dataset.getProducts().size(), exported.getTotalProcessed(), "Every draft product should be sent");
+                assertTrue(horoshop.imported() >= exported.getTotalSuccess());
+
+                // Robust sync only picks up active products; the export has already authenticated the config
+                List<Product> products = new ArrayList<>(dataset.getProducts());
+                products.forEach(product -> product.setStatus(ProductStatus.ACTIVE));
+                productRepository.saveAll(products);
+
+                HoroshopSyncOptions options = new HoroshopSyncOptions();
+                HoroshopSyncResult synced = measureSync("robust-sync", size,
+                        () -> robustSyncService.performRobustSync(dataset.getId(), USER, config, options).get());
+                assertTrue(synced.isSuccess(), synced.getMessage());
+            } finally {
+                dataSetService.deleteDataset(dataset.getId(), USER);
+            }
+        }
+    }
+
+    private DataSet importDataset(int size) {
+        DataSourceConfig source = new DataSourceConfig();
+        source.setPlatformType(SourceType.EASYDROP);
+        source.setUrl(feeds.feedUrl(SourceType.EASYDROP, size));
+        source.setHeaders(Map.of());
+        source.setExportUnavailable(true);
+        return dataSetService.createDatasetFromSources("Horoshop load test " + size, null, USER, List.of(source));
+    }
+
+    private HoroshopBulkResult measure(String scenario, int products, Callable<HoroshopBulkResult> run) throws Exception {
+        long requestsBefore = horoshop.requests();
+        long throttledBefore = horoshop.throttled();
+        long failuresBefore = horoshop.failures();
+        long start = System.nanoTime();
+        HoroshopBulkResult result = run.call();
+        long millis = LoadTestReport.millisSince(start);
+        report.add(scenario, products, result.getTotalProcessed(), result.getTotalSuccess(), millis,
+                LoadTestReport.perSecond(result.getTotalProcessed(), millis), horoshop.requests() - requestsBefore,
+                horoshop.throttled() - throttledBefore, horoshop.failures() - failuresBefore);
+        return result;
+    }
+
+    private HoroshopSyncResult measureSync(String scenario, int products, Callable<HoroshopSyncResult> run)
+            throws Exception {
+        HoroshopSyncResult[] result = new HoroshopSyncResult[1];
+        measure(scenario, products, () -> {
+            result[0] = run.call();
+            HoroshopBulkResult export = result[0].getExportResult();
+            return export != null ? export : new HoroshopBulkResult();
+        });
+        return result[0];
+    }
+
+    private static int[] productCounts() {
+        return LoadTestReport.counts("dropiq.loadtest.products", "10000,100000");
+    }
+}
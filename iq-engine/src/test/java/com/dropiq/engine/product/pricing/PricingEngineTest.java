@@ -0,0 +1,119 @@
+package com.dropiq.engine.product.pricing;
+
+import com.dropiq.engine.support.pricing.LegacyPriceUtil;
+import com.dropiq.engine.user.service.PriceUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PricingEngineTest {
+
+    @Test
+    @DisplayName("Marketing rounding at and just past each kind of boundary")
+    void roundsAtBoundaries() {
+        assertRounded("49", "49");
+        assertRounded("49.01", "99");
+        assertRounded("999", "999");
+        assertRounded("999.01", "1499");
+        assertRounded("9999", "9999");
+        // 9 999 .. 10 000 falls back to hundreds - 1, which for 10 000 is below the price, as before
+        assertRounded("9999.01", "9999");
+        assertRounded("10000", "9999");
+        // Above 10 000: next thousand + 998
+        assertRounded("10000.01", "11998");
+        assertRounded("10998.01", "11998");
+        assertRounded("11000.01", "12998");
+    }
+
+    @Test
+    @DisplayName("Markup increments are rounded half-up before marketing rounding")
+    void appliesMarkupAtBoundaries() {
+        assertSellingPrice("39.20", "25", "49");
+        assertSellingPrice("39.21", "25", "99");
+        assertSellingPrice("0.02", "25", "49");
+        assertSellingPrice("1", "12.5", "49");
+        assertSellingPrice("7999.99", "0.01", "9999");
+        assertSellingPrice("100", "-10", "99");
+    }
+
+    @Test
+    @DisplayName("Zero and negative costs get the lowest marketing price, like the BigDecimal code")
+    void handlesZeroAndNegativeCost() {
+        assertSellingPrice("0", "25", "49");
+        assertSellingPrice("0", "0", "49");
+        assertSellingPrice("-10", "25", "49");
+        assertSellingPrice("-0.01", "0", "49");
+        assertEquals(4_900, PricingEngine.roundToMarketingCents(0));
+        assertEquals(4_900, PricingEngine.roundToMarketingCents(-1));
+    }
+
+    @Test
+    @DisplayName("Min margin raises the price only when it beats the markup")
+    void appliesMinMargin() {
+        assertEquals(new BigDecimal("149"), PricingEngine.sellingPrice(new BigDecimal("100"),
+                PriceRule.of(new BigDecimal("10"), new BigDecimal("30"))));
+        assertEquals(new BigDecimal("149"), PricingEngine.sellingPrice(new BigDecimal("100"),
+                PriceRule.of(new BigDecimal("30"), new BigDecimal("10"))));
+        assertEquals(new BigDecimal("99"), PricingEngine.sellingPrice(new BigDecimal("80"),
+                PriceRule.of(new BigDecimal("10"), BigDecimal.ZERO)));
+    }
+
+    @Test
+    @DisplayName("Missing prices stay missing in the BigDecimal and array APIs")
+    void keepsMissingPrices() {
+        PriceRule rule = PriceRule.markup(new BigDecimal("25"));
+        assertNull(PricingEngine.sellingPrice(null, rule));
+
+        long[] out = new long[3];
+        PricingEngine.sellingPrices(new long[]{3_920, PricingEngine.NO_PRICE, 0}, rule, out);
+        assertArrayEquals(new long[]{4_900, PricingEngine.NO_PRICE, 4_900}, out);
+    }
+
+    @Test
+    @DisplayName("Basis-point arithmetic gives the same prices as the BigDecimal code it replaced")
+    void matchesBigDecimalCode() {
+        Random random = new Random(42);
+        long[] costCents = new long[200_000];
+        BigDecimal[] costs = new BigDecimal[costCents.length];
+        for (int i = 0; i < costCents.length; i++) {
+            // Whole cents from -500 to 30 000 UAH, the range the feeds and the 10 000+ fallback cover
+            costs[i] = BigDecimal.valueOf(random.nextInt(3_050_000) - 50_000, 2);
+            costCents[i] = PricingEngine.toCents(costs[i]);
+        }
+
+        for (String percentage : new String[]{"0", "12.5", "25", "33.33", "150", "-5"}) {
+            BigDecimal markup = new BigDecimal(percentage);
+            PriceRule rule = PriceRule.markup(markup);
+            long[] bulk = new long[costCents.length];
+            PricingEngine.sellingPrices(costCents, rule, bulk);
+
+            for (int i = 0; i < costs.length; i++) {
+                BigDecimal expected = LegacyPriceUtil.sellingPrice(costs[i], markup);
+                String context = costs[i] + " at " + percentage + "%";
+                assertEquals(0, expected.compareTo(PricingEngine.sellingPrice(costs[i], rule)), context);
+                assertEquals(0, expected.compareTo(PricingEngine.toPrice(bulk[i])), context);
+            }
+        }
+
+        for (BigDecimal cost : costs) {
+            BigDecimal expected = LegacyPriceUtil.roundToMarketingPriceUp(cost);
+            assertEquals(0, expected.compareTo(PriceUtil.roundToMarketingPriceUp(cost)), cost::toString);
+        }
+    }
+
+    private static void assertRounded(String price, String expected) {
+        BigDecimal value = new BigDecimal(price);
+        assertEquals(new BigDecimal(expected), PriceUtil.roundToMarketingPriceUp(value), price);
+        assertEquals(0, LegacyPriceUtil.roundToMarketingPriceUp(value).compareTo(new BigDecimal(expected)), price);
+    }
+
+    private static void assertSellingPrice(String cost, String markup, String expected) {
+        BigDecimal price = PricingEngine.sellingPrice(new BigDecimal(cost), PriceRule.markup(new BigDecimal(markup)));
+        assertEquals(new BigDecimal(expected), price, cost + " at " + markup + "%");
+        assertEquals(0, LegacyPriceUtil.sellingPrice(new BigDecimal(cost), new BigDecimal(markup)).compareTo(price));
+    }
+}
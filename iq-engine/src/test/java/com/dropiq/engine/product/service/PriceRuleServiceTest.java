@@ -0,0 +1,107 @@
+package com.dropiq.engine.product.service;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.dropiq.engine.product.dto.DataSetPricing;
+import com.dropiq.engine.product.entity.DatasetPriceRule;
+import com.dropiq.engine.product.model.CategoryTreeSnapshot;
+import com.dropiq.engine.product.repository.DataSetRepository;
+import com.dropiq.engine.product.repository.DatasetPriceRuleRepository;
+import com.dropiq.engine.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PriceRuleServiceTest {
+
+    private static final Long DATASET_ID = 7L;
+    private static final String OWNER = "owner";
+
+    private final DatasetPriceRuleRepository ruleRepository = mock(DatasetPriceRuleRepository.class);
+    private final DataSetRepository dataSetRepository = mock(DataSetRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CategoryTreeCache categoryTreeCache = mock(CategoryTreeCache.class);
+
+    private final PriceRuleService service =
+            new PriceRuleService(ruleRepository, dataSetRepository, productRepository, categoryTreeCache);
+
+    // Column defaults of DataSet: 30% markup, 20% min margin
+    @BeforeEach
+    void dataset() {
+        DataSetPricing pricing = mock(DataSetPricing.class);
+        when(pricing.getCreatedBy()).thenReturn(OWNER);
+        when(pricing.getDefaultMarkup()).thenReturn(new BigDecimal("30"));
+        when(pricing.getMinProfitMargin()).thenReturn(new BigDecimal("20"));
+        when(dataSetRepository.findPricingById(DATASET_ID)).thenReturn(Optional.of(pricing));
+        when(dataSetRepository.findOwnerById(DATASET_ID)).thenReturn(Optional.of(OWNER));
+        when(categoryTreeCache.getSnapshot(DATASET_ID)).thenReturn(CategoryTreeSnapshot.empty(DATASET_ID, OWNER, 1));
+        when(productRepository.updatePricingPerProduct(any(), any(), any()))
+                .thenAnswer(invocation -> ((Long[]) invocation.getArgument(0)).length);
+    }
+
+    @Test
+    @DisplayName("A sync keeps a bulk-applied markup on a dataset without rules")
+    void syncKeepsBulkMarkupWithoutRules() {
+        // 55% was applied in bulk; the dataset defaults must not reset it
+        when(ruleRepository.findByDatasetIdOrderByPriorityAscIdAsc(DATASET_ID)).thenReturn(List.of());
+        when(productRepository.findPricingRowsByIds(any())).thenReturn(List.of(
+                row(1L, "100", SourceType.MYDROP, null),
+                row(2L, "250", SourceType.EASYDROP, "Nike")));
+
+        assertEquals(0, service.repriceProducts(DATASET_ID, List.of(1L, 2L)));
+
+        verify(productRepository, never()).findPricingRowsByIds(any());
+        verify(productRepository, never()).updatePricingPerProduct(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("A sync reprices only the products a rule matches")
+    void syncRepricesRuleMatchesOnly() {
+        DatasetPriceRule nike = new DatasetPriceRule();
+        nike.setBrand("Nike");
+        nike.setMarkupPercentage(new BigDecimal("40"));
+        nike.setPriority(1);
+        nike.setActive(true);
+        when(ruleRepository.findByDatasetIdOrderByPriorityAscIdAsc(DATASET_ID)).thenReturn(List.of(nike));
+        when(productRepository.findPricingRowsByIds(any())).thenReturn(List.of(
+                row(1L, "100", SourceType.MYDROP, null),
+                row(2L, "250", SourceType.EASYDROP, "nike")));
+
+        assertEquals(1, service.repriceProducts(DATASET_ID, List.of(1L, 2L)));
+
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<BigDecimal[]> markups = ArgumentCaptor.forClass(BigDecimal[].class);
+        verify(productRepository).updatePricingPerProduct(ids.capture(), markups.capture(), any());
+        assertArrayEquals(new Long[]{2L}, ids.getValue());
+        assertEquals(0, new BigDecimal("40").compareTo(markups.getValue()[0]));
+    }
+
+    @Test
+    @DisplayName("Applying rules explicitly still prices unmatched products by the dataset defaults")
+    void explicitRepriceUsesDefaults() {
+        when(ruleRepository.findByDatasetIdOrderByPriorityAscIdAsc(DATASET_ID)).thenReturn(List.of());
+        when(productRepository.findPricingRows(eq(DATASET_ID), anyLong(), any()))
+                .thenReturn(List.<Object[]>of(row(1L, "100", SourceType.MYDROP, null)))
+                .thenReturn(List.of());
+
+        assertEquals(1, service.repriceDataset(DATASET_ID, OWNER));
+
+        ArgumentCaptor<BigDecimal[]> markups = ArgumentCaptor.forClass(BigDecimal[].class);
+        verify(productRepository).updatePricingPerProduct(any(), markups.capture(), any());
+        assertEquals(0, new BigDecimal("30").compareTo(markups.getValue()[0]));
+    }
+
+    private static Object[] row(Long id, String originalPrice, SourceType sourceType, String brand) {
+        return new Object[]{id, new BigDecimal(originalPrice), null, sourceType, brand};
+    }
+}
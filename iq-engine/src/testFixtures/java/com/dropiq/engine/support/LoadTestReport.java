@@ -0,0 +1,144 @@
+package com.dropiq.engine.support;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Result table of a load test, printed to the console and written to {@code build/reports/loadtest/<name>.csv}.
+ * <p>
+ * Columns are declared once with a console title and {@link String#format} pattern and a CSV header; a column
+ * without a title is written to the CSV only, one without a CSV header is printed only. Rows are added in column
+ * order. Floating point CSV values use {@code %.1f} in the root locale unless the column gives its own pattern.
+ * <pre>{@code
+ * private static final LoadTestReport report = LoadTestReport.named("feed-sync")
+ *         .column("scenario", "%-10s", "scenario")
+ *         .column("products/s", "%11.0f", "products_per_second");
+ * }</pre>
+ */
+public final class LoadTestReport {
+
+    private static final Path DIRECTORY = Path.of("build", "reports", "loadtest");
+    private static final Pattern FORMAT_WIDTH = Pattern.compile("%(-?\\d*)(?:\\.\\d+)?[a-zA-Z]");
+
+    private record Column(String title, String format, String csvName, String csvFormat) {
+    }
+
+    private final String name;
+    private final List<Column> columns = new ArrayList<>();
+    private final List<Object[]> rows = new ArrayList<>();
+
+    private LoadTestReport(String name) {
+        this.name = name;
+    }
+
+    public static LoadTestReport named(String name) {
+        return new LoadTestReport(name);
+    }
+
+    public LoadTestReport column(String title, String format, String csvName) {
+        return column(title, format, csvName, null);
+    }
+
+    public LoadTestReport column(String title, String format, String csvName, String csvFormat) {
+        if ((title == null) != (format == null) || (title == null && csvName == null)) {
+            throw new IllegalArgumentException("A column needs a title with a format, a CSV header, or both");
+        }
+        columns.add(new Column(title, format, csvName, csvFormat));
+        return this;
+    }
+
+    public LoadTestReport csvColumn(String csvName) {
+        return column(null, null, csvName, null);
+    }
+
+    public synchronized void add(Object... values) {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, got " + values.length);
+        }
+        rows.add(values.clone());
+    }
+
+    /**
+     * Prints the table and writes the CSV, returning its path
+     */
+    public synchronized Path write() throws IOException {
+        Predicate<Column> printed = column -> column.title() != null;
+        Predicate<Column> exported = column -> column.csvName() != null;
+
+        String formats = String.join(" ", columns.stream().filter(printed).map(Column::format).toList());
+        // Titles take the width and alignment of their column
+        String headerFormat = FORMAT_WIDTH.matcher(formats)
+                .replaceAll(match -> Matcher.quoteReplacement("%" + match.group(1) + "s"));
+        String rowFormat = formats + "%n";
+        System.out.printf("%n" + headerFormat + "%n", columns.stream().filter(printed).map(Column::title).toArray());
+        for (Object[] row : rows) {
+            System.out.printf(rowFormat, select(row, printed));
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.join(",", columns.stream().filter(exported).map(Column::csvName).toList()));
+        for (Object[] row : rows) {
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                if (exported.test(column)) {
+                    values.add(csvValue(column, row[i]));
+                }
+            }
+            lines.add(String.join(",", values));
+        }
+
+        Path report = DIRECTORY.resolve(name + ".csv");
+        Files.createDirectories(report.getParent());
+        Files.write(report, lines);
+        System.out.println("Report: " + report.toAbsolutePath());
+        return report;
+    }
+
+    /**
+     * Comma separated sizes from a system property, e.g. {@code -Pdropiq.loadtest.offers=1000,50000}
+     */
+    public static int[] counts(String property, String defaults) {
+        return Arrays.stream(System.getProperty(property, defaults).split(","))
+                .map(String::trim)
+                .filter(count -> !count.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+
+    public static double perSecond(long count, long millis) {
+        return millis > 0 ? count * 1000.0 / millis : 0;
+    }
+
+    public static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private Object[] select(Object[] row, Predicate<Column> filter) {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            if (filter.test(columns.get(i))) {
+                values.add(row[i]);
+            }
+        }
+        return values.toArray();
+    }
+
+    private static String csvValue(Column column, Object value) {
+        if (column.csvFormat() != null) {
+            return String.format(Locale.ROOT, column.csvFormat(), value);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return String.format(Locale.ROOT, "%.1f", value);
+        }
+        return String.valueOf(value);
+    }
+}
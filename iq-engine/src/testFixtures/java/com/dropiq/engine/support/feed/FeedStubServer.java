@@ -0,0 +1,245 @@
+package com.dropiq.engine.support.feed;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local HTTP server standing in for supplier feed URLs in load tests and benchmarks.
+ * <ul>
+ *     <li>{@code GET /feeds/easydrop.xml?offers=10000&variants=5&seed=42} — generated {@link SyntheticFeed}</li>
+ *     <li>{@code GET /recorded/<file>} — a recorded feed from the directory given to {@link #start(Path)}</li>
+ * </ul>
+ * Both accept fault parameters: {@code latencyMs} (plus up to {@code jitterMs}) before the response,
+ * {@code failureRate} (0..1) answered with 503, {@code truncateRate} (0..1) sending only half of the document,
+ * and {@code kbps} throttling the body. Generated feeds are written once per parameters to temp files and
+ * streamed from disk, so repeated fetches measure the client and the stub adds nothing to the heap under test.
+ */
+public final class FeedStubServer implements AutoCloseable {
+
+    private static final int CHUNK = 16 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Path recordedDir;
+    private final Map<String, Path> generated = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    private FeedStubServer(Path recordedDir) throws IOException {
+        this.recordedDir = recordedDir;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.createContext("/feeds/", this::serveGenerated);
+        server.createContext("/recorded/", this::serveRecorded);
+        server.start();
+    }
+
+    public static FeedStubServer start() throws IOException {
+        return new FeedStubServer(null);
+    }
+
+    public static FeedStubServer start(Path recordedDir) throws IOException {
+        return new FeedStubServer(recordedDir);
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * URL of a generated feed; faults are appended as query parameters, e.g. {@code "failureRate=0.1"}
+     */
+    public String feedUrl(SourceType platform, int offers, String... faults) {
+        StringBuilder url = new StringBuilder(baseUrl()).append("/feeds/")
+                .append(platform.name().toLowerCase(Locale.ROOT)).append(".xml?offers=").append(offers);
+        for (String fault : faults) {
+            url.append('&').append(fault);
+        }
+        return url.toString();
+    }
+
+    public String recordedUrl(String fileName, String... faults) {
+        StringBuilder url = new StringBuilder(baseUrl()).append("/recorded/").append(fileName);
+        for (int i = 0; i < faults.length; i++) {
+            url.append(i == 0 ? '?' : '&').append(faults[i]);
+        }
+        return url.toString();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long failures() {
+        return failures.get();
+    }
+
+    public long bytesSent() {
+        return bytesSent.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        generated.values().forEach(path -> path.toFile().delete());
+    }
+
+    private void serveGenerated(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI());
+        String file = exchange.getRequestURI().getPath().substring("/feeds/".length());
+        SourceType platform;
+        try {
+            platform = SourceType.valueOf(file.replace(".xml", "").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 404, "Unknown feed " + file);
+            return;
+        }
+
+        int offers = intParam(query, "offers", 1000);
+        int variants = intParam(query, "variants", 5);
+        long seed = intParam(query, "seed", 42);
+        Path feed = generated.computeIfAbsent(platform + ":" + offers + ":" + variants + ":" + seed,
+                key -> write(new SyntheticFeed(platform, offers, variants, seed)));
+        serve(exchange, query, feed);
+    }
+
+    private void serveRecorded(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI());
+        String file = exchange.getRequestURI().getPath().substring("/recorded/".length());
+        Path path = recordedDir != null ? recordedDir.resolve(file).normalize() : null;
+        if (path == null || !path.startsWith(recordedDir) || !Files.isRegularFile(path)) {
+            respond(exchange, 404, "No recorded feed " + file);
+            return;
+        }
+        serve(exchange, query, path);
+    }
+
+    private void serve(HttpExchange exchange, Map<String, String> query, Path feed) throws IOException {
+        requests.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long latency = intParam(query, "latencyMs", 0);
+        long jitter = intParam(query, "jitterMs", 0);
+        sleep(latency + (jitter > 0 ? random.nextLong(jitter + 1) : 0));
+
+        if (random.nextDouble() < doubleParam(query, "failureRate")) {
+            failures.incrementAndGet();
+            respond(exchange, 503, "Injected failure");
+            return;
+        }
+
+        // A truncated body is a well-framed response holding half a document, so the feed fails to parse
+        boolean truncate = random.nextDouble() < doubleParam(query, "truncateRate");
+        if (truncate) {
+            failures.incrementAndGet();
+        }
+        long size = Files.size(feed);
+        long length = truncate ? size / 2 : size;
+        int kbps = intParam(query, "kbps", 0);
+        long chunkPauseMs = kbps > 0 ? Math.max(1, CHUNK * 1000L / (kbps * 1024L)) : 0;
+
+        exchange.getResponseHeaders().set("Content-Type", "application/xml; charset=UTF-8");
+        exchange.sendResponseHeaders(200, length);
+        try (InputStream in = Files.newInputStream(feed); OutputStream out = exchange.getResponseBody()) {
+            byte[] buffer = new byte[CHUNK];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(CHUNK, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+                bytesSent.addAndGet(read);
+                if (chunkPauseMs > 0) {
+                    out.flush();
+                    sleep(chunkPauseMs);
+                }
+            }
+        } catch (IOException e) {
+            // Client gave up (timeout or cancelled fetch)
+        }
+    }
+
+    private static Path write(SyntheticFeed feed) {
+        try {
+            Path path = Files.createTempFile("feed-" + feed.getPlatform().name().toLowerCase(Locale.ROOT) + "-", ".xml");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+                feed.writeTo(out);
+            }
+            return path;
+        } catch (IOException | XMLStreamException e) {
+            throw new UncheckedIOException(new IOException("Cannot write generated feed", e));
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private static double doubleParam(Map<String, String> query, String name) {
+        String value = query.get(name);
+        return value != null ? Double.parseDouble(value) : 0;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
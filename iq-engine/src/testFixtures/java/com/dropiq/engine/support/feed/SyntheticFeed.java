@@ -0,0 +1,218 @@
+package com.dropiq.engine.support.feed;
+
+import com.dropiq.engine.integration.exp.model.SourceType;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Deterministic YML feed in the EasyDrop ({@code <items>/<item>}) or MyDrop ({@code <offers>/<offer>}) layout.
+ * Offers come in variant groups sharing group_id, name and description and differing by size, the way
+ * supplier feeds list clothing and shoes. The same platform, size, variants and seed always give the same bytes.
+ */
+public final class SyntheticFeed {
+
+    private static final String[] BRANDS = {
+            "Nike", "Adidas", "Puma", "New Balance", "Reebok", "Converse", "Vans", "Zara", "Mango",
+            "Tommy Hilfiger", "Calvin Klein", "Levi's", "Without", "Columbia", "The North Face"
+    };
+
+    private static final String[] COLORS = {"чорний", "білий", "бежевий", "сірий", "синій", "хакі", "рожевий"};
+
+    private static final String[] MATERIALS = {
+            "95% бавовна, 5% еластан", "100% бавовна", "поліестер", "натуральна шкіра", "еко-шкіра, текстиль",
+            "віскоза", "вовна 30%, акрил 70%", "фліс"
+    };
+
+    private static final String[] COUNTRIES = {"Туреччина", "Китай", "Україна", "В'єтнам", "Бангладеш"};
+
+    private static final String[] ALPHA_SIZES = {"XS", "S", "M", "L", "XL", "XXL", "3XL"};
+    private static final String[] SHOE_SIZES = {"36", "37", "38", "39", "40", "41", "42", "43", "44", "45"};
+    private static final String[] WAIST_SIZES = {"44", "46", "48", "50", "52", "54", "56"};
+    private static final String[] ONE_SIZE = {"ONE SIZE"};
+
+    // Parent categories, then leaf categories: {id, parentId, name, product noun, size scale index}
+    private static final String[][] CATEGORIES = {
+            {"1", null, "Жіночий одяг"},
+            {"2", null, "Чоловічий одяг"},
+            {"3", null, "Взуття"},
+            {"4", null, "Аксесуари"},
+            {"11", "1", "Футболки жіночі", "Футболка жіноча", "0"},
+            {"12", "1", "Сукні", "Сукня", "0"},
+            {"13", "1", "Худі та світшоти", "Худі оверсайз", "0"},
+            {"14", "1", "Джинси жіночі", "Джинси жіночі", "2"},
+            {"21", "2", "Футболки чоловічі", "Футболка чоловіча", "0"},
+            {"22", "2", "Штани чоловічі", "Штани карго", "2"},
+            {"23", "2", "Куртки", "Куртка демісезонна", "0"},
+            {"31", "3", "Кросівки", "Кросівки", "1"},
+            {"32", "3", "Черевики", "Черевики", "1"},
+            {"41", "4", "Кепки", "Кепка", "3"},
+            {"42", "4", "Сумки", "Сумка шопер", "3"}
+    };
+    private static final int FIRST_LEAF = 4;
+
+    private static final String[][] SIZE_SCALES = {ALPHA_SIZES, SHOE_SIZES, WAIST_SIZES, ONE_SIZE};
+
+    private final SourceType platform;
+    private final int offers;
+    private final int maxVariants;
+    private final long seed;
+
+    public SyntheticFeed(SourceType platform, int offers, int maxVariants, long seed) {
+        if (platform != SourceType.EASYDROP && platform != SourceType.MYDROP) {
+            throw new IllegalArgumentException("No feed layout for " + platform);
+        }
+        this.platform = platform;
+        this.offers = offers;
+        this.maxVariants = Math.max(1, maxVariants);
+        this.seed = seed;
+    }
+
+    public static SyntheticFeed of(SourceType platform, int offers) {
+        return new SyntheticFeed(platform, offers, 5, 42);
+    }
+
+    public SourceType getPlatform() {
+        return platform;
+    }
+
+    public int getOffers() {
+        return offers;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(offers * 900 + 4096);
+        try {
+            writeTo(out);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Cannot generate feed", e);
+        }
+        return out.toByteArray();
+    }
+
+    public String toXml() {
+        return new String(toBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stream the feed; memory use does not grow with the number of offers
+     */
+    public void writeTo(OutputStream out) throws XMLStreamException {
+        boolean easyDrop = platform == SourceType.EASYDROP;
+        Random random = new Random(seed);
+        XMLStreamWriter xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out, "UTF-8");
+
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.writeStartElement("yml_catalog");
+        xml.writeAttribute("date", "2026-01-01 00:00");
+        xml.writeStartElement("shop");
+        element(xml, "name", platform.name() + " stub");
+
+        xml.writeStartElement("categories");
+        for (String[] category : CATEGORIES) {
+            xml.writeStartElement("category");
+            xml.writeAttribute("id", category[0]);
+            if (category[1] != null) {
+                xml.writeAttribute("parentId", category[1]);
+            }
+            xml.writeCharacters(category[2]);
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+
+        xml.writeStartElement(easyDrop ? "items" : "offers");
+        int written = 0;
+        int group = 0;
+        while (written < offers) {
+            group++;
+            String[] category = CATEGORIES[FIRST_LEAF + random.nextInt(CATEGORIES.length - FIRST_LEAF)];
+            String[] scale = SIZE_SCALES[Integer.parseInt(category[4])];
+            int variants = Math.min(offers - written, 1 + random.nextInt(Math.min(maxVariants, scale.length)));
+            int firstSize = random.nextInt(scale.length - variants + 1);
+
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            String color = COLORS[random.nextInt(COLORS.length)];
+            String name = category[3] + " " + brand + " " + (char) ('A' + random.nextInt(26)) + (100 + random.nextInt(900))
+                    + " " + color;
+            String description = description(random, name);
+            long basePrice = 199 + random.nextInt(40) * 50L;
+            int images = 1 + random.nextInt(5);
+
+            for (int v = 0; v < variants; v++) {
+                written++;
+                int stock = random.nextInt(10) == 0 ? 0 : random.nextInt(40);
+                writeOffer(xml, easyDrop, written, group, name, description, category[0], brand,
+                        basePrice + (v == variants - 1 && variants > 2 ? 50 : 0), stock, images, scale[firstSize + v]);
+            }
+        }
+        xml.writeEndElement();
+
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndDocument();
+        xml.flush();
+        xml.close();
+    }
+
+    private void writeOffer(XMLStreamWriter xml, boolean easyDrop, int id, int group, String name, String description,
+                            String categoryId, String brand, long price, int stock, int images, String size)
+            throws XMLStreamException {
+        xml.writeStartElement(easyDrop ? "item" : "offer");
+        xml.writeAttribute("id", String.valueOf(100_000 + id));
+        xml.writeAttribute("group_id", String.valueOf(10_000 + group));
+        xml.writeAttribute("available", String.valueOf(stock > 0));
+        xml.writeAttribute("selling_type", "r");
+
+        element(xml, "name", name);
+        element(xml, "categoryId", categoryId);
+        if (easyDrop) {
+            element(xml, "priceuah", price + ".00");
+        } else {
+            element(xml, "price", price + ".00");
+            element(xml, "currencyId", "UAH");
+            element(xml, "vendor", brand);
+            element(xml, "vendorCode", "VC-" + group);
+        }
+        element(xml, "quantity_in_stock", String.valueOf(stock));
+
+        xml.writeStartElement("description");
+        if (easyDrop) {
+            xml.writeCharacters(description);
+        } else {
+            xml.writeCData(description);
+        }
+        xml.writeEndElement();
+
+        for (int i = 1; i <= images; i++) {
+            element(xml, easyDrop ? "image" : "picture", "https://cdn.example.com/" + group + "/" + i + ".jpg");
+        }
+
+        xml.writeStartElement("param");
+        xml.writeAttribute("name", easyDrop ? "Розмір" : "Размер");
+        xml.writeCharacters(size);
+        xml.writeEndElement();
+
+        if (easyDrop) {
+            element(xml, "barcode", String.valueOf(4_820_000_000_000L + id));
+        }
+        xml.writeEndElement();
+    }
+
+    private static String description(Random random, String name) {
+        return "<p>" + name + " — базова модель на кожен день.</p>"
+                + "<p>Матеріал: " + MATERIALS[random.nextInt(MATERIALS.length)] + "<br>"
+                + "Виробник: " + COUNTRIES[random.nextInt(COUNTRIES.length)] + "<br>"
+                + "Догляд: делікатне прання при 30&deg;C</p>";
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+}
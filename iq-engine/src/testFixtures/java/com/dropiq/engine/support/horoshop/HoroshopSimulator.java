@@ -0,0 +1,435 @@
+package com.dropiq.engine.support.horoshop;
+
+import com.dropiq.engine.integration.imp.horoshop.model.HoroshopConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embeddable stand-in for a Horoshop shop API, for export and sync load tests.
+ * <ul>
+ *     <li>{@code POST /api/auth} — login/password to token</li>
+ *     <li>{@code POST /api/catalog/import/} — create or update products, answering with a per-article log</li>
+ *     <li>{@code GET /api/catalog/export/} — the catalog, optionally paged with {@code offset}/{@code limit}</li>
+ *     <li>{@code POST /api/catalog/delete/}, {@code GET /api/pages/export/}, {@code POST /api/categories/}</li>
+ * </ul>
+ * The catalog lives in memory. Every call but {@code /auth} needs a valid token (body for POST, query for GET),
+ * otherwise the answer is 401. Faults are set on the {@link Builder}: request rate limit (429 with Retry-After),
+ * latency with jitter, whole-request failures (503) and per-product import errors (log code 31, which
+ * {@code HoroshopApiClient} counts as an error).
+ */
+public final class HoroshopSimulator implements AutoCloseable {
+
+    public static final int CODE_OK = 0;
+    public static final int CODE_SKIPPED = 11;
+    public static final int CODE_NO_ARTICLE = 30;
+    public static final int CODE_REJECTED = 31;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final Builder settings;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final Map<String, ObjectNode> catalog = new ConcurrentHashMap<>();
+    private final Map<Long, ObjectNode> categories = new ConcurrentHashMap<>();
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+    private final AtomicLong categoryIds = new AtomicLong();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private long windowStart;
+    private int windowRequests;
+
+    private HoroshopSimulator(Builder settings) throws IOException {
+        this.settings = settings;
+        this.tokens.add(settings.token);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newFixedThreadPool(settings.threads);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static HoroshopSimulator start() throws IOException {
+        return builder().start();
+    }
+
+    /**
+     * Base URL as {@link HoroshopConfig#getApiUrl()} expects it, without a trailing slash
+     */
+    public String apiUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api";
+    }
+
+    /**
+     * Client config with login/password and no token, so the client goes through {@code /auth}
+     */
+    public HoroshopConfig config() {
+        HoroshopConfig config = new HoroshopConfig();
+        config.setDomain("simulator.horoshop.ua");
+        config.setApiUrl(apiUrl());
+        config.setUsername(settings.login);
+        config.setPassword(settings.password);
+        return config;
+    }
+
+    /**
+     * Token accepted without calling {@code /auth}
+     */
+    public String token() {
+        return settings.token;
+    }
+
+    public int catalogSize() {
+        return catalog.size();
+    }
+
+    public JsonNode product(String article) {
+        return catalog.get(article);
+    }
+
+    public int categoryCount() {
+        return categories.size();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long throttled() {
+        return throttled.get();
+    }
+
+    public long failures() {
+        return failures.get();
+    }
+
+    public long imported() {
+        return imported.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            sleep(settings.latencyMs + (settings.jitterMs > 0 ? random.nextLong(settings.jitterMs + 1) : 0));
+
+            if (!acquire()) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, status("RATE_LIMIT", "Too many requests"));
+                return;
+            }
+            if (random.nextDouble() < settings.failureRate) {
+                failures.incrementAndGet();
+                respond(exchange, 503, status("ERROR", "Service temporarily unavailable"));
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath().substring("/api".length());
+            boolean post = "POST".equals(exchange.getRequestMethod());
+            JsonNode body = post ? readBody(exchange) : NODES.objectNode();
+            if (path.equals("/auth")) {
+                auth(exchange, body);
+                return;
+            }
+
+            Map<String, String> query = query(exchange.getRequestURI());
+            String token = post ? body.path("token").asText(null) : query.get("token");
+            if (token == null || !tokens.contains(token)) {
+                respond(exchange, 401, status("UNAUTHORIZED", "Invalid token"));
+                return;
+            }
+
+            switch (path) {
+                case "/catalog/import/" -> importProducts(exchange, body);
+                case "/catalog/export/" -> exportProducts(exchange, query);
+                case "/catalog/delete/" -> deleteProduct(exchange, body);
+                case "/pages/export/" -> exportPages(exchange, query);
+                case "/categories/" -> createCategory(exchange, body);
+                default -> respond(exchange, 404, status("NOT_FOUND", "Unknown method " + path));
+            }
+        } catch (RuntimeException e) {
+            respond(exchange, 500, status("ERROR", e.getMessage()));
+        }
+    }
+
+    private void auth(HttpExchange exchange, JsonNode body) throws IOException {
+        if (!settings.login.equals(body.path("login").asText()) || !settings.password.equals(body.path("password").asText())) {
+            respond(exchange, 401, status("UNAUTHORIZED", "Wrong login or password"));
+            return;
+        }
+        String token = UUID.randomUUID().toString();
+        tokens.add(token);
+        ObjectNode response = status("OK", null);
+        response.putObject("response").put("token", token);
+        respond(exchange, 200, response);
+    }
+
+    private void importProducts(HttpExchange exchange, JsonNode body) throws IOException {
+        boolean updateExisting = body.path("settings").path("update_existing").asBoolean(true);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ArrayNode log = NODES.arrayNode();
+        int success = 0;
+        int errors = 0;
+
+        for (JsonNode product : body.path("products")) {
+            String article = product.path("article").asText(null);
+            ObjectNode entry = log.addObject();
+            entry.put("article", article);
+            ArrayNode info = entry.putArray("info");
+
+            if (article == null || article.isEmpty()) {
+                errors++;
+                info.addObject().put("code", CODE_NO_ARTICLE).put("message", "Article is required");
+            } else if (random.nextDouble() < settings.itemFailureRate) {
+                errors++;
+                rejected.incrementAndGet();
+                info.addObject().put("code", CODE_REJECTED).put("message", "Product rejected by simulator");
+            } else {
+                ObjectNode existing = catalog.get(article);
+                if (existing == null) {
+                    catalog.put(article, ((ObjectNode) product).deepCopy());
+                    info.addObject().put("code", CODE_OK).put("message", "Product created");
+                } else if (updateExisting) {
+                    synchronized (existing) {
+                        existing.setAll((ObjectNode) product);
+                    }
+                    info.addObject().put("code", CODE_OK).put("message", "Product updated");
+                } else {
+                    info.addObject().put("code", CODE_SKIPPED).put("message", "Product exists, not updated");
+                }
+                success++;
+                imported.incrementAndGet();
+            }
+        }
+
+        ObjectNode response = status(errors == 0 ? "OK" : "WARNING", null);
+        ObjectNode data = response.putObject("response");
+        data.set("log", log);
+        data.put("totalProcessed", success + errors);
+        data.put("totalSuccess", success);
+        data.put("totalErrors", errors);
+        respond(exchange, 200, response);
+    }
+
+    private void exportProducts(HttpExchange exchange, Map<String, String> query) throws IOException {
+        List<ObjectNode> products = new ArrayList<>(catalog.values());
+        int offset = Math.min(intParam(query, "offset", 0), products.size());
+        int limit = intParam(query, "limit", products.size());
+
+        ObjectNode response = status("OK", null);
+        ArrayNode array = response.putObject("response").putArray("products");
+        for (ObjectNode product : products.subList(offset, Math.min(products.size(), offset + limit))) {
+            synchronized (product) {
+                array.add(product.deepCopy());
+            }
+        }
+        respond(exchange, 200, response);
+    }
+
+    private void deleteProduct(HttpExchange exchange, JsonNode body) throws IOException {
+        String article = body.path("article").asText(null);
+        boolean removed = article != null && catalog.remove(article) != null;
+        respond(exchange, 200, status(removed ? "OK" : "NOT_FOUND", removed ? null : "No product " + article));
+    }
+
+    private void exportPages(HttpExchange exchange, Map<String, String> query) throws IOException {
+        ObjectNode response = status("OK", null);
+        ArrayNode array = response.putObject("response").putArray("pages");
+        categories.values().stream().limit(intParam(query, "limit", Integer.MAX_VALUE)).forEach(array::add);
+        respond(exchange, 200, response);
+    }
+
+    private void createCategory(HttpExchange exchange, JsonNode body) throws IOException {
+        JsonNode category = body.path("category");
+        if (!category.isObject()) {
+            respond(exchange, 400, status("ERROR", "Category is required"));
+            return;
+        }
+        ObjectNode stored = ((ObjectNode) category).deepCopy();
+        long id = categoryIds.incrementAndGet();
+        stored.put("id", id);
+        categories.put(id, stored);
+        // The client reads the created category itself, not a status envelope
+        respond(exchange, 200, stored);
+    }
+
+    /**
+     * Fixed one-second window shared by all clients, like a per-shop API limit
+     */
+    private synchronized boolean acquire() {
+        if (settings.requestsPerSecond <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (now - windowStart >= 1_000_000_000L) {
+            windowStart = now;
+            windowRequests = 0;
+        }
+        return ++windowRequests <= settings.requestsPerSecond;
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            return bytes.length == 0 ? NODES.objectNode() : JSON.readTree(bytes);
+        }
+    }
+
+    private static ObjectNode status(String status, String message) {
+        ObjectNode node = NODES.objectNode().put("status", status);
+        if (message != null) {
+            node.putObject("response").put("message", message);
+        }
+        return node;
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = JSON.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static final class Builder {
+
+        private String login = "owner";
+        private String password = "simulator";
+        private String token = "simulator-token";
+        private int requestsPerSecond;
+        private long latencyMs;
+        private long jitterMs;
+        private double failureRate;
+        private double itemFailureRate;
+        private int threads = 8;
+
+        private Builder() {
+        }
+
+        public Builder credentials(String login, String password) {
+            this.login = login;
+            this.password = password;
+            return this;
+        }
+
+        public Builder token(String token) {
+            this.token = token;
+            return this;
+        }
+
+        /**
+         * Requests allowed per second across all endpoints; 0 means unlimited
+         */
+        public Builder requestsPerSecond(int requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        public Builder latency(long latencyMs, long jitterMs) {
+            this.latencyMs = latencyMs;
+            this.jitterMs = jitterMs;
+            return this;
+        }
+
+        /**
+         * Share of requests answered with 503
+         */
+        public Builder failureRate(double failureRate) {
+            this.failureRate = failureRate;
+            return this;
+        }
+
+        /**
+         * Share of imported products rejected inside an otherwise successful batch
+         */
+        public Builder itemFailureRate(double itemFailureRate) {
+            this.itemFailureRate = itemFailureRate;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public HoroshopSimulator start() throws IOException {
+            return new HoroshopSimulator(this);
+        }
+    }
+}
@@ -0,0 +1,492 @@
+package com.dropiq.engine.support.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embeddable stand-in for the LLM providers, for AI enrichment load tests and benchmarks.
+ * <ul>
+ *     <li>{@code POST /v1/chat/completions} — OpenAI chat completions, as {@code GPT4MiniClient} calls it
+ *     ({@code openai.api.base-url} = {@link #openAiBaseUrl()})</li>
+ *     <li>{@code POST /api/generate} — Ollama generate, as {@code OllamaClient} calls it
+ *     ({@code ollama.base-url} and {@code ollama.text.base-url} = {@link #ollamaBaseUrl()})</li>
+ * </ul>
+ * Answers carry analysis JSON in the schema the calling prompt asks for (flat Horoshop analysis for text,
+ * nested for vision, snake_case for Ollama), derived from the product name in the prompt, and report token
+ * usage. Faults are set on the {@link Builder}: latency with jitter, generation speed, share of requests
+ * answered with 429 and share of answers whose content is malformed (truncated JSON or prose).
+ * <p>
+ * Chat requests get OpenAI-style prompt caching: a system message of 1024+ tokens seen before is reported as
+ * {@code usage.prompt_tokens_details.cached_tokens}, rounded down to 128 tokens.
+ */
+public final class LlmStubServer implements AutoCloseable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final int MIN_CACHED_PREFIX = 1024;
+    private static final int CACHE_BLOCK = 128;
+    private static final Pattern PRODUCT_NAME = Pattern.compile("(?:Початкова назва|Product context):\\s*([^\\n(]+)");
+
+    private final Builder settings;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong completions = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong cachedTokens = new AtomicLong();
+    private final AtomicLong completionTokens = new AtomicLong();
+    private final Set<String> cachedPrefixes = ConcurrentHashMap.newKeySet();
+
+    private LlmStubServer(Builder settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newFixedThreadPool(settings.threads);
+        server.setExecutor(executor);
+        server.createContext("/v1/chat/completions", exchange -> handle(exchange, false));
+        server.createContext("/api/generate", exchange -> handle(exchange, true));
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static LlmStubServer start() throws IOException {
+        return builder().start();
+    }
+
+    /**
+     * Base URL for {@code openai.api.base-url}, including {@code /v1}
+     */
+    public String openAiBaseUrl() {
+        return baseUrl() + "/v1";
+    }
+
+    /**
+     * Base URL for {@code ollama.base-url} and {@code ollama.text.base-url}
+     */
+    public String ollamaBaseUrl() {
+        return baseUrl();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    /**
+     * Requests answered with 200, malformed ones included
+     */
+    public long completions() {
+        return completions.get();
+    }
+
+    public long throttled() {
+        return throttled.get();
+    }
+
+    public long malformed() {
+        return malformed.get();
+    }
+
+    public long promptTokens() {
+        return promptTokens.get();
+    }
+
+    /**
+     * Prompt tokens reported as served from the prompt cache, a part of {@link #promptTokens()}
+     */
+    public long cachedTokens() {
+        return cachedTokens.get();
+    }
+
+    public long completionTokens() {
+        return completionTokens.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange, boolean ollama) throws IOException {
+        try {
+            requests.incrementAndGet();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            sleep(settings.latencyMs + (settings.jitterMs > 0 ? random.nextLong(settings.jitterMs + 1) : 0));
+
+            if (random.nextDouble() < settings.rateLimitRate) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, error("rate_limit_exceeded", "Rate limit reached for requests"));
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, error("method_not_allowed", "Use POST"));
+                return;
+            }
+
+            byte[] raw = readBody(exchange);
+            JsonNode body = JSON.readTree(raw);
+            boolean vision = ollama ? body.has("images") : hasImage(body);
+            String name = productName(ollama ? body.path("prompt").asText() : messageText(body));
+
+            int prompt = settings.promptTokens > 0 ? settings.promptTokens : Math.max(1, raw.length / 4);
+            int cached = ollama ? 0 : Math.min(prompt, cachedPrefixTokens(body));
+            int completion = settings.completionTokens;
+            if (settings.tokensPerSecond > 0) {
+                sleep(completion * 1000L / settings.tokensPerSecond);
+            }
+
+            String content = ollama
+                    ? JSON.writeValueAsString(vision ? ollamaVision(name) : ollamaText(name))
+                    : JSON.writeValueAsString(vision ? horoshopVision(name) : horoshopText(name));
+            if (random.nextDouble() < settings.malformedRate) {
+                malformed.incrementAndGet();
+                content = random.nextBoolean()
+                        ? content.substring(0, content.length() / 2)
+                        : "Вибачте, я не можу проаналізувати цей товар.";
+            }
+
+            completions.incrementAndGet();
+            promptTokens.addAndGet(prompt);
+            cachedTokens.addAndGet(cached);
+            completionTokens.addAndGet(completion);
+            respond(exchange, 200, ollama
+                    ? ollamaResponse(body, content, prompt, completion)
+                    : chatResponse(body, content, prompt, cached, completion));
+        } catch (IOException | RuntimeException e) {
+            respond(exchange, 500, error("server_error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Tokens of the system message if an earlier request had the same one; the first request fills the cache
+     */
+    private int cachedPrefixTokens(JsonNode chatRequest) {
+        JsonNode first = chatRequest.path("messages").path(0);
+        if (!"system".equals(first.path("role").asText()) || !first.path("content").isTextual()) {
+            return 0;
+        }
+        String prefix = first.path("content").asText();
+        int tokens = prefix.getBytes(StandardCharsets.UTF_8).length / 4;
+        if (tokens < MIN_CACHED_PREFIX || cachedPrefixes.add(prefix)) {
+            return 0;
+        }
+        return tokens / CACHE_BLOCK * CACHE_BLOCK;
+    }
+
+    private static ObjectNode chatResponse(JsonNode request, String content, int prompt, int cached, int completion) {
+        ObjectNode response = NODES.objectNode()
+                .put("id", "chatcmpl-" + UUID.randomUUID())
+                .put("object", "chat.completion")
+                .put("created", Instant.now().getEpochSecond())
+                .put("model", request.path("model").asText("stub"));
+        ObjectNode choice = response.putArray("choices").addObject().put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", "stop");
+        response.putObject("usage")
+                .put("prompt_tokens", prompt)
+                .put("completion_tokens", completion)
+                .put("total_tokens", prompt + completion)
+                .putObject("prompt_tokens_details").put("cached_tokens", cached);
+        return response;
+    }
+
+    private static ObjectNode ollamaResponse(JsonNode request, String content, int prompt, int completion) {
+        return NODES.objectNode()
+                .put("model", request.path("model").asText("stub"))
+                .put("created_at", Instant.now().toString())
+                .put("response", content)
+                .put("done", true)
+                .put("prompt_eval_count", prompt)
+                .put("eval_count", completion);
+    }
+
+    /**
+     * Flat document of the GPT text prompt
+     */
+    private static ObjectNode horoshopText(String name) {
+        ObjectNode root = NODES.objectNode();
+        commercialContent(root, name);
+        categorization(root);
+        keywords(root, name);
+        root.put("brandName", (String) null)
+                .put("detectedGender", "унісекс")
+                .put("color", "чорний")
+                .put("material", "бавовна");
+        root.putObject("attributes").put("країна_виробника", "Україна");
+        marketing(root);
+        root.put("seasonalRelevance", true)
+                .put("priceCategory", "середній")
+                .put("horoshopPresence", "В наличии");
+        root.putArray("horoshopIcons").add("новинка");
+        root.putArray("marketplaceExport").add("google").add("rozetka");
+        root.put("qualityScore", 8.0).put("analysisConfidence", 0.9);
+        return root;
+    }
+
+    /**
+     * Nested document of the GPT vision prompt
+     */
+    private static ObjectNode horoshopVision(String name) {
+        ObjectNode root = NODES.objectNode();
+        root.putObject("visualAnalysis")
+                .put("productType", name)
+                .put("primaryColor", "чорний")
+                .put("material", "бавовна")
+                .put("style", "casual")
+                .put("visualQuality", 8.0);
+        commercialContent(root.putObject("commercialContent"), name);
+        categorization(root.putObject("categorization"));
+        keywords(root.putObject("seoOptimization"), name);
+        root.putObject("productAttributes").put("detectedGender", "унісекс").put("season", "всесезонний");
+        marketing(root.putObject("marketingData"));
+        ObjectNode horoshop = root.putObject("horoshopIntegration")
+                .put("horoshopPresence", "В наличии")
+                .put("priceCategory", "середній");
+        horoshop.putArray("horoshopIcons").add("новинка");
+        root.putObject("qualityAssessment").put("imageQuality", 8.0).put("analysisConfidence", 0.9);
+        return root;
+    }
+
+    private static void commercialContent(ObjectNode node, String name) {
+        node.put("commercialTitle", name + " — стильний вибір")
+                .put("seoTitle", "Купити " + name + " | Доставка по Україні")
+                .put("h1Title", name)
+                .put("descriptionUa", "Опис товару " + name + " для тих, хто цінує якість і комфорт.")
+                .put("descriptionRu", "Описание товара " + name + " для ценителей качества и комфорта.")
+                .put("descriptionEn", "Description of " + name + " for those who value quality and comfort.")
+                .put("shortDescriptionUa", name + " — якість за доступною ціною")
+                .put("shortDescriptionRu", name + " — качество по доступной цене")
+                .put("shortDescriptionEn", name + " — quality at a fair price")
+                .put("metaDescriptionUa", "Купити " + name + " ✓ Швидка доставка ✓ Гарантія")
+                .put("metaDescriptionRu", "Купить " + name + " ✓ Быстрая доставка ✓ Гарантия")
+                .put("metaDescriptionEn", "Buy " + name + " ✓ Fast delivery ✓ Warranty");
+    }
+
+    private static void categorization(ObjectNode node) {
+        node.put("mainCategory", "Одяг")
+                .put("subCategory", "Повсякденний одяг")
+                .put("categoryPathUa", "Одяг / Повсякденний одяг")
+                .put("categoryPathRu", "Одежда / Повседневная одежда");
+    }
+
+    private static void keywords(ObjectNode node, String name) {
+        String keyword = name.toLowerCase();
+        node.putArray("primaryKeywordsUa").add("купити " + keyword).add(keyword + " україна");
+        node.putArray("primaryKeywordsRu").add("купить " + keyword);
+        node.putArray("primaryKeywordsEn").add("buy " + keyword);
+        node.putArray("tagsUa").add("одяг").add("новинка");
+        node.putArray("tagsRu").add("одежда");
+        node.putArray("tagsEn").add("clothing");
+    }
+
+    private static void marketing(ObjectNode node) {
+        node.putArray("sellingPoints").add("Якісні матеріали").add("Зручна посадка").add("Швидка доставка");
+        node.put("targetAudience", "Покупці, що цінують комфорт")
+                .put("uniqueSellingPoint", "Комфорт на кожен день")
+                .put("trendScore", 7.5)
+                .put("conversionPotential", 7.0);
+    }
+
+    private static ObjectNode ollamaVision(String name) {
+        ObjectNode root = NODES.objectNode()
+                .put("product_type", name)
+                .put("model_name", name)
+                .put("brand_detected", (String) null)
+                .put("style", "casual")
+                .put("visual_quality", 8.0)
+                .put("price_tier", "mid-range")
+                .put("season", "all-season");
+        root.putArray("main_features").add("comfortable fit").add("durable fabric");
+        root.putArray("materials").add("cotton");
+        root.putArray("colors").add("black");
+        root.putArray("use_cases").add("everyday");
+        root.putObject("quality_indicators").put("construction", "good").put("materials", "quality");
+        root.putObject("target_demographic").put("age_range", "25-35").put("gender", "unisex");
+        return root;
+    }
+
+    private static ObjectNode ollamaText(String name) {
+        ObjectNode root = NODES.objectNode().put("seo_optimized_name", name);
+        root.putObject("categories")
+                .put("main_uk", "Одяг").put("main_ru", "Одежда").put("main_en", "Clothing")
+                .put("sub_uk", "Повсякденний одяг").put("sub_ru", "Повседневная одежда").put("sub_en", "Casual wear");
+        root.putObject("seo_titles").put("uk", "Купити " + name).put("ru", "Купить " + name).put("en", "Buy " + name);
+        root.putObject("descriptions").put("uk", "Опис " + name).put("ru", "Описание " + name).put("en", "About " + name);
+        root.putObject("meta_descriptions").put("uk", name + " ✓ Доставка").put("ru", name + " ✓ Доставка")
+                .put("en", name + " ✓ Delivery");
+        ObjectNode tags = root.putObject("tags");
+        tags.putArray("uk").add("одяг");
+        tags.putArray("ru").add("одежда");
+        tags.putArray("en").add("clothing");
+        root.putObject("target_audiences").put("uk", "Усі").put("ru", "Все").put("en", "Everyone");
+        root.putArray("selling_points").add("comfortable").add("durable");
+        root.put("trend_score", 7.5)
+                .put("conversion_score", 7.0)
+                .put("search_volume_estimate", "medium");
+        return root;
+    }
+
+    private static String messageText(JsonNode chatRequest) {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode message : chatRequest.path("messages")) {
+            JsonNode content = message.path("content");
+            if (content.isTextual()) {
+                text.append(content.asText()).append('\n');
+            }
+            for (JsonNode part : content) {
+                text.append(part.path("text").asText()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private static boolean hasImage(JsonNode chatRequest) {
+        for (JsonNode message : chatRequest.path("messages")) {
+            for (JsonNode part : message.path("content")) {
+                if ("image_url".equals(part.path("type").asText())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String productName(String prompt) {
+        Matcher matcher = PRODUCT_NAME.matcher(prompt);
+        String name = matcher.find() ? matcher.group(1).trim() : "";
+        return name.isEmpty() ? "Товар" : name;
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static ObjectNode error(String code, String message) {
+        ObjectNode node = NODES.objectNode();
+        node.putObject("error").put("message", message).put("type", "stub").put("code", code);
+        return node;
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = JSON.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static final class Builder {
+
+        private long latencyMs;
+        private long jitterMs;
+        private int tokensPerSecond;
+        private int promptTokens;
+        private int completionTokens = 900;
+        private double rateLimitRate;
+        private double malformedRate;
+        private int threads = 8;
+
+        private Builder() {
+        }
+
+        /**
+         * Time to first token, before generation
+         */
+        public Builder latency(long latencyMs, long jitterMs) {
+            this.latencyMs = latencyMs;
+            this.jitterMs = jitterMs;
+            return this;
+        }
+
+        /**
+         * Generation speed, adding completion tokens / speed to every answer; 0 means instant
+         */
+        public Builder tokensPerSecond(int tokensPerSecond) {
+            this.tokensPerSecond = tokensPerSecond;
+            return this;
+        }
+
+        /**
+         * Prompt tokens reported per request; 0 estimates them as request bytes / 4
+         */
+        public Builder promptTokens(int promptTokens) {
+            this.promptTokens = promptTokens;
+            return this;
+        }
+
+        public Builder completionTokens(int completionTokens) {
+            this.completionTokens = completionTokens;
+            return this;
+        }
+
+        /**
+         * Share of requests answered with 429 and Retry-After
+         */
+        public Builder rateLimitRate(double rateLimitRate) {
+            this.rateLimitRate = rateLimitRate;
+            return this;
+        }
+
+        /**
+         * Share of answers whose content is truncated JSON or prose instead of JSON
+         */
+        public Builder malformedRate(double malformedRate) {
+            this.malformedRate = malformedRate;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public LlmStubServer start() throws IOException {
+            return new LlmStubServer(this);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dropiq.engine.support.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * BigDecimal selling price calculation as it was before PricingEngine: the reference for its tests and the
+ * baseline of the pricing benchmark
+ */
+public final class LegacyPriceUtil {
+
+    private LegacyPriceUtil() {
+    }
+
+    public static BigDecimal sellingPrice(BigDecimal originalPrice, BigDecimal markupPercentage) {
+        BigDecimal markup = originalPrice.multiply(markupPercentage)
+                .divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+        return roundToMarketingPriceUp(originalPrice.add(markup));
+    }
+
+    public static BigDecimal roundToMarketingPriceUp(BigDecimal price) {
+        BigDecimal[] popularSteps = {
+                new BigDecimal("49"), new BigDecimal("99"),
+                new BigDecimal("149"), new BigDecimal("199"), new BigDecimal("249"),
+                new BigDecimal("299"), new BigDecimal("399"), new BigDecimal("499"),
+                new BigDecimal("599"), new BigDecimal("699"), new BigDecimal("799"),
+                new BigDecimal("899"), new BigDecimal("999"), new BigDecimal("1499"),
+                new BigDecimal("1999"), new BigDecimal("2499"), new BigDecimal("2999"),
+                new BigDecimal("3999"), new BigDecimal("4999"), new BigDecimal("5999"),
+                new BigDecimal("7999"), new BigDecimal("9999")
+        };
+
+        for (BigDecimal marketingPrice : popularSteps) {
+            if (marketingPrice.compareTo(price) >= 0) {
+                return marketingPrice;
+            }
+        }
+
+        return roundToNearestMarketingFallback(price);
+    }
+
+    private static BigDecimal roundToNearestMarketingFallback(BigDecimal price) {
+        if (price.compareTo(new BigDecimal("10000")) > 0) {
+            BigDecimal thousands = price.divide(new BigDecimal("1000"), 0, RoundingMode.UP);
+
+            BigDecimal[] beautifulEndings = {
+                    new BigDecimal("999"), new BigDecimal("499"),
+                    new BigDecimal("299"), new BigDecimal("199")
+            };
+
+            for (BigDecimal ending : beautifulEndings) {
+                BigDecimal candidate = thousands.multiply(new BigDecimal("1000")).subtract(new BigDecimal("1"))
+                        .add(ending.remainder(new BigDecimal("1000")));
+                if (candidate.compareTo(price) >= 0) {
+                    return candidate;
+                }
+            }
+
+            return thousands.multiply(new BigDecimal("1000")).subtract(new BigDecimal("1"));
+        }
+
+        BigDecimal hundreds = price.divide(new BigDecimal("100"), 0, RoundingMode.UP);
+        return hundreds.multiply(new BigDecimal("100")).subtract(new BigDecimal("1"));
+    }
+}